@@ -0,0 +1,38 @@
+#!/bin/bash
+# Heronix-Hub Persistence Benchmark
+# Times bulk inserts, updates and deletes of audit log rows with one statement per row
+# versus JDBC batching (spring.jpa.properties.hibernate.jdbc.batch_size).
+#
+# Usage: ./benchmark-persistence.sh [rows] [profile]   (defaults: 5000 rows, no profile)
+#   ./benchmark-persistence.sh 5000 kiosk    uses the kiosk H2 settings (WRITE_DELAY=0)
+# Build the jar first: mvn package -DskipTests
+#
+# Runs against a throwaway H2 file database under target/, so disk writes are part of the
+# numbers, and exits once the first screen is up (needs a display; use xvfb-run on headless machines).
+
+cd "$(dirname "$0")"
+
+ROWS=${1:-5000}
+PROFILE=${2:-}
+JAR="target/heronix-hub-1.0.0.jar"
+DB_DIR="target/persistence-benchmark"
+
+if [ ! -f "$JAR" ]; then
+    echo "ERROR: $JAR not found. Build with: mvn package -DskipTests"
+    exit 1
+fi
+
+case "$PROFILE" in
+    kiosk)  H2_OPTS=";CACHE_SIZE=8192;WRITE_DELAY=0" ;;
+    server) H2_OPTS=";CACHE_SIZE=65536;WRITE_DELAY=500" ;;
+    *)      H2_OPTS="" ;;
+esac
+
+rm -rf "$DB_DIR"
+java -Dheronix.benchmark.persistence.enabled=true \
+     -Dheronix.benchmark.persistence.rows="$ROWS" \
+     -Dheronix.startup.exit-after-first-screen=true \
+     -Dspring.datasource.url="jdbc:h2:file:./$DB_DIR/hub$H2_OPTS" \
+     ${PROFILE:+-Dspring.profiles.active=$PROFILE} \
+     -jar "$JAR" 2>&1 | sed -n '/Persistence benchmark/,+3p' | sed 's/^.* - //'
+rm -rf "$DB_DIR"
@@ -0,0 +1,73 @@
+#!/bin/bash
+# Heronix-Hub Startup Benchmark
+# Compares time-to-first-screen of the regular jar and the fast-start build (AppCDS + Spring AOT).
+#
+# Usage: ./benchmark-startup.sh [runs]      (default: 5 runs per variant)
+# Build both jars first:
+#   mvn package -DskipTests && mvn -Pfast-start package -DskipTests
+#
+# Each run starts the app against a throwaway in-memory database, waits for the first screen
+# and exits (heronix.startup.exit-after-first-screen). The time is read from the Hub's own
+# "screen shown N ms after JVM start" log line. Run it on the release build machine (it needs
+# a display; use xvfb-run on headless machines) and keep the output with the release notes.
+# For true cold starts, drop the OS file cache between runs (Linux, as root):
+#   DROP_CACHES=1 ./benchmark-startup.sh
+
+cd "$(dirname "$0")"
+
+RUNS=${1:-5}
+PLAIN_JAR="target/heronix-hub-1.0.0.jar"
+FAST_JAR="target/heronix-hub-faststart.jar"
+ARCHIVE="target/heronix-hub.jsa"
+COMMON_OPTS="-Dheronix.startup.exit-after-first-screen=true -Dspring.datasource.url=jdbc:h2:mem:startup-benchmark"
+
+for jar in "$PLAIN_JAR" "$FAST_JAR"; do
+    if [ ! -f "$jar" ]; then
+        echo "ERROR: $jar not found. Build with: mvn package -DskipTests && mvn -Pfast-start package -DskipTests"
+        exit 1
+    fi
+done
+
+# Prints the time-to-first-screen in ms of one run
+measure() {
+    if [ "$DROP_CACHES" = "1" ]; then
+        sync && echo 3 > /proc/sys/vm/drop_caches
+    fi
+    java $COMMON_OPTS "$@" 2>&1 | sed -n 's/.* screen shown \([0-9]*\) ms after JVM start.*/\1/p' | head -1
+}
+
+# Runs a variant RUNS times and prints min / median / max
+bench() {
+    local name=$1
+    shift
+    local times=()
+    for ((i = 1; i <= RUNS; i++)); do
+        local t
+        t=$(measure "$@")
+        if [ -z "$t" ]; then
+            echo "  $name run $i: no first-screen log line (did the app start?)"
+            continue
+        fi
+        times+=("$t")
+    done
+    if [ ${#times[@]} -eq 0 ]; then
+        printf "%-28s failed\n" "$name"
+        return
+    fi
+    local sorted
+    sorted=($(printf "%s\n" "${times[@]}" | sort -n))
+    local count=${#sorted[@]}
+    printf "%-28s min %6d ms   median %6d ms   max %6d ms   (%d runs)\n" \
+        "$name" "${sorted[0]}" "${sorted[$((count / 2))]}" "${sorted[$((count - 1))]}" "$count"
+}
+
+echo "Heronix-Hub startup benchmark ($(java -version 2>&1 | head -1))"
+echo "Time from JVM start to first screen:"
+bench "regular jar" -jar "$PLAIN_JAR"
+bench "fast-start (AOT only)" -Dspring.aot.enabled=true -jar "$FAST_JAR"
+if [ -f "$ARCHIVE" ]; then
+    bench "fast-start (AOT + AppCDS)" -XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto \
+        -Dspring.aot.enabled=true -jar "$FAST_JAR"
+else
+    echo "No AppCDS archive ($ARCHIVE); skipping the AppCDS variant"
+fi
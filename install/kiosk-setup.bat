@@ -43,7 +43,7 @@ echo [OK] Lock Workstation disabled
 
 REM --- Auto-start Hub on login ---
 set HUB_PATH=%~dp0..\target\heronix-hub-1.0.0.jar
-reg add "HKLM\SOFTWARE\Microsoft\Windows\CurrentVersion\Run" /v HeronixHub /t REG_SZ /d "javaw -jar \"%HUB_PATH%\"" /f
+reg add "HKLM\SOFTWARE\Microsoft\Windows\CurrentVersion\Run" /v HeronixHub /t REG_SZ /d "javaw -Dspring.profiles.active=kiosk -jar \"%HUB_PATH%\"" /f
 echo [OK] Hub set to auto-start on login
 
 echo.
@@ -0,0 +1,29 @@
+@echo off
+REM Heronix-Hub Fast-Start Launcher
+REM Starts the jar built with "mvn -Pfast-start package" using its AppCDS archive and the
+REM Spring AOT bean definitions. Falls back to the regular jar if no fast-start build exists.
+
+cd /d "%~dp0"
+
+set FAST_JAR=target\heronix-hub-faststart.jar
+set ARCHIVE=target\heronix-hub.jsa
+set PLAIN_JAR=target\heronix-hub-1.0.0.jar
+
+if not exist "%FAST_JAR%" goto plain
+
+set JAVA_OPTS=-Dspring.aot.enabled=true %JAVA_OPTS%
+REM -Xshare:auto: a stale or mismatched archive is ignored instead of failing the start
+if exist "%ARCHIVE%" set JAVA_OPTS=-XX:SharedArchiveFile=%ARCHIVE% -Xshare:auto %JAVA_OPTS%
+java %JAVA_OPTS% -jar "%FAST_JAR%" %*
+exit /b %ERRORLEVEL%
+
+:plain
+if not exist "%PLAIN_JAR%" goto missing
+echo No fast-start build found (mvn -Pfast-start package), starting the regular jar
+java %JAVA_OPTS% -jar "%PLAIN_JAR%" %*
+exit /b %ERRORLEVEL%
+
+:missing
+echo ERROR: No Heronix-Hub jar found in target\. Build with: mvn -Pfast-start package
+pause
+exit /b 1
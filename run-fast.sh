@@ -0,0 +1,27 @@
+#!/bin/bash
+# Heronix-Hub Fast-Start Launcher
+# Starts the jar built with "mvn -Pfast-start package" using its AppCDS archive and the
+# Spring AOT bean definitions. Falls back to the regular jar if no fast-start build exists.
+
+cd "$(dirname "$0")"
+
+FAST_JAR="target/heronix-hub-faststart.jar"
+ARCHIVE="target/heronix-hub.jsa"
+PLAIN_JAR="target/heronix-hub-1.0.0.jar"
+
+if [ -f "$FAST_JAR" ]; then
+    JAVA_OPTS="-Dspring.aot.enabled=true $JAVA_OPTS"
+    if [ -f "$ARCHIVE" ]; then
+        # -Xshare:auto: a stale or mismatched archive is ignored instead of failing the start
+        JAVA_OPTS="-XX:SharedArchiveFile=$ARCHIVE -Xshare:auto $JAVA_OPTS"
+    fi
+    exec java $JAVA_OPTS -jar "$FAST_JAR" "$@"
+fi
+
+if [ -f "$PLAIN_JAR" ]; then
+    echo "No fast-start build found (mvn -Pfast-start package), starting the regular jar"
+    exec java $JAVA_OPTS -jar "$PLAIN_JAR" "$@"
+fi
+
+echo "ERROR: No Heronix-Hub jar found in target/. Build with: mvn -Pfast-start package"
+exit 1
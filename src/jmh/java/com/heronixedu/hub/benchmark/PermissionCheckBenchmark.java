@@ -0,0 +1,86 @@
+package com.heronixedu.hub.benchmark;
+
+import com.heronixedu.hub.model.Permission;
+import com.heronixedu.hub.model.Role;
+import com.heronixedu.hub.model.User;
+import com.heronixedu.hub.model.enums.PermissionType;
+import com.heronixedu.hub.model.enums.RoleType;
+import com.heronixedu.hub.service.PermissionService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Permission checks as the dashboard and admin panel make them: the compiled role bitset
+ * (PermissionService) against the string comparison over the role's permission set that
+ * it replaced (Role.hasPermission / User.canAccessAdminPanel).
+ *
+ * Run with: mvn -Pbenchmark verify -DskipTests
+ * (-Djmh.args="PermissionCheckBenchmark -prof gc" also reports allocation per check)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PermissionCheckBenchmark {
+
+    @Param({"TEACHER", "SUPERADMIN"})
+    private RoleType roleType;
+
+    private PermissionService permissionService;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        Set<Permission> permissions = new HashSet<>();
+        for (PermissionType type : roleType.getPermissions()) {
+            permissions.add(new Permission(type.name(), type.getDisplayName(), type.getDescription(),
+                    type.getCategory()));
+        }
+        Role role = new Role(roleType.name(), roleType.getDisplayName(), null, true);
+        role.setId(1L);
+        role.setVersion(0L);
+        role.setPermissions(permissions);
+
+        user = new User("benchmark", null, "Benchmark", roleType.name());
+        user.setRoleEntity(role);
+
+        permissionService = new PermissionService();
+        // Compile once, as the first check after login would
+        permissionService.permissionMask(user);
+    }
+
+    @Benchmark
+    public boolean compiledCheck() {
+        return permissionService.hasPermission(user, PermissionType.CAN_MANAGE_DEVICES);
+    }
+
+    @Benchmark
+    public boolean stringCheck() {
+        return user.getRoleEntity().hasPermission(PermissionType.CAN_MANAGE_DEVICES.name());
+    }
+
+    @Benchmark
+    public boolean compiledAdminPanelCheck() {
+        return permissionService.canAccessAdminPanel(user);
+    }
+
+    @Benchmark
+    public boolean stringAdminPanelCheck() {
+        return user.canAccessAdminPanel();
+    }
+}
@@ -1,5 +1,6 @@
 package com.heronixedu.hub;
 
+import com.heronixedu.hub.config.StartupPipeline;
 import com.heronixedu.hub.controller.AdminPanelController;
 import com.heronixedu.hub.controller.DashboardController;
 import com.heronixedu.hub.controller.LoginController;
@@ -7,36 +8,72 @@ import com.heronixedu.hub.model.User;
 import com.heronixedu.hub.service.AuthenticationService;
 import com.heronixedu.hub.service.KioskModeService;
 import com.heronixedu.hub.service.StudentSessionMonitorService;
+import javafx.animation.PauseTransition;
 import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.fxml.FXMLLoader;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
+import javafx.util.Duration;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.ConfigurableApplicationContext;
 
 import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
 
 @SpringBootApplication
 @Slf4j
 public class HubApplication extends Application {
 
+    private final CompletableFuture<ConfigurableApplicationContext> contextStartup = new CompletableFuture<>();
     private ConfigurableApplicationContext springContext;
     private Stage primaryStage;
     private User currentUser;
 
     public static void main(String[] args) {
+        if (Boolean.getBoolean("spring.aot.processing")) {
+            // Build-time AOT processing (mvn -Pfast-start): only the bean graph is needed, no UI
+            createSpringApplication().run(args);
+            return;
+        }
         launch(args);
     }
 
+    static SpringApplication createSpringApplication() {
+        SpringApplication application = new SpringApplication(HubApplication.class);
+        // The context starts on a background thread, where the main class cannot be deduced;
+        // AOT mode needs it to find the generated initializer
+        application.setMainApplicationClass(HubApplication.class);
+        return application;
+    }
+
+    /**
+     * Start the Spring Boot context in the background; start() shows a splash screen meanwhile.
+     */
     @Override
     public void init() {
-        // Start Spring Boot context
-        springContext = SpringApplication.run(HubApplication.class);
-        log.info("Spring Boot context initialized");
+        Thread startup = new Thread(() -> {
+            try {
+                SpringApplication application = createSpringApplication();
+                // Records bean instantiation times for the startup timeline report
+                application.setApplicationStartup(new BufferingApplicationStartup(StartupPipeline.TIMELINE_CAPACITY));
+                contextStartup.complete(application.run());
+                log.info("Spring Boot context initialized");
+            } catch (Throwable e) {
+                contextStartup.completeExceptionally(e);
+            }
+        }, "SpringStartup");
+        startup.setDaemon(true);
+        startup.start();
     }
 
     @Override
@@ -53,6 +90,38 @@ public class HubApplication extends Application {
             log.debug("Application icon not found, continuing without it");
         }
 
+        showSplash();
+        primaryStage.show();
+
+        contextStartup.whenComplete((context, error) -> Platform.runLater(() -> {
+            if (error != null) {
+                log.error("Failed to start application context", error);
+                showErrorAndExit("Failed to start Heronix Hub: " + error.getMessage());
+                return;
+            }
+            springContext = context;
+            showFirstScreen();
+        }));
+    }
+
+    private void showSplash() {
+        Label title = new Label("Heronix Hub");
+        title.getStyleClass().add("app-title");
+        Label status = new Label("Starting...");
+        ProgressIndicator progress = new ProgressIndicator();
+        progress.setPrefSize(40, 40);
+
+        VBox splash = new VBox(15, title, progress, status);
+        splash.setAlignment(Pos.CENTER);
+        splash.setPadding(new Insets(40));
+
+        Scene scene = new Scene(splash, 400, 250);
+        scene.getStylesheets().add(getClass().getResource("/css/hub-style.css").toExternalForm());
+        primaryStage.setScene(scene);
+        primaryStage.centerOnScreen();
+    }
+
+    private void showFirstScreen() {
         // Check for existing token
         AuthenticationService authService = springContext.getBean(AuthenticationService.class);
         User existingUser = authService.checkExistingToken();
@@ -66,12 +135,14 @@ public class HubApplication extends Application {
             showLogin();
         }
 
-        primaryStage.show();
+        springContext.getBean(StartupPipeline.class)
+                .markFirstScreenShown(existingUser != null ? "Dashboard" : "Login");
 
-        // Apply kiosk mode if enabled (will only activate for STUDENT role)
-        if (existingUser != null) {
-            KioskModeService kioskModeService = springContext.getBean(KioskModeService.class);
-            kioskModeService.applyToStage(primaryStage, existingUser.getRole());
+        // AppCDS training and startup benchmark runs stop once the first screen has rendered
+        if (Boolean.getBoolean("heronix.startup.exit-after-first-screen")) {
+            PauseTransition settle = new PauseTransition(Duration.seconds(1));
+            settle.setOnFinished(e -> Platform.exit());
+            settle.play();
         }
     }
 
@@ -84,7 +155,7 @@ public class HubApplication extends Application {
             LoginController controller = loader.getController();
             controller.setOnLoginSuccess(() -> {
                 AuthenticationService authService = springContext.getBean(AuthenticationService.class);
-                User user = authService.checkExistingToken();
+                User user = authService.getCurrentUser();
                 if (user != null) {
                     this.currentUser = user;
                     showDashboard(user);
@@ -7,19 +7,30 @@ import com.heronixedu.hub.model.enums.RoleType;
 import com.heronixedu.hub.model.enums.ServerType;
 import com.heronixedu.hub.model.enums.ThirdPartyAppCategory;
 import com.heronixedu.hub.repository.*;
+import com.heronixedu.hub.service.PasswordHashingService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.CommandLineRunner;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import com.heronixedu.hub.model.AppAccessPolicy;
 import com.heronixedu.hub.model.AppAccessPolicy.PolicyTargetType;
 
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
-
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Seeds the reference data on startup.
+ *
+ * Runs before the login screen, so each table is checked with one query for the existing rows
+ * and only the missing rows are written, in one saveAll() per table.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -32,7 +43,7 @@ public class DataInitializer implements CommandLineRunner {
     private final NetworkConfigRepository networkConfigRepository;
     private final ThirdPartyAppRepository thirdPartyAppRepository;
     private final AppAccessPolicyRepository appAccessPolicyRepository;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
+    private final PasswordHashingService passwordHashingService;
 
     @Override
     @Transactional
@@ -46,25 +57,44 @@ public class DataInitializer implements CommandLineRunner {
         initializeAccessPolicies();
     }
 
+    private record AppSeed(String code, String name, String publisher, ThirdPartyAppCategory category,
+                           InstallerType installerType, String downloadUrl, String silentArgs, String version,
+                           String description, boolean preApproved, boolean requiresRestart) {
+    }
+
     private void initializePermissions() {
+        Set<String> existing = permissionRepository.findAll().stream()
+                .map(Permission::getPermissionName)
+                .collect(Collectors.toSet());
+
+        List<Permission> missing = new ArrayList<>();
         for (PermissionType permType : PermissionType.values()) {
-            if (!permissionRepository.existsByPermissionName(permType.name())) {
-                Permission permission = new Permission(
+            if (!existing.contains(permType.name())) {
+                missing.add(new Permission(
                         permType.name(),
                         permType.getDisplayName(),
                         permType.getDescription(),
                         permType.getCategory()
-                );
-                permissionRepository.save(permission);
-                log.info("Created permission: {}", permType.name());
+                ));
             }
         }
-        log.info("Initialized {} permissions", permissionRepository.count());
+        if (!missing.isEmpty()) {
+            permissionRepository.saveAll(missing);
+            log.info("Created {} permissions", missing.size());
+        }
+        log.info("Initialized {} permissions", existing.size() + missing.size());
     }
 
     private void initializeRoles() {
+        Set<String> existing = roleRepository.findAll().stream()
+                .map(Role::getRoleName)
+                .collect(Collectors.toSet());
+        Map<String, Permission> permissionsByName = permissionRepository.findAll().stream()
+                .collect(Collectors.toMap(Permission::getPermissionName, Function.identity()));
+
+        List<Role> missing = new ArrayList<>();
         for (RoleType roleType : RoleType.values()) {
-            if (!roleRepository.existsByRoleName(roleType.name())) {
+            if (!existing.contains(roleType.name())) {
                 Role role = new Role(
                         roleType.name(),
                         roleType.getDisplayName(),
@@ -75,16 +105,20 @@ public class DataInitializer implements CommandLineRunner {
                 // Assign permissions to role
                 Set<Permission> permissions = new HashSet<>();
                 for (PermissionType permType : roleType.getPermissions()) {
-                    permissionRepository.findByPermissionName(permType.name())
-                            .ifPresent(permissions::add);
+                    Permission permission = permissionsByName.get(permType.name());
+                    if (permission != null) {
+                        permissions.add(permission);
+                    }
                 }
                 role.setPermissions(permissions);
-
-                roleRepository.save(role);
+                missing.add(role);
                 log.info("Created role: {} with {} permissions", roleType.name(), permissions.size());
             }
         }
-        log.info("Initialized {} roles", roleRepository.count());
+        if (!missing.isEmpty()) {
+            roleRepository.saveAll(missing);
+        }
+        log.info("Initialized {} roles", existing.size() + missing.size());
     }
 
     private void initializeDefaultUser() {
@@ -97,7 +131,7 @@ public class DataInitializer implements CommandLineRunner {
 
     private void createUserIfNotExists(String username, String password, String fullName, String roleName) {
         if (!userRepository.existsByUsername(username)) {
-            String hashedPassword = passwordEncoder.encode(password);
+            String hashedPassword = passwordHashingService.encode(password);
             User user = new User(username, hashedPassword, fullName, roleName);
             user.setIsActive(true);
 
@@ -148,187 +182,195 @@ public class DataInitializer implements CommandLineRunner {
 
     private void initializeThirdPartyApps() {
         // Pre-approved educational and productivity software commonly used in schools
-
-        // Web Browsers
-        createThirdPartyAppIfNotExists(
-                "CHROME", "Google Chrome", "Google LLC",
-                ThirdPartyAppCategory.BROWSER, InstallerType.MSI,
-                "https://dl.google.com/chrome/install/latest/chrome_installer.exe",
-                "/silent /install", "1.0.0",
-                "Fast, secure web browser from Google",
-                true, false
-        );
-
-        createThirdPartyAppIfNotExists(
-                "FIREFOX", "Mozilla Firefox", "Mozilla Foundation",
-                ThirdPartyAppCategory.BROWSER, InstallerType.EXE,
-                "https://download.mozilla.org/?product=firefox-latest&os=win64&lang=en-US",
-                "-ms", "1.0.0",
-                "Privacy-focused open source web browser",
-                true, false
-        );
-
-        // Productivity
-        createThirdPartyAppIfNotExists(
-                "LIBREOFFICE", "LibreOffice", "The Document Foundation",
-                ThirdPartyAppCategory.PRODUCTIVITY, InstallerType.MSI,
-                null, "/qn", "7.6.0",
-                "Free and open source office suite - includes Writer, Calc, Impress",
-                true, false
-        );
-
-        createThirdPartyAppIfNotExists(
-                "NOTEPADPP", "Notepad++", "Don Ho",
-                ThirdPartyAppCategory.UTILITIES, InstallerType.EXE,
-                "https://github.com/notepad-plus-plus/notepad-plus-plus/releases/latest",
-                "/S", "8.6.0",
-                "Free source code editor supporting multiple languages",
-                false, false
-        );
-
-        // Communication
-        createThirdPartyAppIfNotExists(
-                "ZOOM", "Zoom", "Zoom Video Communications",
-                ThirdPartyAppCategory.COMMUNICATION, InstallerType.MSI,
-                null, "/qn /norestart", "5.17.0",
-                "Video conferencing and online meetings",
-                true, false
-        );
-
-        createThirdPartyAppIfNotExists(
-                "TEAMS", "Microsoft Teams", "Microsoft Corporation",
-                ThirdPartyAppCategory.COMMUNICATION, InstallerType.EXE,
-                null, "-s", "1.6.0",
-                "Team collaboration and communication platform",
-                true, false
-        );
-
-        // Education
-        createThirdPartyAppIfNotExists(
-                "GEOGEBRA", "GeoGebra", "GeoGebra GmbH",
-                ThirdPartyAppCategory.EDUCATION, InstallerType.EXE,
-                "https://download.geogebra.org/installers/6.0/GeoGebra-Windows-Installer-6-0.exe",
-                "/S", "6.0.0",
-                "Dynamic mathematics software for geometry, algebra, and calculus",
-                true, false
-        );
-
-        createThirdPartyAppIfNotExists(
-                "SCRATCH", "Scratch Desktop", "MIT Media Lab",
-                ThirdPartyAppCategory.EDUCATION, InstallerType.EXE,
-                null, "/S", "3.0.0",
-                "Visual programming language for learning to code",
-                true, false
+        List<AppSeed> seeds = List.of(
+                // Web Browsers
+                new AppSeed(
+                        "CHROME", "Google Chrome", "Google LLC",
+                        ThirdPartyAppCategory.BROWSER, InstallerType.MSI,
+                        "https://dl.google.com/chrome/install/latest/chrome_installer.exe",
+                        "/silent /install", "1.0.0",
+                        "Fast, secure web browser from Google",
+                        true, false
+                ),
+
+                new AppSeed(
+                        "FIREFOX", "Mozilla Firefox", "Mozilla Foundation",
+                        ThirdPartyAppCategory.BROWSER, InstallerType.EXE,
+                        "https://download.mozilla.org/?product=firefox-latest&os=win64&lang=en-US",
+                        "-ms", "1.0.0",
+                        "Privacy-focused open source web browser",
+                        true, false
+                ),
+
+                // Productivity
+                new AppSeed(
+                        "LIBREOFFICE", "LibreOffice", "The Document Foundation",
+                        ThirdPartyAppCategory.PRODUCTIVITY, InstallerType.MSI,
+                        null, "/qn", "7.6.0",
+                        "Free and open source office suite - includes Writer, Calc, Impress",
+                        true, false
+                ),
+
+                new AppSeed(
+                        "NOTEPADPP", "Notepad++", "Don Ho",
+                        ThirdPartyAppCategory.UTILITIES, InstallerType.EXE,
+                        "https://github.com/notepad-plus-plus/notepad-plus-plus/releases/latest",
+                        "/S", "8.6.0",
+                        "Free source code editor supporting multiple languages",
+                        false, false
+                ),
+
+                // Communication
+                new AppSeed(
+                        "ZOOM", "Zoom", "Zoom Video Communications",
+                        ThirdPartyAppCategory.COMMUNICATION, InstallerType.MSI,
+                        null, "/qn /norestart", "5.17.0",
+                        "Video conferencing and online meetings",
+                        true, false
+                ),
+
+                new AppSeed(
+                        "TEAMS", "Microsoft Teams", "Microsoft Corporation",
+                        ThirdPartyAppCategory.COMMUNICATION, InstallerType.EXE,
+                        null, "-s", "1.6.0",
+                        "Team collaboration and communication platform",
+                        true, false
+                ),
+
+                // Education
+                new AppSeed(
+                        "GEOGEBRA", "GeoGebra", "GeoGebra GmbH",
+                        ThirdPartyAppCategory.EDUCATION, InstallerType.EXE,
+                        "https://download.geogebra.org/installers/6.0/GeoGebra-Windows-Installer-6-0.exe",
+                        "/S", "6.0.0",
+                        "Dynamic mathematics software for geometry, algebra, and calculus",
+                        true, false
+                ),
+
+                new AppSeed(
+                        "SCRATCH", "Scratch Desktop", "MIT Media Lab",
+                        ThirdPartyAppCategory.EDUCATION, InstallerType.EXE,
+                        null, "/S", "3.0.0",
+                        "Visual programming language for learning to code",
+                        true, false
+                ),
+
+                // Multimedia
+                new AppSeed(
+                        "VLC", "VLC Media Player", "VideoLAN",
+                        ThirdPartyAppCategory.MULTIMEDIA, InstallerType.EXE,
+                        "https://get.videolan.org/vlc/last/win64/vlc-3.0.20-win64.exe",
+                        "/S", "3.0.20",
+                        "Free and open source cross-platform multimedia player",
+                        false, false
+                ),
+
+                new AppSeed(
+                        "AUDACITY", "Audacity", "Audacity Team",
+                        ThirdPartyAppCategory.MULTIMEDIA, InstallerType.EXE,
+                        null, "/VERYSILENT", "3.4.0",
+                        "Free, open source audio software for recording and editing",
+                        false, false
+                ),
+
+                // Utilities
+                new AppSeed(
+                        "SEVENZIP", "7-Zip", "Igor Pavlov",
+                        ThirdPartyAppCategory.UTILITIES, InstallerType.EXE,
+                        "https://www.7-zip.org/a/7z2301-x64.exe",
+                        "/S", "23.01",
+                        "Free file archiver with high compression ratio",
+                        false, false
+                ),
+
+                new AppSeed(
+                        "ADOBEREADER", "Adobe Acrobat Reader", "Adobe Inc.",
+                        ThirdPartyAppCategory.UTILITIES, InstallerType.EXE,
+                        null, "/sAll /rs", "2024.0",
+                        "View, print, and annotate PDF documents",
+                        true, false
+                ),
+
+                // Development (for computer science classes)
+                new AppSeed(
+                        "VSCODE", "Visual Studio Code", "Microsoft Corporation",
+                        ThirdPartyAppCategory.DEVELOPMENT, InstallerType.EXE,
+                        "https://code.visualstudio.com/sha/download?build=stable&os=win32-x64",
+                        "/VERYSILENT /MERGETASKS=!runcode", "1.85.0",
+                        "Free source code editor with debugging support",
+                        false, false
+                ),
+
+                new AppSeed(
+                        "PYTHON", "Python", "Python Software Foundation",
+                        ThirdPartyAppCategory.DEVELOPMENT, InstallerType.EXE,
+                        "https://www.python.org/ftp/python/3.12.0/python-3.12.0-amd64.exe",
+                        "/quiet InstallAllUsers=1 PrependPath=1", "3.12.0",
+                        "Popular programming language for education and development",
+                        false, false
+                ),
+
+                // Science
+                new AppSeed(
+                        "STELLARIUM", "Stellarium", "Stellarium Developers",
+                        ThirdPartyAppCategory.SCIENCE, InstallerType.EXE,
+                        null, "/S", "24.1",
+                        "Free open source planetarium for your computer",
+                        true, false
+                ),
+
+                // Accessibility
+                new AppSeed(
+                        "NVDA", "NVDA Screen Reader", "NV Access",
+                        ThirdPartyAppCategory.ACCESSIBILITY, InstallerType.EXE,
+                        "https://www.nvaccess.org/download/",
+                        "--install-silent", "2024.1",
+                        "Free screen reader for visually impaired users",
+                        true, false
+                )
         );
 
-        // Multimedia
-        createThirdPartyAppIfNotExists(
-                "VLC", "VLC Media Player", "VideoLAN",
-                ThirdPartyAppCategory.MULTIMEDIA, InstallerType.EXE,
-                "https://get.videolan.org/vlc/last/win64/vlc-3.0.20-win64.exe",
-                "/S", "3.0.20",
-                "Free and open source cross-platform multimedia player",
-                false, false
-        );
-
-        createThirdPartyAppIfNotExists(
-                "AUDACITY", "Audacity", "Audacity Team",
-                ThirdPartyAppCategory.MULTIMEDIA, InstallerType.EXE,
-                null, "/VERYSILENT", "3.4.0",
-                "Free, open source audio software for recording and editing",
-                false, false
-        );
-
-        // Utilities
-        createThirdPartyAppIfNotExists(
-                "SEVENZIP", "7-Zip", "Igor Pavlov",
-                ThirdPartyAppCategory.UTILITIES, InstallerType.EXE,
-                "https://www.7-zip.org/a/7z2301-x64.exe",
-                "/S", "23.01",
-                "Free file archiver with high compression ratio",
-                false, false
-        );
-
-        createThirdPartyAppIfNotExists(
-                "ADOBEREADER", "Adobe Acrobat Reader", "Adobe Inc.",
-                ThirdPartyAppCategory.UTILITIES, InstallerType.EXE,
-                null, "/sAll /rs", "2024.0",
-                "View, print, and annotate PDF documents",
-                true, false
-        );
-
-        // Development (for computer science classes)
-        createThirdPartyAppIfNotExists(
-                "VSCODE", "Visual Studio Code", "Microsoft Corporation",
-                ThirdPartyAppCategory.DEVELOPMENT, InstallerType.EXE,
-                "https://code.visualstudio.com/sha/download?build=stable&os=win32-x64",
-                "/VERYSILENT /MERGETASKS=!runcode", "1.85.0",
-                "Free source code editor with debugging support",
-                false, false
-        );
-
-        createThirdPartyAppIfNotExists(
-                "PYTHON", "Python", "Python Software Foundation",
-                ThirdPartyAppCategory.DEVELOPMENT, InstallerType.EXE,
-                "https://www.python.org/ftp/python/3.12.0/python-3.12.0-amd64.exe",
-                "/quiet InstallAllUsers=1 PrependPath=1", "3.12.0",
-                "Popular programming language for education and development",
-                false, false
-        );
-
-        // Science
-        createThirdPartyAppIfNotExists(
-                "STELLARIUM", "Stellarium", "Stellarium Developers",
-                ThirdPartyAppCategory.SCIENCE, InstallerType.EXE,
-                null, "/S", "24.1",
-                "Free open source planetarium for your computer",
-                true, false
-        );
-
-        // Accessibility
-        createThirdPartyAppIfNotExists(
-                "NVDA", "NVDA Screen Reader", "NV Access",
-                ThirdPartyAppCategory.ACCESSIBILITY, InstallerType.EXE,
-                "https://www.nvaccess.org/download/",
-                "--install-silent", "2024.1",
-                "Free screen reader for visually impaired users",
-                true, false
-        );
-
-        log.info("Initialized {} third-party applications", thirdPartyAppRepository.count());
-    }
-
-    private void createThirdPartyAppIfNotExists(String code, String name, String publisher,
-                                                  ThirdPartyAppCategory category, InstallerType installerType,
-                                                  String downloadUrl, String silentArgs, String version,
-                                                  String description, boolean preApproved, boolean requiresRestart) {
-        if (!thirdPartyAppRepository.existsByAppCode(code)) {
-            ThirdPartyApp app = ThirdPartyApp.builder()
-                    .appCode(code)
-                    .appName(name)
-                    .publisher(publisher)
-                    .category(category)
-                    .installerType(installerType)
-                    .downloadUrl(downloadUrl)
-                    .silentInstallArgs(silentArgs)
-                    .latestVersion(version)
-                    .description(description)
-                    .isApproved(preApproved)
-                    .isInstalled(false)
-                    .requiresAdmin(true)
-                    .requiresRestart(requiresRestart)
-                    .supportedArchitectures("x64,x86")
-                    .licenseType("Free/Open Source")
-                    .build();
+        Set<String> existing = thirdPartyAppRepository.findAll().stream()
+                .map(ThirdPartyApp::getAppCode)
+                .collect(Collectors.toSet());
 
-            if (preApproved) {
-                app.setApprovedBy("system");
-                app.setApprovedAt(java.time.LocalDateTime.now());
+        List<ThirdPartyApp> missing = new ArrayList<>();
+        for (AppSeed seed : seeds) {
+            if (!existing.contains(seed.code())) {
+                missing.add(createThirdPartyApp(seed));
+                log.info("Created third-party app: {} (approved: {})", seed.name(), seed.preApproved());
             }
+        }
+        if (!missing.isEmpty()) {
+            thirdPartyAppRepository.saveAll(missing);
+        }
+        log.info("Initialized {} third-party applications", existing.size() + missing.size());
+    }
 
-            thirdPartyAppRepository.save(app);
-            log.info("Created third-party app: {} (approved: {})", name, preApproved);
+    private ThirdPartyApp createThirdPartyApp(AppSeed seed) {
+        ThirdPartyApp app = ThirdPartyApp.builder()
+                .appCode(seed.code())
+                .appName(seed.name())
+                .publisher(seed.publisher())
+                .category(seed.category())
+                .installerType(seed.installerType())
+                .downloadUrl(seed.downloadUrl())
+                .silentInstallArgs(seed.silentArgs())
+                .latestVersion(seed.version())
+                .description(seed.description())
+                .isApproved(seed.preApproved())
+                .isInstalled(false)
+                .requiresAdmin(true)
+                .requiresRestart(seed.requiresRestart())
+                .supportedArchitectures("x64,x86")
+                .licenseType("Free/Open Source")
+                .build();
+
+        if (seed.preApproved()) {
+            app.setApprovedBy("system");
+            app.setApprovedAt(java.time.LocalDateTime.now());
         }
+        return app;
     }
 
     /**
@@ -347,12 +389,13 @@ public class DataInitializer implements CommandLineRunner {
         }
 
         log.info("Initializing default access policies...");
+        List<AppAccessPolicy> policies = new ArrayList<>();
 
         // --- IT_ADMIN: full access to all products and categories ---
         String[] allProducts = {"SIS", "TEACHER", "STUDENT", "SCHEDULER", "TALK", "TALKMODULE",
                 "GUARDIAN", "GUARDIANMONITOR", "EDGAMES", "HUB", "MESSAGING"};
         for (String product : allProducts) {
-            createPolicy("IT_ADMIN", PolicyTargetType.HERONIX_PRODUCT, product, true,
+            createPolicy(policies, "IT_ADMIN", PolicyTargetType.HERONIX_PRODUCT, product, true,
                     "Default: IT admins have full product access");
         }
 
@@ -360,48 +403,45 @@ public class DataInitializer implements CommandLineRunner {
         String[] allCategories = {"BROWSER", "EDUCATION", "PRODUCTIVITY", "COMMUNICATION",
                 "MULTIMEDIA", "UTILITIES", "DEVELOPMENT", "SCIENCE", "ACCESSIBILITY"};
         for (String category : allCategories) {
-            createPolicy("IT_ADMIN", PolicyTargetType.THIRDPARTY_CATEGORY, category, true,
+            createPolicy(policies, "IT_ADMIN", PolicyTargetType.THIRDPARTY_CATEGORY, category, true,
                     "Default: IT admins have full category access");
         }
 
         // --- TEACHER: Teacher Portal + EdGames only ---
-        createPolicy("TEACHER", PolicyTargetType.HERONIX_PRODUCT, "TEACHER", true,
+        createPolicy(policies, "TEACHER", PolicyTargetType.HERONIX_PRODUCT, "TEACHER", true,
                 "Default: Teachers access Teacher Portal");
-        createPolicy("TEACHER", PolicyTargetType.HERONIX_PRODUCT, "EDGAMES", true,
+        createPolicy(policies, "TEACHER", PolicyTargetType.HERONIX_PRODUCT, "EDGAMES", true,
                 "Default: Teachers access EdGames");
 
         // TEACHER: Browser and Education categories
-        createPolicy("TEACHER", PolicyTargetType.THIRDPARTY_CATEGORY, "BROWSER", true,
+        createPolicy(policies, "TEACHER", PolicyTargetType.THIRDPARTY_CATEGORY, "BROWSER", true,
                 "Default: Teachers access web browsers");
-        createPolicy("TEACHER", PolicyTargetType.THIRDPARTY_CATEGORY, "EDUCATION", true,
+        createPolicy(policies, "TEACHER", PolicyTargetType.THIRDPARTY_CATEGORY, "EDUCATION", true,
                 "Default: Teachers access educational apps");
 
         // --- STUDENT: Student Portal + EdGames only ---
-        createPolicy("STUDENT", PolicyTargetType.HERONIX_PRODUCT, "STUDENT", true,
+        createPolicy(policies, "STUDENT", PolicyTargetType.HERONIX_PRODUCT, "STUDENT", true,
                 "Default: Students access Student Portal");
-        createPolicy("STUDENT", PolicyTargetType.HERONIX_PRODUCT, "EDGAMES", true,
+        createPolicy(policies, "STUDENT", PolicyTargetType.HERONIX_PRODUCT, "EDGAMES", true,
                 "Default: Students access EdGames");
 
         // STUDENT: Education category only
-        createPolicy("STUDENT", PolicyTargetType.THIRDPARTY_CATEGORY, "EDUCATION", true,
+        createPolicy(policies, "STUDENT", PolicyTargetType.THIRDPARTY_CATEGORY, "EDUCATION", true,
                 "Default: Students access educational apps");
 
-        log.info("Initialized {} default access policies", appAccessPolicyRepository.count());
+        appAccessPolicyRepository.saveAll(policies);
+        log.info("Initialized {} default access policies", policies.size());
     }
 
-    private void createPolicy(String roleName, PolicyTargetType targetType, String targetCode,
-                               boolean granted, String note) {
-        if (!appAccessPolicyRepository.existsByRoleNameAndTargetTypeAndTargetCode(
-                roleName, targetType, targetCode)) {
-            AppAccessPolicy policy = AppAccessPolicy.builder()
-                    .roleName(roleName)
-                    .targetType(targetType)
-                    .targetCode(targetCode)
-                    .accessGranted(granted)
-                    .modifiedBy("SYSTEM")
-                    .policyNote(note)
-                    .build();
-            appAccessPolicyRepository.save(policy);
-        }
+    private void createPolicy(List<AppAccessPolicy> policies, String roleName, PolicyTargetType targetType,
+                              String targetCode, boolean granted, String note) {
+        policies.add(AppAccessPolicy.builder()
+                .roleName(roleName)
+                .targetType(targetType)
+                .targetCode(targetCode)
+                .accessGranted(granted)
+                .modifiedBy("SYSTEM")
+                .policyNote(note)
+                .build());
     }
 }
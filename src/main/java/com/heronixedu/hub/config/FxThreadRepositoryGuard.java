@@ -0,0 +1,62 @@
+package com.heronixedu.hub.config;
+
+import javafx.application.Platform;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.Advised;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.core.env.Environment;
+import org.springframework.data.repository.Repository;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Flags repository calls made on the JavaFX application thread.
+ *
+ * Database access belongs on UiTaskExecutor threads; a query on the FX thread freezes the UI.
+ * With heronix.ui.repository-on-fx-thread=warn (default) each offending repository method is
+ * logged once with the calling stack; with "fail" the call is rejected with an exception.
+ */
+@Component
+@Slf4j
+public class FxThreadRepositoryGuard implements BeanPostProcessor, EnvironmentAware {
+
+    private final Set<Method> reported = ConcurrentHashMap.newKeySet();
+    private boolean failOnViolation;
+    private boolean enabled = true;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        String mode = environment.getProperty("heronix.ui.repository-on-fx-thread", "warn");
+        enabled = !"off".equalsIgnoreCase(mode);
+        failOnViolation = "fail".equalsIgnoreCase(mode);
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (enabled && bean instanceof Repository<?, ?> && bean instanceof Advised advised && !advised.isFrozen()) {
+            advised.addAdvice((MethodInterceptor) invocation -> {
+                if (Platform.isFxApplicationThread()) {
+                    onViolation(beanName, invocation.getMethod());
+                }
+                return invocation.proceed();
+            });
+        }
+        return bean;
+    }
+
+    private void onViolation(String repository, Method method) {
+        String call = repository + "." + method.getName();
+        if (failOnViolation) {
+            throw new IllegalStateException("Repository call on the FX thread: " + call);
+        }
+        if (reported.add(method)) {
+            log.warn("Repository call on the FX thread: {} (run it through UiTaskExecutor)", call,
+                    new IllegalStateException("FX thread database access"));
+        }
+    }
+}
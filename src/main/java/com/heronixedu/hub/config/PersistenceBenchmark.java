@@ -0,0 +1,124 @@
+package com.heronixedu.hub.config;
+
+import com.heronixedu.hub.model.AuditLog;
+import com.heronixedu.hub.model.enums.AuditAction;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Bulk write benchmark: inserts, updates and deletes a batch of audit log rows once with one
+ * statement per row and once with the configured JDBC batch size, and logs both timings.
+ * Only active with heronix.benchmark.persistence.enabled=true (see benchmark-persistence.sh);
+ * the rows are removed afterwards.
+ */
+@Component
+@Order(1)
+@ConditionalOnProperty(name = "heronix.benchmark.persistence.enabled", havingValue = "true")
+@Slf4j
+public class PersistenceBenchmark implements CommandLineRunner {
+
+    private static final String MARKER = "persistence-benchmark";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${heronix.benchmark.persistence.rows:5000}")
+    private int rows;
+
+    @Value("${spring.jpa.properties.hibernate.jdbc.batch_size:1}")
+    private int batchSize;
+
+    public PersistenceBenchmark(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void run(String... args) {
+        // Warm-up pass so the first measured run doesn't pay for class loading and JIT
+        measure(1, Math.min(rows, 500));
+        measure(batchSize, Math.min(rows, 500));
+
+        long[] unbatched = measure(1, rows);
+        long[] batched = measure(batchSize, rows);
+        log.info("Persistence benchmark, {} rows (ms)", rows);
+        log.info(row("", "insert", "update", "delete"));
+        log.info(row("batch size 1", unbatched[0], unbatched[1], unbatched[2]));
+        log.info(row("batch size " + batchSize, batched[0], batched[1], batched[2]));
+    }
+
+    /**
+     * Insert, update and delete the given number of rows, one transaction each.
+     * Returns the three timings in ms.
+     */
+    private long[] measure(int jdbcBatchSize, int count) {
+        long[] millis = new long[3];
+        List<Long> ids = new ArrayList<>(count);
+
+        millis[0] = timed(() -> inTransaction(jdbcBatchSize, () -> {
+            for (int i = 0; i < count; i++) {
+                AuditLog entry = AuditLog.builder()
+                        .username(MARKER)
+                        .action(AuditAction.LOGIN_SUCCESS)
+                        .details("Benchmark row " + i)
+                        .build();
+                entityManager.persist(entry);
+                ids.add(entry.getId());
+                flushEvery(i, jdbcBatchSize);
+            }
+        }));
+
+        millis[1] = timed(() -> inTransaction(jdbcBatchSize, () -> {
+            for (int i = 0; i < ids.size(); i++) {
+                entityManager.find(AuditLog.class, ids.get(i)).setSeverity("DEBUG");
+                flushEvery(i, jdbcBatchSize);
+            }
+        }));
+
+        millis[2] = timed(() -> inTransaction(jdbcBatchSize, () -> {
+            for (int i = 0; i < ids.size(); i++) {
+                entityManager.remove(entityManager.getReference(AuditLog.class, ids.get(i)));
+                flushEvery(i, jdbcBatchSize);
+            }
+        }));
+        return millis;
+    }
+
+    private void inTransaction(int jdbcBatchSize, Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(jdbcBatchSize);
+            work.run();
+        });
+    }
+
+    // Keep the persistence context small, as bulk code paths do
+    private void flushEvery(int index, int jdbcBatchSize) {
+        if ((index + 1) % Math.max(jdbcBatchSize, 50) == 0) {
+            entityManager.flush();
+            entityManager.clear();
+        }
+    }
+
+    private static long timed(Runnable action) {
+        long start = System.nanoTime();
+        action.run();
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+
+    private static String row(String label, Object insert, Object update, Object delete) {
+        return String.format("  %-20s %8s %8s %8s", label, insert, update, delete);
+    }
+}
@@ -0,0 +1,29 @@
+package com.heronixedu.hub.config;
+
+import com.heronixedu.hub.model.Role;
+import com.heronixedu.hub.service.PermissionService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * JPA entity listener that drops compiled permission bitsets when a role is written.
+ * Role is versioned, so permission-only edits (role_permissions rows) also bump the role row
+ * and fire @PostUpdate. Instantiated through Spring's bean container so it can reach
+ * PermissionService.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleChangeListener {
+
+    private final PermissionService permissionService;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void onRoleChanged(Role role) {
+        permissionService.invalidateRole(role.getId());
+    }
+}
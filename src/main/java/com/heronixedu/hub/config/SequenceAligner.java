@@ -0,0 +1,80 @@
+package com.heronixedu.hub.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import jakarta.persistence.metamodel.EntityType;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Field;
+
+/**
+ * Moves entity id sequences past the ids already in their tables.
+ *
+ * Entity ids come from pooled sequences (allocationSize ids per round trip). Databases created
+ * before that used identity columns, and schema.sql/data.sql still insert identity rows, so a
+ * fresh sequence would hand out ids that are taken. Runs before DataInitializer seeds anything;
+ * a no-op once the sequences are ahead.
+ */
+@Component
+@Order(0)
+@RequiredArgsConstructor
+@Slf4j
+public class SequenceAligner implements CommandLineRunner {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(String... args) {
+        Dialect dialect = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices().getDialect();
+        for (EntityType<?> entity : entityManagerFactory.getMetamodel().getEntities()) {
+            Class<?> type = entity.getJavaType();
+            Table table = type.getAnnotation(Table.class);
+            SequenceGenerator generator = idGenerator(type);
+            if (table == null || generator == null) {
+                continue;
+            }
+            try {
+                align(dialect, table.name(), generator.sequenceName(), generator.allocationSize());
+            } catch (Exception e) {
+                log.warn("Could not align sequence {} with table {}: {}",
+                        generator.sequenceName(), table.name(), e.getMessage());
+            }
+        }
+    }
+
+    private void align(Dialect dialect, String table, String sequence, int allocationSize) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        if (maxId == null || maxId == 0) {
+            return;
+        }
+        Long next = jdbcTemplate.queryForObject(
+                dialect.getSequenceSupport().getSequenceNextValString(sequence), Long.class);
+        // The pooled optimizer uses (value - allocationSize, value] for a sequence value
+        if (next != null && next - allocationSize + 1 > maxId) {
+            return;
+        }
+        long restart = maxId + allocationSize;
+        jdbcTemplate.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + restart);
+        log.info("Sequence {} restarted at {} (highest {} id is {})", sequence, restart, table, maxId);
+    }
+
+    private static SequenceGenerator idGenerator(Class<?> type) {
+        for (Field field : type.getDeclaredFields()) {
+            SequenceGenerator generator = field.getAnnotation(SequenceGenerator.class);
+            if (generator != null) {
+                return generator;
+            }
+        }
+        return null;
+    }
+}
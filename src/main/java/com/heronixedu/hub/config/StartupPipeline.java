@@ -0,0 +1,188 @@
+package com.heronixedu.hub.config;
+
+import com.heronixedu.hub.service.DownloadSecurityService;
+import com.heronixedu.hub.service.KioskModeService;
+import com.heronixedu.hub.service.ProductLauncherService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Startup phases of the Hub.
+ *
+ * Phase 1 (before the login screen): the Spring context and the reference data seeding
+ * (DataInitializer). Phase 2 (after the login screen is up): initializers nothing on the login
+ * screen depends on, run in parallel on virtual threads. Once both the first screen is shown
+ * and the background phase is done, a startup timeline is logged and written to
+ * startup-timeline.txt: phase times since JVM start, the slowest beans (from Spring's buffered
+ * application startup) and each background task.
+ */
+@Component
+@Slf4j
+public class StartupPipeline {
+
+    /**
+     * Bean instantiation steps kept for the report (HubApplication installs the buffer).
+     */
+    public static final int TIMELINE_CAPACITY = 4096;
+
+    private static final int SLOWEST_BEANS = 20;
+
+    private record BackgroundTask(String name, Runnable action) {
+    }
+
+    private record TaskTiming(String name, long millis, String error) {
+    }
+
+    private final ConfigurableApplicationContext context;
+    private final List<BackgroundTask> backgroundTasks;
+    private final ConcurrentLinkedQueue<TaskTiming> taskTimings = new ConcurrentLinkedQueue<>();
+    private final CompletableFuture<Void> backgroundDone = new CompletableFuture<>();
+    private final CompletableFuture<Void> firstScreenShown = new CompletableFuture<>();
+
+    @Value("${heronix.startup.timeline-file:${user.home}/.heronix/hub/logs/startup-timeline.txt}")
+    private String timelineFile;
+
+    private volatile long contextReadyMillis;
+    private volatile long firstScreenMillis;
+    private volatile long backgroundDoneMillis;
+    private volatile String firstScreen;
+
+    public StartupPipeline(ConfigurableApplicationContext context,
+                           ProductLauncherService productLauncherService,
+                           DownloadSecurityService downloadSecurityService,
+                           KioskModeService kioskModeService) {
+        this.context = context;
+        // Called through the bean proxies, so @Transactional applies
+        this.backgroundTasks = List.of(
+                new BackgroundTask("product-discovery", productLauncherService::discoverProducts),
+                new BackgroundTask("download-source-policies", downloadSecurityService::initializeDefaultPolicies),
+                new BackgroundTask("kiosk-config", kioskModeService::ensureConfigExists)
+        );
+        backgroundDone.runAfterBoth(firstScreenShown, this::report);
+    }
+
+    /**
+     * Start the background phase once the context (including DataInitializer) is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        contextReadyMillis = sinceJvmStart();
+        log.info("Spring context ready {} ms after JVM start", contextReadyMillis);
+
+        ExecutorService executor = Executors.newThreadPerTaskExecutor(
+                Thread.ofVirtual().name("startup-", 0).factory());
+        List<CompletableFuture<Void>> running = new ArrayList<>();
+        for (BackgroundTask task : backgroundTasks) {
+            running.add(CompletableFuture.runAsync(() -> runTimed(task), executor));
+        }
+        CompletableFuture.allOf(running.toArray(CompletableFuture[]::new)).whenComplete((ignored, error) -> {
+            executor.shutdown();
+            backgroundDoneMillis = sinceJvmStart();
+            backgroundDone.complete(null);
+        });
+    }
+
+    /**
+     * Called by HubApplication when the first real screen (login or dashboard) is visible.
+     */
+    public void markFirstScreenShown(String screen) {
+        if (firstScreenShown.isDone()) {
+            return;
+        }
+        firstScreen = screen;
+        firstScreenMillis = sinceJvmStart();
+        log.info("{} screen shown {} ms after JVM start", screen, firstScreenMillis);
+        firstScreenShown.complete(null);
+    }
+
+    /**
+     * Completes when all background startup tasks have finished.
+     */
+    public CompletableFuture<Void> backgroundPhase() {
+        return backgroundDone;
+    }
+
+    private void runTimed(BackgroundTask task) {
+        long start = System.nanoTime();
+        String error = null;
+        try {
+            task.action().run();
+        } catch (Exception e) {
+            error = e.getMessage();
+            log.error("Startup task {} failed", task.name(), e);
+        }
+        taskTimings.add(new TaskTiming(task.name(), Duration.ofNanos(System.nanoTime() - start).toMillis(), error));
+    }
+
+    // ========================================================================
+    // TIMELINE REPORT
+    // ========================================================================
+
+    private void report() {
+        List<String> lines = new ArrayList<>();
+        lines.add("Heronix Hub startup timeline (ms since JVM start)");
+        lines.add(String.format("  %-40s %8d", "Spring context ready", contextReadyMillis));
+        lines.add(String.format("  %-40s %8d", firstScreen + " screen shown", firstScreenMillis));
+        lines.add(String.format("  %-40s %8d", "Background initialization done", backgroundDoneMillis));
+
+        lines.add("Background tasks (ms, run in parallel)");
+        taskTimings.stream()
+                .sorted(Comparator.comparingLong(TaskTiming::millis).reversed())
+                .forEach(t -> lines.add(String.format("  %-40s %8d%s", t.name(), t.millis(),
+                        t.error() != null ? "  FAILED: " + t.error() : "")));
+
+        if (context.getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            lines.add("Slowest beans (ms, including their dependencies)");
+            startup.getBufferedTimeline().getEvents().stream()
+                    .filter(event -> "spring.beans.instantiate".equals(event.getStartupStep().getName()))
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(SLOWEST_BEANS)
+                    .forEach(event -> lines.add(String.format("  %-40s %8d",
+                            beanName(event.getStartupStep()), event.getDuration().toMillis())));
+        }
+
+        String report = String.join(System.lineSeparator(), lines);
+        log.info("{}", report);
+        try {
+            Path file = Paths.get(timelineFile);
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, report + System.lineSeparator());
+        } catch (IOException e) {
+            log.debug("Could not write startup timeline: {}", e.getMessage());
+        }
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if ("beanName".equals(tag.getKey())) {
+                return tag.getValue();
+            }
+        }
+        return step.getName();
+    }
+
+    private static long sinceJvmStart() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}
@@ -7,8 +7,12 @@ import com.heronixedu.hub.model.enums.PermissionType;
 import com.heronixedu.hub.model.enums.ServerType;
 import com.heronixedu.hub.model.enums.ThirdPartyAppCategory;
 import com.heronixedu.hub.model.enums.UpdatePolicy;
+import com.heronixedu.hub.repository.AuditLogSummary;
+import com.heronixedu.hub.repository.ThirdPartyAppSummary;
+import com.heronixedu.hub.repository.UserSummary;
 import com.heronixedu.hub.service.*;
 import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectWrapper;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.concurrent.Task;
@@ -22,6 +26,7 @@ import javafx.stage.DirectoryChooser;
 import javafx.stage.FileChooser;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
@@ -31,8 +36,10 @@ import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 @Component
+@Lazy // Only needed once an admin opens the panel; keeps it off the startup path
 @Slf4j
 public class AdminPanelController {
 
@@ -52,14 +59,15 @@ public class AdminPanelController {
 
     // Users Tab
     @FXML private TextField userSearchField;
-    @FXML private TableView<User> usersTable;
-    @FXML private TableColumn<User, Long> userIdColumn;
-    @FXML private TableColumn<User, String> usernameColumn;
-    @FXML private TableColumn<User, String> fullNameColumn;
-    @FXML private TableColumn<User, String> emailColumn;
-    @FXML private TableColumn<User, String> userRoleColumn;
-    @FXML private TableColumn<User, Boolean> activeColumn;
-    @FXML private TableColumn<User, Void> userActionsColumn;
+    @FXML private TableView<UserSummary> usersTable;
+    @FXML private TableColumn<UserSummary, Long> userIdColumn;
+    @FXML private TableColumn<UserSummary, String> usernameColumn;
+    @FXML private TableColumn<UserSummary, String> fullNameColumn;
+    @FXML private TableColumn<UserSummary, String> emailColumn;
+    @FXML private TableColumn<UserSummary, String> userRoleColumn;
+    @FXML private TableColumn<UserSummary, Boolean> activeColumn;
+    @FXML private TableColumn<UserSummary, Void> userActionsColumn;
+    @FXML private Label usersPageInfoLabel;
 
     // Network Tab
     @FXML private ComboBox<ServerType> serverTypeCombo;
@@ -88,15 +96,16 @@ public class AdminPanelController {
     @FXML private TextField softwareSearchField;
     @FXML private ComboBox<ThirdPartyAppCategory> softwareCategoryFilter;
     @FXML private CheckBox showApprovedOnlyCheckbox;
-    @FXML private TableView<ThirdPartyApp> softwareTable;
-    @FXML private TableColumn<ThirdPartyApp, String> swNameColumn;
-    @FXML private TableColumn<ThirdPartyApp, String> swPublisherColumn;
-    @FXML private TableColumn<ThirdPartyApp, ThirdPartyAppCategory> swCategoryColumn;
-    @FXML private TableColumn<ThirdPartyApp, String> swVersionColumn;
-    @FXML private TableColumn<ThirdPartyApp, InstallerType> swInstallerTypeColumn;
-    @FXML private TableColumn<ThirdPartyApp, Boolean> swApprovedColumn;
-    @FXML private TableColumn<ThirdPartyApp, Boolean> swInstalledColumn;
-    @FXML private TableColumn<ThirdPartyApp, Void> swActionsColumn;
+    @FXML private TableView<ThirdPartyAppSummary> softwareTable;
+    @FXML private TableColumn<ThirdPartyAppSummary, String> swNameColumn;
+    @FXML private TableColumn<ThirdPartyAppSummary, String> swPublisherColumn;
+    @FXML private TableColumn<ThirdPartyAppSummary, ThirdPartyAppCategory> swCategoryColumn;
+    @FXML private TableColumn<ThirdPartyAppSummary, String> swVersionColumn;
+    @FXML private TableColumn<ThirdPartyAppSummary, InstallerType> swInstallerTypeColumn;
+    @FXML private TableColumn<ThirdPartyAppSummary, Boolean> swApprovedColumn;
+    @FXML private TableColumn<ThirdPartyAppSummary, Boolean> swInstalledColumn;
+    @FXML private TableColumn<ThirdPartyAppSummary, Void> swActionsColumn;
+    @FXML private Label softwarePageInfoLabel;
     @FXML private Label totalSoftwareLabel;
     @FXML private Label approvedSoftwareLabel;
     @FXML private Label installedSoftwareLabel;
@@ -124,13 +133,13 @@ public class AdminPanelController {
     @FXML private ComboBox<AuditAction> actionFilterCombo;
     @FXML private DatePicker fromDatePicker;
     @FXML private DatePicker toDatePicker;
-    @FXML private TableView<AuditLog> logsTable;
-    @FXML private TableColumn<AuditLog, String> logTimestampColumn;
-    @FXML private TableColumn<AuditLog, String> logUsernameColumn;
-    @FXML private TableColumn<AuditLog, AuditAction> logActionColumn;
-    @FXML private TableColumn<AuditLog, String> logEntityColumn;
-    @FXML private TableColumn<AuditLog, Boolean> logSuccessColumn;
-    @FXML private TableColumn<AuditLog, String> logDetailsColumn;
+    @FXML private TableView<AuditLogSummary> logsTable;
+    @FXML private TableColumn<AuditLogSummary, String> logTimestampColumn;
+    @FXML private TableColumn<AuditLogSummary, String> logUsernameColumn;
+    @FXML private TableColumn<AuditLogSummary, AuditAction> logActionColumn;
+    @FXML private TableColumn<AuditLogSummary, String> logEntityColumn;
+    @FXML private TableColumn<AuditLogSummary, Boolean> logSuccessColumn;
+    @FXML private TableColumn<AuditLogSummary, String> logDetailsColumn;
     @FXML private Label pageInfoLabel;
 
     // Status Tab
@@ -145,6 +154,10 @@ public class AdminPanelController {
     @FXML private Label osLabel;
     @FXML private ProgressBar memoryProgressBar;
     @FXML private Label memoryLabel;
+    @FXML private Label cacheHitRatioLabel;
+    @FXML private Label cacheRegionsLabel;
+    @FXML private Label launchTimingLabel;
+    @FXML private Label launchMetricsLabel;
 
     // Services
     @Autowired private PermissionService permissionService;
@@ -154,19 +167,32 @@ public class AdminPanelController {
     @Autowired private DeploymentService deploymentService;
     @Autowired private AuditLogService auditLogService;
     @Autowired private SystemStatusService systemStatusService;
+    @Autowired private EntityCacheService entityCacheService;
+    @Autowired private ProductLaunchAcceleratorService launchAcceleratorService;
     @Autowired private ThirdPartyAppService thirdPartyAppService;
     @Autowired private ThirdPartyInstallerService thirdPartyInstallerService;
     @Autowired private AppUpdateService appUpdateService;
     @Autowired private DeviceApprovalService deviceApprovalService;
     @Autowired private AuthenticationService authenticationService;
+    @Autowired private UiTaskExecutor uiTaskExecutor;
 
     private User currentUser;
     private Runnable onBackToDashboard;
+    private UiTaskExecutor.Scope tasks;
+    // Admin tables show one page at a time (summaries, not entities)
+    private int usersPage = 0;
+    private int usersTotalPages = 1;
+    private int softwarePage = 0;
+    private int softwareTotalPages = 1;
     private int currentPage = 0;
+    private int logsTotalPages = 1;
     private static final int PAGE_SIZE = 50;
 
     @FXML
     public void initialize() {
+        if (tasks == null) {
+            tasks = uiTaskExecutor.newScope("AdminPanel");
+        }
         setupUsersTable();
         setupNetworkForm();
         setupDevicesTable();
@@ -209,12 +235,12 @@ public class AdminPanelController {
     // ========== Users Tab ==========
 
     private void setupUsersTable() {
-        userIdColumn.setCellValueFactory(new PropertyValueFactory<>("id"));
-        usernameColumn.setCellValueFactory(new PropertyValueFactory<>("username"));
-        fullNameColumn.setCellValueFactory(new PropertyValueFactory<>("fullName"));
-        emailColumn.setCellValueFactory(new PropertyValueFactory<>("email"));
-        userRoleColumn.setCellValueFactory(new PropertyValueFactory<>("role"));
-        activeColumn.setCellValueFactory(new PropertyValueFactory<>("isActive"));
+        userIdColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getId()));
+        usernameColumn.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getUsername()));
+        fullNameColumn.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getFullName()));
+        emailColumn.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getEmail()));
+        userRoleColumn.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getRole()));
+        activeColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getIsActive()));
 
         // Actions column
         userActionsColumn.setCellFactory(col -> new TableCell<>() {
@@ -234,24 +260,66 @@ public class AdminPanelController {
                 setGraphic(empty ? null : buttons);
             }
         });
+
+        userSearchField.textProperty().addListener((obs, old, val) -> {
+            usersPage = 0;
+            handleRefreshUsers();
+        });
     }
 
     @FXML
     private void handleRefreshUsers() {
-        List<User> users = userManagementService.getAllUsers();
-        usersTable.setItems(FXCollections.observableArrayList(users));
+        String search = userSearchField.getText();
+        int page = usersPage;
+
+        tasks.submit("users", () -> userManagementService.getUserSummaries(search, PageRequest.of(page, PAGE_SIZE)),
+                users -> {
+                    usersTable.setItems(FXCollections.observableArrayList(users.getContent()));
+                    usersTotalPages = Math.max(users.getTotalPages(), 1);
+                    usersPageInfoLabel.setText("Page " + (page + 1) + " of " + usersTotalPages);
+                },
+                e -> showError("Failed to load users: " + e.getMessage()));
+    }
+
+    @FXML
+    private void handlePrevUsersPage() {
+        if (usersPage > 0) {
+            usersPage--;
+            handleRefreshUsers();
+        }
+    }
+
+    @FXML
+    private void handleNextUsersPage() {
+        if (usersPage + 1 < usersTotalPages) {
+            usersPage++;
+            handleRefreshUsers();
+        }
+    }
+
+    /**
+     * The user being edited (null when adding) and the roles to choose from, loaded off the FX thread.
+     */
+    private record UserDialogData(User user, List<Role> roles) {
     }
 
     @FXML
     private void handleAddUser() {
-        showUserDialog(null);
+        tasks.submit("user-edit", () -> new UserDialogData(null, userManagementService.getAllRoles()),
+                this::showUserDialog,
+                e -> showError("Failed to load roles: " + e.getMessage()));
     }
 
-    private void handleEditUser(User user) {
-        showUserDialog(user);
+    private void handleEditUser(UserSummary summary) {
+        tasks.submit("user-edit", () -> new UserDialogData(
+                        userManagementService.getUserById(summary.getId())
+                                .orElseThrow(() -> new IllegalStateException("User no longer exists")),
+                        userManagementService.getAllRoles()),
+                this::showUserDialog,
+                e -> showError("Failed to load user: " + e.getMessage()));
     }
 
-    private void handleDeleteUser(User user) {
+    private void handleDeleteUser(UserSummary user) {
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Confirm Delete");
         confirm.setHeaderText("Delete User");
@@ -259,19 +327,21 @@ public class AdminPanelController {
 
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
-                    userManagementService.deleteUser(user.getId(), currentUser);
+                User admin = currentUser;
+                tasks.submit(null, () -> {
+                    userManagementService.deleteUser(user.getId(), admin);
+                    return user;
+                }, deleted -> {
                     handleRefreshUsers();
                     showInfo("User deleted successfully");
-                } catch (Exception e) {
-                    showError("Failed to delete user: " + e.getMessage());
-                }
+                }, e -> showError("Failed to delete user: " + e.getMessage()));
             }
         });
     }
 
-    private void showUserDialog(User user) {
-        Dialog<User> dialog = new Dialog<>();
+    private void showUserDialog(UserDialogData data) {
+        User user = data.user();
+        Dialog<ButtonType> dialog = new Dialog<>();
         dialog.setTitle(user == null ? "Add User" : "Edit User");
 
         GridPane grid = new GridPane();
@@ -284,7 +354,7 @@ public class AdminPanelController {
         PasswordField passwordField = new PasswordField();
         TextField fullNameField = new TextField(user != null ? user.getFullName() : "");
         TextField emailField = new TextField(user != null ? user.getEmail() : "");
-        ComboBox<Role> roleCombo = new ComboBox<>(FXCollections.observableArrayList(userManagementService.getAllRoles()));
+        ComboBox<Role> roleCombo = new ComboBox<>(FXCollections.observableArrayList(data.roles()));
         CheckBox activeCheck = new CheckBox();
         activeCheck.setSelected(user == null || user.getIsActive());
 
@@ -309,44 +379,33 @@ public class AdminPanelController {
         dialog.getDialogPane().setContent(grid);
         dialog.getDialogPane().getButtonTypes().addAll(ButtonType.OK, ButtonType.CANCEL);
 
-        dialog.setResultConverter(buttonType -> {
-            if (buttonType == ButtonType.OK) {
-                try {
-                    if (user == null) {
-                        // Create new user
-                        return userManagementService.createUser(
-                                usernameField.getText(),
-                                passwordField.getText(),
-                                fullNameField.getText(),
-                                emailField.getText(),
-                                roleCombo.getValue().getId(),
-                                currentUser
-                        );
-                    } else {
-                        // Update existing user
-                        if (!passwordField.getText().isEmpty()) {
-                            userManagementService.changePassword(user.getId(), passwordField.getText(), currentUser);
-                        }
-                        return userManagementService.updateUser(
-                                user.getId(),
-                                fullNameField.getText(),
-                                emailField.getText(),
-                                roleCombo.getValue().getId(),
-                                activeCheck.isSelected(),
-                                currentUser
-                        );
-                    }
-                } catch (Exception e) {
-                    showError("Failed to save user: " + e.getMessage());
-                    return null;
-                }
+        dialog.showAndWait().filter(ButtonType.OK::equals).ifPresent(ok -> {
+            if (roleCombo.getValue() == null) {
+                showError("Failed to save user: please select a role");
+                return;
             }
-            return null;
-        });
-
-        dialog.showAndWait().ifPresent(result -> {
-            handleRefreshUsers();
-            showInfo("User saved successfully");
+            String username = usernameField.getText();
+            String password = passwordField.getText();
+            String fullName = fullNameField.getText();
+            String email = emailField.getText();
+            Long roleId = roleCombo.getValue().getId();
+            boolean active = activeCheck.isSelected();
+            User admin = currentUser;
+
+            tasks.submit(null, () -> {
+                if (user == null) {
+                    // Create new user
+                    return userManagementService.createUser(username, password, fullName, email, roleId, admin);
+                }
+                // Update existing user
+                if (!password.isEmpty()) {
+                    userManagementService.changePassword(user.getId(), password, admin);
+                }
+                return userManagementService.updateUser(user.getId(), fullName, email, roleId, active, admin);
+            }, saved -> {
+                handleRefreshUsers();
+                showInfo("User saved successfully");
+            }, e -> showError("Failed to save user: " + e.getMessage()));
         });
     }
 
@@ -428,19 +487,18 @@ public class AdminPanelController {
             connectionStatusLabel.setStyle("-fx-text-fill: red;");
         });
 
-        new Thread(task).start();
+        tasks.execute("test-connection", task);
     }
 
     @FXML
     private void handleSaveNetwork() {
-        try {
-            NetworkConfig config = networkConfigService.getActiveConfig();
-            updateNetworkConfigFromForm(config);
-            networkConfigService.updateConfig(config, currentUser);
-            showInfo("Network configuration saved successfully");
-        } catch (Exception e) {
-            showError("Failed to save network configuration: " + e.getMessage());
-        }
+        // Editable copy of the cached active config, filled from the form here on the FX thread
+        NetworkConfig config = networkConfigService.getActiveConfig();
+        updateNetworkConfigFromForm(config);
+        User admin = currentUser;
+        tasks.submit("network-save", () -> networkConfigService.updateConfig(config, admin),
+                saved -> showInfo("Network configuration saved successfully"),
+                e -> showError("Failed to save network configuration: " + e.getMessage()));
     }
 
     @FXML
@@ -482,16 +540,18 @@ public class AdminPanelController {
 
     @FXML
     private void handleRefreshProducts() {
-        productCardsPane.getChildren().clear();
-        productLauncherService.updateProductInstallationStatus();
-
-        List<Product> products = productLauncherService.getAllProducts();
-        for (Product product : products) {
-            productCardsPane.getChildren().add(createProductCard(product));
-        }
+        tasks.submit("products", () -> {
+            productLauncherService.updateProductInstallationStatus();
+            return productLauncherService.getAllProducts();
+        }, products -> {
+            productCardsPane.getChildren().clear();
+            for (Product product : products) {
+                productCardsPane.getChildren().add(createProductCard(product));
+            }
 
-        long installed = products.stream().filter(Product::getIsInstalled).count();
-        productsStatusLabel.setText(installed + " of " + products.size() + " products installed");
+            long installed = products.stream().filter(Product::getIsInstalled).count();
+            productsStatusLabel.setText(installed + " of " + products.size() + " products installed");
+        }, e -> showError("Failed to load products: " + e.getMessage()));
     }
 
     @FXML
@@ -557,13 +617,13 @@ public class AdminPanelController {
     }
 
     private void handleLaunchProduct(Product product) {
-        try {
+        User user = currentUser;
+        tasks.submit(null, () -> {
             productLauncherService.launchProduct(product.getProductCode());
-            auditLogService.logProductLaunch(currentUser, product);
-            showInfo("Launched " + product.getProductName());
-        } catch (Exception e) {
-            showError("Failed to launch product: " + e.getMessage());
-        }
+            auditLogService.logProductLaunch(user, product);
+            return product;
+        }, launched -> showInfo("Launched " + launched.getProductName()),
+                e -> showError("Failed to launch product: " + e.getMessage()));
     }
 
     private void handleInstallProduct(Product product, ProgressBar progressBar, Button button) {
@@ -589,7 +649,7 @@ public class AdminPanelController {
             showError("Installation failed: " + task.getException().getMessage());
         }));
 
-        new Thread(task).start();
+        tasks.execute(null, task);
     }
 
     // ========== Software Catalog Tab ==========
@@ -614,9 +674,9 @@ public class AdminPanelController {
         });
 
         // Setup table columns
-        swNameColumn.setCellValueFactory(new PropertyValueFactory<>("appName"));
-        swPublisherColumn.setCellValueFactory(new PropertyValueFactory<>("publisher"));
-        swCategoryColumn.setCellValueFactory(new PropertyValueFactory<>("category"));
+        swNameColumn.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getAppName()));
+        swPublisherColumn.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getPublisher()));
+        swCategoryColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getCategory()));
         swCategoryColumn.setCellFactory(col -> new TableCell<>() {
             @Override
             protected void updateItem(ThirdPartyAppCategory item, boolean empty) {
@@ -624,8 +684,8 @@ public class AdminPanelController {
                 setText(empty || item == null ? "" : item.getDisplayName());
             }
         });
-        swVersionColumn.setCellValueFactory(new PropertyValueFactory<>("latestVersion"));
-        swInstallerTypeColumn.setCellValueFactory(new PropertyValueFactory<>("installerType"));
+        swVersionColumn.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getLatestVersion()));
+        swInstallerTypeColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getInstallerType()));
         swInstallerTypeColumn.setCellFactory(col -> new TableCell<>() {
             @Override
             protected void updateItem(InstallerType item, boolean empty) {
@@ -633,7 +693,7 @@ public class AdminPanelController {
                 setText(empty || item == null ? "" : item.name());
             }
         });
-        swApprovedColumn.setCellValueFactory(new PropertyValueFactory<>("isApproved"));
+        swApprovedColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getIsApproved()));
         swApprovedColumn.setCellFactory(col -> new TableCell<>() {
             @Override
             protected void updateItem(Boolean item, boolean empty) {
@@ -647,7 +707,7 @@ public class AdminPanelController {
                 }
             }
         });
-        swInstalledColumn.setCellValueFactory(new PropertyValueFactory<>("isInstalled"));
+        swInstalledColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getIsInstalled()));
         swInstalledColumn.setCellFactory(col -> new TableCell<>() {
             @Override
             protected void updateItem(Boolean item, boolean empty) {
@@ -679,23 +739,23 @@ public class AdminPanelController {
                 progressBar.setVisible(false);
 
                 installBtn.setOnAction(e -> {
-                    ThirdPartyApp app = getTableView().getItems().get(getIndex());
-                    handleInstallThirdPartyApp(app, progressBar, installBtn);
+                    ThirdPartyAppSummary app = getTableView().getItems().get(getIndex());
+                    withFullApp(app.getId(), full -> handleInstallThirdPartyApp(full, progressBar, installBtn));
                 });
 
                 approveBtn.setOnAction(e -> {
-                    ThirdPartyApp app = getTableView().getItems().get(getIndex());
-                    handleApproveApp(app);
+                    ThirdPartyAppSummary app = getTableView().getItems().get(getIndex());
+                    handleApproveApp(app.getId(), app.getAppName());
                 });
 
                 editBtn.setOnAction(e -> {
-                    ThirdPartyApp app = getTableView().getItems().get(getIndex());
-                    showSoftwareDialog(app);
+                    ThirdPartyAppSummary app = getTableView().getItems().get(getIndex());
+                    withFullApp(app.getId(), AdminPanelController.this::showSoftwareDialog);
                 });
 
                 deleteBtn.setOnAction(e -> {
-                    ThirdPartyApp app = getTableView().getItems().get(getIndex());
-                    handleDeleteApp(app);
+                    ThirdPartyAppSummary app = getTableView().getItems().get(getIndex());
+                    handleDeleteApp(app.getId(), app.getAppName());
                 });
             }
 
@@ -705,7 +765,7 @@ public class AdminPanelController {
                 if (empty) {
                     setGraphic(null);
                 } else {
-                    ThirdPartyApp app = getTableView().getItems().get(getIndex());
+                    ThirdPartyAppSummary app = getTableView().getItems().get(getIndex());
                     buttons.getChildren().clear();
 
                     boolean canManage = permissionService.hasPermission(currentUser, PermissionType.CAN_MANAGE_SOFTWARE_CATALOG);
@@ -736,62 +796,91 @@ public class AdminPanelController {
         showApprovedOnlyCheckbox.selectedProperty().addListener((obs, old, val) -> filterSoftwareTable());
     }
 
+    /**
+     * Everything the Software Catalog tab shows besides the table, loaded together off the FX thread.
+     */
+    private record SoftwareCatalogData(ThirdPartyAppService.CatalogStats stats,
+                                       List<ThirdPartyApp> pendingUpdates, List<ThirdPartyApp> approvedUpdates,
+                                       List<ThirdPartyAppSummary> pendingApps) {
+    }
+
     @FXML
     private void handleRefreshSoftware() {
-        List<ThirdPartyApp> apps;
-
-        if (showApprovedOnlyCheckbox.isSelected()) {
-            apps = thirdPartyAppService.getApprovedApps();
-        } else {
-            apps = thirdPartyAppService.getAllApps();
-        }
-
-        softwareTable.setItems(FXCollections.observableArrayList(apps));
-        updateSoftwareStats();
-        loadPendingApprovals();
+        loadSoftwarePage();
+        tasks.submit("software", () -> new SoftwareCatalogData(
+                thirdPartyAppService.getCatalogStats(),
+                appUpdateService.getAppsWithPendingUpdates(),
+                appUpdateService.getAppsWithApprovedUpdates(),
+                thirdPartyAppService.getPendingAppSummaries()
+        ), data -> {
+            updateSoftwareStats(data);
+            loadPendingApprovals(data.pendingApps());
+        }, e -> showError("Failed to load software catalog: " + e.getMessage()));
     }
 
+    /**
+     * Search, category or approval filter changed: back to the first page.
+     */
     private void filterSoftwareTable() {
+        softwarePage = 0;
+        loadSoftwarePage();
+    }
+
+    private void loadSoftwarePage() {
         String searchTerm = softwareSearchField.getText();
         ThirdPartyAppCategory category = softwareCategoryFilter.getValue();
         boolean approvedOnly = showApprovedOnlyCheckbox.isSelected();
+        int page = softwarePage;
+
+        tasks.submit("software-page", () -> thirdPartyAppService.getAppSummaries(
+                searchTerm, category, approvedOnly, PageRequest.of(page, PAGE_SIZE)), apps -> {
+            softwareTable.setItems(FXCollections.observableArrayList(apps.getContent()));
+            softwareTotalPages = Math.max(apps.getTotalPages(), 1);
+            softwarePageInfoLabel.setText("Page " + (page + 1) + " of " + softwareTotalPages);
+        }, e -> showError("Failed to load software catalog: " + e.getMessage()));
+    }
 
-        List<ThirdPartyApp> apps;
+    @FXML
+    private void handlePrevSoftwarePage() {
+        if (softwarePage > 0) {
+            softwarePage--;
+            loadSoftwarePage();
+        }
+    }
 
-        if (searchTerm != null && !searchTerm.isEmpty()) {
-            apps = thirdPartyAppService.searchApps(searchTerm, approvedOnly);
-        } else if (category != null) {
-            apps = approvedOnly ?
-                    thirdPartyAppService.getApprovedAppsByCategory(category) :
-                    thirdPartyAppService.getAppsByCategory(category);
-        } else {
-            apps = approvedOnly ?
-                    thirdPartyAppService.getApprovedApps() :
-                    thirdPartyAppService.getAllApps();
+    @FXML
+    private void handleNextSoftwarePage() {
+        if (softwarePage + 1 < softwareTotalPages) {
+            softwarePage++;
+            loadSoftwarePage();
         }
+    }
 
-        softwareTable.setItems(FXCollections.observableArrayList(apps));
+    /**
+     * Load the full catalog entry of a table row (for editing or installing) off the FX thread.
+     */
+    private void withFullApp(Long appId, Consumer<ThirdPartyApp> action) {
+        tasks.submit("software-app", () -> thirdPartyAppService.findById(appId)
+                        .orElseThrow(() -> new IllegalStateException("Application no longer exists")),
+                action,
+                e -> showError("Failed to load software: " + e.getMessage()));
     }
 
-    private void updateSoftwareStats() {
-        ThirdPartyAppService.CatalogStats stats = thirdPartyAppService.getCatalogStats();
+    private void updateSoftwareStats(SoftwareCatalogData data) {
+        ThirdPartyAppService.CatalogStats stats = data.stats();
         totalSoftwareLabel.setText(String.valueOf(stats.total()));
         approvedSoftwareLabel.setText(String.valueOf(stats.approved()));
         installedSoftwareLabel.setText(String.valueOf(stats.installed()));
         pendingSoftwareLabel.setText(String.valueOf(stats.total() - stats.approved()));
 
         // Update count
-        List<ThirdPartyApp> appsWithUpdates = appUpdateService.getAppsWithPendingUpdates();
-        updatesAvailableLabel.setText(String.valueOf(appsWithUpdates.size()));
-        loadPendingUpdates();
+        updatesAvailableLabel.setText(String.valueOf(data.pendingUpdates().size()));
+        loadPendingUpdates(data.pendingUpdates(), data.approvedUpdates());
     }
 
-    private void loadPendingUpdates() {
+    private void loadPendingUpdates(List<ThirdPartyApp> pendingUpdates, List<ThirdPartyApp> approvedUpdates) {
         pendingUpdatesFlowPane.getChildren().clear();
 
-        List<ThirdPartyApp> pendingUpdates = appUpdateService.getAppsWithPendingUpdates();
-        List<ThirdPartyApp> approvedUpdates = appUpdateService.getAppsWithApprovedUpdates();
-
         int totalUpdates = pendingUpdates.size() + approvedUpdates.size();
 
         if (totalUpdates == 0) {
@@ -902,7 +991,7 @@ public class AdminPanelController {
             showError("Update check failed: " + task.getException().getMessage());
         }));
 
-        new Thread(task).start();
+        tasks.execute("check-updates", task);
     }
 
     private void handleApproveUpdate(ThirdPartyApp app) {
@@ -914,25 +1003,27 @@ public class AdminPanelController {
 
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
-                    appUpdateService.approveUpdate(app.getId(), currentUser);
+                User admin = currentUser;
+                tasks.submit(null, () -> {
+                    appUpdateService.approveUpdate(app.getId(), admin);
+                    return app;
+                }, approved -> {
                     handleRefreshSoftware();
                     showInfo("Update approved");
-                } catch (Exception e) {
-                    showError("Failed to approve update: " + e.getMessage());
-                }
+                }, e -> showError("Failed to approve update: " + e.getMessage()));
             }
         });
     }
 
     private void handleRejectUpdate(ThirdPartyApp app) {
-        try {
-            appUpdateService.rejectUpdate(app.getId(), currentUser);
+        User admin = currentUser;
+        tasks.submit(null, () -> {
+            appUpdateService.rejectUpdate(app.getId(), admin);
+            return app;
+        }, rejected -> {
             handleRefreshSoftware();
             showInfo("Update skipped");
-        } catch (Exception e) {
-            showError("Failed to skip update: " + e.getMessage());
-        }
+        }, e -> showError("Failed to skip update: " + e.getMessage()));
     }
 
     private void handleInstallUpdate(ThirdPartyApp app) {
@@ -962,7 +1053,7 @@ public class AdminPanelController {
                 task.setOnFailed(e -> Platform.runLater(() ->
                         showError("Update failed: " + task.getException().getMessage())));
 
-                new Thread(task).start();
+                tasks.execute(null, task);
             }
         });
     }
@@ -1008,44 +1099,46 @@ public class AdminPanelController {
 
         dialog.setResultConverter(buttonType -> {
             if (buttonType == ButtonType.OK) {
-                try {
-                    appUpdateService.setUpdatePolicy(app.getId(), policyCombo.getValue(), currentUser);
-                    appUpdateService.setUpdateCheckInterval(app.getId(), intervalSpinner.getValue(), currentUser);
-
-                    app.setUpdateCheckUrl(updateUrlField.getText().trim().isEmpty() ? null : updateUrlField.getText().trim());
-                    thirdPartyAppService.updateApp(app, currentUser);
-
-                    return app;
-                } catch (Exception e) {
-                    showError("Failed to update settings: " + e.getMessage());
-                    return null;
-                }
+                app.setUpdateCheckUrl(updateUrlField.getText().trim().isEmpty() ? null : updateUrlField.getText().trim());
+                return app;
             }
             return null;
         });
 
         dialog.showAndWait().ifPresent(result -> {
-            handleRefreshSoftware();
-            showInfo("Update settings saved");
+            UpdatePolicy policy = policyCombo.getValue();
+            int intervalHours = intervalSpinner.getValue();
+            User admin = currentUser;
+            tasks.submit(null, () -> {
+                appUpdateService.setUpdatePolicy(result.getId(), policy, admin);
+                appUpdateService.setUpdateCheckInterval(result.getId(), intervalHours, admin);
+                // Re-read so the policy and interval just saved aren't overwritten
+                ThirdPartyApp current = thirdPartyAppService.findById(result.getId())
+                        .orElseThrow(() -> new IllegalStateException("Software no longer exists"));
+                current.setUpdateCheckUrl(result.getUpdateCheckUrl());
+                return thirdPartyAppService.updateApp(current, admin);
+            }, saved -> {
+                handleRefreshSoftware();
+                showInfo("Update settings saved");
+            }, e -> showError("Failed to update settings: " + e.getMessage()));
         });
     }
 
-    private void loadPendingApprovals() {
+    private void loadPendingApprovals(List<ThirdPartyAppSummary> pendingApps) {
         pendingAppsPane.getChildren().clear();
-        List<ThirdPartyApp> pendingApps = thirdPartyAppService.getPendingApps();
 
         if (pendingApps.isEmpty()) {
             pendingApprovalPane.setExpanded(false);
             pendingApprovalPane.setText("Pending Approval (0)");
         } else {
             pendingApprovalPane.setText("Pending Approval (" + pendingApps.size() + ")");
-            for (ThirdPartyApp app : pendingApps) {
+            for (ThirdPartyAppSummary app : pendingApps) {
                 pendingAppsPane.getChildren().add(createPendingAppCard(app));
             }
         }
     }
 
-    private HBox createPendingAppCard(ThirdPartyApp app) {
+    private HBox createPendingAppCard(ThirdPartyAppSummary app) {
         HBox card = new HBox(10);
         card.setAlignment(Pos.CENTER_LEFT);
         card.setPadding(new Insets(10));
@@ -1060,11 +1153,11 @@ public class AdminPanelController {
 
         Button approveBtn = new Button("Approve");
         approveBtn.getStyleClass().add("success-button");
-        approveBtn.setOnAction(e -> handleApproveApp(app));
+        approveBtn.setOnAction(e -> handleApproveApp(app.getId(), app.getAppName()));
 
         Button rejectBtn = new Button("Reject");
         rejectBtn.getStyleClass().add("danger-button");
-        rejectBtn.setOnAction(e -> handleDeleteApp(app));
+        rejectBtn.setOnAction(e -> handleDeleteApp(app.getId(), app.getAppName()));
 
         card.getChildren().addAll(info, new Region(), approveBtn, rejectBtn);
         HBox.setHgrow(card.getChildren().get(1), Priority.ALWAYS);
@@ -1188,11 +1281,7 @@ public class AdminPanelController {
                         return null;
                     }
 
-                    if (app == null) {
-                        return thirdPartyAppService.addApp(result, currentUser);
-                    } else {
-                        return thirdPartyAppService.updateApp(result, currentUser);
-                    }
+                    return result;
                 } catch (Exception e) {
                     showError("Failed to save software: " + e.getMessage());
                     return null;
@@ -1202,45 +1291,49 @@ public class AdminPanelController {
         });
 
         dialog.showAndWait().ifPresent(result -> {
-            handleRefreshSoftware();
-            showInfo("Software saved successfully");
+            User admin = currentUser;
+            tasks.submit(null, () -> app == null
+                    ? thirdPartyAppService.addApp(result, admin)
+                    : thirdPartyAppService.updateApp(result, admin), saved -> {
+                handleRefreshSoftware();
+                showInfo("Software saved successfully");
+            }, e -> showError("Failed to save software: " + e.getMessage()));
         });
     }
 
-    private void handleApproveApp(ThirdPartyApp app) {
+    private void handleApproveApp(Long appId, String appName) {
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Approve Software");
-        confirm.setHeaderText("Approve " + app.getAppName() + " for deployment?");
+        confirm.setHeaderText("Approve " + appName + " for deployment?");
         confirm.setContentText("This will allow users with installation permissions to install this software on their computers.");
 
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
-                    thirdPartyAppService.approveApp(app.getId(), currentUser);
+                User admin = currentUser;
+                tasks.submit(null, () -> thirdPartyAppService.approveApp(appId, admin), approved -> {
                     handleRefreshSoftware();
                     showInfo("Software approved for deployment");
-                } catch (Exception e) {
-                    showError("Failed to approve software: " + e.getMessage());
-                }
+                }, e -> showError("Failed to approve software: " + e.getMessage()));
             }
         });
     }
 
-    private void handleDeleteApp(ThirdPartyApp app) {
+    private void handleDeleteApp(Long appId, String appName) {
         Alert confirm = new Alert(Alert.AlertType.CONFIRMATION);
         confirm.setTitle("Remove Software");
-        confirm.setHeaderText("Remove " + app.getAppName() + " from catalog?");
+        confirm.setHeaderText("Remove " + appName + " from catalog?");
         confirm.setContentText("This will remove the software from the catalog. It cannot be undone.");
 
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
-                try {
-                    thirdPartyAppService.removeApp(app.getId(), currentUser);
+                User admin = currentUser;
+                tasks.submit(null, () -> {
+                    thirdPartyAppService.removeApp(appId, admin);
+                    return appId;
+                }, removed -> {
                     handleRefreshSoftware();
                     showInfo("Software removed from catalog");
-                } catch (Exception e) {
-                    showError("Failed to remove software: " + e.getMessage());
-                }
+                }, e -> showError("Failed to remove software: " + e.getMessage()));
             }
         });
     }
@@ -1275,7 +1368,7 @@ public class AdminPanelController {
             showError("Installation failed: " + task.getException().getMessage());
         }));
 
-        new Thread(task).start();
+        tasks.execute(null, task);
     }
 
     // ========== Devices Tab ==========
@@ -1342,17 +1435,7 @@ public class AdminPanelController {
         Task<List<SisApiClient.DeviceSummary>> task = new Task<>() {
             @Override
             protected List<SisApiClient.DeviceSummary> call() {
-                // We need the access token - read from saved token file
-                String token = null;
-                try {
-                    java.nio.file.Path tokenPath = java.nio.file.Paths.get(
-                            System.getProperty("user.home"), ".heronix", "auth", "token.jwt");
-                    if (java.nio.file.Files.exists(tokenPath)) {
-                        token = java.nio.file.Files.readString(tokenPath).trim();
-                    }
-                } catch (Exception e) {
-                    log.warn("Could not read token for device API: {}", e.getMessage());
-                }
+                String token = getDeviceApiToken();
                 if (token == null) return List.of();
                 return deviceApprovalService.getPendingDevices(serverUrl, token);
             }
@@ -1366,7 +1449,27 @@ public class AdminPanelController {
             showError("Failed to load devices: " + task.getException().getMessage());
         }));
 
-        new Thread(task).start();
+        tasks.execute("devices", task);
+    }
+
+    /**
+     * Access token for the device API: the live SIS token from the session, falling back to the saved token file.
+     */
+    private String getDeviceApiToken() {
+        String token = authenticationService.getCurrentSisAccessToken();
+        if (token != null) {
+            return token;
+        }
+        try {
+            java.nio.file.Path tokenPath = java.nio.file.Paths.get(
+                    System.getProperty("user.home"), ".heronix", "auth", "token.jwt");
+            if (java.nio.file.Files.exists(tokenPath)) {
+                return java.nio.file.Files.readString(tokenPath).trim();
+            }
+        } catch (Exception e) {
+            log.warn("Could not read token for device API: {}", e.getMessage());
+        }
+        return null;
     }
 
     private void handleApproveDevice(SisApiClient.DeviceSummary device) {
@@ -1381,22 +1484,16 @@ public class AdminPanelController {
         confirm.showAndWait().ifPresent(response -> {
             if (response == ButtonType.OK) {
                 String serverUrl = authenticationService.getCurrentSisServerUrl();
-                try {
-                    java.nio.file.Path tokenPath = java.nio.file.Paths.get(
-                            System.getProperty("user.home"), ".heronix", "auth", "token.jwt");
-                    String token = java.nio.file.Files.readString(tokenPath).trim();
-
-                    boolean success = deviceApprovalService.approveDevice(
-                            serverUrl, token, device.getDeviceId(), currentUser.getUsername());
+                String adminName = currentUser.getUsername();
+                tasks.submit(null, () -> deviceApprovalService.approveDevice(
+                        serverUrl, getDeviceApiToken(), device.getDeviceId(), adminName), success -> {
                     if (success) {
                         handleRefreshDevices();
                         showInfo("Device approved: " + device.getDeviceName());
                     } else {
                         showError("Failed to approve device");
                     }
-                } catch (Exception e) {
-                    showError("Failed to approve device: " + e.getMessage());
-                }
+                }, e -> showError("Failed to approve device: " + e.getMessage()));
             }
         });
     }
@@ -1409,22 +1506,16 @@ public class AdminPanelController {
 
         dialog.showAndWait().ifPresent(reason -> {
             String serverUrl = authenticationService.getCurrentSisServerUrl();
-            try {
-                java.nio.file.Path tokenPath = java.nio.file.Paths.get(
-                        System.getProperty("user.home"), ".heronix", "auth", "token.jwt");
-                String token = java.nio.file.Files.readString(tokenPath).trim();
-
-                boolean success = deviceApprovalService.rejectDevice(
-                        serverUrl, token, device.getDeviceId(), currentUser.getUsername(), reason);
+            String adminName = currentUser.getUsername();
+            tasks.submit(null, () -> deviceApprovalService.rejectDevice(
+                    serverUrl, getDeviceApiToken(), device.getDeviceId(), adminName, reason), success -> {
                 if (success) {
                     handleRefreshDevices();
                     showInfo("Device rejected: " + device.getDeviceName());
                 } else {
                     showError("Failed to reject device");
                 }
-            } catch (Exception e) {
-                showError("Failed to reject device: " + e.getMessage());
-            }
+            }, e -> showError("Failed to reject device: " + e.getMessage()));
         });
     }
 
@@ -1435,13 +1526,13 @@ public class AdminPanelController {
 
         logTimestampColumn.setCellValueFactory(data ->
                 new SimpleStringProperty(data.getValue().getTimestamp().format(formatter)));
-        logUsernameColumn.setCellValueFactory(new PropertyValueFactory<>("username"));
-        logActionColumn.setCellValueFactory(new PropertyValueFactory<>("action"));
+        logUsernameColumn.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getUsername()));
+        logActionColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getAction()));
         logEntityColumn.setCellValueFactory(data ->
                 new SimpleStringProperty(data.getValue().getEntityType() != null ?
                         data.getValue().getEntityType() + " #" + data.getValue().getEntityId() : ""));
-        logSuccessColumn.setCellValueFactory(new PropertyValueFactory<>("success"));
-        logDetailsColumn.setCellValueFactory(new PropertyValueFactory<>("details"));
+        logSuccessColumn.setCellValueFactory(data -> new ReadOnlyObjectWrapper<>(data.getValue().getSuccess()));
+        logDetailsColumn.setCellValueFactory(data -> new SimpleStringProperty(data.getValue().getDetails()));
     }
 
     private void setupActionFilter() {
@@ -1450,18 +1541,16 @@ public class AdminPanelController {
 
     @FXML
     private void handleSearchLogs() {
-        Page<AuditLog> logs;
-
-        if (logSearchField.getText() != null && !logSearchField.getText().isEmpty()) {
-            logs = auditLogService.searchByUsername(logSearchField.getText(), PageRequest.of(currentPage, PAGE_SIZE));
-        } else if (actionFilterCombo.getValue() != null) {
-            logs = auditLogService.searchByAction(actionFilterCombo.getValue(), PageRequest.of(currentPage, PAGE_SIZE));
-        } else {
-            logs = auditLogService.getLogs(PageRequest.of(currentPage, PAGE_SIZE));
-        }
-
-        logsTable.setItems(FXCollections.observableArrayList(logs.getContent()));
-        pageInfoLabel.setText("Page " + (currentPage + 1) + " of " + logs.getTotalPages());
+        String username = logSearchField.getText();
+        AuditAction action = actionFilterCombo.getValue();
+        int page = currentPage;
+
+        tasks.submit("logs", () -> auditLogService.getLogSummaries(username, action, PageRequest.of(page, PAGE_SIZE)),
+                logs -> {
+                    logsTable.setItems(FXCollections.observableArrayList(logs.getContent()));
+                    logsTotalPages = Math.max(logs.getTotalPages(), 1);
+                    pageInfoLabel.setText("Page " + (page + 1) + " of " + logsTotalPages);
+                }, e -> showError("Failed to load audit logs: " + e.getMessage()));
     }
 
     @FXML
@@ -1474,8 +1563,10 @@ public class AdminPanelController {
 
     @FXML
     private void handleNextPage() {
-        currentPage++;
-        handleSearchLogs();
+        if (currentPage + 1 < logsTotalPages) {
+            currentPage++;
+            handleSearchLogs();
+        }
     }
 
     @FXML
@@ -1485,7 +1576,10 @@ public class AdminPanelController {
         fileChooser.setInitialFileName("audit_logs_" + LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss")) + ".csv");
         fileChooser.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV Files", "*.csv"));
         File file = fileChooser.showSaveDialog(logsTable.getScene().getWindow());
-        if (file != null) {
+        if (file == null) {
+            return;
+        }
+        tasks.submit("logs-export", () -> {
             try (java.io.PrintWriter writer = new java.io.PrintWriter(file)) {
                 writer.println("ID,Timestamp,Username,Action,Details,Severity,Success,IP Address");
                 // Export all logs (not just current page)
@@ -1501,12 +1595,13 @@ public class AdminPanelController {
                             entry.getSuccess(),
                             entry.getIpAddress() != null ? entry.getIpAddress() : "");
                 }
-                showInfo("Exported " + allLogs.getTotalElements() + " log entries to " + file.getName());
-            } catch (Exception e) {
-                log.error("Failed to export logs", e);
-                showError("Export failed: " + e.getMessage());
+                return allLogs.getTotalElements();
             }
-        }
+        }, exported -> showInfo("Exported " + exported + " log entries to " + file.getName()),
+                e -> {
+                    log.error("Failed to export logs", e);
+                    showError("Export failed: " + e.getMessage());
+                });
     }
 
     // ========== Status Tab ==========
@@ -1545,13 +1640,82 @@ public class AdminPanelController {
             memoryLabel.setText(status.getFormattedUsedMemory() + " / " + status.getFormattedMaxMemory());
         }));
 
-        new Thread(task).start();
+        tasks.execute("status", task);
+        refreshCacheStats();
+        refreshLaunchMetrics();
+    }
+
+    private void refreshCacheStats() {
+        Task<List<EntityCacheService.RegionStats>> task = new Task<>() {
+            @Override
+            protected List<EntityCacheService.RegionStats> call() {
+                return entityCacheService.getRegionStats();
+            }
+        };
+
+        task.setOnSucceeded(e -> Platform.runLater(() -> {
+            cacheHitRatioLabel.setText(String.format("%.1f%%", entityCacheService.getHitRatio() * 100));
+            StringBuilder regions = new StringBuilder(String.format("%-34s %8s %8s %8s %7s",
+                    "Region", "Hits", "Misses", "Puts", "Ratio"));
+            for (EntityCacheService.RegionStats stats : task.getValue()) {
+                regions.append(System.lineSeparator()).append(String.format("%-34s %8d %8d %8d %6.1f%%",
+                        stats.region(), stats.hits(), stats.misses(), stats.puts(), stats.hitRatio() * 100));
+            }
+            cacheRegionsLabel.setText(regions.toString());
+        }));
+
+        tasks.execute("cache-stats", task);
+    }
+
+    private void refreshLaunchMetrics() {
+        Task<List<ProductLaunchAcceleratorService.LaunchMetrics>> task = new Task<>() {
+            @Override
+            protected List<ProductLaunchAcceleratorService.LaunchMetrics> call() {
+                return launchAcceleratorService.getLaunchMetrics();
+            }
+        };
+
+        task.setOnSucceeded(e -> Platform.runLater(() -> {
+            launchTimingLabel.setText((launchAcceleratorService.isTimingEnabled() ? "On" : "Off")
+                    + " (accelerator " + (launchAcceleratorService.isEnabled() ? "on" : "off") + ")");
+            List<ProductLaunchAcceleratorService.LaunchMetrics> metrics = task.getValue();
+            if (metrics.isEmpty()) {
+                launchMetricsLabel.setText("No timed launches yet");
+                return;
+            }
+            StringBuilder table = new StringBuilder(String.format("%-24s %8s %8s %8s %8s %8s %4s",
+                    "Product", "Launches", "Avg ms", "Last ms", "Best ms", "Worst ms", "CDS"));
+            for (ProductLaunchAcceleratorService.LaunchMetrics m : metrics) {
+                table.append(System.lineSeparator()).append(String.format("%-24s %8d %8d %8d %8d %8d %4s",
+                        m.productCode(), m.launches(), m.averageMillis(), m.lastMillis(), m.bestMillis(),
+                        m.worstMillis(), m.lastUsedCds() ? "yes" : "no"));
+            }
+            launchMetricsLabel.setText(table.toString());
+        }));
+
+        tasks.execute("launch-metrics", task);
+    }
+
+    @FXML
+    private void handleClearEntityCache() {
+        Task<Void> task = new Task<>() {
+            @Override
+            protected Void call() {
+                entityCacheService.evictAll();
+                auditLogService.log(AuditAction.CONFIG_CHANGE, currentUser.getUsername(), "Cleared entity cache");
+                return null;
+            }
+        };
+
+        task.setOnSucceeded(e -> Platform.runLater(this::refreshCacheStats));
+        tasks.execute("cache-clear", task);
     }
 
     // ========== Navigation ==========
 
     @FXML
     private void handleBack() {
+        tasks.cancelAll();
         if (onBackToDashboard != null) {
             onBackToDashboard.run();
         }
@@ -9,14 +9,16 @@ import javafx.animation.KeyFrame;
 import javafx.animation.KeyValue;
 import javafx.animation.Timeline;
 import javafx.application.Platform;
+import javafx.beans.value.ChangeListener;
 import javafx.collections.FXCollections;
 import javafx.fxml.FXML;
 import javafx.geometry.Pos;
 import javafx.scene.control.*;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.scene.paint.Color;
 import javafx.scene.shape.Circle;
@@ -26,12 +28,11 @@ import javafx.util.Duration;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -57,7 +58,7 @@ public class DashboardController {
     private FlowPane productTilesContainer;
 
     @FXML
-    private FlowPane thirdPartyTilesContainer;
+    private StackPane thirdPartyTilesContainer;
 
     @FXML
     private VBox noProductsMessage;
@@ -86,17 +87,30 @@ public class DashboardController {
     private final AuthenticationService authenticationService;
     private final ProductLauncherService productLauncherService;
     private final PermissionService permissionService;
-    private final NetworkConfigService networkConfigService;
     private final ThirdPartyAppService thirdPartyAppService;
     private final ThirdPartyAppLauncherService thirdPartyAppLauncherService;
     private final AuditLogService auditLogService;
     private final AppAccessPolicyService appAccessPolicyService;
+    private final ConnectivityMonitorService connectivityMonitorService;
+    private final UiTaskExecutor.Scope tasks;
+    private final TileImageCache tileImageCache;
+    private final CatalogSearchService catalogSearchService;
     private Runnable onLogout;
     private Runnable onAdminPanel;
     private User currentUser;
-    private ScheduledExecutorService statusChecker;
+    private final ChangeListener<ConnectivityMonitorService.ConnectivityStatus> statusListener =
+            (obs, oldStatus, newStatus) -> showServerStatus(newStatus);
     private Timeline blinkAnimation;
     private List<ThirdPartyApp> allThirdPartyApps = new ArrayList<>();
+    private List<Product> allProducts = new ArrayList<>();
+    // Product tiles by product code, reused while the product is unchanged
+    private final Map<String, VBox> productTiles = new HashMap<>();
+    private TileGridView<ThirdPartyApp, ThirdPartyTile> thirdPartyGrid;
+
+    private static final double TILE_WIDTH = 180;
+    private static final double TILE_HEIGHT = 160;
+    private static final double TILE_GAP = 20;
+    private static final double ICON_SIZE = 48;
 
     // Status colors
     private static final Color COLOR_GREEN = Color.web("#4CAF50");
@@ -107,19 +121,32 @@ public class DashboardController {
     public DashboardController(AuthenticationService authenticationService,
                                ProductLauncherService productLauncherService,
                                PermissionService permissionService,
-                               NetworkConfigService networkConfigService,
                                ThirdPartyAppService thirdPartyAppService,
                                ThirdPartyAppLauncherService thirdPartyAppLauncherService,
                                AuditLogService auditLogService,
-                               AppAccessPolicyService appAccessPolicyService) {
+                               AppAccessPolicyService appAccessPolicyService,
+                               ConnectivityMonitorService connectivityMonitorService,
+                               UiTaskExecutor uiTaskExecutor,
+                               TileImageCache tileImageCache,
+                               CatalogSearchService catalogSearchService) {
         this.authenticationService = authenticationService;
         this.productLauncherService = productLauncherService;
         this.permissionService = permissionService;
-        this.networkConfigService = networkConfigService;
         this.thirdPartyAppService = thirdPartyAppService;
         this.thirdPartyAppLauncherService = thirdPartyAppLauncherService;
         this.auditLogService = auditLogService;
         this.appAccessPolicyService = appAccessPolicyService;
+        this.connectivityMonitorService = connectivityMonitorService;
+        this.tasks = uiTaskExecutor.newScope("Dashboard");
+        this.tileImageCache = tileImageCache;
+        this.catalogSearchService = catalogSearchService;
+
+        // Product discovery finishes in the background after startup; reload when it does
+        productLauncherService.addProductChangeListener(() -> Platform.runLater(() -> {
+            if (currentUser != null && isShowing()) {
+                loadProducts();
+            }
+        }));
     }
 
     @FXML
@@ -146,6 +173,17 @@ public class DashboardController {
         if (searchField != null) {
             searchField.textProperty().addListener((obs, oldVal, newVal) -> filterApplications());
         }
+
+        // Third-party apps: virtualized grid, only visible rows have tile nodes
+        allProducts = new ArrayList<>();
+        allThirdPartyApps = new ArrayList<>();
+        productTiles.clear();
+        thirdPartyGrid = new TileGridView<>(ThirdPartyApp::getAppCode, ThirdPartyTile::new, ThirdPartyTile::bind,
+                TILE_WIDTH, TILE_HEIGHT, TILE_GAP);
+        Region grid = (Region) thirdPartyGrid.getNode();
+        grid.setMinHeight(TILE_HEIGHT + TILE_GAP);
+        grid.setPrefHeight(2 * (TILE_HEIGHT + TILE_GAP));
+        thirdPartyTilesContainer.getChildren().setAll(grid);
     }
 
     public void setCurrentUser(User user) {
@@ -163,7 +201,7 @@ public class DashboardController {
     }
 
     private void startServerStatusCheck() {
-        // Stop any existing checker
+        // Stop any existing subscription
         stopServerStatusCheck();
 
         // Create blink animation for "checking" state
@@ -174,91 +212,89 @@ public class DashboardController {
         );
         blinkAnimation.setCycleCount(Timeline.INDEFINITE);
 
-        // Start periodic status check
-        statusChecker = Executors.newSingleThreadScheduledExecutor();
-        statusChecker.scheduleAtFixedRate(this::checkServerStatus, 0, 30, TimeUnit.SECONDS);
+        // Follow the shared connectivity monitor instead of probing from here
+        connectivityMonitorService.statusProperty().addListener(statusListener);
+        showServerStatus(connectivityMonitorService.statusProperty().get());
     }
 
-    private void checkServerStatus() {
-        Platform.runLater(() -> {
-            // Show blinking blue while checking
+    private void showServerStatus(ConnectivityMonitorService.ConnectivityStatus status) {
+        if (!status.checked()) {
+            // Show blinking blue until the first probe finishes
             serverStatusLabel.setText("Checking...");
             blinkAnimation.play();
-        });
-
-        try {
-            // Perform connection test
-            var config = networkConfigService.getActiveConfig();
-            var result = networkConfigService.testConnection(config);
-
-            Platform.runLater(() -> {
-                blinkAnimation.stop();
-
-                if (result.isAnyAvailable()) {
-                    // Green - connected
-                    serverStatusIndicator.setFill(COLOR_GREEN);
-                    if (result.isLocalAvailable() && result.isCloudAvailable()) {
-                        serverStatusLabel.setText("All Servers Online");
-                    } else if (result.isLocalAvailable()) {
-                        serverStatusLabel.setText("Local Server");
-                    } else {
-                        serverStatusLabel.setText("Cloud Server");
-                    }
-                } else {
-                    // Red - offline
-                    serverStatusIndicator.setFill(COLOR_RED);
-                    serverStatusLabel.setText("Offline");
-                }
-            });
-
-        } catch (Exception e) {
-            log.error("Error checking server status", e);
-            Platform.runLater(() -> {
-                blinkAnimation.stop();
-                serverStatusIndicator.setFill(COLOR_RED);
-                serverStatusLabel.setText("Error");
-            });
+            return;
+        }
+        blinkAnimation.stop();
+
+        if (status.isAnyAvailable()) {
+            // Green - connected
+            serverStatusIndicator.setFill(COLOR_GREEN);
+            if (status.localAvailable() && status.cloudAvailable()) {
+                serverStatusLabel.setText("All Servers Online");
+            } else if (status.localAvailable()) {
+                serverStatusLabel.setText("Local Server");
+            } else {
+                serverStatusLabel.setText("Cloud Server");
+            }
+        } else {
+            // Red - offline
+            serverStatusIndicator.setFill(COLOR_RED);
+            serverStatusLabel.setText("Offline");
         }
     }
 
     public void stopServerStatusCheck() {
-        if (statusChecker != null && !statusChecker.isShutdown()) {
-            statusChecker.shutdown();
-        }
+        connectivityMonitorService.statusProperty().removeListener(statusListener);
         if (blinkAnimation != null) {
             blinkAnimation.stop();
         }
     }
 
+    private boolean isShowing() {
+        return productTilesContainer != null && productTilesContainer.getScene() != null
+                && productTilesContainer.getScene().getWindow() != null;
+    }
+
     private void loadProducts() {
-        // Update product installation status
-        new Thread(() -> {
+        User user = currentUser;
+        tasks.submit("products", () -> {
+            // Update product installation status
             productLauncherService.updateProductInstallationStatus();
 
             // Get products filtered by user role
-            List<Product> products;
-            if (currentUser != null) {
-                products = productLauncherService.getProductsForUser(currentUser);
-                log.debug("Loaded {} products for user {} with role {}",
-                        products.size(), currentUser.getUsername(), currentUser.getRole());
-            } else {
+            if (user == null) {
                 // Fallback to empty list if no user (shouldn't happen)
-                products = List.of();
+                return List.<Product>of();
             }
+            List<Product> products = productLauncherService.getProductsForUser(user);
+            log.debug("Loaded {} products for user {} with role {}",
+                    products.size(), user.getUsername(), user.getRole());
+            return products;
+        }, products -> {
+            allProducts = products;
+            Set<String> codes = products.stream().map(Product::getProductCode).collect(Collectors.toSet());
+            productTiles.keySet().retainAll(codes);
+            filterApplications();
+        });
+    }
 
-            Platform.runLater(() -> {
-                productTilesContainer.getChildren().clear();
-
-                if (products.isEmpty()) {
-                    noProductsMessage.setVisible(true);
-                } else {
-                    noProductsMessage.setVisible(false);
-                    for (Product product : products) {
-                        productTilesContainer.getChildren().add(createProductTile(product));
-                    }
-                }
-            });
-        }).start();
+    /**
+     * Show the given products, reusing the existing tile of every unchanged product.
+     */
+    private void displayProducts(List<Product> products) {
+        List<VBox> tiles = new ArrayList<>(products.size());
+        for (Product product : products) {
+            VBox tile = productTiles.get(product.getProductCode());
+            if (tile == null || !product.equals(tile.getUserData())) {
+                tile = createProductTile(product);
+                tile.setUserData(product);
+                productTiles.put(product.getProductCode(), tile);
+            }
+            tiles.add(tile);
+        }
+        if (!productTilesContainer.getChildren().equals(tiles)) {
+            productTilesContainer.getChildren().setAll(tiles);
+        }
     }
 
     private VBox createProductTile(Product product) {
@@ -295,50 +331,35 @@ public class DashboardController {
     private void launchProduct(Product product) {
         log.info("Launching product: {}", product.getProductCode());
 
-        new Thread(() -> {
-            try {
-                productLauncherService.launchProduct(product.getProductCode());
-
-                Platform.runLater(() -> {
-                    showInfo("Product Launched",
-                            product.getProductName() + " has been launched successfully.");
-                });
-
-            } catch (RuntimeException e) {
-                Platform.runLater(() -> {
-                    showError("Launch Failed", e.getMessage());
-                });
-            }
-        }).start();
+        tasks.submit(null, () -> {
+            productLauncherService.launchProduct(product.getProductCode());
+            return product;
+        }, launched -> showInfo("Product Launched",
+                launched.getProductName() + " has been launched successfully."),
+                e -> showError("Launch Failed", e.getMessage()));
     }
 
     @FXML
     private void handleLogout() {
         log.info("User logging out");
         stopServerStatusCheck();
-
-        new Thread(() -> {
-            try {
-                authenticationService.logout();
-
-                Platform.runLater(() -> {
-                    if (onLogout != null) {
-                        onLogout.run();
-                    }
-                });
-
-            } catch (RuntimeException e) {
-                Platform.runLater(() -> {
-                    showError("Logout Failed", e.getMessage());
-                });
+        tasks.cancelAll();
+
+        tasks.submit("logout", () -> {
+            authenticationService.logout();
+            return true;
+        }, done -> {
+            if (onLogout != null) {
+                onLogout.run();
             }
-        }).start();
+        }, e -> showError("Logout Failed", e.getMessage()));
     }
 
     @FXML
     private void handleAdminPanel() {
         log.info("Opening admin panel");
         stopServerStatusCheck();
+        tasks.cancelAll();
         if (onAdminPanel != null) {
             onAdminPanel.run();
         }
@@ -371,7 +392,7 @@ public class DashboardController {
     public void refresh() {
         loadProducts();
         loadThirdPartyApps();
-        checkServerStatus();
+        connectivityMonitorService.refreshNow();
     }
 
     @FXML
@@ -380,35 +401,28 @@ public class DashboardController {
     }
 
     private void loadThirdPartyApps() {
-        new Thread(() -> {
-            try {
-                // Get installed third-party apps
-                List<ThirdPartyApp> installedApps = thirdPartyAppService.getInstalledApps();
-
-                // Filter by role-based access policies
-                String userRole = currentUser != null ? currentUser.getRole() : null;
-                if (userRole != null && !"SUPERADMIN".equalsIgnoreCase(userRole)) {
-                    allThirdPartyApps = appAccessPolicyService.filterAccessibleApps(userRole, installedApps);
-                } else {
-                    allThirdPartyApps = installedApps;
-                }
-
-                Platform.runLater(() -> {
-                    displayThirdPartyApps(allThirdPartyApps);
-                    updateNoProductsVisibility();
-                });
-            } catch (Exception e) {
-                log.error("Error loading third-party apps", e);
-                Platform.runLater(() -> {
-                    thirdPartyAppsSection.setVisible(false);
-                    thirdPartyAppsSection.setManaged(false);
-                });
+        String userRole = currentUser != null ? currentUser.getRole() : null;
+        tasks.submit("third-party-apps", () -> {
+            // Get installed third-party apps
+            List<ThirdPartyApp> installedApps = thirdPartyAppService.getInstalledApps();
+
+            // Filter by role-based access policies
+            if (userRole != null && !"SUPERADMIN".equalsIgnoreCase(userRole)) {
+                return appAccessPolicyService.filterAccessibleApps(userRole, installedApps);
             }
-        }).start();
+            return installedApps;
+        }, apps -> {
+            allThirdPartyApps = apps;
+            filterApplications();
+        }, e -> {
+            log.error("Error loading third-party apps", e);
+            thirdPartyAppsSection.setVisible(false);
+            thirdPartyAppsSection.setManaged(false);
+        });
     }
 
     private void displayThirdPartyApps(List<ThirdPartyApp> apps) {
-        thirdPartyTilesContainer.getChildren().clear();
+        thirdPartyGrid.setItems(apps);
 
         if (apps.isEmpty()) {
             thirdPartyAppsSection.setVisible(false);
@@ -418,101 +432,103 @@ public class DashboardController {
             thirdPartyAppsSection.setVisible(true);
             thirdPartyAppsSection.setManaged(true);
             thirdPartyCountLabel.setText("(" + apps.size() + ")");
-
-            for (ThirdPartyApp app : apps) {
-                thirdPartyTilesContainer.getChildren().add(createThirdPartyTile(app));
-            }
         }
     }
 
-    private VBox createThirdPartyTile(ThirdPartyApp app) {
-        VBox tile = new VBox(8);
-        tile.setAlignment(Pos.CENTER);
-        tile.getStyleClass().add("product-tile");
-        tile.getStyleClass().add("third-party-tile");
-        tile.setPrefSize(180, 160);
-
-        // App icon (if available)
-        if (app.getIconUrl() != null && !app.getIconUrl().isEmpty()) {
-            try {
-                ImageView icon = new ImageView();
-                icon.setFitWidth(48);
-                icon.setFitHeight(48);
-                icon.setPreserveRatio(true);
-
-                if (app.getIconUrl().startsWith("http")) {
-                    icon.setImage(new Image(app.getIconUrl(), true));
-                } else if (new File(app.getIconUrl()).exists()) {
-                    icon.setImage(new Image(new File(app.getIconUrl()).toURI().toString()));
+    /**
+     * Third-party app tile. Built once per grid cell slot and rebound as the grid scrolls or filters.
+     */
+    private class ThirdPartyTile extends VBox {
+
+        private final ImageView icon = new ImageView();
+        private final Text appName = new Text();
+        private final Label categoryBadge = new Label();
+        private final Text version = new Text();
+        private final Tooltip tooltip = new Tooltip();
+        private String categoryStyle;
+        private ThirdPartyApp app;
+
+        ThirdPartyTile() {
+            super(8);
+            setAlignment(Pos.CENTER);
+            getStyleClass().addAll("product-tile", "third-party-tile");
+            setPrefSize(TILE_WIDTH, TILE_HEIGHT);
+            setMaxSize(Region.USE_PREF_SIZE, Region.USE_PREF_SIZE);
+
+            icon.setFitWidth(ICON_SIZE);
+            icon.setFitHeight(ICON_SIZE);
+            icon.setPreserveRatio(true);
+
+            appName.setTextAlignment(TextAlignment.CENTER);
+            appName.setWrappingWidth(160);
+            appName.getStyleClass().add("product-name");
+
+            categoryBadge.getStyleClass().add("category-badge");
+            version.getStyleClass().add("version-text");
+
+            Button launchButton = new Button("Launch");
+            launchButton.getStyleClass().add("launch-button");
+            launchButton.setOnAction(e -> {
+                if (app != null) {
+                    launchThirdPartyApp(app);
                 }
-                tile.getChildren().add(icon);
-            } catch (Exception e) {
-                // Skip icon if it can't be loaded
-                log.debug("Could not load icon for {}: {}", app.getAppName(), e.getMessage());
-            }
+            });
+
+            getChildren().addAll(icon, appName, categoryBadge, version, launchButton);
+
+            // Tooltip with more info
+            tooltip.setWrapText(true);
+            tooltip.setMaxWidth(300);
+            Tooltip.install(this, tooltip);
         }
 
-        // App name
-        Text appName = new Text(app.getAppName());
-        appName.setTextAlignment(TextAlignment.CENTER);
-        appName.setWrappingWidth(160);
-        appName.getStyleClass().add("product-name");
-
-        // Category badge
-        Label categoryBadge = new Label(app.getCategory().getDisplayName());
-        categoryBadge.getStyleClass().add("category-badge");
-        categoryBadge.getStyleClass().add("category-" + app.getCategory().name().toLowerCase());
-
-        // Version info
-        Text version = new Text("v" + (app.getCurrentVersion() != null ? app.getCurrentVersion() : "N/A"));
-        version.getStyleClass().add("version-text");
-
-        // Launch button
-        Button launchButton = new Button("Launch");
-        launchButton.getStyleClass().add("launch-button");
-        launchButton.setOnAction(e -> launchThirdPartyApp(app));
-
-        tile.getChildren().addAll(appName, categoryBadge, version, launchButton);
-
-        // Tooltip with more info
-        Tooltip tooltip = new Tooltip(
-                app.getAppName() + "\n" +
-                "Publisher: " + (app.getPublisher() != null ? app.getPublisher() : "Unknown") + "\n" +
-                "Category: " + app.getCategory().getDisplayName() + "\n" +
-                (app.getDescription() != null ? app.getDescription() : "")
-        );
-        tooltip.setWrapText(true);
-        tooltip.setMaxWidth(300);
-        Tooltip.install(tile, tooltip);
+        void bind(ThirdPartyApp app) {
+            this.app = app;
 
-        return tile;
+            // Icon decodes in the background; the tile shows it once loaded
+            icon.setImage(tileImageCache.get(app.getIconUrl(), ICON_SIZE));
+            icon.setVisible(icon.getImage() != null);
+            icon.setManaged(icon.getImage() != null);
+
+            appName.setText(app.getAppName());
+
+            String style = "category-" + app.getCategory().name().toLowerCase();
+            if (!style.equals(categoryStyle)) {
+                categoryBadge.getStyleClass().remove(categoryStyle);
+                categoryBadge.getStyleClass().add(style);
+                categoryStyle = style;
+            }
+            categoryBadge.setText(app.getCategory().getDisplayName());
+
+            version.setText("v" + (app.getCurrentVersion() != null ? app.getCurrentVersion() : "N/A"));
+
+            tooltip.setText(
+                    app.getAppName() + "\n" +
+                    "Publisher: " + (app.getPublisher() != null ? app.getPublisher() : "Unknown") + "\n" +
+                    "Category: " + app.getCategory().getDisplayName() + "\n" +
+                    (app.getDescription() != null ? app.getDescription() : "")
+            );
+        }
     }
 
     private void launchThirdPartyApp(ThirdPartyApp app) {
         log.info("Launching third-party app: {}", app.getAppName());
 
-        new Thread(() -> {
-            try {
-                thirdPartyAppLauncherService.launchApp(app, currentUser);
-
-                Platform.runLater(() -> {
-                    showInfo("Application Launched",
-                            app.getAppName() + " has been launched successfully.");
-                });
-
-            } catch (Exception e) {
-                log.error("Failed to launch {}: {}", app.getAppName(), e.getMessage());
-                Platform.runLater(() -> {
-                    showError("Launch Failed",
-                            "Could not launch " + app.getAppName() + ":\n" + e.getMessage());
-                });
-            }
-        }).start();
+        User user = currentUser;
+        tasks.submit(null, () -> {
+            thirdPartyAppLauncherService.launchApp(app, user);
+            return app;
+        }, launched -> showInfo("Application Launched",
+                launched.getAppName() + " has been launched successfully."), e -> {
+            log.error("Failed to launch {}: {}", app.getAppName(), e.getMessage());
+            showError("Launch Failed",
+                    "Could not launch " + app.getAppName() + ":\n" + e.getMessage());
+        });
     }
 
     private void filterApplications() {
         String selectedCategory = categoryFilter.getValue();
-        String searchText = searchField.getText() != null ? searchField.getText().toLowerCase().trim() : "";
+        String searchText = searchField.getText() != null ? searchField.getText().trim() : "";
 
         // Filter Heronix products section visibility
         boolean showHeronix = "All Applications".equals(selectedCategory) || "Heronix Suite".equals(selectedCategory);
@@ -520,65 +536,30 @@ public class DashboardController {
         heronixProductsSection.setManaged(showHeronix);
 
         // Filter third-party apps
-        List<ThirdPartyApp> filteredApps = allThirdPartyApps.stream()
-                .filter(app -> {
-                    // Category filter
-                    if (!"All Applications".equals(selectedCategory) && !"Heronix Suite".equals(selectedCategory)) {
-                        if (!app.getCategory().getDisplayName().equals(selectedCategory)) {
-                            return false;
-                        }
-                    }
-                    // Search filter
-                    if (!searchText.isEmpty()) {
-                        boolean matchesName = app.getAppName().toLowerCase().contains(searchText);
-                        boolean matchesPublisher = app.getPublisher() != null &&
-                                app.getPublisher().toLowerCase().contains(searchText);
-                        boolean matchesTags = app.getTags() != null &&
-                                app.getTags().toLowerCase().contains(searchText);
-                        return matchesName || matchesPublisher || matchesTags;
-                    }
-                    return true;
-                })
+        boolean allCategories = "All Applications".equals(selectedCategory) || "Heronix Suite".equals(selectedCategory);
+        List<ThirdPartyApp> categoryApps = allThirdPartyApps.stream()
+                .filter(app -> allCategories || app.getCategory().getDisplayName().equals(selectedCategory))
                 .collect(Collectors.toList());
 
-        displayThirdPartyApps(filteredApps);
+        // Search filter: ranked lookup in the catalog search index
+        displayThirdPartyApps(catalogSearchService.filterApps(categoryApps, searchText));
 
-        // Also filter Heronix products by search if visible
-        if (showHeronix && !searchText.isEmpty()) {
+        // Also filter Heronix products by search (in memory; products are loaded by loadProducts)
+        if (showHeronix) {
             filterHeronixProducts(searchText);
-        } else if (showHeronix) {
-            loadProducts(); // Reload all products
         }
 
         updateNoProductsVisibility();
     }
 
     private void filterHeronixProducts(String searchText) {
-        // Get products filtered by user role first
-        List<Product> products;
-        if (currentUser != null) {
-            products = productLauncherService.getProductsForUser(currentUser);
-        } else {
-            products = List.of();
-        }
-
-        productTilesContainer.getChildren().clear();
-
-        List<Product> filtered = products.stream()
-                .filter(p -> p.getProductName().toLowerCase().contains(searchText) ||
-                        (p.getDescription() != null && p.getDescription().toLowerCase().contains(searchText)))
-                .collect(Collectors.toList());
-
-        for (Product product : filtered) {
-            productTilesContainer.getChildren().add(createProductTile(product));
-        }
+        displayProducts(catalogSearchService.filterProducts(allProducts, searchText));
     }
 
     private void updateNoProductsVisibility() {
         boolean hasHeronixProducts = heronixProductsSection.isVisible() &&
                 !productTilesContainer.getChildren().isEmpty();
-        boolean hasThirdPartyApps = thirdPartyAppsSection.isVisible() &&
-                !thirdPartyTilesContainer.getChildren().isEmpty();
+        boolean hasThirdPartyApps = thirdPartyAppsSection.isVisible() && !thirdPartyGrid.isEmpty();
 
         noProductsMessage.setVisible(!hasHeronixProducts && !hasThirdPartyApps);
         noProductsMessage.setManaged(!hasHeronixProducts && !hasThirdPartyApps);
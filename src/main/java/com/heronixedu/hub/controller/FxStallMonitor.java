@@ -0,0 +1,105 @@
+package com.heronixedu.hub.controller;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import javafx.application.Platform;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Watchdog for the JavaFX application thread.
+ *
+ * Posts a no-op to the FX thread every poll interval and measures how long it takes to run.
+ * When the FX thread is blocked longer than the threshold, the blocked stack is logged once
+ * (so the offending handler is visible) and the total stall is logged when it recovers.
+ */
+@Component
+@Slf4j
+public class FxStallMonitor {
+
+    private static final long POLL_MILLIS = 100;
+    private static final int STACK_FRAMES = 15;
+
+    @Value("${heronix.ui.stall-threshold-millis:250}")
+    private long thresholdMillis;
+
+    private final AtomicLong stallCount = new AtomicLong();
+    private final AtomicLong maxStallMillis = new AtomicLong();
+
+    private ScheduledExecutorService watchdog;
+    private volatile Thread fxThread;
+    private volatile long pingPostedAt;    // nanos; 0 = no ping outstanding
+    private volatile boolean stackLogged;
+
+    @PostConstruct
+    public void start() {
+        watchdog = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "FxStallMonitor");
+            t.setDaemon(true);
+            return t;
+        });
+        watchdog.scheduleWithFixedDelay(this::check, POLL_MILLIS, POLL_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (watchdog != null) {
+            watchdog.shutdownNow();
+        }
+    }
+
+    public long getStallCount() {
+        return stallCount.get();
+    }
+
+    public long getMaxStallMillis() {
+        return maxStallMillis.get();
+    }
+
+    private void check() {
+        long postedAt = pingPostedAt;
+        if (postedAt == 0) {
+            long now = System.nanoTime();
+            pingPostedAt = now;
+            try {
+                Platform.runLater(() -> onPing(now));
+            } catch (IllegalStateException e) {
+                // FX toolkit not started yet
+                pingPostedAt = 0;
+            }
+            return;
+        }
+
+        long waitedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - postedAt);
+        Thread thread = fxThread;
+        if (waitedMillis >= thresholdMillis && !stackLogged && thread != null) {
+            stackLogged = true;
+            String stack = Arrays.stream(thread.getStackTrace())
+                    .limit(STACK_FRAMES)
+                    .map(frame -> "    at " + frame)
+                    .collect(Collectors.joining("\n"));
+            log.warn("FX thread blocked for {} ms, currently at:\n{}", waitedMillis, stack);
+        }
+    }
+
+    private void onPing(long postedAt) {
+        fxThread = Thread.currentThread();
+        long stallMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - postedAt);
+        if (stallMillis >= thresholdMillis) {
+            stallCount.incrementAndGet();
+            maxStallMillis.accumulateAndGet(stallMillis, Math::max);
+            log.warn("FX thread stall: {} ms (stalls so far: {}, worst: {} ms)",
+                    stallMillis, stallCount.get(), maxStallMillis.get());
+        }
+        stackLogged = false;
+        pingPostedAt = 0;
+    }
+}
@@ -1,7 +1,6 @@
 package com.heronixedu.hub.controller;
 
 import com.heronixedu.hub.exception.DeviceNotApprovedException;
-import com.heronixedu.hub.model.User;
 import com.heronixedu.hub.service.AuthenticationService;
 import javafx.application.Platform;
 import javafx.fxml.FXML;
@@ -29,10 +28,12 @@ public class LoginController {
     private Button loginButton;
 
     private final AuthenticationService authenticationService;
+    private final UiTaskExecutor.Scope tasks;
     private Runnable onLoginSuccess;
 
-    public LoginController(AuthenticationService authenticationService) {
+    public LoginController(AuthenticationService authenticationService, UiTaskExecutor uiTaskExecutor) {
         this.authenticationService = authenticationService;
+        this.tasks = uiTaskExecutor.newScope("Login");
     }
 
     @FXML
@@ -57,33 +58,19 @@ public class LoginController {
         errorLabel.setVisible(false);
 
         // Perform login in background
-        new Thread(() -> {
-            try {
-                User user = authenticationService.login(username, password);
-
-                // Success - switch to dashboard
-                Platform.runLater(() -> {
-                    if (onLoginSuccess != null) {
-                        onLoginSuccess.run();
-                    }
-                });
-
-            } catch (DeviceNotApprovedException e) {
-                // Device not approved - show specific message
-                Platform.runLater(() -> {
-                    showError(e.getMessage());
-                    loginButton.setDisable(false);
-                });
-            } catch (RuntimeException e) {
-                // Show error
-                Platform.runLater(() -> {
-                    showError(e.getMessage());
-                    loginButton.setDisable(false);
-                    passwordField.clear();
-                    passwordField.requestFocus();
-                });
+        tasks.submit("login", () -> authenticationService.login(username, password), user -> {
+            // Success - switch to dashboard
+            if (onLoginSuccess != null) {
+                onLoginSuccess.run();
             }
-        }).start();
+        }, e -> {
+            showError(e.getMessage());
+            loginButton.setDisable(false);
+            if (!(e instanceof DeviceNotApprovedException)) {
+                passwordField.clear();
+                passwordField.requestFocus();
+            }
+        });
     }
 
     private void showError(String message) {
@@ -0,0 +1,179 @@
+package com.heronixedu.hub.controller;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Virtualized grid of equally sized tiles, built on a ListView whose rows hold up to
+ * "columns" tiles each.
+ *
+ * Only visible rows have nodes, and row cells keep their tile nodes and rebind them to new
+ * items instead of rebuilding them. setItems() diffs by key and content: rows whose items did not
+ * change are left alone, so filtering a large catalog only touches rows that actually differ.
+ *
+ * @param <T> item type
+ * @param <N> tile node type
+ */
+public class TileGridView<T, N extends Node> {
+
+    private final ListView<List<T>> listView = new ListView<>();
+    private final ObservableList<List<T>> rows = FXCollections.observableArrayList();
+    private final Function<T, ?> keyFunction;
+    private final Supplier<N> tileFactory;
+    private final BiConsumer<N, T> tileBinder;
+    private final double tileWidth;
+    private final double gap;
+
+    private List<T> items = List.of();
+    private int columns = 1;
+
+    /**
+     * @param keyFunction identity of an item (e.g. its app code)
+     * @param tileFactory creates an empty tile node
+     * @param tileBinder  shows an item in a tile node (called again when the node is reused)
+     */
+    public TileGridView(Function<T, ?> keyFunction, Supplier<N> tileFactory, BiConsumer<N, T> tileBinder,
+                        double tileWidth, double tileHeight, double gap) {
+        this.keyFunction = keyFunction;
+        this.tileFactory = tileFactory;
+        this.tileBinder = tileBinder;
+        this.tileWidth = tileWidth;
+        this.gap = gap;
+
+        listView.setItems(rows);
+        listView.setFixedCellSize(tileHeight + gap);
+        listView.setFocusTraversable(false);
+        listView.getStyleClass().add("tile-grid");
+        listView.setCellFactory(view -> new TileRowCell());
+        listView.widthProperty().addListener((obs, oldWidth, newWidth) -> {
+            int newColumns = columnsFor(newWidth.doubleValue());
+            if (newColumns != columns) {
+                columns = newColumns;
+                rebuildRows();
+            }
+        });
+    }
+
+    public Node getNode() {
+        return listView;
+    }
+
+    public boolean isEmpty() {
+        return items.isEmpty();
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    /**
+     * Show the given items (FX thread). Rows whose items are unchanged keep their cells.
+     */
+    public void setItems(List<T> newItems) {
+        List<T> next = List.copyOf(newItems);
+        if (sameItems(items, next)) {
+            return;
+        }
+        items = next;
+        rebuildRows();
+    }
+
+    private void rebuildRows() {
+        List<List<T>> newRows = new ArrayList<>();
+        for (int i = 0; i < items.size(); i += columns) {
+            newRows.add(items.subList(i, Math.min(items.size(), i + columns)));
+        }
+
+        int common = Math.min(rows.size(), newRows.size());
+        for (int i = 0; i < common; i++) {
+            if (!sameItems(rows.get(i), newRows.get(i))) {
+                rows.set(i, newRows.get(i));
+            }
+        }
+        if (rows.size() > newRows.size()) {
+            rows.remove(newRows.size(), rows.size());
+        } else if (newRows.size() > common) {
+            rows.addAll(newRows.subList(common, newRows.size()));
+        }
+    }
+
+    /**
+     * Same keys in the same order with equal content (a reloaded but unchanged item counts as same).
+     */
+    private boolean sameItems(List<T> a, List<T> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        for (int i = 0; i < a.size(); i++) {
+            if (!sameItem(a.get(i), b.get(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean sameItem(T a, T b) {
+        return a == b || (a != null && b != null
+                && Objects.equals(keyFunction.apply(a), keyFunction.apply(b)) && a.equals(b));
+    }
+
+    private int columnsFor(double width) {
+        // Leave room for the vertical scroll bar
+        double usable = width - 20;
+        return Math.max(1, (int) ((usable + gap) / (tileWidth + gap)));
+    }
+
+    /**
+     * One grid row. Keeps its tile nodes across updates and rebinds only tiles whose item changed.
+     */
+    private class TileRowCell extends ListCell<List<T>> {
+
+        private final HBox box = new HBox(gap);
+        private final List<N> tiles = new ArrayList<>();
+        private final List<T> bound = new ArrayList<>();
+
+        TileRowCell() {
+            box.setAlignment(Pos.CENTER);
+            getStyleClass().add("tile-grid-row");
+        }
+
+        @Override
+        protected void updateItem(List<T> row, boolean empty) {
+            super.updateItem(row, empty);
+            if (empty || row == null) {
+                setGraphic(null);
+                return;
+            }
+
+            while (tiles.size() < row.size()) {
+                tiles.add(tileFactory.get());
+                bound.add(null);
+            }
+            for (int i = 0; i < row.size(); i++) {
+                T item = row.get(i);
+                if (!sameItem(bound.get(i), item)) {
+                    tileBinder.accept(tiles.get(i), item);
+                    bound.set(i, item);
+                }
+            }
+            if (box.getChildren().size() != row.size()) {
+                box.getChildren().setAll(tiles.subList(0, row.size()));
+            }
+            if (getGraphic() != box) {
+                setGraphic(box);
+            }
+        }
+    }
+}
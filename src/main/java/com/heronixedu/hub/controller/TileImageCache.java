@@ -0,0 +1,84 @@
+package com.heronixedu.hub.controller;
+
+import javafx.scene.image.Image;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded cache of dashboard tile icons.
+ *
+ * Icons are decoded in the background at tile size (the returned Image fills in when ready),
+ * so binding a tile never blocks the FX thread on disk or network I/O. The least recently used
+ * icons are dropped beyond heronix.ui.icon-cache-size; a dropped icon that is still loading is
+ * cancelled.
+ */
+@Component
+@Slf4j
+public class TileImageCache {
+
+    private final int maxEntries;
+    private final Map<String, Image> images;
+
+    public TileImageCache(@Value("${heronix.ui.icon-cache-size:256}") int maxEntries) {
+        this.maxEntries = Math.max(1, maxEntries);
+        this.images = new LinkedHashMap<>(64, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Image> eldest) {
+                if (size() > TileImageCache.this.maxEntries) {
+                    eldest.getValue().cancel();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Icon for an http(s)/file URL or a local file path, decoded to fit size x size.
+     * Returns null for a blank or malformed location.
+     */
+    public synchronized Image get(String location, double size) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        String key = location + "@" + size;
+        Image image = images.get(key);
+        if (image == null || image.isError()) {
+            // Failed loads are retried on the next bind (the file may have appeared meanwhile)
+            try {
+                image = new Image(toUrl(location), size, size, true, true, true);
+            } catch (IllegalArgumentException e) {
+                log.debug("Could not load icon {}: {}", location, e.getMessage());
+                return null;
+            }
+            images.put(key, image);
+        }
+        return image;
+    }
+
+    public synchronized int size() {
+        return images.size();
+    }
+
+    public synchronized void clear() {
+        images.values().forEach(Image::cancel);
+        images.clear();
+    }
+
+    private String toUrl(String location) {
+        if (location.contains("://") || location.startsWith("file:")) {
+            return location;
+        }
+        try {
+            return Path.of(location).toUri().toString();
+        } catch (Exception e) {
+            log.debug("Invalid icon path {}: {}", location, e.getMessage());
+            return location;
+        }
+    }
+}
@@ -0,0 +1,222 @@
+package com.heronixedu.hub.controller;
+
+import jakarta.annotation.PreDestroy;
+import javafx.application.Platform;
+import javafx.concurrent.Task;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Runs controller background work (database access, network calls, launches) on virtual
+ * threads and delivers results on the FX thread.
+ *
+ * Each controller owns a Scope. Work submitted under a key replaces (cancels) a still-running
+ * task with the same key, so a rapid refresh never lets a stale load overwrite a newer one.
+ * Tasks time out after heronix.ui.task-timeout-seconds, and Scope.cancelAll() cancels
+ * everything when the view goes away. Callbacks of cancelled tasks are never invoked.
+ */
+@Component
+@Slf4j
+public class UiTaskExecutor {
+
+    @Value("${heronix.ui.task-timeout-seconds:120}")
+    private long timeoutSeconds;
+
+    private final ExecutorService executor =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("ui-task-", 0).factory());
+
+    private final ScheduledExecutorService timeouts = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "UiTaskTimeout");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public Scope newScope(String name) {
+        return new Scope(name);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+        timeouts.shutdownNow();
+    }
+
+    /**
+     * A submitted task; cancel() interrupts it and suppresses its callbacks.
+     */
+    public static final class Handle {
+        private final String key;
+        private final AtomicBoolean finished = new AtomicBoolean(false);
+        private volatile boolean cancelled;
+        private volatile Future<?> future;
+        private volatile ScheduledFuture<?> timeout;
+        private volatile Task<?> fxTask;
+
+        private Handle(String key) {
+            this.key = key;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            finish();
+            Future<?> f = future;
+            if (f != null) {
+                f.cancel(true);
+            }
+            Task<?> t = fxTask;
+            if (t != null) {
+                t.cancel(true);
+            }
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /**
+         * Marks the task finished; true only for the first caller (result, failure, timeout or cancel).
+         */
+        private boolean finish() {
+            if (!finished.compareAndSet(false, true)) {
+                return false;
+            }
+            ScheduledFuture<?> t = timeout;
+            if (t != null) {
+                t.cancel(false);
+            }
+            return true;
+        }
+    }
+
+    /**
+     * Background work owned by one view.
+     */
+    public final class Scope {
+
+        private final String name;
+        private final Map<String, Handle> keyed = new ConcurrentHashMap<>();
+        private final Set<Handle> running = ConcurrentHashMap.newKeySet();
+
+        private Scope(String name) {
+            this.name = name;
+        }
+
+        public <T> Handle submit(String key, Callable<T> work, Consumer<? super T> onSuccess) {
+            return submit(key, work, onSuccess, null);
+        }
+
+        /**
+         * Run work on a virtual thread and pass its result to onSuccess on the FX thread.
+         * A non-null key cancels the previous task with that key. onFailure (FX thread) defaults
+         * to logging the error.
+         */
+        public <T> Handle submit(String key, Callable<T> work, Consumer<? super T> onSuccess,
+                                 Consumer<Throwable> onFailure) {
+            Handle handle = register(key);
+            Consumer<Throwable> failure = onFailure != null ? onFailure
+                    : error -> log.error("{} task '{}' failed", name, key, error);
+
+            handle.future = executor.submit(() -> {
+                try {
+                    T result = work.call();
+                    if (handle.finish()) {
+                        deliver(handle, () -> {
+                            if (onSuccess != null) {
+                                onSuccess.accept(result);
+                            }
+                        });
+                    }
+                } catch (Throwable error) {
+                    if (handle.finish() && !(error instanceof InterruptedException)) {
+                        deliver(handle, () -> failure.accept(error));
+                    } else {
+                        unregister(handle);
+                    }
+                }
+            });
+
+            handle.timeout = timeouts.schedule(() -> {
+                if (handle.finish()) {
+                    handle.future.cancel(true);
+                    deliver(handle, () -> failure.accept(new TimeoutException(
+                            name + " task '" + key + "' timed out after " + timeoutSeconds + " s")));
+                }
+            }, timeoutSeconds, TimeUnit.SECONDS);
+            return handle;
+        }
+
+        /**
+         * Run a JavaFX Task (install/update tasks with their own progress and FX handlers) on a
+         * virtual thread. No timeout is applied; cancelAll() cancels it.
+         */
+        public Handle execute(String key, Task<?> task) {
+            Handle handle = register(key);
+            handle.fxTask = task;
+            handle.future = executor.submit(() -> {
+                try {
+                    task.run();
+                } finally {
+                    handle.finish();
+                    unregister(handle);
+                }
+            });
+            return handle;
+        }
+
+        /**
+         * Cancel every task of this view (call when the view is closed or replaced).
+         */
+        public void cancelAll() {
+            for (Handle handle : running) {
+                handle.cancel();
+            }
+            running.clear();
+            keyed.clear();
+        }
+
+        private Handle register(String key) {
+            Handle handle = new Handle(key);
+            running.add(handle);
+            if (key != null) {
+                Handle previous = keyed.put(key, handle);
+                if (previous != null) {
+                    log.debug("{}: superseding running task '{}'", name, key);
+                    previous.cancel();
+                    running.remove(previous);
+                }
+            }
+            return handle;
+        }
+
+        private void unregister(Handle handle) {
+            running.remove(handle);
+            if (handle.key != null) {
+                keyed.remove(handle.key, handle);
+            }
+        }
+
+        private void deliver(Handle handle, Runnable callback) {
+            Platform.runLater(() -> {
+                unregister(handle);
+                if (!handle.isCancelled()) {
+                    callback.run();
+                }
+            });
+        }
+    }
+}
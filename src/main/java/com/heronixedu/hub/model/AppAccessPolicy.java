@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -19,6 +21,8 @@ import java.time.LocalDateTime;
  * - THIRDPARTY_APP: Controls access to a specific third-party app (e.g., "CHROME", "ZOOM")
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "app_access_policies")
 @Table(name = "app_access_policies",
         uniqueConstraints = @UniqueConstraint(columnNames = {"role_name", "target_type", "target_code"}))
 @Data
@@ -28,7 +32,8 @@ import java.time.LocalDateTime;
 public class AppAccessPolicy {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "app_access_policies_seq")
+    @SequenceGenerator(name = "app_access_policies_seq", sequenceName = "app_access_policies_seq", allocationSize = 50)
     private Long id;
 
     // The role this policy applies to (e.g., "TEACHER", "STUDENT", "IT_ADMIN", "SUPERADMIN")
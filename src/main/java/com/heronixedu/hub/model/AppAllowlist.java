@@ -0,0 +1,72 @@
+package com.heronixedu.hub.model;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Parsed, immutable form of a classroom session's app restriction
+ * (ClassroomSession.restrictApps + allowedApps).
+ *
+ * Codes are matched exactly (case-insensitive), so "CALC" no longer allows "CALCULUS_PRO".
+ * Instances are safe to share between threads; publish a new one when the restriction changes.
+ */
+public final class AppAllowlist {
+
+    public static final AppAllowlist UNRESTRICTED = new AppAllowlist(false, null, Set.of());
+
+    private final boolean restricted;
+    private final String source;
+    private final Set<String> allowedCodes;
+
+    private AppAllowlist(boolean restricted, String source, Set<String> allowedCodes) {
+        this.restricted = restricted;
+        this.source = source;
+        this.allowedCodes = allowedCodes;
+    }
+
+    /**
+     * Parse a comma/semicolon/whitespace separated list of app codes.
+     */
+    public static AppAllowlist of(boolean restricted, String allowedApps) {
+        if (!restricted) {
+            return UNRESTRICTED;
+        }
+        Set<String> codes = new HashSet<>();
+        if (allowedApps != null) {
+            for (String code : allowedApps.split("[,;\\s]+")) {
+                if (!code.isEmpty()) {
+                    codes.add(code.toUpperCase(Locale.ROOT).intern());
+                }
+            }
+        }
+        return new AppAllowlist(true, allowedApps, Set.copyOf(codes));
+    }
+
+    /**
+     * True if this list was parsed from the same restriction settings (so it need not be rebuilt).
+     */
+    public boolean isSameAs(boolean restricted, String allowedApps) {
+        return this.restricted == restricted && (!restricted || Objects.equals(source, allowedApps));
+    }
+
+    public boolean isRestricted() {
+        return restricted;
+    }
+
+    public boolean allows(String appCode) {
+        if (!restricted) {
+            return true;
+        }
+        if (appCode == null) {
+            return false;
+        }
+        // toUpperCase returns the same instance when the code is already upper case
+        return allowedCodes.contains(appCode.toUpperCase(Locale.ROOT));
+    }
+
+    public Set<String> getAllowedCodes() {
+        return allowedCodes;
+    }
+}
@@ -22,7 +22,8 @@ import java.util.Set;
 public class ClassroomSession {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "classroom_sessions_seq")
+    @SequenceGenerator(name = "classroom_sessions_seq", sequenceName = "classroom_sessions_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -100,6 +101,12 @@ public class ClassroomSession {
     @Builder.Default
     private Integer maxStudents = 40;
 
+    /**
+     * host:port of the teacher Hub's push channel, or null if students must poll.
+     */
+    @Column(name = "control_endpoint", length = 100)
+    private String controlEndpoint;
+
     @Column(name = "created_at")
     @Builder.Default
     private LocalDateTime createdAt = LocalDateTime.now();
@@ -127,7 +134,7 @@ public class ClassroomSession {
         if (!Boolean.TRUE.equals(restrictApps) || allowedApps == null || allowedApps.isEmpty()) {
             return true;
         }
-        return allowedApps.toLowerCase().contains(appCode.toLowerCase());
+        return AppAllowlist.of(true, allowedApps).allows(appCode);
     }
 
     /**
@@ -21,7 +21,8 @@ import java.time.LocalDateTime;
 public class ClassroomStudent {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "classroom_students_seq")
+    @SequenceGenerator(name = "classroom_students_seq", sequenceName = "classroom_students_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -78,10 +79,17 @@ public class ClassroomStudent {
     private String currentApp;
 
     /**
-     * Screenshot thumbnail (base64 encoded, optional feature).
+     * Content hash of the current screen thumbnail. The image itself is held in memory
+     * by the teacher's Hub (ClassroomThumbnailService), never in this table.
      */
-    @Column(name = "screen_thumbnail", columnDefinition = "TEXT")
-    private String screenThumbnail;
+    @Column(name = "thumbnail_hash", length = 64)
+    private String thumbnailHash;
+
+    /**
+     * Secret issued at join time; the student's Hub presents it on every push channel request.
+     */
+    @Column(name = "push_token", length = 64)
+    private String pushToken;
 
     /**
      * Last heartbeat from student's Hub instance.
@@ -142,7 +150,8 @@ public class ClassroomStudent {
      */
     public void heartbeat() {
         this.lastHeartbeat = LocalDateTime.now();
-        if (this.status == StudentStatus.DISCONNECTED) {
+        // Reconnect after a missed heartbeat, but not after the student left
+        if (this.status == StudentStatus.DISCONNECTED && this.leftAt == null) {
             this.status = StudentStatus.CONNECTED;
         }
     }
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -13,6 +15,8 @@ import java.time.LocalDateTime;
  * download domains/URLs for third-party applications.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "download_source_policies")
 @Table(name = "download_source_policies")
 @Data
 @Builder
@@ -21,7 +25,8 @@ import java.time.LocalDateTime;
 public class DownloadSourcePolicy {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "download_source_policies_seq")
+    @SequenceGenerator(name = "download_source_policies_seq", sequenceName = "download_source_policies_seq", allocationSize = 50)
     private Long id;
 
     /**
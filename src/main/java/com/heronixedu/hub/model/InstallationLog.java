@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 public class InstallationLog {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "installation_log_seq")
+    @SequenceGenerator(name = "installation_log_seq", sequenceName = "installation_log_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -5,6 +5,8 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.time.LocalDateTime;
 
@@ -14,6 +16,8 @@ import java.time.LocalDateTime;
  * restricting access to the underlying OS environment.
  */
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "kiosk_config")
 @Table(name = "kiosk_config")
 @Data
 @Builder
@@ -22,7 +26,8 @@ import java.time.LocalDateTime;
 public class KioskConfig {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "kiosk_config_seq")
+    @SequenceGenerator(name = "kiosk_config_seq", sequenceName = "kiosk_config_seq", allocationSize = 50)
     private Long id;
 
     /**
@@ -134,6 +139,20 @@ public class KioskConfig {
     @Column(name = "allowed_categories", length = 1000)
     private String allowedCategories;
 
+    /**
+     * Executables terminated while kiosk mode is active.
+     * Comma-separated names without path or extension (e.g. "taskmgr,regedit").
+     */
+    @Column(name = "blocked_processes", length = 1000)
+    @Builder.Default
+    private String blockedProcesses = "taskmgr";
+
+    /**
+     * Executables never terminated by the process guard, even if another restriction blocks them.
+     */
+    @Column(name = "allowed_processes", length = 1000)
+    private String allowedProcesses;
+
     /**
      * Time restrictions - start hour (0-23).
      */
@@ -19,7 +19,8 @@ import java.time.LocalDateTime;
 public class ProductVersion {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "product_versions_seq")
+    @SequenceGenerator(name = "product_versions_seq", sequenceName = "product_versions_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,25 +1,39 @@
 package com.heronixedu.hub.model;
 
+import com.heronixedu.hub.config.RoleChangeListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "roles")
 @Table(name = "roles")
+@EntityListeners(RoleChangeListener.class)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Role {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "roles_seq")
+    @SequenceGenerator(name = "roles_seq", sequenceName = "roles_seq", allocationSize = 50)
     private Long id;
 
+    // Bumped on every change, including permission-only edits; compiled permission masks are keyed on it
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long version;
+
     @Column(name = "role_name", unique = true, nullable = false, length = 50)
     private String roleName;
 
@@ -33,6 +47,7 @@ public class Role {
     private Boolean isSystemRole = false;
 
     @ManyToMany(fetch = FetchType.EAGER)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role_permissions")
     @JoinTable(
             name = "role_permissions",
             joinColumns = @JoinColumn(name = "role_id"),
@@ -25,7 +25,8 @@ import java.time.LocalDateTime;
 public class ThirdPartyApp {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "third_party_apps_seq")
+    @SequenceGenerator(name = "third_party_apps_seq", sequenceName = "third_party_apps_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "app_code", unique = true, nullable = false, length = 50)
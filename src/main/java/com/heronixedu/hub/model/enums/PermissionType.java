@@ -15,6 +15,13 @@ public enum PermissionType {
     CAN_VIEW_SOFTWARE_CATALOG("View Software Catalog", "Can view the third-party software catalog", "SOFTWARE"),
     CAN_MANAGE_DEVICES("Manage Devices", "Can approve, reject, and manage registered devices", "ADMIN");
 
+    static {
+        // Role permission sets are compiled into a single long
+        if (values().length > Long.SIZE) {
+            throw new IllegalStateException("PermissionType exceeds 64 values; widen the permission mask");
+        }
+    }
+
     private final String displayName;
     private final String description;
     private final String category;
@@ -36,4 +43,19 @@ public enum PermissionType {
     public String getCategory() {
         return category;
     }
+
+    /**
+     * Single-bit mask for this permission, for compiled role permission sets.
+     */
+    public long bit() {
+        return 1L << ordinal();
+    }
+
+    public static long maskOf(PermissionType... permissions) {
+        long mask = 0L;
+        for (PermissionType permission : permissions) {
+            mask |= permission.bit();
+        }
+        return mask;
+    }
 }
@@ -2,10 +2,14 @@ package com.heronixedu.hub.repository;
 
 import com.heronixedu.hub.model.AppAccessPolicy;
 import com.heronixedu.hub.model.AppAccessPolicy.PolicyTargetType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,6 +17,7 @@ import java.util.Optional;
 public interface AppAccessPolicyRepository extends JpaRepository<AppAccessPolicy, Long> {
 
     // Find all policies for a specific role
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<AppAccessPolicy> findByRoleName(String roleName);
 
     // Find all policies for a role and target type
@@ -27,6 +32,7 @@ public interface AppAccessPolicyRepository extends JpaRepository<AppAccessPolicy
             String roleName, PolicyTargetType targetType, String targetCode);
 
     // Find all granted policies for a role and target type
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<AppAccessPolicy> findByRoleNameAndTargetTypeAndAccessGrantedTrue(
             String roleName, PolicyTargetType targetType);
 
@@ -34,10 +40,15 @@ public interface AppAccessPolicyRepository extends JpaRepository<AppAccessPolicy
     List<AppAccessPolicy> findByTargetTypeAndTargetCode(PolicyTargetType targetType, String targetCode);
 
     // Find all granted product codes for a role
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p.targetCode FROM AppAccessPolicy p WHERE p.roleName = :roleName " +
             "AND p.targetType = :targetType AND p.accessGranted = true")
     List<String> findGrantedTargetCodes(String roleName, PolicyTargetType targetType);
 
     // Count policies per role
     long countByRoleName(String roleName);
+
+    // Latest policy change, together with count() a cheap version stamp of the whole table
+    @Query("SELECT MAX(p.modifiedAt) FROM AppAccessPolicy p")
+    Optional<LocalDateTime> findLastModified();
 }
@@ -17,4 +17,9 @@ public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
     Page<AuditLog> findByTimestampBetween(LocalDateTime start, LocalDateTime end, Pageable pageable);
     Page<AuditLog> findAllByOrderByTimestampDesc(Pageable pageable);
     List<AuditLog> findTop100ByOrderByTimestampDesc();
+
+    // Admin logs table (displayed columns only)
+    Page<AuditLogSummary> findSummariesByOrderByTimestampDesc(Pageable pageable);
+    Page<AuditLogSummary> findSummariesByUsernameContainingIgnoreCaseOrderByTimestampDesc(String username, Pageable pageable);
+    Page<AuditLogSummary> findSummariesByActionOrderByTimestampDesc(AuditAction action, Pageable pageable);
 }
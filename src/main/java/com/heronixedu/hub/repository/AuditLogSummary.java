@@ -0,0 +1,27 @@
+package com.heronixedu.hub.repository;
+
+import com.heronixedu.hub.model.enums.AuditAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * Read-only view of an audit log entry for the admin logs table (the columns it shows).
+ */
+public interface AuditLogSummary {
+
+    Long getId();
+
+    LocalDateTime getTimestamp();
+
+    String getUsername();
+
+    AuditAction getAction();
+
+    String getEntityType();
+
+    Long getEntityId();
+
+    Boolean getSuccess();
+
+    String getDetails();
+}
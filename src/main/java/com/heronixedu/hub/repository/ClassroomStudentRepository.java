@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -30,8 +31,54 @@ public interface ClassroomStudentRepository extends JpaRepository<ClassroomStude
     long countConnectedStudents(ClassroomSession session);
 
     @Modifying
-    @Query("UPDATE ClassroomStudent cs SET cs.status = 'DISCONNECTED' WHERE cs.session = :session AND cs.lastHeartbeat < :threshold")
-    int markStaleConnectionsAsDisconnected(ClassroomSession session, LocalDateTime threshold);
+    @Query("UPDATE ClassroomStudent cs SET cs.status = 'DISCONNECTED' WHERE cs.lastHeartbeat < :threshold " +
+           "AND cs.status IN ('CONNECTED', 'IDLE', 'AWAY') " +
+           "AND cs.session.id IN (SELECT s.id FROM ClassroomSession s WHERE s.status = 'ACTIVE')")
+    int markStaleConnectionsInActiveSessions(LocalDateTime threshold);
+
+    @Query("SELECT cs.id FROM ClassroomStudent cs WHERE cs.session.sessionCode = :sessionCode " +
+           "AND LOWER(cs.student.username) = LOWER(:username) AND cs.session.status = 'ACTIVE'")
+    Optional<Long> findIdBySessionCodeAndUsername(String sessionCode, String username);
+
+    @Query("SELECT cs.pushToken FROM ClassroomStudent cs WHERE cs.session.sessionCode = :sessionCode " +
+           "AND LOWER(cs.student.username) = LOWER(:username) AND cs.session.status = 'ACTIVE' " +
+           "AND cs.status <> 'BLOCKED' AND cs.leftAt IS NULL")
+    Optional<String> findPushToken(String sessionCode, String username);
+
+    @Query("SELECT cs.id AS id, u.username AS username, u.fullName AS fullName, cs.status AS status, " +
+           "cs.screenFrozen AS screenFrozen, s.screensFrozen AS sessionFrozen, cs.currentApp AS currentApp, " +
+           "cs.thumbnailHash AS thumbnailHash " +
+           "FROM ClassroomStudent cs JOIN cs.student u JOIN cs.session s WHERE s.id = :sessionId")
+    List<ClassroomStudentSummary> findSummariesBySessionId(Long sessionId);
+
+    // ============== BULK COMMANDS (scoped by session id) ==============
+
+    @Query("SELECT u.username FROM ClassroomStudent cs JOIN cs.student u WHERE cs.session.id = :sessionId AND cs.id IN :ids")
+    List<String> findUsernamesInSession(Long sessionId, Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE ClassroomStudent cs SET cs.screenFrozen = :frozen WHERE cs.session.id = :sessionId AND cs.id IN :ids")
+    int setScreenFrozen(Long sessionId, Collection<Long> ids, boolean frozen);
+
+    @Modifying
+    @Query("UPDATE ClassroomStudent cs SET cs.screenFrozen = false WHERE cs.session.id = :sessionId AND cs.screenFrozen = true")
+    int unfreezeAllInSession(Long sessionId);
+
+    @Modifying
+    @Query("UPDATE ClassroomStudent cs SET cs.attentionRequested = true WHERE cs.session.id = :sessionId AND cs.id IN :ids")
+    int requestAttention(Long sessionId, Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE ClassroomStudent cs SET cs.privateMessage = :message WHERE cs.session.id = :sessionId AND cs.id IN :ids")
+    int setPrivateMessage(Long sessionId, Collection<Long> ids, String message);
+
+    @Modifying
+    @Query("UPDATE ClassroomStudent cs SET cs.status = 'BLOCKED', cs.leftAt = :now WHERE cs.session.id = :sessionId AND cs.id IN :ids")
+    int blockStudents(Long sessionId, Collection<Long> ids, LocalDateTime now);
+
+    @Modifying
+    @Query("UPDATE ClassroomStudent cs SET cs.status = 'DISCONNECTED', cs.leftAt = :now WHERE cs.session.id = :sessionId")
+    int disconnectAllInSession(Long sessionId, LocalDateTime now);
 
     @Query("SELECT cs FROM ClassroomStudent cs WHERE cs.session = :session ORDER BY cs.student.fullName")
     List<ClassroomStudent> findBySessionOrderByStudentName(ClassroomSession session);
@@ -0,0 +1,26 @@
+package com.heronixedu.hub.repository;
+
+import com.heronixedu.hub.model.ClassroomStudent;
+
+/**
+ * Narrow read-only view of a classroom student for teacher dashboards.
+ * Loaded with a single joined query; never pulls the User entity or the thumbnail.
+ */
+public interface ClassroomStudentSummary {
+
+    Long getId();
+
+    String getUsername();
+
+    String getFullName();
+
+    ClassroomStudent.StudentStatus getStatus();
+
+    Boolean getScreenFrozen();
+
+    Boolean getSessionFrozen();
+
+    String getCurrentApp();
+
+    String getThumbnailHash();
+}
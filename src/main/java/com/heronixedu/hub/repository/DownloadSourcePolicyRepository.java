@@ -1,8 +1,11 @@
 package com.heronixedu.hub.repository;
 
 import com.heronixedu.hub.model.DownloadSourcePolicy;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,11 +13,14 @@ import java.util.List;
 @Repository
 public interface DownloadSourcePolicyRepository extends JpaRepository<DownloadSourcePolicy, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<DownloadSourcePolicy> findByIsActiveTrueOrderByPriorityAsc();
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<DownloadSourcePolicy> findByPolicyTypeAndIsActiveTrueOrderByPriorityAsc(
             DownloadSourcePolicy.PolicyType policyType);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT p FROM DownloadSourcePolicy p WHERE p.isActive = true ORDER BY p.priority ASC")
     List<DownloadSourcePolicy> findAllActivePolicies();
 
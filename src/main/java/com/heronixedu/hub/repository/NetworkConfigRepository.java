@@ -1,13 +1,23 @@
 package com.heronixedu.hub.repository;
 
 import com.heronixedu.hub.model.NetworkConfig;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 
 @Repository
 public interface NetworkConfigRepository extends JpaRepository<NetworkConfig, Long> {
     Optional<NetworkConfig> findByConfigName(String configName);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<NetworkConfig> findByIsActiveTrue();
+
+    // Not cacheable: compared with the loaded snapshot to notice edits made by other Hubs
+    @Query("SELECT MAX(c.updatedAt) FROM NetworkConfig c WHERE c.isActive = true")
+    Optional<LocalDateTime> findActiveUpdatedAt();
 }
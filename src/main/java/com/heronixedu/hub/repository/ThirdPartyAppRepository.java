@@ -3,10 +3,13 @@ package com.heronixedu.hub.repository;
 import com.heronixedu.hub.model.ThirdPartyApp;
 import com.heronixedu.hub.model.enums.ThirdPartyAppCategory;
 import com.heronixedu.hub.model.enums.UpdatePolicy;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,20 +30,30 @@ public interface ThirdPartyAppRepository extends JpaRepository<ThirdPartyApp, Lo
 
     List<ThirdPartyApp> findByIsApprovedTrueAndCategoryOrderByAppNameAsc(ThirdPartyAppCategory category);
 
-    @Query("SELECT t FROM ThirdPartyApp t WHERE t.isApproved = true AND " +
-           "(LOWER(t.appName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(t.publisher) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(t.tags) LIKE LOWER(CONCAT('%', :searchTerm, '%')))")
-    List<ThirdPartyApp> searchApprovedApps(String searchTerm);
-
-    @Query("SELECT t FROM ThirdPartyApp t WHERE " +
-           "LOWER(t.appName) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(t.publisher) LIKE LOWER(CONCAT('%', :searchTerm, '%')) OR " +
-           "LOWER(t.tags) LIKE LOWER(CONCAT('%', :searchTerm, '%'))")
-    List<ThirdPartyApp> searchAllApps(String searchTerm);
-
     List<ThirdPartyApp> findByIsApprovedFalseOrderByCreatedAtDesc();
 
+    // Admin list views (displayed columns only)
+    @Query(value = "SELECT t.id AS id, t.appCode AS appCode, t.appName AS appName, t.publisher AS publisher, " +
+            "t.category AS category, t.latestVersion AS latestVersion, t.installerType AS installerType, " +
+            "t.isApproved AS isApproved, t.isInstalled AS isInstalled FROM ThirdPartyApp t " +
+            "WHERE (:category IS NULL OR t.category = :category) AND (:approvedOnly = false OR t.isApproved = true)",
+            countQuery = "SELECT COUNT(t) FROM ThirdPartyApp t " +
+                    "WHERE (:category IS NULL OR t.category = :category) AND (:approvedOnly = false OR t.isApproved = true)")
+    Page<ThirdPartyAppSummary> findSummaries(ThirdPartyAppCategory category, boolean approvedOnly, Pageable pageable);
+
+    @Query("SELECT t.id AS id, t.appCode AS appCode, t.appName AS appName, t.publisher AS publisher, " +
+            "t.category AS category, t.latestVersion AS latestVersion, t.installerType AS installerType, " +
+            "t.isApproved AS isApproved, t.isInstalled AS isInstalled FROM ThirdPartyApp t " +
+            "WHERE t.id IN :ids AND (:category IS NULL OR t.category = :category) " +
+            "AND (:approvedOnly = false OR t.isApproved = true)")
+    List<ThirdPartyAppSummary> findSummariesByIds(Collection<Long> ids, ThirdPartyAppCategory category,
+                                                  boolean approvedOnly);
+
+    List<ThirdPartyAppSummary> findSummariesByIsApprovedFalseOrderByCreatedAtDesc();
+
+    // Search index source (text columns only)
+    List<ThirdPartyAppSearchFields> findAllProjectedBy();
+
     @Query("SELECT COUNT(t) FROM ThirdPartyApp t WHERE t.isApproved = true")
     long countApproved();
 
@@ -0,0 +1,17 @@
+package com.heronixedu.hub.repository;
+
+/**
+ * The text columns of a catalog app that the search index is built from.
+ */
+public interface ThirdPartyAppSearchFields {
+
+    Long getId();
+
+    String getAppName();
+
+    String getPublisher();
+
+    String getTags();
+
+    String getDescription();
+}
@@ -0,0 +1,29 @@
+package com.heronixedu.hub.repository;
+
+import com.heronixedu.hub.model.enums.InstallerType;
+import com.heronixedu.hub.model.enums.ThirdPartyAppCategory;
+
+/**
+ * Read-only view of a catalog app for the admin software table and approval cards.
+ * Only the displayed columns; the full entity is loaded when an app is edited or installed.
+ */
+public interface ThirdPartyAppSummary {
+
+    Long getId();
+
+    String getAppCode();
+
+    String getAppName();
+
+    String getPublisher();
+
+    ThirdPartyAppCategory getCategory();
+
+    String getLatestVersion();
+
+    InstallerType getInstallerType();
+
+    Boolean getIsApproved();
+
+    Boolean getIsInstalled();
+}
@@ -1,6 +1,8 @@
 package com.heronixedu.hub.repository;
 
 import com.heronixedu.hub.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -12,4 +14,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByUsername(String username);
 
     boolean existsByUsername(String username);
+
+    // Admin users table (displayed columns only)
+    Page<UserSummary> findSummariesByOrderByUsernameAsc(Pageable pageable);
+
+    Page<UserSummary> findSummariesByUsernameContainingIgnoreCaseOrFullNameContainingIgnoreCaseOrderByUsernameAsc(
+            String username, String fullName, Pageable pageable);
 }
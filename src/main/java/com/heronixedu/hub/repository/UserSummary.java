@@ -0,0 +1,20 @@
+package com.heronixedu.hub.repository;
+
+/**
+ * Read-only view of a user for the admin users table. Never loads the role entity or the
+ * password hash; the full user is loaded when the edit dialog opens.
+ */
+public interface UserSummary {
+
+    Long getId();
+
+    String getUsername();
+
+    String getFullName();
+
+    String getEmail();
+
+    String getRole();
+
+    Boolean getIsActive();
+}
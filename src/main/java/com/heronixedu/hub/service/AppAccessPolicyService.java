@@ -9,12 +9,21 @@ import com.heronixedu.hub.repository.AppAccessPolicyRepository;
 import com.heronixedu.hub.repository.ProductRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
 /**
@@ -26,6 +35,11 @@ import java.util.stream.Collectors;
  * - For other roles, access is determined by policies in the database
  * - If no policy exists for a role+target, access is DENIED by default
  * - Administrators can grant access per role to products, categories, or individual apps
+ *
+ * Checks are answered from an in-memory matrix compiled from the policy table, which is
+ * rebuilt and swapped in after every committed policy change. Changes made by other Hubs on a
+ * shared database are picked up by comparing the table's count and latest modification time
+ * with the matrix's at most every refresh-seconds.
  */
 @Service
 @RequiredArgsConstructor
@@ -36,6 +50,73 @@ public class AppAccessPolicyService {
     private final ProductRepository productRepository;
     private final AuditLogService auditLogService;
 
+    @Value("${heronix.security.access-policy.refresh-seconds:30}")
+    private long refreshSeconds;
+
+    // Compiled view of the policy table; swapped as a whole whenever a policy changes
+    private volatile AccessMatrix accessMatrix;
+
+    // System.nanoTime() after which the next check compares the matrix with the table
+    private volatile long nextStaleCheckNanos;
+
+    /**
+     * Immutable per-role lookup tables built from the policy table.
+     */
+    private record AccessMatrix(Map<String, RoleAccess> byRole, int policyCount, PolicyStamp stamp) {
+        RoleAccess forRole(String roleName) {
+            return byRole.getOrDefault(roleName.toUpperCase(), RoleAccess.EMPTY);
+        }
+    }
+
+    /**
+     * Row count and latest modification time of the policy table. Any insert, update or
+     * delete changes at least one of them.
+     */
+    private record PolicyStamp(long count, LocalDateTime lastModified) {
+    }
+
+    /**
+     * Grant/deny maps for one role, keyed by upper-case target code.
+     * A missing key means no policy, which is a deny.
+     */
+    private record RoleAccess(Map<String, Boolean> products,
+                              Map<String, Boolean> categories,
+                              Map<String, Boolean> apps) {
+
+        static final RoleAccess EMPTY = new RoleAccess(Map.of(), Map.of(), Map.of());
+
+        boolean product(String productCode) {
+            return products.getOrDefault(productCode.toUpperCase(), Boolean.FALSE);
+        }
+
+        boolean category(String categoryName) {
+            return categories.getOrDefault(categoryName.toUpperCase(), Boolean.FALSE);
+        }
+
+        // App-level policy (grant or deny) overrides the category policy
+        boolean app(String appCode, String categoryName) {
+            Boolean appPolicy = apps.get(appCode.toUpperCase());
+            if (appPolicy != null) {
+                return appPolicy;
+            }
+            return category(categoryName);
+        }
+
+        Set<String> grantedCategories() {
+            return categories.entrySet().stream()
+                    .filter(Map.Entry::getValue)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+
+        Set<String> grantedProducts() {
+            return products.entrySet().stream()
+                    .filter(Map.Entry::getValue)
+                    .map(Map.Entry::getKey)
+                    .collect(Collectors.toUnmodifiableSet());
+        }
+    }
+
     // ============== ACCESS CHECKS ==============
 
     /**
@@ -47,9 +128,7 @@ public class AppAccessPolicyService {
             return true;
         }
 
-        return policyRepository.findByRoleNameAndTargetTypeAndTargetCode(
-                roleName.toUpperCase(), PolicyTargetType.HERONIX_PRODUCT, productCode.toUpperCase()
-        ).map(AppAccessPolicy::getAccessGranted).orElse(false);
+        return getAccessMatrix().forRole(roleName).product(productCode);
     }
 
     /**
@@ -60,9 +139,7 @@ public class AppAccessPolicyService {
             return true;
         }
 
-        return policyRepository.findByRoleNameAndTargetTypeAndTargetCode(
-                roleName.toUpperCase(), PolicyTargetType.THIRDPARTY_CATEGORY, categoryName.toUpperCase()
-        ).map(AppAccessPolicy::getAccessGranted).orElse(false);
+        return getAccessMatrix().forRole(roleName).category(categoryName);
     }
 
     /**
@@ -74,16 +151,7 @@ public class AppAccessPolicyService {
             return true;
         }
 
-        // Check app-specific policy first
-        Optional<AppAccessPolicy> appPolicy = policyRepository.findByRoleNameAndTargetTypeAndTargetCode(
-                roleName.toUpperCase(), PolicyTargetType.THIRDPARTY_APP, app.getAppCode().toUpperCase()
-        );
-        if (appPolicy.isPresent()) {
-            return appPolicy.get().getAccessGranted();
-        }
-
-        // Fall back to category policy
-        return canAccessCategory(roleName, app.getCategory().name());
+        return getAccessMatrix().forRole(roleName).app(app.getAppCode(), app.getCategory().name());
     }
 
     /**
@@ -94,9 +162,7 @@ public class AppAccessPolicyService {
             return productRepository.findAllByIsInstalledTrue();
         }
 
-        Set<String> grantedCodes = policyRepository.findGrantedTargetCodes(
-                roleName.toUpperCase(), PolicyTargetType.HERONIX_PRODUCT
-        ).stream().map(String::toUpperCase).collect(Collectors.toSet());
+        Set<String> grantedCodes = getAccessMatrix().forRole(roleName).grantedProducts();
 
         return productRepository.findAllByIsInstalledTrue().stream()
                 .filter(p -> grantedCodes.contains(p.getProductCode().toUpperCase()))
@@ -111,50 +177,113 @@ public class AppAccessPolicyService {
             return Set.of(); // Empty means all categories (handled by caller)
         }
 
-        return policyRepository.findGrantedTargetCodes(
-                roleName.toUpperCase(), PolicyTargetType.THIRDPARTY_CATEGORY
-        ).stream().map(String::toUpperCase).collect(Collectors.toSet());
+        return getAccessMatrix().forRole(roleName).grantedCategories();
     }
 
     /**
      * Filter a list of third-party apps based on role access policies.
+     * Single pass over the in-memory matrix; no queries.
      */
     public List<ThirdPartyApp> filterAccessibleApps(String roleName, List<ThirdPartyApp> apps) {
         if ("SUPERADMIN".equalsIgnoreCase(roleName)) {
             return apps;
         }
 
-        // Get category-level and app-level grants
-        Set<String> grantedCategories = getAccessibleCategories(roleName);
-        Set<String> grantedApps = policyRepository.findGrantedTargetCodes(
-                roleName.toUpperCase(), PolicyTargetType.THIRDPARTY_APP
-        ).stream().map(String::toUpperCase).collect(Collectors.toSet());
+        RoleAccess access = getAccessMatrix().forRole(roleName);
+        List<ThirdPartyApp> accessible = new ArrayList<>(apps.size());
+        for (ThirdPartyApp app : apps) {
+            if (access.app(app.getAppCode(), app.getCategory().name())) {
+                accessible.add(app);
+            }
+        }
+        return accessible;
+    }
 
-        // Also get explicitly denied apps
-        List<AppAccessPolicy> appDenials = policyRepository.findByRoleNameAndTargetType(
-                roleName.toUpperCase(), PolicyTargetType.THIRDPARTY_APP
-        );
-        Set<String> deniedApps = appDenials.stream()
-                .filter(p -> !p.getAccessGranted())
-                .map(p -> p.getTargetCode().toUpperCase())
-                .collect(Collectors.toSet());
+    /**
+     * Rebuild the in-memory access matrix from the policy table.
+     */
+    public synchronized void reloadPolicies() {
+        // Stamp first: a change committed during the load makes the next check reload again
+        PolicyStamp stamp = readStamp();
+        List<AppAccessPolicy> policies = policyRepository.findAll();
+
+        Map<String, Map<PolicyTargetType, Map<String, Boolean>>> grouped = new HashMap<>();
+        for (AppAccessPolicy policy : policies) {
+            grouped.computeIfAbsent(policy.getRoleName().toUpperCase(), r -> new EnumMap<>(PolicyTargetType.class))
+                    .computeIfAbsent(policy.getTargetType(), t -> new HashMap<>())
+                    .put(policy.getTargetCode().toUpperCase(), Boolean.TRUE.equals(policy.getAccessGranted()));
+        }
 
-        return apps.stream().filter(app -> {
-            String appCode = app.getAppCode().toUpperCase();
+        Map<String, RoleAccess> byRole = new HashMap<>();
+        grouped.forEach((role, byType) -> byRole.put(role, new RoleAccess(
+                Map.copyOf(byType.getOrDefault(PolicyTargetType.HERONIX_PRODUCT, Map.of())),
+                Map.copyOf(byType.getOrDefault(PolicyTargetType.THIRDPARTY_CATEGORY, Map.of())),
+                Map.copyOf(byType.getOrDefault(PolicyTargetType.THIRDPARTY_APP, Map.of())))));
 
-            // If explicitly denied at app level, deny
-            if (deniedApps.contains(appCode)) {
-                return false;
-            }
+        accessMatrix = new AccessMatrix(Map.copyOf(byRole), policies.size(), stamp);
+        scheduleStaleCheck();
+        log.debug("Access matrix rebuilt: {} policies across {} roles", policies.size(), byRole.size());
+    }
+
+    private AccessMatrix getAccessMatrix() {
+        AccessMatrix matrix = accessMatrix;
+        if (matrix == null || System.nanoTime() - nextStaleCheckNanos >= 0) {
+            refreshIfStale();
+            matrix = accessMatrix;
+        }
+        return matrix;
+    }
 
-            // If explicitly granted at app level, allow
-            if (grantedApps.contains(appCode)) {
-                return true;
+    /**
+     * Load the matrix if there is none yet, otherwise reload it if the policy table changed
+     * since it was built (e.g. edited by another Hub).
+     */
+    private synchronized void refreshIfStale() {
+        AccessMatrix matrix = accessMatrix;
+        if (matrix == null) {
+            reloadPolicies();
+            return;
+        }
+        if (System.nanoTime() - nextStaleCheckNanos < 0) {
+            // Another thread checked while this one waited for the lock
+            return;
+        }
+        try {
+            if (!readStamp().equals(matrix.stamp())) {
+                log.info("Access policies changed outside this Hub, rebuilding access matrix");
+                reloadPolicies();
+                return;
             }
+        } catch (Exception e) {
+            // Keep answering from the current matrix while the database is unreachable
+            log.warn("Could not check access policies for changes: {}", e.getMessage());
+        }
+        scheduleStaleCheck();
+    }
+
+    private PolicyStamp readStamp() {
+        return new PolicyStamp(policyRepository.count(), policyRepository.findLastModified().orElse(null));
+    }
+
+    private void scheduleStaleCheck() {
+        nextStaleCheckNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(1, refreshSeconds));
+    }
 
-            // Fall back to category-level grant
-            return grantedCategories.contains(app.getCategory().name().toUpperCase());
-        }).toList();
+    /**
+     * Rebuild the matrix once the current transaction commits, so readers never see
+     * uncommitted (or rolled-back) policy changes.
+     */
+    private void reloadPoliciesAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reloadPolicies();
+                }
+            });
+        } else {
+            reloadPolicies();
+        }
     }
 
     // ============== POLICY MANAGEMENT ==============
@@ -240,6 +369,7 @@ public class AppAccessPolicyService {
         }
 
         AppAccessPolicy saved = policyRepository.save(policy);
+        reloadPoliciesAfterCommit();
 
         auditLogService.log(
                 AuditAction.CONFIG_CHANGE,
@@ -274,12 +404,13 @@ public class AppAccessPolicyService {
     @Transactional
     public void deletePolicy(Long policyId) {
         policyRepository.deleteById(policyId);
+        reloadPoliciesAfterCommit();
     }
 
     /**
      * Check if any policies have been initialized.
      */
     public boolean hasPolicies() {
-        return policyRepository.count() > 0;
+        return getAccessMatrix().policyCount() > 0;
     }
 }
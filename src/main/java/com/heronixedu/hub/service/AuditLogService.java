@@ -6,6 +6,7 @@ import com.heronixedu.hub.model.ThirdPartyApp;
 import com.heronixedu.hub.model.User;
 import com.heronixedu.hub.model.enums.AuditAction;
 import com.heronixedu.hub.repository.AuditLogRepository;
+import com.heronixedu.hub.repository.AuditLogSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
@@ -185,6 +186,19 @@ public class AuditLogService {
         return auditLogRepository.findByTimestampBetween(start, end, pageable);
     }
 
+    /**
+     * One page of the logs table, newest first: filtered by username if given, else by action
+     * if given.
+     */
+    public Page<AuditLogSummary> getLogSummaries(String username, AuditAction action, Pageable pageable) {
+        if (username != null && !username.isEmpty()) {
+            return auditLogRepository.findSummariesByUsernameContainingIgnoreCaseOrderByTimestampDesc(username, pageable);
+        } else if (action != null) {
+            return auditLogRepository.findSummariesByActionOrderByTimestampDesc(action, pageable);
+        }
+        return auditLogRepository.findSummariesByOrderByTimestampDesc(pageable);
+    }
+
     public List<AuditLog> getRecentLogs() {
         return auditLogRepository.findTop100ByOrderByTimestampDesc();
     }
@@ -5,7 +5,6 @@ import com.heronixedu.hub.model.User;
 import com.heronixedu.hub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -22,7 +21,8 @@ public class AuthenticationService {
     private final SisApiClient sisApiClient;
     private final DeviceApprovalService deviceApprovalService;
     private final AuditLogService auditLogService;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
+    private final SessionManagerService sessionManager;
+    private final PasswordHashingService passwordHashingService;
 
     // Store the SIS server URL for the current session
     private String currentSisServerUrl;
@@ -32,9 +32,21 @@ public class AuthenticationService {
      * @return User object if successful, null otherwise
      */
     public User login(String username, String password) {
+        // Logins are entered on this machine; a server deployment would pass the remote address
+        return login(username, password, PasswordHashingService.LOCAL_CLIENT);
+    }
+
+    /**
+     * Authenticate user from the given client address (used for failed-attempt backoff)
+     * @return User object if successful, null otherwise
+     */
+    public User login(String username, String password, String clientAddress) {
         try {
             log.info("Login attempt for user: {}", username);
 
+            // Reject before any SIS round trip or hashing work if this user/client is throttled
+            passwordHashingService.checkNotRateLimited(username, clientAddress);
+
             // First, try to authenticate against SIS server
             Optional<SisApiClient.SisAuthResult> sisResult = sisApiClient.authenticate(username, password);
 
@@ -46,8 +58,8 @@ public class AuthenticationService {
                 // Store the server URL for this session
                 currentSisServerUrl = authResult.getServerUrl();
 
-                // Enable server-side audit mirroring
-                auditLogService.setSisSession(currentSisServerUrl, authResult.getAccessToken());
+                // Enable server-side audit mirroring and background token refresh
+                sessionManager.startSisSession(authResult);
 
                 // Create or update local user record for this SIS user
                 User user = getOrCreateSisUser(username, authResult);
@@ -63,10 +75,12 @@ public class AuthenticationService {
                 deviceApprovalService.checkDeviceApproval(
                         currentSisServerUrl, authResult.getAccessToken(),
                         username, user.getRole());
+                sessionManager.establish(user, token);
 
                 // Update last login
                 user.setLastLogin(LocalDateTime.now());
                 userRepository.save(user);
+                passwordHashingService.recordSuccess(username, clientAddress);
 
                 log.info("User logged in successfully via SIS: {}", username);
                 return user;
@@ -74,10 +88,18 @@ public class AuthenticationService {
 
             // Fall back to local authentication (for local admin account)
             log.debug("SIS authentication failed or unavailable, trying local authentication for: {}", username);
-            return localLogin(username, password);
+            return localLogin(username, password, clientAddress);
 
         } catch (DeviceNotApprovedException e) {
             auditLogService.logLogin(username, false, "Device not approved");
+            // The SIS session was started for audit mirroring; don't leave it (or its refresh) running
+            sessionManager.clear();
+            currentSisServerUrl = null;
+            try {
+                tokenService.deleteTokenFile();
+            } catch (RuntimeException deleteFailed) {
+                log.warn("Could not remove token file after device approval was refused: {}", deleteFailed.getMessage());
+            }
             throw e;
         } catch (RuntimeException e) {
             auditLogService.logLogin(username, false, e.getMessage());
@@ -89,12 +111,13 @@ public class AuthenticationService {
     /**
      * Local authentication (for admin account when SIS is unavailable)
      */
-    private User localLogin(String username, String password) {
+    private User localLogin(String username, String password, String clientAddress) {
         // Find user by username in local database
         Optional<User> optionalUser = userRepository.findByUsername(username);
 
         if (optionalUser.isEmpty()) {
             log.warn("User not found locally and SIS unavailable: {}", username);
+            passwordHashingService.recordFailure(username, clientAddress);
             throw new RuntimeException("Invalid username or password");
         }
 
@@ -108,23 +131,34 @@ public class AuthenticationService {
 
         // Verify password (only for local users with password hash)
         if (user.getPasswordHash() != null && !user.getPasswordHash().isEmpty()) {
-            if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+            PasswordHashingService.VerificationResult result = passwordHashingService.verify(
+                    username, clientAddress, password, user.getPasswordHash());
+            if (!result.matches()) {
                 log.warn("Invalid password for local user: {}", username);
                 throw new RuntimeException("Invalid username or password");
             }
+            if (result.needsRehash()) {
+                // Saved with the last-login update below
+                user.setPasswordHash(result.newHash());
+                log.info("Upgraded password hash cost for user: {}", username);
+            }
         } else {
-            // SIS user without local password - can't authenticate locally
+            // SIS user without local password - can't authenticate locally. The SIS may have
+            // rejected the password, so this counts as a failure like any other.
             log.warn("SIS user {} cannot authenticate locally - SIS server unavailable", username);
+            passwordHashingService.recordFailure(username, clientAddress);
             throw new RuntimeException("Server unavailable. Please try again later.");
         }
 
         // Generate and save token
         String token = tokenService.generateToken(user);
         tokenService.saveTokenToFile(token);
+        sessionManager.establish(user, token);
 
         // Update last login
         user.setLastLogin(LocalDateTime.now());
         userRepository.save(user);
+        passwordHashingService.recordSuccess(username, clientAddress);
 
         auditLogService.logLogin(username, true, "local");
         log.info("User logged in successfully (local): {}", username);
@@ -213,7 +247,7 @@ public class AuthenticationService {
     public void logout() {
         try {
             tokenService.deleteTokenFile();
-            auditLogService.clearSisSession();
+            sessionManager.clear();
             currentSisServerUrl = null;
             log.info("User logged out successfully");
         } catch (Exception e) {
@@ -223,21 +257,25 @@ public class AuthenticationService {
     }
 
     /**
-     * Check if there's a valid existing token
+     * Check if there's a valid existing token.
+     * Served from the in-memory session; the token file is only read when no session is cached.
      */
     public User checkExistingToken() {
-        String token = tokenService.readTokenFromFile();
-        if (token == null || token.isEmpty()) {
-            return null;
-        }
-        return tokenService.validateToken(token);
+        return sessionManager.restoreFromTokenFile();
+    }
+
+    /**
+     * Get the signed-in user from the cached session (no file or signature check)
+     */
+    public User getCurrentUser() {
+        return sessionManager.getCurrentUser();
     }
 
     /**
      * Hash password using BCrypt
      */
     public String hashPassword(String password) {
-        return passwordEncoder.encode(password);
+        return passwordHashingService.encode(password);
     }
 
     /**
@@ -253,4 +291,11 @@ public class AuthenticationService {
     public String getCurrentSisServerUrl() {
         return currentSisServerUrl;
     }
+
+    /**
+     * Get the current (possibly refreshed) SIS access token, or null if not signed in via SIS
+     */
+    public String getCurrentSisAccessToken() {
+        return sessionManager.getSisAccessToken();
+    }
 }
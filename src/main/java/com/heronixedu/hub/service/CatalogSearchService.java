@@ -0,0 +1,229 @@
+package com.heronixedu.hub.service;
+
+import com.heronixedu.hub.model.Product;
+import com.heronixedu.hub.model.ThirdPartyApp;
+import com.heronixedu.hub.repository.ThirdPartyAppRepository;
+import com.heronixedu.hub.repository.ThirdPartyAppSearchFields;
+import com.heronixedu.hub.util.CatalogSearchIndex;
+import com.heronixedu.hub.util.CatalogSearchIndex.Field;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Full-text search over the software catalog and the Heronix products.
+ *
+ * Apps are indexed by name, publisher, tags and description; products by name and description.
+ * The index holds only those text fields. Searches return ids, and callers get the current rows
+ * from the database, so install, update and approval state is never stale. The app index is
+ * kept current by ThirdPartyAppService (add, edit, approve, revoke, remove, applied after commit)
+ * and is reloaded from the table every search-refresh-seconds to pick up edits made elsewhere
+ * (other Hubs on a shared database). Views filter the lists they already loaded through
+ * filterApps() and filterProducts(), which only touch memory and are cheap enough to run on
+ * every keystroke.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogSearchService {
+
+    private final ThirdPartyAppRepository appRepository;
+
+    @Value("${heronix.catalog.search-refresh-seconds:60}")
+    private long refreshSeconds;
+
+    /**
+     * Indexed text of a catalog app.
+     */
+    private record AppText(String appName, String publisher, String tags, String description) {
+        static AppText of(ThirdPartyApp app) {
+            return new AppText(app.getAppName(), app.getPublisher(), app.getTags(), app.getDescription());
+        }
+
+        static AppText of(ThirdPartyAppSearchFields row) {
+            return new AppText(row.getAppName(), row.getPublisher(), row.getTags(), row.getDescription());
+        }
+    }
+
+    /**
+     * Indexed text of a Heronix product.
+     */
+    private record ProductText(String productName, String description) {
+        static ProductText of(Product product) {
+            return new ProductText(product.getProductName(), product.getDescription());
+        }
+    }
+
+    private final CatalogSearchIndex<Long, AppText> appIndex = new CatalogSearchIndex<>(List.of(
+            new Field<>(AppText::appName, 4f),
+            new Field<>(AppText::publisher, 2f),
+            new Field<>(AppText::tags, 2f),
+            new Field<>(AppText::description, 1f)
+    ), Comparator.comparing(AppText::appName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+
+    private final CatalogSearchIndex<String, ProductText> productIndex = new CatalogSearchIndex<>(List.of(
+            new Field<>(ProductText::productName, 4f),
+            new Field<>(ProductText::description, 1f)
+    ), Comparator.comparing(ProductText::productName, Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+
+    private volatile boolean catalogLoaded;
+
+    // System.nanoTime() after which the next search reloads the app index
+    private volatile long nextReloadNanos;
+
+    /**
+     * Search the whole catalog, best match first, with the apps as currently stored.
+     */
+    public List<ThirdPartyApp> searchApps(String query, boolean approvedOnly) {
+        List<Long> ranked = searchAppIds(query);
+        if (ranked.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ThirdPartyApp> byId = new HashMap<>();
+        for (ThirdPartyApp app : appRepository.findAllById(ranked)) {
+            byId.put(app.getId(), app);
+        }
+        List<ThirdPartyApp> result = new ArrayList<>(byId.size());
+        for (Long id : ranked) {
+            ThirdPartyApp app = byId.get(id);
+            if (app != null && (!approvedOnly || Boolean.TRUE.equals(app.getIsApproved()))) {
+                result.add(app);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Ids of the catalog apps matching the query, best match first. Ids of apps deleted since
+     * the last reload may be included; callers load the rows and skip missing ones.
+     */
+    public List<Long> searchAppIds(String query) {
+        ensureIndexCurrent();
+        return appIndex.search(query, id -> true);
+    }
+
+    /**
+     * The apps of the given list matching the query, best match first. A blank query returns
+     * the list unchanged. The given apps are (re)indexed first, so their current text is searched.
+     */
+    public List<ThirdPartyApp> filterApps(List<ThirdPartyApp> apps, String query) {
+        if (query == null || query.isBlank()) {
+            return apps;
+        }
+        for (ThirdPartyApp app : apps) {
+            // put() is a no-op when the indexed text is unchanged
+            if (app.getId() != null) {
+                appIndex.put(app.getId(), AppText.of(app));
+            }
+        }
+        return filter(appIndex, apps, ThirdPartyApp::getId, query);
+    }
+
+    /**
+     * The products of the given list matching the query, best match first. A blank query
+     * returns the list unchanged.
+     */
+    public List<Product> filterProducts(List<Product> products, String query) {
+        for (Product product : products) {
+            // Few products; put() is a no-op when name and description are unchanged
+            productIndex.put(product.getProductCode(), ProductText.of(product));
+        }
+        return filter(productIndex, products, Product::getProductCode, query);
+    }
+
+    /**
+     * Reindex an added or edited app once the current transaction commits.
+     */
+    public void onAppSaved(ThirdPartyApp app) {
+        if (app.getId() != null) {
+            Long id = app.getId();
+            AppText text = AppText.of(app);
+            afterCommit(() -> appIndex.put(id, text));
+        }
+    }
+
+    public void onAppRemoved(Long appId) {
+        afterCommit(() -> appIndex.remove(appId));
+    }
+
+    private <K, T> List<T> filter(CatalogSearchIndex<K, ?> index, List<T> items,
+                                  Function<T, K> keyFunction, String query) {
+        if (query == null || query.isBlank()) {
+            return items;
+        }
+        Map<K, T> byKey = new HashMap<>(items.size() * 2);
+        for (T item : items) {
+            byKey.put(keyFunction.apply(item), item);
+        }
+        List<T> result = new ArrayList<>();
+        for (K key : index.search(query, byKey::containsKey)) {
+            result.add(byKey.get(key));
+        }
+        return result;
+    }
+
+    /**
+     * Load the app index on first use, and reload it once it is older than the refresh interval.
+     */
+    private void ensureIndexCurrent() {
+        if (catalogLoaded && System.nanoTime() - nextReloadNanos < 0) {
+            return;
+        }
+        synchronized (this) {
+            if (!catalogLoaded) {
+                reloadAppIndex();
+                catalogLoaded = true;
+            } else if (System.nanoTime() - nextReloadNanos >= 0) {
+                try {
+                    reloadAppIndex();
+                } catch (Exception e) {
+                    // Keep searching the current index while the database is unreachable
+                    log.warn("Could not reload catalog search index: {}", e.getMessage());
+                    scheduleReload();
+                }
+            }
+        }
+    }
+
+    private void reloadAppIndex() {
+        long start = System.nanoTime();
+        Set<Long> ids = new HashSet<>();
+        for (ThirdPartyAppSearchFields row : appRepository.findAllProjectedBy()) {
+            ids.add(row.getId());
+            appIndex.put(row.getId(), AppText.of(row));
+        }
+        appIndex.retainAll(ids);
+        scheduleReload();
+        log.debug("Indexed {} catalog apps in {} ms", appIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void scheduleReload() {
+        nextReloadNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(1, refreshSeconds));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
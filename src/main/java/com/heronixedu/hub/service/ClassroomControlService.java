@@ -15,7 +15,11 @@ import org.springframework.transaction.annotation.Transactional;
 import java.net.InetAddress;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -30,6 +34,10 @@ public class ClassroomControlService {
     private final ClassroomSessionRepository sessionRepository;
     private final ClassroomStudentRepository studentRepository;
     private final AuditLogService auditLogService;
+    private final ClassroomPushService pushService;
+    private final ClassroomPresenceService presenceService;
+    private final ClassroomSnapshotService snapshotService;
+    private final ClassroomThumbnailService thumbnailService;
 
     private static final String SESSION_CODE_CHARS = "ABCDEFGHJKLMNPQRSTUVWXYZ23456789";
     private static final int SESSION_CODE_LENGTH = 6;
@@ -56,9 +64,13 @@ public class ClassroomControlService {
                 .blockInternet(false)
                 .disableClipboard(false)
                 .maxStudents(40)
+                .controlEndpoint(resolveControlEndpoint())
                 .build();
 
         ClassroomSession saved = sessionRepository.save(session);
+        if (saved.getControlEndpoint() != null) {
+            pushService.openSession(sessionCode);
+        }
 
         auditLogService.log(
                 AuditAction.CONFIG_CHANGE,
@@ -101,6 +113,8 @@ public class ClassroomControlService {
         }
 
         ClassroomSession saved = sessionRepository.save(session);
+        publishFreezeState(session, null, true, teacher);
+        snapshotService.invalidateAfterCommit(session.getId());
 
         auditLogService.log(
                 AuditAction.CONFIG_CHANGE,
@@ -122,13 +136,11 @@ public class ClassroomControlService {
         session.setScreensFrozen(false);
 
         // Also unfreeze individually frozen students
-        List<ClassroomStudent> students = studentRepository.findBySession(session);
-        for (ClassroomStudent student : students) {
-            student.setScreenFrozen(false);
-        }
-        studentRepository.saveAll(students);
+        studentRepository.unfreezeAllInSession(session.getId());
 
         ClassroomSession saved = sessionRepository.save(session);
+        publishFreezeState(session, null, false, teacher);
+        snapshotService.invalidateAfterCommit(session.getId());
 
         auditLogService.log(
                 AuditAction.CONFIG_CHANGE,
@@ -145,21 +157,8 @@ public class ClassroomControlService {
      */
     @Transactional
     public ClassroomStudent freezeStudent(Long sessionId, Long studentId, User teacher) {
-        ClassroomSession session = getSessionForTeacher(sessionId, teacher);
-        ClassroomStudent student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found in session"));
-
-        if (!student.getSession().getId().equals(session.getId())) {
-            throw new IllegalArgumentException("Student is not in this session");
-        }
-
-        student.setScreenFrozen(true);
-        ClassroomStudent saved = studentRepository.save(student);
-
-        log.info("Teacher {} froze screen for student {} in session {}",
-                teacher.getUsername(), student.getStudent().getUsername(), session.getSessionCode());
-
-        return saved;
+        freezeStudents(sessionId, List.of(studentId), teacher);
+        return getStudent(studentId);
     }
 
     /**
@@ -167,21 +166,8 @@ public class ClassroomControlService {
      */
     @Transactional
     public ClassroomStudent unfreezeStudent(Long sessionId, Long studentId, User teacher) {
-        ClassroomSession session = getSessionForTeacher(sessionId, teacher);
-        ClassroomStudent student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
-
-        if (!student.getSession().getId().equals(session.getId())) {
-            throw new IllegalArgumentException("Student is not in this session");
-        }
-
-        student.setScreenFrozen(false);
-        ClassroomStudent saved = studentRepository.save(student);
-
-        log.info("Teacher {} unfroze screen for student {} in session {}",
-                teacher.getUsername(), student.getStudent().getUsername(), session.getSessionCode());
-
-        return saved;
+        unfreezeStudents(sessionId, List.of(studentId), teacher);
+        return getStudent(studentId);
     }
 
     /**
@@ -189,12 +175,8 @@ public class ClassroomControlService {
      */
     @Transactional
     public ClassroomStudent requestAttention(Long sessionId, Long studentId, User teacher) {
-        ClassroomSession session = getSessionForTeacher(sessionId, teacher);
-        ClassroomStudent student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
-
-        student.setAttentionRequested(true);
-        return studentRepository.save(student);
+        requestAttention(sessionId, List.of(studentId), teacher);
+        return getStudent(studentId);
     }
 
     /**
@@ -202,12 +184,8 @@ public class ClassroomControlService {
      */
     @Transactional
     public ClassroomStudent sendPrivateMessage(Long sessionId, Long studentId, String message, User teacher) {
-        ClassroomSession session = getSessionForTeacher(sessionId, teacher);
-        ClassroomStudent student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
-
-        student.setPrivateMessage(message);
-        return studentRepository.save(student);
+        sendPrivateMessage(sessionId, List.of(studentId), message, teacher);
+        return getStudent(studentId);
     }
 
     /**
@@ -222,6 +200,10 @@ public class ClassroomControlService {
         session.setAllowedApps(allowedApps);
 
         ClassroomSession saved = sessionRepository.save(session);
+        Map<String, String> data = new HashMap<>();
+        data.put("restricted", String.valueOf(restrictApps));
+        data.put("allowedApps", allowedApps);
+        pushService.publishAfterCommit(session.getSessionCode(), ClassroomPushService.EVENT_RESTRICTIONS, null, data);
 
         auditLogService.log(
                 AuditAction.CONFIG_CHANGE,
@@ -238,14 +220,146 @@ public class ClassroomControlService {
      */
     @Transactional
     public ClassroomStudent blockStudent(Long sessionId, Long studentId, User teacher) {
+        blockStudents(sessionId, List.of(studentId), teacher);
+        return getStudent(studentId);
+    }
+
+    // ============== BULK TEACHER FUNCTIONS ==============
+    // Each command is one session check, one set-based UPDATE scoped by session id,
+    // one username lookup for the push events and one audit record, whatever the group size.
+
+    /**
+     * Freeze the screens of a group of students.
+     * @return number of students updated
+     */
+    @Transactional
+    public int freezeStudents(Long sessionId, Collection<Long> studentIds, User teacher) {
         ClassroomSession session = getSessionForTeacher(sessionId, teacher);
-        ClassroomStudent student = studentRepository.findById(studentId)
-                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
+        List<String> usernames = requireStudentsInSession(session, studentIds);
+
+        int updated = studentRepository.setScreenFrozen(session.getId(), studentIds, true);
+        for (String username : usernames) {
+            publishFreezeState(session, username, true, teacher);
+        }
+        snapshotService.invalidateAfterCommit(session.getId());
+
+        auditBatch(teacher, "Froze " + updated + " student screen(s)", session);
+        log.info("Teacher {} froze {} student screen(s) in session {}",
+                teacher.getUsername(), updated, session.getSessionCode());
+        return updated;
+    }
 
-        student.setStatus(ClassroomStudent.StudentStatus.BLOCKED);
-        student.disconnect();
+    /**
+     * Unfreeze the screens of a group of students (they stay frozen if the whole session is).
+     * @return number of students updated
+     */
+    @Transactional
+    public int unfreezeStudents(Long sessionId, Collection<Long> studentIds, User teacher) {
+        ClassroomSession session = getSessionForTeacher(sessionId, teacher);
+        List<String> usernames = requireStudentsInSession(session, studentIds);
+
+        int updated = studentRepository.setScreenFrozen(session.getId(), studentIds, false);
+        boolean stillFrozen = Boolean.TRUE.equals(session.getScreensFrozen());
+        for (String username : usernames) {
+            publishFreezeState(session, username, stillFrozen, teacher);
+        }
+        snapshotService.invalidateAfterCommit(session.getId());
 
-        return studentRepository.save(student);
+        auditBatch(teacher, "Unfroze " + updated + " student screen(s)", session);
+        log.info("Teacher {} unfroze {} student screen(s) in session {}",
+                teacher.getUsername(), updated, session.getSessionCode());
+        return updated;
+    }
+
+    /**
+     * Request attention from a group of students.
+     * @return number of students updated
+     */
+    @Transactional
+    public int requestAttention(Long sessionId, Collection<Long> studentIds, User teacher) {
+        ClassroomSession session = getSessionForTeacher(sessionId, teacher);
+        List<String> usernames = requireStudentsInSession(session, studentIds);
+
+        int updated = studentRepository.requestAttention(session.getId(), studentIds);
+        for (String username : usernames) {
+            pushService.publishAfterCommit(session.getSessionCode(), ClassroomPushService.EVENT_ATTENTION,
+                    username, Map.of());
+        }
+
+        auditBatch(teacher, "Requested attention from " + updated + " student(s)", session);
+        return updated;
+    }
+
+    /**
+     * Send the same private message to a group of students.
+     * @return number of students updated
+     */
+    @Transactional
+    public int sendPrivateMessage(Long sessionId, Collection<Long> studentIds, String message, User teacher) {
+        ClassroomSession session = getSessionForTeacher(sessionId, teacher);
+        List<String> usernames = requireStudentsInSession(session, studentIds);
+
+        int updated = studentRepository.setPrivateMessage(session.getId(), studentIds, message);
+        Map<String, String> data = new HashMap<>();
+        data.put("message", message);
+        data.put("teacherName", teacher.getFullName());
+        for (String username : usernames) {
+            pushService.publishAfterCommit(session.getSessionCode(), ClassroomPushService.EVENT_MESSAGE,
+                    username, data);
+        }
+
+        auditBatch(teacher, "Sent a private message to " + updated + " student(s)", session);
+        return updated;
+    }
+
+    /**
+     * Block a group of students from the session.
+     * @return number of students updated
+     */
+    @Transactional
+    public int blockStudents(Long sessionId, Collection<Long> studentIds, User teacher) {
+        ClassroomSession session = getSessionForTeacher(sessionId, teacher);
+        List<String> usernames = requireStudentsInSession(session, studentIds);
+
+        int updated = studentRepository.blockStudents(session.getId(), studentIds, LocalDateTime.now());
+        for (String username : usernames) {
+            pushService.publishAfterCommit(session.getSessionCode(), ClassroomPushService.EVENT_BLOCKED,
+                    username, Map.of());
+            pushService.revokeStudentAfterCommit(session.getSessionCode(), username);
+        }
+        snapshotService.invalidateAfterCommit(session.getId());
+
+        auditBatch(teacher, "Blocked " + updated + " student(s)", session);
+        log.info("Teacher {} blocked {} student(s) in session {}",
+                teacher.getUsername(), updated, session.getSessionCode());
+        return updated;
+    }
+
+    /**
+     * Resolve the usernames of the given students, failing if none of them are in the session.
+     */
+    private List<String> requireStudentsInSession(ClassroomSession session, Collection<Long> studentIds) {
+        if (studentIds == null || studentIds.isEmpty()) {
+            throw new IllegalArgumentException("No students selected");
+        }
+        List<String> usernames = studentRepository.findUsernamesInSession(session.getId(), studentIds);
+        if (usernames.isEmpty()) {
+            throw new IllegalArgumentException("Student is not in this session");
+        }
+        return usernames;
+    }
+
+    private void auditBatch(User teacher, String action, ClassroomSession session) {
+        auditLogService.log(
+                AuditAction.CONFIG_CHANGE,
+                teacher.getUsername(),
+                action + " in session: " + session.getSessionName()
+        );
+    }
+
+    private ClassroomStudent getStudent(Long studentId) {
+        return studentRepository.findById(studentId)
+                .orElseThrow(() -> new IllegalArgumentException("Student not found"));
     }
 
     /**
@@ -258,13 +372,13 @@ public class ClassroomControlService {
         session.endSession();
 
         // Disconnect all students
-        List<ClassroomStudent> students = studentRepository.findBySession(session);
-        for (ClassroomStudent student : students) {
-            student.disconnect();
-        }
-        studentRepository.saveAll(students);
+        studentRepository.disconnectAllInSession(session.getId(), LocalDateTime.now());
 
         ClassroomSession saved = sessionRepository.save(session);
+        pushService.endSessionAfterCommit(session.getSessionCode());
+        presenceService.clearSession(session.getSessionCode());
+        snapshotService.evict(session.getId());
+        thumbnailService.clearSession(session.getSessionCode());
 
         auditLogService.log(
                 AuditAction.CONFIG_CHANGE,
@@ -278,17 +392,38 @@ public class ClassroomControlService {
 
     /**
      * Get all students in a session.
+     * Loads full entities; dashboards that refresh should use getSessionSnapshot instead.
      */
     public List<ClassroomStudent> getSessionStudents(Long sessionId, User teacher) {
         ClassroomSession session = getSessionForTeacher(sessionId, teacher);
         return studentRepository.findBySessionOrderByStudentName(session);
     }
 
+    /**
+     * Get the students whose dashboard state changed since sinceVersion (0 for everyone).
+     * Served from an in-memory projection; pass the returned version on the next call.
+     */
+    public ClassroomSnapshotService.SessionSnapshot getSessionSnapshot(Long sessionId, long sinceVersion, User teacher) {
+        return snapshotService.getSnapshot(sessionId, sinceVersion, teacher);
+    }
+
+    /**
+     * Get a student's latest screen thumbnail (JPEG), if their Hub is streaming to this one.
+     */
+    public Optional<ClassroomThumbnailService.Thumbnail> getStudentThumbnail(Long sessionId, String username, User teacher) {
+        return snapshotService.getThumbnail(sessionId, username, teacher);
+    }
+
     /**
      * Get active sessions for a teacher.
      */
     public List<ClassroomSession> getActiveSessionsForTeacher(User teacher) {
-        return sessionRepository.findActiveSessionsByTeacher(teacher);
+        List<ClassroomSession> sessions = sessionRepository.findActiveSessionsByTeacher(teacher);
+        if (!sessions.isEmpty() && pushService.ensureServerStarted() > 0) {
+            // Bring the push channel back up after a Hub restart so students can reconnect
+            sessions.forEach(session -> pushService.openSession(session.getSessionCode()));
+        }
+        return sessions;
     }
 
     // ============== STUDENT FUNCTIONS ==============
@@ -309,7 +444,14 @@ public class ClassroomControlService {
         Optional<ClassroomStudent> existing = studentRepository.findBySessionAndStudent(session, student);
         if (existing.isPresent()) {
             ClassroomStudent cs = existing.get();
+            if (cs.getStatus() == ClassroomStudent.StudentStatus.DISCONNECTED) {
+                // Rejoining after leaving
+                cs.setLeftAt(null);
+            }
             cs.heartbeat();
+            if (cs.getPushToken() == null) {
+                cs.setPushToken(generatePushToken());
+            }
             return studentRepository.save(cs);
         }
 
@@ -329,6 +471,7 @@ public class ClassroomControlService {
                 .computerName(computerName)
                 .ipAddress(ipAddress)
                 .deviceId(computerName + "-" + student.getUsername())
+                .pushToken(generatePushToken())
                 .status(ClassroomStudent.StudentStatus.CONNECTED)
                 .lastHeartbeat(LocalDateTime.now())
                 .build();
@@ -387,7 +530,9 @@ public class ClassroomControlService {
                         cs.getSession().getRestrictApps(),
                         cs.getSession().getAllowedApps(),
                         cs.getAttentionRequested(),
-                        cs.getPrivateMessage()
+                        cs.getPrivateMessage(),
+                        cs.getSession().getControlEndpoint(),
+                        cs.getPushToken()
                 ));
     }
 
@@ -419,19 +564,17 @@ public class ClassroomControlService {
 
     /**
      * Clean up stale connections periodically.
+     * Students on the push channel are tracked by ClassroomPresenceService; this sweep
+     * covers the ones heartbeating straight to the database, in one statement for all sessions.
      */
     @Scheduled(fixedRate = 15000) // Every 15 seconds
     @Transactional
     public void cleanupStaleConnections() {
         LocalDateTime threshold = LocalDateTime.now().minusSeconds(30);
 
-        List<ClassroomSession> activeSessions = sessionRepository.findAllActiveSessions();
-        for (ClassroomSession session : activeSessions) {
-            int disconnected = studentRepository.markStaleConnectionsAsDisconnected(session, threshold);
-            if (disconnected > 0) {
-                log.debug("Marked {} stale connections as disconnected in session {}",
-                        disconnected, session.getSessionCode());
-            }
+        int disconnected = studentRepository.markStaleConnectionsInActiveSessions(threshold);
+        if (disconnected > 0) {
+            log.debug("Marked {} stale connections as disconnected", disconnected);
         }
     }
 
@@ -449,6 +592,34 @@ public class ClassroomControlService {
         return session;
     }
 
+    /**
+     * Push a freeze-state change to a student (or the whole session when studentUsername is null).
+     */
+    private void publishFreezeState(ClassroomSession session, String studentUsername, boolean frozen, User teacher) {
+        Map<String, String> data = new HashMap<>();
+        data.put("frozen", String.valueOf(frozen));
+        data.put("message", session.getFreezeMessage());
+        data.put("teacherName", teacher.getFullName());
+        pushService.publishAfterCommit(session.getSessionCode(), ClassroomPushService.EVENT_FREEZE_STATE,
+                studentUsername, data);
+    }
+
+    /**
+     * Start this Hub's push channel and return the endpoint students should subscribe to.
+     */
+    private String resolveControlEndpoint() {
+        return pushService.ensureServerStarted() < 0 ? null : pushService.getEndpoint();
+    }
+
+    /**
+     * Random token a student's Hub uses to authenticate to the teacher's push channel.
+     */
+    private String generatePushToken() {
+        byte[] bytes = new byte[24];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
     private String getComputerName() {
         try {
             return InetAddress.getLocalHost().getHostName();
@@ -477,6 +648,8 @@ public class ClassroomControlService {
             boolean appsRestricted,
             String allowedApps,
             boolean attentionRequested,
-            String privateMessage
+            String privateMessage,
+            String controlEndpoint,
+            String pushToken
     ) {}
 }
@@ -0,0 +1,336 @@
+package com.heronixedu.hub.service;
+
+import com.heronixedu.hub.repository.ClassroomStudentRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory presence table for students connected to this (teacher) Hub.
+ *
+ * Heartbeats arriving over the classroom push channel only touch a concurrent map.
+ * Changed rows are written to classroom_students in one JDBC batch every few seconds,
+ * and staleness is detected with a one-second timer wheel over the in-memory
+ * timestamps, so there are no per-heartbeat or per-session queries.
+ *
+ * Per-session change counters tell ClassroomSnapshotService when a teacher's view is out of
+ * date, so it re-reads the database only after a change instead of on a timer.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClassroomPresenceService {
+
+    static final long STALE_AFTER_MILLIS = 30_000;
+    private static final long FLUSH_INTERVAL_SECONDS = 5;
+    private static final int WHEEL_SLOTS = 64; // > stale timeout in seconds, so a slot never holds two laps
+
+    // Only rows the stale sweeps disconnected are revived; leaving or ending the session sets left_at
+    private static final String FLUSH_SQL =
+            "UPDATE classroom_students SET last_heartbeat = ?, current_app = COALESCE(?, current_app), " +
+            "thumbnail_hash = COALESCE(?, thumbnail_hash), " +
+            "status = CASE WHEN status = 'DISCONNECTED' AND left_at IS NULL THEN 'CONNECTED' ELSE status END " +
+            "WHERE id = ?";
+    private static final String MARK_STALE_SQL =
+            "UPDATE classroom_students SET status = 'DISCONNECTED' WHERE id = ? AND status IN ('CONNECTED', 'IDLE', 'AWAY')";
+
+    private final ClassroomStudentRepository studentRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    private final Map<String, PresenceEntry> entries = new ConcurrentHashMap<>();
+    private final Map<String, SessionChanges> changes = new ConcurrentHashMap<>();
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private final ConcurrentLinkedQueue<PresenceEntry>[] wheel = new ConcurrentLinkedQueue[WHEEL_SLOTS];
+    private long wheelCursorSecond;
+
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Presence of one student in one session. Timestamps are epoch millis.
+     */
+    static final class PresenceEntry {
+        final String sessionCode;
+        final String username;
+        final Long classroomStudentId;
+        volatile long lastSeenMillis;
+        volatile String currentApp;
+        volatile String thumbnailHash;
+        volatile boolean dirty;
+        volatile boolean stale;
+
+        PresenceEntry(String sessionCode, String username, Long classroomStudentId) {
+            this.sessionCode = sessionCode;
+            this.username = username;
+            this.classroomStudentId = classroomStudentId;
+        }
+    }
+
+    /**
+     * Read-only view of a student's presence for teacher displays.
+     */
+    public record Presence(String username, long lastSeenMillis, String currentApp, String thumbnailHash,
+                           boolean connected) {
+    }
+
+    /**
+     * Change counters of a session. rows moves when classroom_students rows changed in a way
+     * only the database shows (a student appeared, students were marked disconnected); presence
+     * moves when something getPresence() reports changed (app, thumbnail, reconnect, staleness).
+     */
+    public record ChangeCounts(long rows, long presence) {
+    }
+
+    private static final class SessionChanges {
+        final AtomicLong rows = new AtomicLong();
+        final AtomicLong presence = new AtomicLong();
+    }
+
+    @PostConstruct
+    public void init() {
+        for (int i = 0; i < WHEEL_SLOTS; i++) {
+            wheel[i] = new ConcurrentLinkedQueue<>();
+        }
+        wheelCursorSecond = System.currentTimeMillis() / 1000;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            scheduler = null;
+            // Don't lose the last few seconds of presence on a clean shutdown
+            flushDirty();
+        }
+    }
+
+    /**
+     * Record a heartbeat received from a student Hub. Memory only; persisted by the next flush.
+     *
+     * @return false if the student is not in that session (caller should fall back to a DB heartbeat)
+     */
+    public boolean recordHeartbeat(String sessionCode, String username, String currentApp) {
+        PresenceEntry entry = entryFor(sessionCode, username);
+        if (entry == null) {
+            return false;
+        }
+
+        long now = System.currentTimeMillis();
+        boolean visibleChange = entry.stale || entry.lastSeenMillis == 0
+                || (currentApp != null && !currentApp.equals(entry.currentApp));
+        entry.lastSeenMillis = now;
+        if (currentApp != null) {
+            entry.currentApp = currentApp;
+        }
+        entry.stale = false;
+        entry.dirty = true;
+        wheel[slotFor(now + STALE_AFTER_MILLIS)].add(entry);
+        if (visibleChange) {
+            changesFor(entry.sessionCode).presence.incrementAndGet();
+        }
+        return true;
+    }
+
+    /**
+     * Record that a student's screen thumbnail changed. Also counts as a heartbeat.
+     *
+     * @return false if the student is not in that session
+     */
+    public boolean recordThumbnail(String sessionCode, String username, String thumbnailHash) {
+        PresenceEntry entry = entryFor(sessionCode, username);
+        if (entry == null) {
+            return false;
+        }
+        if (thumbnailHash != null && !thumbnailHash.equals(entry.thumbnailHash)) {
+            entry.thumbnailHash = thumbnailHash;
+            changesFor(entry.sessionCode).presence.incrementAndGet();
+        }
+        return recordHeartbeat(sessionCode, username, null);
+    }
+
+    /**
+     * Whether the student has joined that (active) session.
+     */
+    public boolean isInSession(String sessionCode, String username) {
+        return entryFor(sessionCode, username) != null;
+    }
+
+    private PresenceEntry entryFor(String sessionCode, String username) {
+        String key = keyFor(sessionCode, username);
+        PresenceEntry entry = entries.get(key);
+        if (entry == null) {
+            Long id = studentRepository.findIdBySessionCodeAndUsername(sessionCode.toUpperCase(), username)
+                    .orElse(null);
+            if (id == null) {
+                return null;
+            }
+            entry = entries.computeIfAbsent(key, k -> new PresenceEntry(sessionCode.toUpperCase(), username, id));
+            // Possibly a student who joined after the teacher's view was loaded
+            changesFor(entry.sessionCode).rows.incrementAndGet();
+            ensureStarted();
+        }
+        return entry;
+    }
+
+    /**
+     * Current change counters of a session (zero for sessions this Hub has heard nothing from).
+     */
+    public ChangeCounts getChangeCounts(String sessionCode) {
+        SessionChanges sessionChanges = changes.get(sessionCode.toUpperCase());
+        return sessionChanges == null ? new ChangeCounts(0, 0)
+                : new ChangeCounts(sessionChanges.rows.get(), sessionChanges.presence.get());
+    }
+
+    private SessionChanges changesFor(String sessionCode) {
+        return changes.computeIfAbsent(sessionCode.toUpperCase(), c -> new SessionChanges());
+    }
+
+    /**
+     * Current presence of the students this Hub has heard from in a session.
+     */
+    public List<Presence> getPresence(String sessionCode) {
+        List<Presence> result = new ArrayList<>();
+        for (PresenceEntry entry : entries.values()) {
+            if (entry.sessionCode.equalsIgnoreCase(sessionCode)) {
+                result.add(new Presence(entry.username, entry.lastSeenMillis, entry.currentApp,
+                        entry.thumbnailHash, !entry.stale));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Forget all presence for a session (e.g. when it ends).
+     */
+    public void clearSession(String sessionCode) {
+        entries.values().removeIf(entry -> entry.sessionCode.equalsIgnoreCase(sessionCode));
+        changes.remove(sessionCode.toUpperCase());
+    }
+
+    private synchronized void ensureStarted() {
+        if (scheduler != null) {
+            return;
+        }
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ClassroomPresence");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleWithFixedDelay(this::flushDirty, FLUSH_INTERVAL_SECONDS, FLUSH_INTERVAL_SECONDS, TimeUnit.SECONDS);
+        scheduler.scheduleAtFixedRate(this::advanceWheel, 1, 1, TimeUnit.SECONDS);
+        log.info("Classroom presence tracking started");
+    }
+
+    /**
+     * Write all changed heartbeats in a single JDBC batch.
+     */
+    private void flushDirty() {
+        List<Object[]> batch = new ArrayList<>();
+        for (PresenceEntry entry : entries.values()) {
+            if (entry.dirty) {
+                entry.dirty = false;
+                batch.add(new Object[]{
+                        new Timestamp(entry.lastSeenMillis), entry.currentApp, entry.thumbnailHash,
+                        entry.classroomStudentId});
+            }
+        }
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.batchUpdate(FLUSH_SQL, batch);
+            log.debug("Flushed {} heartbeats", batch.size());
+        } catch (Exception e) {
+            log.warn("Heartbeat flush failed ({} rows): {}", batch.size(), e.getMessage());
+            // Re-mark so the next flush retries
+            for (PresenceEntry entry : entries.values()) {
+                for (Object[] row : batch) {
+                    if (entry.classroomStudentId.equals(row[3])) {
+                        entry.dirty = true;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Fire every wheel slot up to the current second, mark expired entries disconnected and
+     * drop them from the table (a later heartbeat re-creates them from the database).
+     * An entry can sit in several slots (one per heartbeat); only the one matching its
+     * latest deadline finds it expired.
+     */
+    private void advanceWheel() {
+        long nowMillis = System.currentTimeMillis();
+        long nowSecond = nowMillis / 1000;
+        List<PresenceEntry> expired = new ArrayList<>();
+
+        while (wheelCursorSecond <= nowSecond) {
+            ConcurrentLinkedQueue<PresenceEntry> slot = wheel[(int) (wheelCursorSecond % WHEEL_SLOTS)];
+            int pending = slot.size();
+            for (int i = 0; i < pending; i++) {
+                PresenceEntry entry = slot.poll();
+                if (entry == null) {
+                    break;
+                }
+                long deadline = entry.lastSeenMillis + STALE_AFTER_MILLIS;
+                if (deadline <= nowMillis) {
+                    if (!entry.stale) {
+                        entry.stale = true;
+                        expired.add(entry);
+                    }
+                } else if (slotFor(deadline) == (int) (wheelCursorSecond % WHEEL_SLOTS)) {
+                    // Deadline is a full lap away in this same slot; keep it
+                    slot.add(entry);
+                }
+                // Otherwise a newer heartbeat already placed it in a later slot
+            }
+            wheelCursorSecond++;
+        }
+
+        if (expired.isEmpty()) {
+            return;
+        }
+        List<Object[]> batch = new ArrayList<>(expired.size());
+        for (PresenceEntry entry : expired) {
+            batch.add(new Object[]{entry.classroomStudentId});
+        }
+        try {
+            jdbcTemplate.batchUpdate(MARK_STALE_SQL, batch);
+            log.debug("Marked {} students disconnected (no heartbeat for {}s)", expired.size(), STALE_AFTER_MILLIS / 1000);
+        } catch (Exception e) {
+            log.warn("Failed to mark stale students disconnected: {}", e.getMessage());
+        }
+        for (PresenceEntry entry : expired) {
+            String key = keyFor(entry.sessionCode, entry.username);
+            if (entries.remove(key, entry) && !entry.stale) {
+                // A heartbeat arrived while it was being marked; keep it
+                entries.putIfAbsent(key, entry);
+            }
+            SessionChanges sessionChanges = changesFor(entry.sessionCode);
+            sessionChanges.rows.incrementAndGet();
+            sessionChanges.presence.incrementAndGet();
+        }
+    }
+
+    private static String keyFor(String sessionCode, String username) {
+        return sessionCode.toUpperCase() + "|" + username.toLowerCase();
+    }
+
+    private static int slotFor(long deadlineMillis) {
+        return (int) ((deadlineMillis / 1000) % WHEEL_SLOTS);
+    }
+}
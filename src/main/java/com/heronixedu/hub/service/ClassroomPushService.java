@@ -0,0 +1,850 @@
+package com.heronixedu.hub.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heronixedu.hub.model.NetworkConfig;
+import com.heronixedu.hub.repository.ClassroomStudentRepository;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.DatagramSocket;
+import java.net.HttpURLConnection;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Push channel for classroom control (teacher -> student Hubs).
+ *
+ * The teacher's Hub runs a small long-poll HTTP endpoint on the configured
+ * NetworkConfig.websocketPort. Teacher actions are published as events to an
+ * in-memory per-session log, and student Hubs hold a request open until an event
+ * arrives, so a freeze reaches students immediately instead of on the next DB poll.
+ *
+ * Endpoint: GET /classroom/events?session=CODE&amp;student=USERNAME&amp;since=SEQ
+ * Response: {"epoch": n, "latestSeq": n, "resync": bool, "events": [{seq, type, target, data}]}
+ *
+ * Every request carries the student's push token (issued at join time, X-Classroom-Token
+ * header) and is answered 403 unless it matches the student's row in that session; sessions
+ * this Hub is not hosting are answered 404. Tokens are re-checked against the database every
+ * TOKEN_RECHECK_MILLIS and dropped when a student is blocked, so blocked students and students
+ * who left stop receiving events. The server binds to the address students are given, the one
+ * on the interface that reaches the database / Heronix server.
+ *
+ * since=-1 returns the latest sequence number without waiting (initial subscribe).
+ * A changed epoch means the teacher's Hub restarted and the client should resync from the DB;
+ * so does resync=true, sent when events after since were already dropped from the log.
+ *
+ * Students also send heartbeats back over the same endpoint
+ * (POST /classroom/heartbeat?session=CODE&amp;student=USERNAME&amp;app=APP), which land in
+ * ClassroomPresenceService instead of a per-heartbeat database write, and screen thumbnail
+ * updates (POST /classroom/thumbnail, binary body) handled by ClassroomThumbnailService.
+ */
+@Service
+@Slf4j
+public class ClassroomPushService {
+
+    public static final String EVENT_FREEZE_STATE = "FREEZE_STATE";
+    public static final String EVENT_ATTENTION = "ATTENTION";
+    public static final String EVENT_MESSAGE = "MESSAGE";
+    public static final String EVENT_RESTRICTIONS = "RESTRICTIONS";
+    public static final String EVENT_BLOCKED = "BLOCKED";
+    public static final String EVENT_SESSION_ENDED = "SESSION_ENDED";
+
+    private static final String EVENTS_PATH = "/classroom/events";
+    private static final String HEARTBEAT_PATH = "/classroom/heartbeat";
+    private static final String THUMBNAIL_PATH = "/classroom/thumbnail";
+    private static final String TOKEN_HEADER = "X-Classroom-Token";
+    private static final long LONG_POLL_MILLIS = 25_000;
+    private static final int CLIENT_READ_TIMEOUT_MILLIS = 35_000;
+    private static final int EVENTS_RETAINED_PER_SESSION = 256;
+    private static final long TOKEN_RECHECK_MILLIS = 30_000;
+    private static final long START_RETRY_MILLIS = 60_000;
+
+    private final NetworkConfigService networkConfigService;
+    private final ClassroomPresenceService presenceService;
+    private final ClassroomThumbnailService thumbnailService;
+    private final ClassroomStudentRepository studentRepository;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final long epoch = new SecureRandom().nextLong() & Long.MAX_VALUE;
+    private final Map<String, SessionChannel> channels = new ConcurrentHashMap<>();
+
+    @Value("${spring.datasource.url:}")
+    private String datasourceUrl;
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private int serverPort;
+    private InetAddress serverAddress;
+    private long lastStartFailure;
+
+    public ClassroomPushService(NetworkConfigService networkConfigService,
+                                ClassroomPresenceService presenceService,
+                                ClassroomThumbnailService thumbnailService,
+                                ClassroomStudentRepository studentRepository) {
+        this.networkConfigService = networkConfigService;
+        this.presenceService = presenceService;
+        this.thumbnailService = thumbnailService;
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * A classroom control event. target is a student username, or null for the whole session.
+     */
+    public record ClassroomEvent(long seq, String type, String target, Map<String, String> data) {
+        public boolean isFor(String username) {
+            return target == null || target.equalsIgnoreCase(username);
+        }
+    }
+
+    /**
+     * Receives events on the subscription thread.
+     */
+    public interface EventListener {
+        void onEvent(ClassroomEvent event);
+
+        /**
+         * Called when the event stream may have gaps (first connect, teacher Hub restart).
+         */
+        void onResync();
+    }
+
+    /**
+     * Handle for a student's open subscription.
+     */
+    public interface Subscription extends AutoCloseable {
+        boolean isConnected();
+
+        String getEndpoint();
+
+        /**
+         * Report presence to the teacher's Hub.
+         * @return false if it was not accepted (caller should heartbeat to the DB instead)
+         */
+        boolean sendHeartbeat(String currentApp);
+
+        /**
+         * Send a screen thumbnail update to the teacher's Hub.
+         * @return false if it was rejected or failed (the next update should be a keyframe)
+         */
+        boolean sendThumbnail(byte[] frame);
+
+        @Override
+        void close();
+    }
+
+    // ========================================================================
+    // TEACHER SIDE (publisher)
+    // ========================================================================
+
+    /**
+     * Start the push endpoint if needed.
+     * @return the port it listens on, or -1 if it could not be started
+     */
+    public synchronized int ensureServerStarted() {
+        if (server != null) {
+            return serverPort;
+        }
+        if (System.currentTimeMillis() - lastStartFailure < START_RETRY_MILLIS) {
+            return -1;
+        }
+
+        NetworkConfig config = networkConfigService.getActiveNetwork().config();
+        Integer port = config.getWebsocketPort();
+        if (port == null || port <= 0) {
+            log.info("Classroom push channel disabled (no websocket port configured)");
+            return -1;
+        }
+        InetAddress address = resolveClassroomAddress(config);
+        if (address == null) {
+            lastStartFailure = System.currentTimeMillis();
+            log.warn("Classroom push channel not started: no network address students can reach");
+            return -1;
+        }
+
+        try {
+            HttpServer httpServer = HttpServer.create(new InetSocketAddress(address, port), 0);
+            serverExecutor = Executors.newVirtualThreadPerTaskExecutor();
+            httpServer.setExecutor(serverExecutor);
+            httpServer.createContext(EVENTS_PATH, this::handleEventsRequest);
+            httpServer.createContext(HEARTBEAT_PATH, this::handleHeartbeatRequest);
+            httpServer.createContext(THUMBNAIL_PATH, this::handleThumbnailRequest);
+            httpServer.start();
+            server = httpServer;
+            serverPort = port;
+            serverAddress = address;
+            log.info("Classroom push channel listening on {}:{}", address.getHostAddress(), port);
+            return port;
+        } catch (IOException e) {
+            lastStartFailure = System.currentTimeMillis();
+            log.warn("Could not start classroom push channel on port {}: {} - students will fall back to polling",
+                    port, e.getMessage());
+            return -1;
+        }
+    }
+
+    /**
+     * host:port students should subscribe to, or null if the push channel is not running.
+     */
+    public synchronized String getEndpoint() {
+        if (server == null) {
+            return null;
+        }
+        String host = serverAddress.getHostAddress();
+        return (serverAddress instanceof Inet6Address ? "[" + host + "]" : host) + ":" + serverPort;
+    }
+
+    /**
+     * Accept student requests for a session hosted by this Hub. Requests for any other
+     * session code are rejected.
+     */
+    public void openSession(String sessionCode) {
+        channels.computeIfAbsent(sessionCode.toUpperCase(), c -> new SessionChannel());
+    }
+
+    /**
+     * Publish an event to a session once the current transaction commits
+     * (immediately if there is no transaction).
+     */
+    public void publishAfterCommit(String sessionCode, String type, String targetUsername, Map<String, String> data) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish(sessionCode, type, targetUsername, data);
+                }
+            });
+        } else {
+            publish(sessionCode, type, targetUsername, data);
+        }
+    }
+
+    public void publish(String sessionCode, String type, String targetUsername, Map<String, String> data) {
+        if (ensureServerStarted() < 0) {
+            return;
+        }
+        SessionChannel channel = channels.computeIfAbsent(sessionCode.toUpperCase(), c -> new SessionChannel());
+        ClassroomEvent event = channel.append(type, targetUsername, data);
+        log.debug("Published {} to session {} (target: {}, seq {})",
+                type, sessionCode, targetUsername != null ? targetUsername : "all", event.seq());
+    }
+
+    /**
+     * After commit, tell the session's students it has ended and drop its event log.
+     * Waiting long-polls are released with the SESSION_ENDED event; later polls resync from the DB.
+     */
+    public void endSessionAfterCommit(String sessionCode) {
+        publishAfterCommit(sessionCode, EVENT_SESSION_ENDED, null, Map.of());
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    closeSession(sessionCode);
+                }
+            });
+        } else {
+            closeSession(sessionCode);
+        }
+    }
+
+    /**
+     * After commit, stop accepting the student's push token (blocked students). Runs after
+     * events published earlier in the transaction, so a waiting poll still receives them.
+     */
+    public void revokeStudentAfterCommit(String sessionCode, String username) {
+        Runnable revoke = () -> {
+            SessionChannel channel = channels.get(sessionCode.toUpperCase());
+            if (channel != null) {
+                channel.revokeToken(username);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    revoke.run();
+                }
+            });
+        } else {
+            revoke.run();
+        }
+    }
+
+    private void closeSession(String sessionCode) {
+        SessionChannel channel = channels.remove(sessionCode.toUpperCase());
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    private void handleEventsRequest(HttpExchange exchange) throws IOException {
+        try {
+            if (!"GET".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            String sessionCode = params.get("session");
+            String student = params.get("student");
+            long since;
+            try {
+                since = Long.parseLong(params.getOrDefault("since", "-1"));
+            } catch (NumberFormatException e) {
+                since = -1;
+            }
+
+            SessionChannel channel = authenticate(exchange, sessionCode, student);
+            if (channel == null) {
+                return;
+            }
+
+            EventBatch batch = since < 0
+                    ? EventBatch.EMPTY
+                    : channel.awaitEvents(since, student, LONG_POLL_MILLIS);
+
+            Map<String, Object> body = new LinkedHashMap<>();
+            body.put("epoch", epoch);
+            body.put("latestSeq", channel.latestSeq());
+            body.put("resync", batch.resync());
+            body.put("events", batch.events());
+
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(200, json.length);
+            try (OutputStream os = exchange.getResponseBody()) {
+                os.write(json);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleHeartbeatRequest(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            String sessionCode = params.get("session");
+            String student = params.get("student");
+            if (authenticate(exchange, sessionCode, student) == null) {
+                return;
+            }
+
+            boolean accepted = presenceService.recordHeartbeat(sessionCode, student, params.get("app"));
+            exchange.sendResponseHeaders(accepted ? 204 : 404, -1);
+        } catch (Exception e) {
+            log.debug("Heartbeat request failed: {}", e.getMessage());
+            exchange.sendResponseHeaders(500, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void handleThumbnailRequest(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equalsIgnoreCase(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            Map<String, String> params = parseQuery(exchange.getRequestURI().getRawQuery());
+            String sessionCode = params.get("session");
+            String student = params.get("student");
+            if (!thumbnailService.isEnabled()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            if (authenticate(exchange, sessionCode, student) == null) {
+                return;
+            }
+            String contentLength = exchange.getRequestHeaders().getFirst("Content-Length");
+            if (contentLength == null || !contentLength.matches("\\d{1,9}")
+                    || Integer.parseInt(contentLength) > ClassroomThumbnailService.MAX_UPDATE_BYTES) {
+                exchange.sendResponseHeaders(413, -1);
+                return;
+            }
+
+            byte[] update;
+            try (InputStream body = exchange.getRequestBody()) {
+                update = body.readNBytes(ClassroomThumbnailService.MAX_UPDATE_BYTES + 1);
+            }
+            boolean applied = thumbnailService.applyUpdate(sessionCode, student, update);
+            // 409: delta against a frame we don't have, student should send a keyframe
+            exchange.sendResponseHeaders(applied ? 204 : 409, -1);
+        } catch (Exception e) {
+            log.debug("Thumbnail request failed: {}", e.getMessage());
+            exchange.sendResponseHeaders(400, -1);
+        } finally {
+            exchange.close();
+        }
+    }
+
+    /**
+     * Check that the request names a session hosted here and carries the student's push token.
+     * Sends the error response and returns null if not.
+     */
+    private SessionChannel authenticate(HttpExchange exchange, String sessionCode, String student) throws IOException {
+        if (sessionCode == null || student == null) {
+            exchange.sendResponseHeaders(400, -1);
+            return null;
+        }
+        SessionChannel channel = channels.get(sessionCode.toUpperCase());
+        if (channel == null) {
+            exchange.sendResponseHeaders(404, -1);
+            return null;
+        }
+        String token = exchange.getRequestHeaders().getFirst(TOKEN_HEADER);
+        if (token == null || !channel.isTokenValid(student, token,
+                () -> studentRepository.findPushToken(sessionCode.toUpperCase(), student).orElse(null))) {
+            log.debug("Rejected classroom request for {} in session {}: bad or missing token", student, sessionCode);
+            exchange.sendResponseHeaders(403, -1);
+            return null;
+        }
+        return channel;
+    }
+
+    /**
+     * Local address of the interface that reaches the database or Heronix server, which is the
+     * network students share with it. Falls back to the host's default address.
+     */
+    private InetAddress resolveClassroomAddress(NetworkConfig config) {
+        for (String host : new String[]{hostOf(datasourceUrl), hostOf(config.getLocalServerPath()),
+                hostOf(config.getCloudServerUrl())}) {
+            if (host == null) {
+                continue;
+            }
+            // A connected UDP socket picks the outgoing interface without sending anything
+            try (DatagramSocket socket = new DatagramSocket()) {
+                socket.connect(InetAddress.getByName(host), 9);
+                InetAddress local = socket.getLocalAddress();
+                if (!local.isAnyLocalAddress() && !local.isLoopbackAddress()) {
+                    return local;
+                }
+            } catch (IOException e) {
+                log.debug("No route to {}: {}", host, e.getMessage());
+            }
+        }
+        try {
+            InetAddress local = InetAddress.getLocalHost();
+            return local.isLoopbackAddress() ? null : local;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Host part of a JDBC URL, URL or UNC path; null for local paths and local databases.
+     */
+    private static String hostOf(String location) {
+        if (location == null || location.isBlank()) {
+            return null;
+        }
+        if (location.startsWith("\\\\")) {
+            String rest = location.substring(2);
+            int end = rest.indexOf('\\');
+            return end > 0 ? rest.substring(0, end) : rest;
+        }
+        try {
+            String host = URI.create(location.startsWith("jdbc:") ? location.substring(5) : location).getHost();
+            return host == null || "localhost".equalsIgnoreCase(host) ? null : host;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> params = new HashMap<>();
+        if (rawQuery == null || rawQuery.isEmpty()) {
+            return params;
+        }
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                params.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return params;
+    }
+
+    @PreDestroy
+    public synchronized void shutdown() {
+        channels.values().forEach(SessionChannel::close);
+        channels.clear();
+        if (server != null) {
+            server.stop(0);
+            server = null;
+            serverAddress = null;
+        }
+        if (serverExecutor != null) {
+            serverExecutor.shutdownNow();
+            serverExecutor = null;
+        }
+    }
+
+    /**
+     * Events for one long-poll response. resync is set when events after the requested sequence
+     * number were already dropped from the log, so the client must resync from the database.
+     */
+    private record EventBatch(List<ClassroomEvent> events, boolean resync) {
+        static final EventBatch EMPTY = new EventBatch(List.of(), false);
+    }
+
+    /**
+     * Student push token as last read from the database.
+     */
+    private record CachedToken(String token, long checkedAtNanos) {
+    }
+
+    /**
+     * Bounded, sequenced event log for one session. Long-poll readers wait on a Condition
+     * (not a monitor, so waiting virtual threads don't pin their carriers).
+     */
+    private static final class SessionChannel {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final Condition changed = lock.newCondition();
+        private final ArrayDeque<ClassroomEvent> recent = new ArrayDeque<>();
+        // Push tokens of students seen on this channel, by lower-case username
+        private final Map<String, CachedToken> tokens = new ConcurrentHashMap<>();
+        private long lastSeq = 0;
+        private boolean closed = false;
+
+        /**
+         * Compare a presented token with the student's, loading it from the database on first
+         * use and again once the cached copy is older than TOKEN_RECHECK_MILLIS.
+         */
+        boolean isTokenValid(String username, String token, Supplier<String> loader) {
+            String key = username.toLowerCase();
+            CachedToken cached = tokens.get(key);
+            if (cached == null
+                    || System.nanoTime() - cached.checkedAtNanos() > TimeUnit.MILLISECONDS.toNanos(TOKEN_RECHECK_MILLIS)) {
+                String expected = loader.get();
+                if (expected == null) {
+                    // Blocked, left or not in this session
+                    tokens.remove(key);
+                    return false;
+                }
+                cached = new CachedToken(expected, System.nanoTime());
+                tokens.put(key, cached);
+            }
+            return MessageDigest.isEqual(cached.token().getBytes(StandardCharsets.UTF_8),
+                    token.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void revokeToken(String username) {
+            tokens.remove(username.toLowerCase());
+        }
+
+        ClassroomEvent append(String type, String target, Map<String, String> data) {
+            Map<String, String> payload = new HashMap<>();
+            if (data != null) {
+                data.forEach((key, value) -> {
+                    if (value != null) {
+                        payload.put(key, value);
+                    }
+                });
+            }
+            lock.lock();
+            try {
+                ClassroomEvent event = new ClassroomEvent(++lastSeq, type, target, Map.copyOf(payload));
+                recent.addLast(event);
+                while (recent.size() > EVENTS_RETAINED_PER_SESSION) {
+                    recent.removeFirst();
+                }
+                changed.signalAll();
+                return event;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        long latestSeq() {
+            lock.lock();
+            try {
+                return lastSeq;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        EventBatch awaitEvents(long since, String username, long timeoutMillis) throws InterruptedException {
+            long remainingNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+            lock.lock();
+            try {
+                while (true) {
+                    if (missedEvents(since)) {
+                        return new EventBatch(List.of(), true);
+                    }
+                    List<ClassroomEvent> matching = collect(since, username);
+                    if (!matching.isEmpty() || closed || remainingNanos <= 0) {
+                        return new EventBatch(matching, false);
+                    }
+                    // Events for other students wake us too; loop until one matches or time runs out
+                    remainingNanos = changed.awaitNanos(remainingNanos);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        /**
+         * True if events after since were trimmed from the log (the client was away for a burst).
+         */
+        private boolean missedEvents(long since) {
+            ClassroomEvent oldest = recent.peekFirst();
+            return oldest != null && since + 1 < oldest.seq();
+        }
+
+        private List<ClassroomEvent> collect(long since, String username) {
+            List<ClassroomEvent> matching = new ArrayList<>();
+            for (ClassroomEvent event : recent) {
+                if (event.seq() > since && event.isFor(username)) {
+                    matching.add(event);
+                }
+            }
+            return matching;
+        }
+
+        void close() {
+            lock.lock();
+            try {
+                closed = true;
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // ========================================================================
+    // STUDENT SIDE (subscriber)
+    // ========================================================================
+
+    /**
+     * Open a long-poll subscription to a teacher's push endpoint on a background thread.
+     *
+     * @param endpoint host:port published on the classroom session
+     * @param pushToken the token issued when the student joined
+     */
+    public Subscription subscribe(String endpoint, String sessionCode, String username, String pushToken,
+                                  EventListener listener) {
+        LongPollSubscription subscription = new LongPollSubscription(endpoint, sessionCode, username, pushToken, listener);
+        Thread thread = new Thread(subscription::run, "ClassroomPush-" + sessionCode);
+        thread.setDaemon(true);
+        thread.start();
+        return subscription;
+    }
+
+    private final class LongPollSubscription implements Subscription {
+        private final String endpoint;
+        private final String sessionCode;
+        private final String username;
+        private final String pushToken;
+        private final EventListener listener;
+
+        private volatile boolean closed = false;
+        private volatile boolean connected = false;
+        private volatile HttpURLConnection activeConnection;
+
+        LongPollSubscription(String endpoint, String sessionCode, String username, String pushToken,
+                             EventListener listener) {
+            this.endpoint = endpoint;
+            this.sessionCode = sessionCode;
+            this.username = username;
+            this.pushToken = pushToken;
+            this.listener = listener;
+        }
+
+        void run() {
+            long since = -1;
+            long knownEpoch = -1;
+            long backoffMillis = 2_000;
+
+            while (!closed) {
+                try {
+                    JsonNode response = poll(since);
+                    backoffMillis = 2_000;
+
+                    long responseEpoch = response.path("epoch").asLong();
+                    if (since < 0 || responseEpoch != knownEpoch || response.path("resync").asBoolean()) {
+                        knownEpoch = responseEpoch;
+                        since = response.path("latestSeq").asLong();
+                        connected = true;
+                        listener.onResync();
+                        continue;
+                    }
+
+                    for (JsonNode node : response.path("events")) {
+                        ClassroomEvent event = toEvent(node);
+                        since = Math.max(since, event.seq());
+                        listener.onEvent(event);
+                    }
+                } catch (Exception e) {
+                    if (closed) {
+                        break;
+                    }
+                    if (connected) {
+                        log.info("Classroom push channel to {} lost: {}", endpoint, e.getMessage());
+                    } else {
+                        log.debug("Classroom push channel to {} unavailable: {}", endpoint, e.getMessage());
+                    }
+                    connected = false;
+                    since = -1;
+                    try {
+                        Thread.sleep(backoffMillis);
+                    } catch (InterruptedException ie) {
+                        Thread.currentThread().interrupt();
+                        break;
+                    }
+                    backoffMillis = Math.min(backoffMillis * 2, 30_000);
+                }
+            }
+            connected = false;
+        }
+
+        private JsonNode poll(long since) throws IOException {
+            String url = "http://" + endpoint + EVENTS_PATH
+                    + "?session=" + URLEncoder.encode(sessionCode, StandardCharsets.UTF_8)
+                    + "&student=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                    + "&since=" + since;
+
+            HttpURLConnection connection = open(url);
+            activeConnection = connection;
+            try {
+                connection.setRequestMethod("GET");
+                connection.setConnectTimeout(5000);
+                connection.setReadTimeout(CLIENT_READ_TIMEOUT_MILLIS);
+
+                int responseCode = connection.getResponseCode();
+                if (responseCode != 200) {
+                    throw new IOException("HTTP " + responseCode);
+                }
+                return objectMapper.readTree(connection.getInputStream());
+            } finally {
+                connection.disconnect();
+                activeConnection = null;
+            }
+        }
+
+        private HttpURLConnection open(String url) throws IOException {
+            HttpURLConnection connection = (HttpURLConnection) URI.create(url).toURL().openConnection();
+            if (pushToken != null) {
+                connection.setRequestProperty(TOKEN_HEADER, pushToken);
+            }
+            return connection;
+        }
+
+        private ClassroomEvent toEvent(JsonNode node) {
+            Map<String, String> data = new HashMap<>();
+            node.path("data").fields().forEachRemaining(e -> data.put(e.getKey(), e.getValue().asText(null)));
+            JsonNode target = node.get("target");
+            return new ClassroomEvent(
+                    node.path("seq").asLong(),
+                    node.path("type").asText(),
+                    target == null || target.isNull() ? null : target.asText(),
+                    data);
+        }
+
+        @Override
+        public boolean isConnected() {
+            return connected && !closed;
+        }
+
+        @Override
+        public String getEndpoint() {
+            return endpoint;
+        }
+
+        @Override
+        public boolean sendHeartbeat(String currentApp) {
+            String url = "http://" + endpoint + HEARTBEAT_PATH
+                    + "?session=" + URLEncoder.encode(sessionCode, StandardCharsets.UTF_8)
+                    + "&student=" + URLEncoder.encode(username, StandardCharsets.UTF_8)
+                    + (currentApp != null ? "&app=" + URLEncoder.encode(currentApp, StandardCharsets.UTF_8) : "");
+            try {
+                HttpURLConnection connection = open(url);
+                try {
+                    connection.setRequestMethod("POST");
+                    connection.setConnectTimeout(3000);
+                    connection.setReadTimeout(5000);
+                    return connection.getResponseCode() == 204;
+                } finally {
+                    connection.disconnect();
+                }
+            } catch (IOException e) {
+                log.debug("Heartbeat to {} failed: {}", endpoint, e.getMessage());
+                return false;
+            }
+        }
+
+        @Override
+        public boolean sendThumbnail(byte[] frame) {
+            String url = "http://" + endpoint + THUMBNAIL_PATH
+                    + "?session=" + URLEncoder.encode(sessionCode, StandardCharsets.UTF_8)
+                    + "&student=" + URLEncoder.encode(username, StandardCharsets.UTF_8);
+            try {
+                HttpURLConnection connection = open(url);
+                try {
+                    connection.setRequestMethod("POST");
+                    connection.setDoOutput(true);
+                    connection.setFixedLengthStreamingMode(frame.length);
+                    connection.setRequestProperty("Content-Type", "application/octet-stream");
+                    connection.setConnectTimeout(3000);
+                    connection.setReadTimeout(5000);
+                    try (OutputStream os = connection.getOutputStream()) {
+                        os.write(frame);
+                    }
+                    return connection.getResponseCode() == 204;
+                } finally {
+                    connection.disconnect();
+                }
+            } catch (IOException e) {
+                log.debug("Thumbnail upload to {} failed: {}", endpoint, e.getMessage());
+                return false;
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            HttpURLConnection connection = activeConnection;
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+}
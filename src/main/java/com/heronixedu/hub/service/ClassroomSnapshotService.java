@@ -0,0 +1,267 @@
+package com.heronixedu.hub.service;
+
+import com.heronixedu.hub.model.ClassroomSession;
+import com.heronixedu.hub.model.ClassroomStudent;
+import com.heronixedu.hub.model.User;
+import com.heronixedu.hub.repository.ClassroomSessionRepository;
+import com.heronixedu.hub.repository.ClassroomStudentRepository;
+import com.heronixedu.hub.repository.ClassroomStudentSummary;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Versioned, delta-encoded view of a classroom session for teacher dashboards.
+ *
+ * Each session has an in-memory projection of its students built from a narrow summary
+ * query (no User entities, no thumbnails), overlaid with live presence from
+ * ClassroomPresenceService. The query runs again only when something changed: teacher
+ * commands invalidate the projection, and the presence change counters report new students
+ * and stale ones; presence-only changes are re-applied from memory. A full reload every
+ * FULL_RELOAD_INTERVAL_MILLIS catches edits made elsewhere. Every change to a student's
+ * status, frozen state, current app or thumbnail hash bumps the projection version, so a
+ * client that passes its last version only receives the students that changed since.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ClassroomSnapshotService {
+
+    private static final long FULL_RELOAD_INTERVAL_MILLIS = 30_000;
+
+    private final ClassroomSessionRepository sessionRepository;
+    private final ClassroomStudentRepository studentRepository;
+    private final ClassroomPresenceService presenceService;
+    private final ClassroomThumbnailService thumbnailService;
+
+    private final Map<Long, SessionProjection> projections = new ConcurrentHashMap<>();
+
+    /**
+     * Dashboard state for one student. Equality is what decides whether it "changed".
+     */
+    public record StudentState(Long id, String username, String fullName,
+                               ClassroomStudent.StudentStatus status, boolean frozen,
+                               String currentApp, String thumbnailHash) {
+    }
+
+    /**
+     * Students changed since the requested version. When full is true, changed holds the whole
+     * class and the client should replace its view; removed lists students that left.
+     */
+    public record SessionSnapshot(long version, boolean full, List<StudentState> changed, List<Long> removed) {
+        public boolean isEmpty() {
+            return changed.isEmpty() && removed.isEmpty();
+        }
+    }
+
+    /**
+     * Get the students that changed since sinceVersion (0 for the full list).
+     */
+    public SessionSnapshot getSnapshot(Long sessionId, long sinceVersion, User teacher) {
+        SessionProjection projection = projectionFor(sessionId, teacher);
+        synchronized (projection) {
+            refreshIfChanged(projection);
+            return projection.since(sinceVersion);
+        }
+    }
+
+    /**
+     * Get a student's latest screen thumbnail, checked against the cached session owner.
+     */
+    public Optional<ClassroomThumbnailService.Thumbnail> getThumbnail(Long sessionId, String username, User teacher) {
+        SessionProjection projection = projectionFor(sessionId, teacher);
+        return thumbnailService.getThumbnail(projection.sessionCode, username);
+    }
+
+    /**
+     * Force the next snapshot of a session to re-read the database, once the current
+     * transaction commits (immediately if there is none).
+     */
+    public void invalidateAfterCommit(Long sessionId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    invalidate(sessionId);
+                }
+            });
+        } else {
+            invalidate(sessionId);
+        }
+    }
+
+    public void invalidate(Long sessionId) {
+        SessionProjection projection = projections.get(sessionId);
+        if (projection != null) {
+            projection.invalidated = true;
+        }
+    }
+
+    /**
+     * Drop a session's projection (e.g. when it ends).
+     */
+    public void evict(Long sessionId) {
+        projections.remove(sessionId);
+    }
+
+    private SessionProjection projectionFor(Long sessionId, User teacher) {
+        SessionProjection projection = projections.computeIfAbsent(sessionId, this::createProjection);
+        if (!projection.teacherId.equals(teacher.getId())) {
+            throw new SecurityException("You do not have permission to manage this session");
+        }
+        return projection;
+    }
+
+    private SessionProjection createProjection(Long sessionId) {
+        ClassroomSession session = sessionRepository.findById(sessionId)
+                .orElseThrow(() -> new IllegalArgumentException("Session not found"));
+        return new SessionProjection(sessionId, session.getTeacher().getId(), session.getSessionCode());
+    }
+
+    /**
+     * Re-read the session's summaries if the projection was invalidated, the presence service
+     * reports row changes or the safety-net interval passed; re-apply presence if only that changed.
+     */
+    private void refreshIfChanged(SessionProjection projection) {
+        // Read before loading, so a change made meanwhile triggers the next refresh
+        ClassroomPresenceService.ChangeCounts counts = presenceService.getChangeCounts(projection.sessionCode);
+        long now = System.currentTimeMillis();
+        boolean reload = projection.invalidated || projection.rows == null
+                || counts.rows() != projection.seenChanges.rows()
+                || now - projection.lastReloadMillis >= FULL_RELOAD_INTERVAL_MILLIS;
+        if (reload) {
+            projection.invalidated = false;
+            projection.rows = studentRepository.findSummariesBySessionId(projection.sessionId);
+            projection.lastReloadMillis = now;
+        } else if (counts.presence() == projection.seenChanges.presence()) {
+            return;
+        }
+        projection.seenChanges = counts;
+        apply(projection, projection.rows);
+    }
+
+    /**
+     * Overlay presence on the session's summaries and bump the version of every student that changed.
+     */
+    private void apply(SessionProjection projection, List<ClassroomStudentSummary> rows) {
+        Map<String, ClassroomPresenceService.Presence> presence = new HashMap<>();
+        for (ClassroomPresenceService.Presence p : presenceService.getPresence(projection.sessionCode)) {
+            presence.put(p.username().toLowerCase(), p);
+        }
+
+        long nextVersion = projection.version + 1;
+        boolean changed = false;
+        Set<Long> seen = new HashSet<>();
+
+        for (ClassroomStudentSummary row : rows) {
+            StudentState state = toState(row, presence.get(row.getUsername().toLowerCase()));
+            seen.add(state.id());
+            VersionedState previous = projection.students.get(state.id());
+            if (previous == null || !previous.state().equals(state)) {
+                projection.students.put(state.id(), new VersionedState(state, nextVersion));
+                projection.removedAt.remove(state.id());
+                changed = true;
+            }
+        }
+
+        for (Long id : new ArrayList<>(projection.students.keySet())) {
+            if (!seen.contains(id)) {
+                projection.students.remove(id);
+                projection.removedAt.put(id, nextVersion);
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            projection.version = nextVersion;
+            log.debug("Session {} snapshot now at version {}", projection.sessionCode, nextVersion);
+        }
+    }
+
+    /**
+     * Presence reported to this Hub is fresher than the last flushed row, so it wins for the
+     * current app and thumbnail hash, and for reviving a student the DB still shows as disconnected.
+     */
+    private static StudentState toState(ClassroomStudentSummary row, ClassroomPresenceService.Presence presence) {
+        ClassroomStudent.StudentStatus status = row.getStatus();
+        String currentApp = row.getCurrentApp();
+        String thumbnailHash = row.getThumbnailHash();
+        if (presence != null) {
+            if (presence.currentApp() != null) {
+                currentApp = presence.currentApp();
+            }
+            if (presence.thumbnailHash() != null) {
+                thumbnailHash = presence.thumbnailHash();
+            }
+            if (presence.connected() && status == ClassroomStudent.StudentStatus.DISCONNECTED) {
+                status = ClassroomStudent.StudentStatus.CONNECTED;
+            }
+        }
+        boolean frozen = Boolean.TRUE.equals(row.getScreenFrozen()) || Boolean.TRUE.equals(row.getSessionFrozen());
+        return new StudentState(row.getId(), row.getUsername(), row.getFullName(), status, frozen,
+                currentApp, thumbnailHash);
+    }
+
+    private record VersionedState(StudentState state, long version) {
+    }
+
+    /**
+     * Per-session projection. Guarded by its own monitor.
+     */
+    private static final class SessionProjection {
+        final Long sessionId;
+        final Long teacherId;
+        final String sessionCode;
+        final Map<Long, VersionedState> students = new HashMap<>();
+        final Map<Long, Long> removedAt = new HashMap<>();
+        // Versions start at creation time so a version from before a Hub restart is never mistaken for a delta base
+        final long baseVersion = System.currentTimeMillis();
+        long version = baseVersion;
+        // Last summary query result, re-used while only presence changes
+        List<ClassroomStudentSummary> rows;
+        long lastReloadMillis = 0;
+        ClassroomPresenceService.ChangeCounts seenChanges = new ClassroomPresenceService.ChangeCounts(0, 0);
+        volatile boolean invalidated = true;
+
+        SessionProjection(Long sessionId, Long teacherId, String sessionCode) {
+            this.sessionId = sessionId;
+            this.teacherId = teacherId;
+            this.sessionCode = sessionCode;
+        }
+
+        SessionSnapshot since(long sinceVersion) {
+            // Unknown or future version (e.g. Hub restarted): send everything
+            boolean full = sinceVersion < baseVersion || sinceVersion > version;
+
+            List<StudentState> changed = new ArrayList<>();
+            for (VersionedState vs : students.values()) {
+                if (full || vs.version() > sinceVersion) {
+                    changed.add(vs.state());
+                }
+            }
+            changed.sort(Comparator.comparing(StudentState::fullName, Comparator.nullsLast(String::compareToIgnoreCase)));
+
+            List<Long> removed = new ArrayList<>();
+            if (!full) {
+                removedAt.forEach((id, v) -> {
+                    if (v > sinceVersion) {
+                        removed.add(id);
+                    }
+                });
+            }
+            return new SessionSnapshot(version, full, changed, removed);
+        }
+    }
+}
@@ -0,0 +1,449 @@
+package com.heronixedu.hub.service;
+
+import javafx.application.Platform;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.robot.Robot;
+import javafx.stage.Screen;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Live screen thumbnails for classroom sessions, kept out of the database.
+ *
+ * Student side: captures a downscaled screen image a few times a second, splits it into
+ * tiles and hashes each one. Frames with no changed tiles are skipped; otherwise only the
+ * changed tiles are JPEG-encoded and sent to the teacher's Hub over the push channel.
+ * JPEG quality adapts so a frame stays within the configured byte budget.
+ *
+ * Teacher side: applies tile updates onto an in-memory frame per student and serves the
+ * latest frame as a JPEG (encoded lazily, cached until the next update). The frame hash
+ * is recorded in the presence table so dashboards can tell when a thumbnail changed.
+ *
+ * Wire format (POST body): int version, int width, int height, int tileSize, boolean keyframe,
+ * UTF frameHash, int tileCount, then per tile: short tileX, short tileY, int length, JPEG bytes.
+ */
+@Service
+@Slf4j
+public class ClassroomThumbnailService {
+
+    static final int FORMAT_VERSION = 1;
+    private static final int TILE_SIZE = 64;
+    private static final int MAX_TILE_BYTES = 256 * 1024;
+    // Whole update; a keyframe at the configured width is well under this
+    static final int MAX_UPDATE_BYTES = 512 * 1024;
+    private static final float MIN_QUALITY = 0.3f;
+    private static final float MAX_QUALITY = 0.85f;
+    private static final float SERVE_QUALITY = 0.8f;
+
+    @Value("${heronix.classroom.thumbnail.enabled:false}")
+    private boolean enabled;
+
+    @Value("${heronix.classroom.thumbnail.width:320}")
+    private int thumbnailWidth;
+
+    @Value("${heronix.classroom.thumbnail.interval-millis:500}")
+    private long captureIntervalMillis;
+
+    @Value("${heronix.classroom.thumbnail.max-frame-bytes:24576}")
+    private int maxFrameBytes;
+
+    private final ClassroomPresenceService presenceService;
+
+    // Teacher side: latest frame per "SESSION|username"
+    private final Map<String, StoredFrame> frames = new ConcurrentHashMap<>();
+
+    // Student side: only touched from the capture thread (except target/scheduler)
+    private volatile ClassroomPushService.Subscription target;
+    private ScheduledExecutorService captureScheduler;
+    private Robot fxRobot;
+    private long[] sentTileHashes;
+    private int sentWidth;
+    private int sentHeight;
+    private float quality = 0.6f;
+
+    public ClassroomThumbnailService(ClassroomPresenceService presenceService) {
+        this.presenceService = presenceService;
+    }
+
+    /**
+     * Latest thumbnail of a student as served to teacher dashboards.
+     */
+    public record Thumbnail(byte[] jpeg, String hash, long updatedMillis) {
+    }
+
+    // ========================================================================
+    // TEACHER SIDE (receiver)
+    // ========================================================================
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Apply a frame update received from a student Hub (at most MAX_UPDATE_BYTES).
+     * Nothing is decoded unless the student is in the session. Tiles must be JPEGs of at most
+     * TILE_SIZE x TILE_SIZE inside the frame; their dimensions are checked before decoding.
+     *
+     * @return false if it is a delta that does not fit the stored frame (the student must send a keyframe)
+     */
+    public boolean applyUpdate(String sessionCode, String username, byte[] update) throws IOException {
+        if (update.length > MAX_UPDATE_BYTES) {
+            throw new IOException("Thumbnail update too large");
+        }
+        if (!presenceService.isInSession(sessionCode, username)) {
+            throw new IOException("Student is not in session " + sessionCode);
+        }
+
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(update));
+        if (in.readInt() != FORMAT_VERSION) {
+            throw new IOException("Unsupported thumbnail format");
+        }
+        int width = in.readInt();
+        int height = in.readInt();
+        int tileSize = in.readInt();
+        boolean keyframe = in.readBoolean();
+        String frameHash = in.readUTF();
+        int tileCount = in.readInt();
+        int columns = (width + TILE_SIZE - 1) / TILE_SIZE;
+        int rows = (height + TILE_SIZE - 1) / TILE_SIZE;
+        if (width <= 0 || height <= 0 || width > 1920 || height > 1920 || tileSize != TILE_SIZE
+                || tileCount < 0 || tileCount > columns * rows) {
+            throw new IOException("Invalid thumbnail header");
+        }
+
+        String key = key(sessionCode, username);
+        StoredFrame frame = frames.get(key);
+        if (keyframe || frame == null || frame.image.getWidth() != width || frame.image.getHeight() != height) {
+            if (!keyframe) {
+                return false;
+            }
+            frame = new StoredFrame(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB));
+        }
+
+        synchronized (frame) {
+            Graphics2D g = frame.image.createGraphics();
+            try {
+                for (int i = 0; i < tileCount; i++) {
+                    int tileX = in.readShort();
+                    int tileY = in.readShort();
+                    int length = in.readInt();
+                    if (length < 0 || length > MAX_TILE_BYTES
+                            || tileX < 0 || tileX >= columns || tileY < 0 || tileY >= rows) {
+                        throw new IOException("Invalid thumbnail tile");
+                    }
+                    byte[] jpeg = new byte[length];
+                    in.readFully(jpeg);
+                    g.drawImage(decodeTile(jpeg), tileX * TILE_SIZE, tileY * TILE_SIZE, null);
+                }
+            } finally {
+                g.dispose();
+            }
+            frame.hash = frameHash;
+            frame.updatedMillis = System.currentTimeMillis();
+            frame.encoded = null;
+        }
+        if (!presenceService.recordThumbnail(sessionCode, username, frameHash)) {
+            frames.remove(key);
+            throw new IOException("Student is not in session " + sessionCode);
+        }
+        frames.put(key, frame);
+        return true;
+    }
+
+    /**
+     * Decode one tile with the JPEG reader only, after checking the size its header declares.
+     */
+    private static BufferedImage decodeTile(byte[] jpeg) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("jpeg");
+        if (!readers.hasNext()) {
+            throw new IOException("No JPEG decoder available");
+        }
+        ImageReader reader = readers.next();
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(jpeg))) {
+            reader.setInput(input, true, true);
+            if (reader.getWidth(0) > TILE_SIZE || reader.getHeight(0) > TILE_SIZE) {
+                throw new IOException("Thumbnail tile larger than " + TILE_SIZE + " px");
+            }
+            return reader.read(0);
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    public Optional<Thumbnail> getThumbnail(String sessionCode, String username) {
+        StoredFrame frame = frames.get(key(sessionCode, username));
+        if (frame == null) {
+            return Optional.empty();
+        }
+        synchronized (frame) {
+            if (frame.encoded == null) {
+                try {
+                    frame.encoded = new Thumbnail(encodeJpeg(frame.image, SERVE_QUALITY), frame.hash, frame.updatedMillis);
+                } catch (IOException e) {
+                    log.debug("Failed to encode thumbnail for {}: {}", username, e.getMessage());
+                    return Optional.empty();
+                }
+            }
+            return Optional.of(frame.encoded);
+        }
+    }
+
+    /**
+     * Drop all thumbnails for a session (e.g. when it ends).
+     */
+    public void clearSession(String sessionCode) {
+        String prefix = sessionCode.toUpperCase() + "|";
+        frames.keySet().removeIf(key -> key.startsWith(prefix));
+    }
+
+    private static String key(String sessionCode, String username) {
+        return sessionCode.toUpperCase() + "|" + username.toLowerCase();
+    }
+
+    private static final class StoredFrame {
+        final BufferedImage image;
+        String hash;
+        long updatedMillis;
+        Thumbnail encoded;
+
+        StoredFrame(BufferedImage image) {
+            this.image = image;
+        }
+    }
+
+    // ========================================================================
+    // STUDENT SIDE (sender)
+    // ========================================================================
+
+    /**
+     * Start streaming thumbnails over a push subscription (replaces any previous one).
+     */
+    public synchronized void startStreaming(ClassroomPushService.Subscription subscription) {
+        if (!enabled) {
+            return;
+        }
+        target = subscription;
+        if (captureScheduler == null) {
+            captureScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "ClassroomThumbnail");
+                t.setDaemon(true);
+                return t;
+            });
+            captureScheduler.scheduleWithFixedDelay(this::captureTick, captureIntervalMillis,
+                    captureIntervalMillis, TimeUnit.MILLISECONDS);
+            log.info("Started classroom screen thumbnails ({} px wide, every {} ms)", thumbnailWidth, captureIntervalMillis);
+        }
+    }
+
+    public synchronized void stopStreaming() {
+        target = null;
+        if (captureScheduler != null) {
+            captureScheduler.shutdownNow();
+            captureScheduler = null;
+        }
+        sentTileHashes = null;
+    }
+
+    private void captureTick() {
+        ClassroomPushService.Subscription subscription = target;
+        if (subscription == null || !subscription.isConnected()) {
+            // Teacher Hub may have restarted; start over with a keyframe
+            sentTileHashes = null;
+            return;
+        }
+
+        try {
+            CapturedFrame captured = captureScreen();
+            int tilesX = (captured.width + TILE_SIZE - 1) / TILE_SIZE;
+            int tilesY = (captured.height + TILE_SIZE - 1) / TILE_SIZE;
+            long[] tileHashes = new long[tilesX * tilesY];
+            for (int ty = 0; ty < tilesY; ty++) {
+                for (int tx = 0; tx < tilesX; tx++) {
+                    tileHashes[ty * tilesX + tx] = hashTile(captured, tx, ty);
+                }
+            }
+
+            boolean keyframe = sentTileHashes == null || sentWidth != captured.width || sentHeight != captured.height;
+            byte[] payload = encodeUpdate(captured, tilesX, tilesY, tileHashes, keyframe);
+            if (payload == null) {
+                return; // Nothing changed since the last frame
+            }
+
+            adaptQuality(payload.length);
+            if (subscription.sendThumbnail(payload)) {
+                sentTileHashes = tileHashes;
+                sentWidth = captured.width;
+                sentHeight = captured.height;
+            } else {
+                sentTileHashes = null;
+            }
+        } catch (Exception e) {
+            log.debug("Thumbnail capture failed: {}", e.getMessage());
+            sentTileHashes = null;
+        }
+    }
+
+    /**
+     * Build an update containing every tile (keyframe) or only the tiles whose hash changed.
+     * Returns null when there is nothing to send.
+     */
+    private byte[] encodeUpdate(CapturedFrame captured, int tilesX, int tilesY, long[] tileHashes,
+                                boolean keyframe) throws IOException {
+        ByteArrayOutputStream tiles = new ByteArrayOutputStream();
+        DataOutputStream tileOut = new DataOutputStream(tiles);
+        int tileCount = 0;
+
+        for (int ty = 0; ty < tilesY; ty++) {
+            for (int tx = 0; tx < tilesX; tx++) {
+                int index = ty * tilesX + tx;
+                if (!keyframe && sentTileHashes[index] == tileHashes[index]) {
+                    continue;
+                }
+                byte[] jpeg = encodeJpeg(tileImage(captured, tx, ty), quality);
+                tileOut.writeShort(tx);
+                tileOut.writeShort(ty);
+                tileOut.writeInt(jpeg.length);
+                tileOut.write(jpeg);
+                tileCount++;
+            }
+        }
+        if (tileCount == 0) {
+            return null;
+        }
+
+        ByteArrayOutputStream frame = new ByteArrayOutputStream(tiles.size() + 64);
+        DataOutputStream out = new DataOutputStream(frame);
+        out.writeInt(FORMAT_VERSION);
+        out.writeInt(captured.width);
+        out.writeInt(captured.height);
+        out.writeInt(TILE_SIZE);
+        out.writeBoolean(keyframe);
+        out.writeUTF(frameHash(tileHashes));
+        out.writeInt(tileCount);
+        tiles.writeTo(out);
+        out.flush();
+        return frame.toByteArray();
+    }
+
+    /**
+     * Lower JPEG quality when frames exceed the byte budget, raise it again when there is headroom.
+     */
+    private void adaptQuality(int frameBytes) {
+        if (frameBytes > maxFrameBytes && quality > MIN_QUALITY) {
+            quality = Math.max(MIN_QUALITY, quality - 0.1f);
+            log.debug("Thumbnail frame {} bytes over budget, quality now {}", frameBytes, quality);
+        } else if (frameBytes < maxFrameBytes / 3 && quality < MAX_QUALITY) {
+            quality = Math.min(MAX_QUALITY, quality + 0.05f);
+        }
+    }
+
+    private record CapturedFrame(int[] pixels, int width, int height) {
+    }
+
+    /**
+     * Capture the primary screen scaled down to the thumbnail width. JavaFX's Robot must run on
+     * the FX thread (AWT's Robot is unavailable because Spring Boot runs AWT headless).
+     */
+    private CapturedFrame captureScreen() throws Exception {
+        CompletableFuture<CapturedFrame> result = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                if (fxRobot == null) {
+                    fxRobot = new Robot();
+                }
+                Rectangle2D bounds = Screen.getPrimary().getBounds();
+                int width = thumbnailWidth;
+                int height = Math.max(1, (int) Math.round(width * bounds.getHeight() / bounds.getWidth()));
+
+                WritableImage image = fxRobot.getScreenCapture(new WritableImage(width, height), bounds, true);
+                int[] pixels = new int[width * height];
+                image.getPixelReader().getPixels(0, 0, width, height,
+                        PixelFormat.getIntArgbInstance(), pixels, 0, width);
+                result.complete(new CapturedFrame(pixels, width, height));
+            } catch (Exception e) {
+                result.completeExceptionally(e);
+            }
+        });
+        return result.get(2, TimeUnit.SECONDS);
+    }
+
+    /**
+     * FNV-1a over the tile's pixels (alpha ignored).
+     */
+    private static long hashTile(CapturedFrame frame, int tileX, int tileY) {
+        int x0 = tileX * TILE_SIZE;
+        int y0 = tileY * TILE_SIZE;
+        int x1 = Math.min(x0 + TILE_SIZE, frame.width);
+        int y1 = Math.min(y0 + TILE_SIZE, frame.height);
+
+        long hash = 0xcbf29ce484222325L;
+        for (int y = y0; y < y1; y++) {
+            int row = y * frame.width;
+            for (int x = x0; x < x1; x++) {
+                hash ^= frame.pixels[row + x] & 0xFFFFFF;
+                hash *= 0x100000001b3L;
+            }
+        }
+        return hash;
+    }
+
+    private static String frameHash(long[] tileHashes) {
+        long hash = 0xcbf29ce484222325L;
+        for (long tileHash : tileHashes) {
+            hash ^= tileHash;
+            hash *= 0x100000001b3L;
+        }
+        return Long.toHexString(hash);
+    }
+
+    private static BufferedImage tileImage(CapturedFrame frame, int tileX, int tileY) {
+        int x0 = tileX * TILE_SIZE;
+        int y0 = tileY * TILE_SIZE;
+        int width = Math.min(TILE_SIZE, frame.width - x0);
+        int height = Math.min(TILE_SIZE, frame.height - y0);
+        BufferedImage tile = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        tile.setRGB(0, 0, width, height, frame.pixels, y0 * frame.width + x0, frame.width);
+        return tile;
+    }
+
+    private static byte[] encodeJpeg(BufferedImage image, float quality) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,245 @@
+package com.heronixedu.hub.service;
+
+import com.heronixedu.hub.model.NetworkConfig;
+import com.heronixedu.hub.model.enums.ServerType;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyObjectProperty;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Single owner of server connectivity probing (local share and cloud endpoint).
+ *
+ * Probes run on one background thread: every healthy-interval while everything configured is
+ * reachable, and every degraded-interval (backing off to degraded-max-interval) while something
+ * is down. Each probe publishes an immutable ConnectivityStatus to listeners (on the probe
+ * thread) and to statusProperty() (on the FX thread). Views subscribe instead of probing.
+ * A change of the active network configuration triggers an immediate probe.
+ */
+@Service
+@Slf4j
+public class ConnectivityMonitorService {
+
+    private final NetworkConfigService networkConfigService;
+
+    @Value("${heronix.connectivity.healthy-interval-seconds:60}")
+    private long healthyIntervalSeconds;
+
+    @Value("${heronix.connectivity.degraded-interval-seconds:5}")
+    private long degradedIntervalSeconds;
+
+    @Value("${heronix.connectivity.degraded-max-interval-seconds:30}")
+    private long degradedMaxIntervalSeconds;
+
+    private final List<Consumer<ConnectivityStatus>> listeners = new CopyOnWriteArrayList<>();
+    private final ReadOnlyObjectWrapper<ConnectivityStatus> statusProperty =
+            new ReadOnlyObjectWrapper<>(ConnectivityStatus.UNKNOWN);
+    private volatile ConnectivityStatus status = ConnectivityStatus.UNKNOWN;
+    private volatile CompletableFuture<ConnectivityStatus> pendingProbe = new CompletableFuture<>();
+
+    private ScheduledExecutorService scheduler;
+    private ScheduledFuture<?> nextProbe;
+    private boolean probing;
+    private boolean refreshRequested;
+    private long currentDegradedSeconds;
+
+    public ConnectivityMonitorService(NetworkConfigService networkConfigService) {
+        this.networkConfigService = networkConfigService;
+    }
+
+    /**
+     * Result of one connectivity probe. UNKNOWN until the first probe has finished.
+     */
+    public record ConnectivityStatus(boolean checked, boolean localAvailable, boolean cloudAvailable,
+                                     ServerType serverType, ServerType recommendedType, long checkedAtMillis) {
+
+        public static final ConnectivityStatus UNKNOWN =
+                new ConnectivityStatus(false, false, false, ServerType.AUTO, ServerType.AUTO, 0);
+
+        public boolean isAnyAvailable() {
+            return localAvailable || cloudAvailable;
+        }
+
+        /**
+         * True if the configured server type is usable (AUTO: either endpoint is reachable).
+         */
+        public boolean isHealthy() {
+            return switch (serverType) {
+                case LOCAL -> localAvailable;
+                case CLOUD -> cloudAvailable;
+                default -> isAnyAvailable();
+            };
+        }
+    }
+
+    @PostConstruct
+    public void start() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ConnectivityMonitor");
+            t.setDaemon(true);
+            return t;
+        });
+        currentDegradedSeconds = degradedIntervalSeconds;
+        networkConfigService.addListener((previous, current) -> refreshNow());
+        scheduleProbe(0);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Latest published status (never blocks).
+     */
+    public ConnectivityStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * Observable status for JavaFX views; only changes on the FX thread.
+     */
+    public ReadOnlyObjectProperty<ConnectivityStatus> statusProperty() {
+        return statusProperty.getReadOnlyProperty();
+    }
+
+    /**
+     * Register a listener; it is called with the current status right away (if known) and after
+     * every probe, on the monitor thread.
+     */
+    public void addListener(Consumer<ConnectivityStatus> listener) {
+        listeners.add(listener);
+        ConnectivityStatus current = status;
+        if (current.checked()) {
+            listener.accept(current);
+        }
+    }
+
+    public void removeListener(Consumer<ConnectivityStatus> listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Probe now instead of waiting for the next scheduled probe (e.g. after the network
+     * configuration changed). Concurrent requests share one probe.
+     */
+    public synchronized CompletableFuture<ConnectivityStatus> refreshNow() {
+        CompletableFuture<ConnectivityStatus> future = pendingProbe;
+        scheduleProbe(0);
+        return future;
+    }
+
+    /**
+     * Current status, waiting up to the given time for the first probe if none has finished yet.
+     */
+    public ConnectivityStatus awaitStatus(long timeout, TimeUnit unit) {
+        ConnectivityStatus current = status;
+        if (current.checked()) {
+            return current;
+        }
+        try {
+            return pendingProbe.get(timeout, unit);
+        } catch (Exception e) {
+            return status;
+        }
+    }
+
+    private synchronized void scheduleProbe(long delaySeconds) {
+        if (scheduler == null || scheduler.isShutdown()) {
+            return;
+        }
+        if (nextProbe != null) {
+            if (delaySeconds > 0) {
+                return;
+            }
+            // An immediate request replaces a later probe; if one is already running, it
+            // reschedules itself immediately when done
+            if (probing || !nextProbe.cancel(false)) {
+                refreshRequested = true;
+                return;
+            }
+        }
+        nextProbe = scheduler.schedule(this::probe, delaySeconds, TimeUnit.SECONDS);
+    }
+
+    private void probe() {
+        CompletableFuture<ConnectivityStatus> completing;
+        synchronized (this) {
+            probing = true;
+            completing = pendingProbe;
+            pendingProbe = new CompletableFuture<>();
+        }
+
+        ConnectivityStatus result;
+        try {
+            NetworkConfig config = networkConfigService.getActiveNetwork().config();
+            NetworkConfigService.ServerConnectionResult test = networkConfigService.testConnection(config);
+            result = new ConnectivityStatus(true, test.isLocalAvailable(), test.isCloudAvailable(),
+                    config.getServerType(), test.getRecommendedType(), System.currentTimeMillis());
+        } catch (Exception e) {
+            log.warn("Connectivity probe failed: {}", e.getMessage());
+            result = new ConnectivityStatus(true, false, false, status.serverType(),
+                    status.recommendedType(), System.currentTimeMillis());
+        }
+
+        publish(result);
+        completing.complete(result);
+
+        // Healthy: probe slowly. Degraded: probe quickly, backing off while it stays down.
+        long delay;
+        synchronized (this) {
+            if (result.isHealthy()) {
+                currentDegradedSeconds = degradedIntervalSeconds;
+                delay = healthyIntervalSeconds;
+            } else {
+                delay = currentDegradedSeconds;
+                currentDegradedSeconds = Math.min(degradedMaxIntervalSeconds, currentDegradedSeconds * 2);
+            }
+            if (refreshRequested) {
+                refreshRequested = false;
+                delay = 0;
+            }
+            probing = false;
+            nextProbe = null;
+        }
+        scheduleProbe(delay);
+    }
+
+    private void publish(ConnectivityStatus result) {
+        ConnectivityStatus previous = status;
+        status = result;
+        if (previous.isAnyAvailable() != result.isAnyAvailable() || !previous.checked()) {
+            log.info("Server connectivity: local={}, cloud={}", result.localAvailable(), result.cloudAvailable());
+        }
+
+        for (Consumer<ConnectivityStatus> listener : listeners) {
+            try {
+                listener.accept(result);
+            } catch (Exception e) {
+                log.debug("Connectivity listener error: {}", e.getMessage());
+            }
+        }
+
+        try {
+            Platform.runLater(() -> statusProperty.set(result));
+        } catch (IllegalStateException e) {
+            // FX toolkit not running (yet); nobody can be bound to the property
+            statusProperty.set(result);
+        }
+    }
+}
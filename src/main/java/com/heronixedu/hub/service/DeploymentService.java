@@ -16,6 +16,7 @@ import org.springframework.stereotype.Service;
 
 import java.io.*;
 import java.net.HttpURLConnection;
+import java.net.Proxy;
 import java.net.URI;
 import java.nio.file.*;
 import java.security.MessageDigest;
@@ -68,14 +69,14 @@ public class DeploymentService {
                     progressCallback.accept(0.0);
 
                     // 1. Get network config and determine download source
-                    NetworkConfig config = networkConfigService.getActiveConfig();
+                    NetworkConfig config = networkConfigService.getActiveNetwork().config();
                     String downloadPath = resolveDownloadPath(product, config);
 
                     updateProgress(5, 100);
                     progressCallback.accept(0.05);
 
                     // 2. Download file
-                    Path tempFile = downloadFile(downloadPath, config, (downloaded, total) -> {
+                    Path tempFile = downloadFile(downloadPath, (downloaded, total) -> {
                         double progress = 5 + (downloaded * 70.0 / Math.max(total, 1));
                         updateProgress((long) progress, 100);
                         progressCallback.accept(progress / 100.0);
@@ -154,12 +155,12 @@ public class DeploymentService {
         return file.exists() && file.isDirectory();
     }
 
-    private Path downloadFile(String source, NetworkConfig config, ProgressCallback progressCallback) throws Exception {
+    private Path downloadFile(String source, ProgressCallback progressCallback) throws Exception {
         Path tempFile = Files.createTempFile("heronix-download-", ".zip");
 
         if (source.startsWith("http://") || source.startsWith("https://")) {
             // HTTP/HTTPS download
-            downloadFromHttp(source, tempFile, config, progressCallback);
+            downloadFromHttp(source, tempFile, progressCallback);
         } else {
             // Local file copy
             copyFromLocal(source, tempFile, progressCallback);
@@ -168,13 +169,14 @@ public class DeploymentService {
         return tempFile;
     }
 
-    private void downloadFromHttp(String urlString, Path destination, NetworkConfig config,
+    private void downloadFromHttp(String urlString, Path destination,
                                    ProgressCallback progressCallback) throws Exception {
         URI uri = URI.create(urlString);
         HttpURLConnection connection;
 
-        if (config.getProxyEnabled() && config.getProxyHost() != null) {
-            connection = (HttpURLConnection) uri.toURL().openConnection(networkConfigService.getConfiguredProxy(config));
+        Proxy proxy = networkConfigService.getActiveProxy();
+        if (proxy != Proxy.NO_PROXY) {
+            connection = (HttpURLConnection) uri.toURL().openConnection(proxy);
         } else {
             connection = (HttpURLConnection) uri.toURL().openConnection();
         }
@@ -5,7 +5,6 @@ import com.heronixedu.hub.model.ThirdPartyApp;
 import com.heronixedu.hub.model.User;
 import com.heronixedu.hub.model.enums.AuditAction;
 import com.heronixedu.hub.repository.DownloadSourcePolicyRepository;
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -53,9 +52,9 @@ public class DownloadSecurityService {
     }
 
     /**
-     * Initialize default security policies if none exist.
+     * Initialize default security policies if none exist. Runs as a background startup task
+     * (StartupPipeline).
      */
-    @PostConstruct
     @Transactional
     public void initializeDefaultPolicies() {
         if (policyRepository.count() > 0) {
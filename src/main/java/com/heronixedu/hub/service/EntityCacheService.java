@@ -0,0 +1,99 @@
+package com.heronixedu.hub.service;
+
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Hibernate second-level cache: hit ratios per region and manual invalidation.
+ *
+ * Writes made through this Hub keep the cache current on their own (READ_WRITE regions,
+ * query results invalidated per table). evictAll() is for changes made behind Hibernate's back,
+ * e.g. another Hub editing a shared server database or SQL run in the H2 console.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class EntityCacheService {
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    // No entry count: the JCache provider reports Long.MIN_VALUE for it
+    public record RegionStats(String region, long hits, long misses, long puts) {
+
+        public double hitRatio() {
+            long lookups = hits + misses;
+            return lookups == 0 ? 0 : (double) hits / lookups;
+        }
+    }
+
+    /**
+     * Statistics of every cache region (entities, collections, query results) since startup.
+     */
+    public List<RegionStats> getRegionStats() {
+        Statistics statistics = sessionFactory().getStatistics();
+        List<RegionStats> result = new ArrayList<>();
+        for (String region : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics stats;
+            try {
+                stats = statistics.getCacheRegionStatistics(region);
+            } catch (IllegalArgumentException e) {
+                // Update-timestamps region, no statistics of its own
+                continue;
+            }
+            if (stats != null) {
+                result.add(new RegionStats(region, stats.getHitCount(), stats.getMissCount(),
+                        stats.getPutCount()));
+            }
+        }
+        result.sort(Comparator.comparing(RegionStats::region));
+        return result;
+    }
+
+    /**
+     * Overall hit ratio of the entity and collection regions.
+     */
+    public double getHitRatio() {
+        Statistics statistics = sessionFactory().getStatistics();
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long lookups = hits + statistics.getSecondLevelCacheMissCount();
+        return lookups == 0 ? 0 : (double) hits / lookups;
+    }
+
+    /**
+     * Drop all cached entities, collections and query results.
+     */
+    public void evictAll() {
+        entityManagerFactory.getCache().evictAll();
+        sessionFactory().getCache().evictQueryRegions();
+        log.info("Second-level cache cleared");
+    }
+
+    /**
+     * Drop the cached instances of one entity type.
+     */
+    public void evict(Class<?> entityType) {
+        entityManagerFactory.getCache().evict(entityType);
+    }
+
+    /**
+     * Drop the cached instances of one entity type and all cached query results, after the
+     * table was changed outside this Hub.
+     */
+    public void evictWithQueries(Class<?> entityType) {
+        entityManagerFactory.getCache().evict(entityType);
+        sessionFactory().getCache().evictQueryRegions();
+    }
+
+    private SessionFactory sessionFactory() {
+        return entityManagerFactory.unwrap(SessionFactory.class);
+    }
+}
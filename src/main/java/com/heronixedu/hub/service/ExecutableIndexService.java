@@ -0,0 +1,366 @@
+package com.heronixedu.hub.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heronixedu.hub.model.ThirdPartyApp;
+import com.heronixedu.hub.repository.ThirdPartyAppRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Persistent index of third-party app executables (app code -> resolved path + mtime).
+ *
+ * The index is loaded from ~/.heronix/cache/executable-index.json at startup and completed in
+ * the background for installed apps that are missing from it, so a launch costs a single stat.
+ * Only when an indexed executable has disappeared does a launch fall back to searching the
+ * install directories. ThirdPartyInstallerService updates the index on install and uninstall.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ExecutableIndexService {
+
+    private final ThirdPartyAppRepository appRepository;
+
+    // Common installation paths to search for executables
+    private static final String[] COMMON_INSTALL_PATHS = {
+            System.getenv("ProgramFiles"),
+            System.getenv("ProgramFiles(x86)"),
+            System.getenv("LocalAppData") + "\\Programs",
+            System.getProperty("user.home") + "\\.heronix\\third-party"
+    };
+
+    private static final Path INDEX_FILE = Paths.get(
+            System.getProperty("user.home"), ".heronix", "cache", "executable-index.json");
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<String, IndexEntry> index = new ConcurrentHashMap<>();
+    private final AtomicBoolean saveScheduled = new AtomicBoolean(false);
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "ExecutableIndex");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /**
+     * Resolved executable and its last-modified time when it was indexed.
+     */
+    public record IndexEntry(String path, long modifiedMillis) {
+    }
+
+    @PostConstruct
+    public void init() {
+        load();
+        worker.execute(this::indexInstalledApps);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdown();
+    }
+
+    /**
+     * Executable path for an app, verified with a single stat. Falls back to a directory search
+     * (and re-indexes) only if the indexed file is gone.
+     */
+    public String lookup(ThirdPartyApp app) {
+        String appCode = app.getAppCode();
+        IndexEntry entry = appCode != null ? index.get(appCode) : null;
+        if (entry != null) {
+            Long modified = lastModified(Paths.get(entry.path()));
+            if (modified != null) {
+                if (modified != entry.modifiedMillis()) {
+                    // Executable was updated in place; keep the path, remember the new mtime
+                    put(appCode, new IndexEntry(entry.path(), modified));
+                }
+                return entry.path();
+            }
+            log.debug("Indexed executable for {} no longer exists: {}", appCode, entry.path());
+            remove(appCode);
+        }
+        return reindex(app);
+    }
+
+    /**
+     * Search the disk for an app's executable and store the result. Returns null if not found.
+     */
+    public String reindex(ThirdPartyApp app) {
+        String path = resolve(app, new HashMap<>());
+        if (app.getAppCode() != null) {
+            if (path != null) {
+                Long modified = lastModified(Paths.get(path));
+                put(app.getAppCode(), new IndexEntry(path, modified != null ? modified : 0L));
+            } else {
+                remove(app.getAppCode());
+            }
+        }
+        return path;
+    }
+
+    /**
+     * Called after an install completes; resolves the executable off the caller's thread.
+     */
+    public void onInstalled(ThirdPartyApp app) {
+        worker.execute(() -> {
+            String path = reindex(app);
+            log.debug("Indexed executable for {}: {}", app.getAppCode(), path);
+        });
+    }
+
+    /**
+     * Called after an uninstall completes.
+     */
+    public void onUninstalled(ThirdPartyApp app) {
+        if (app.getAppCode() != null) {
+            remove(app.getAppCode());
+        }
+    }
+
+    // ========================================================================
+    // BACKGROUND INDEXING
+    // ========================================================================
+
+    private void indexInstalledApps() {
+        try {
+            // Directory listings are shared across apps so each install root is listed once
+            Map<String, File[]> subdirCache = new HashMap<>();
+            int indexed = 0;
+            for (ThirdPartyApp app : appRepository.findByIsInstalledTrueOrderByAppNameAsc()) {
+                String appCode = app.getAppCode();
+                if (appCode == null) {
+                    continue;
+                }
+                IndexEntry entry = index.get(appCode);
+                if (entry != null && lastModified(Paths.get(entry.path())) != null) {
+                    continue;
+                }
+                String path = resolve(app, subdirCache);
+                if (path != null) {
+                    Long modified = lastModified(Paths.get(path));
+                    put(appCode, new IndexEntry(path, modified != null ? modified : 0L));
+                    indexed++;
+                } else if (entry != null) {
+                    remove(appCode);
+                }
+            }
+            log.info("Executable index ready: {} entries ({} newly indexed)", index.size(), indexed);
+        } catch (Exception e) {
+            log.warn("Failed to build executable index: {}", e.getMessage());
+        }
+    }
+
+    // ========================================================================
+    // RESOLUTION (disk search)
+    // ========================================================================
+
+    private String resolve(ThirdPartyApp app, Map<String, File[]> subdirCache) {
+        // First, check if executable name is specified and install path is known
+        if (app.getExecutableName() != null && !app.getExecutableName().isEmpty()) {
+            // Check specified install path
+            if (app.getInstallPath() != null && !app.getInstallPath().isEmpty()) {
+                Path exePath = Paths.get(app.getInstallPath(), app.getExecutableName());
+                if (Files.exists(exePath) && Files.isExecutable(exePath)) {
+                    return exePath.toString();
+                }
+            }
+
+            // Search common installation paths
+            for (String basePath : COMMON_INSTALL_PATHS) {
+                if (basePath == null) continue;
+
+                // Try direct path
+                Path direct = Paths.get(basePath, app.getExecutableName());
+                if (Files.exists(direct) && Files.isExecutable(direct)) {
+                    return direct.toString();
+                }
+
+                // Try with app name as subdirectory
+                Path withSubdir = Paths.get(basePath, app.getAppName(), app.getExecutableName());
+                if (Files.exists(withSubdir) && Files.isExecutable(withSubdir)) {
+                    return withSubdir.toString();
+                }
+
+                // Try with publisher/app name as subdirectory
+                if (app.getPublisher() != null) {
+                    Path withPublisher = Paths.get(basePath, app.getPublisher(), app.getAppName(), app.getExecutableName());
+                    if (Files.exists(withPublisher) && Files.isExecutable(withPublisher)) {
+                        return withPublisher.toString();
+                    }
+                }
+            }
+        }
+
+        // Try to find by searching for common executable patterns
+        return searchForExecutable(app, subdirCache);
+    }
+
+    /**
+     * Search for an executable based on the app name.
+     */
+    private String searchForExecutable(ThirdPartyApp app, Map<String, File[]> subdirCache) {
+        List<String> possibleNames = generatePossibleExecutableNames(app);
+        String appDirName = app.getAppName().toLowerCase().replace(" ", "");
+
+        for (String basePath : COMMON_INSTALL_PATHS) {
+            if (basePath == null) continue;
+
+            // Only subdirectories whose name matches the app name are worth probing
+            List<File> candidates = new ArrayList<>();
+            for (File subdir : listSubdirs(basePath, subdirCache)) {
+                if (subdir.getName().toLowerCase().contains(appDirName)) {
+                    candidates.add(subdir);
+                }
+            }
+
+            for (String exeName : possibleNames) {
+                // Direct search
+                Path direct = Paths.get(basePath, exeName);
+                if (Files.exists(direct)) {
+                    return direct.toString();
+                }
+
+                // Search in subdirectories (one level deep)
+                for (File subdir : candidates) {
+                    Path inSubdir = Paths.get(subdir.getAbsolutePath(), exeName);
+                    if (Files.exists(inSubdir)) {
+                        return inSubdir.toString();
+                    }
+                }
+            }
+        }
+
+        return null;
+    }
+
+    private File[] listSubdirs(String basePath, Map<String, File[]> subdirCache) {
+        return subdirCache.computeIfAbsent(basePath, path -> {
+            try {
+                File[] subdirs = new File(path).listFiles(File::isDirectory);
+                return subdirs != null ? subdirs : new File[0];
+            } catch (Exception e) {
+                log.debug("Error searching in {}: {}", path, e.getMessage());
+                return new File[0];
+            }
+        });
+    }
+
+    /**
+     * Generate possible executable names based on the app.
+     */
+    private List<String> generatePossibleExecutableNames(ThirdPartyApp app) {
+        List<String> names = new ArrayList<>();
+        String appName = app.getAppName();
+        String appCode = app.getAppCode();
+
+        // Add specified executable name first
+        if (app.getExecutableName() != null && !app.getExecutableName().isEmpty()) {
+            names.add(app.getExecutableName());
+        }
+
+        // Common variations
+        names.add(appName + ".exe");
+        names.add(appName.replace(" ", "") + ".exe");
+        names.add(appName.replace(" ", "-") + ".exe");
+        names.add(appName.replace(" ", "_") + ".exe");
+        names.add(appName.toLowerCase() + ".exe");
+        names.add(appName.toLowerCase().replace(" ", "") + ".exe");
+
+        if (appCode != null) {
+            names.add(appCode + ".exe");
+            names.add(appCode.toLowerCase() + ".exe");
+        }
+
+        return names;
+    }
+
+    /**
+     * Last-modified time of a regular file in millis, or null if it does not exist (one stat).
+     */
+    private static Long lastModified(Path path) {
+        try {
+            BasicFileAttributes attrs = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+            return attrs.isDirectory() ? null : attrs.lastModifiedTime().toMillis();
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    // ========================================================================
+    // PERSISTENCE
+    // ========================================================================
+
+    private void put(String appCode, IndexEntry entry) {
+        if (!entry.equals(index.put(appCode, entry))) {
+            scheduleSave();
+        }
+    }
+
+    private void remove(String appCode) {
+        if (index.remove(appCode) != null) {
+            scheduleSave();
+        }
+    }
+
+    private void load() {
+        if (!Files.exists(INDEX_FILE)) {
+            return;
+        }
+        try {
+            Map<String, IndexEntry> stored = objectMapper.readValue(INDEX_FILE.toFile(),
+                    new TypeReference<Map<String, IndexEntry>>() { });
+            stored.forEach((code, entry) -> {
+                if (code != null && entry != null && entry.path() != null) {
+                    index.put(code, entry);
+                }
+            });
+            log.debug("Loaded {} executable index entries", index.size());
+        } catch (Exception e) {
+            log.warn("Ignoring unreadable executable index {}: {}", INDEX_FILE, e.getMessage());
+        }
+    }
+
+    /**
+     * Write the index on the worker thread; bursts of changes result in one write.
+     */
+    private void scheduleSave() {
+        if (saveScheduled.compareAndSet(false, true)) {
+            try {
+                worker.execute(this::save);
+            } catch (Exception e) {
+                saveScheduled.set(false);
+            }
+        }
+    }
+
+    private void save() {
+        saveScheduled.set(false);
+        try {
+            Files.createDirectories(INDEX_FILE.getParent());
+            Path temp = INDEX_FILE.resolveSibling(INDEX_FILE.getFileName() + ".tmp");
+            objectMapper.writeValue(temp.toFile(), new HashMap<>(index));
+            Files.move(temp, INDEX_FILE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (Exception e) {
+            log.warn("Failed to save executable index: {}", e.getMessage());
+        }
+    }
+}
@@ -4,7 +4,6 @@ import com.heronixedu.hub.model.KioskConfig;
 import com.heronixedu.hub.model.User;
 import com.heronixedu.hub.model.enums.AuditAction;
 import com.heronixedu.hub.repository.KioskConfigRepository;
-import jakarta.annotation.PostConstruct;
 import jakarta.annotation.PreDestroy;
 import javafx.application.Platform;
 import javafx.event.Event;
@@ -35,13 +34,9 @@ public class KioskModeService {
     private KioskConfig cachedConfig;
     private String activeRole;
 
-    @PostConstruct
-    public void init() {
-        ensureConfigExists();
-    }
-
     /**
-     * Ensure a default configuration exists.
+     * Ensure a default configuration exists. Runs as a background startup task (StartupPipeline);
+     * getConfig() also creates it on demand.
      */
     @Transactional
     public void ensureConfigExists() {
@@ -57,6 +52,7 @@ public class KioskModeService {
                     .hideLogoutButton(false)
                     .autoLoginEnabled(false)
                     .idleTimeoutMinutes(0)
+                    .blockedProcesses("taskmgr")
                     .primaryColor("#2196F3")
                     .modifiedBy("SYSTEM")
                     .modifiedAt(LocalDateTime.now())
@@ -115,6 +111,12 @@ public class KioskModeService {
         existing.setTimeRestrictStart(newConfig.getTimeRestrictStart());
         existing.setTimeRestrictEnd(newConfig.getTimeRestrictEnd());
         existing.setAllowedDays(newConfig.getAllowedDays());
+        if (newConfig.getBlockedProcesses() != null) {
+            existing.setBlockedProcesses(newConfig.getBlockedProcesses());
+        }
+        if (newConfig.getAllowedProcesses() != null) {
+            existing.setAllowedProcesses(newConfig.getAllowedProcesses());
+        }
         existing.setModifiedBy(updatedBy.getUsername());
         existing.setModifiedAt(LocalDateTime.now());
 
@@ -228,8 +230,11 @@ public class KioskModeService {
                 nativeKeyBlocker.start();
             }
 
-            // Start process guard to kill Task Manager if students open it
-            processGuardService.start();
+            // Start process guard to kill Task Manager (and other blocked programs) if students open them
+            // Rows created before blocked_processes existed have it null: keep blocking Task Manager
+            String blocked = config.getBlockedProcesses() != null ? config.getBlockedProcesses() : "taskmgr";
+            processGuardService.applyPolicy(ProcessGuardService.SOURCE_KIOSK,
+                    ProcessGuardService.ProcessPolicy.of(blocked, config.getAllowedProcesses()));
 
             log.info("Kiosk mode settings applied to stage (role: {})", activeRole);
         });
@@ -5,9 +5,12 @@ import com.heronixedu.hub.model.User;
 import com.heronixedu.hub.model.enums.ServerType;
 import com.heronixedu.hub.repository.NetworkConfigRepository;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.io.File;
 import java.net.HttpURLConnection;
@@ -15,6 +18,11 @@ import java.net.InetSocketAddress;
 import java.net.Proxy;
 import java.net.URL;
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 @Service
 @Slf4j
@@ -22,16 +30,73 @@ public class NetworkConfigService {
 
     private final NetworkConfigRepository networkConfigRepository;
     private final AuditLogService auditLogService;
+    private final EntityCacheService entityCacheService;
+    private final AtomicReference<ActiveNetwork> activeNetwork = new AtomicReference<>();
+    private final List<NetworkConfigListener> listeners = new CopyOnWriteArrayList<>();
+
+    @Value("${heronix.network.refresh-seconds:30}")
+    private long refreshSeconds;
+
+    // updated_at of the active row when the snapshot was loaded, and when to compare it again
+    private volatile LocalDateTime loadedUpdatedAt;
+    private volatile long nextStaleCheckNanos;
 
     public NetworkConfigService(NetworkConfigRepository networkConfigRepository,
-                                @Lazy AuditLogService auditLogService) {
+                                @Lazy AuditLogService auditLogService,
+                                EntityCacheService entityCacheService) {
         this.networkConfigRepository = networkConfigRepository;
         this.auditLogService = auditLogService;
+        this.entityCacheService = entityCacheService;
+    }
+
+    /**
+     * The active configuration and the Proxy derived from it. The config is a detached copy
+     * shared by all readers and must not be modified; use getActiveConfig() to edit.
+     */
+    public record ActiveNetwork(NetworkConfig config, Proxy proxy) {
+    }
+
+    /**
+     * Notified after the active configuration changed (on the thread that saved it).
+     */
+    @FunctionalInterface
+    public interface NetworkConfigListener {
+        void onNetworkConfigChanged(ActiveNetwork previous, ActiveNetwork current);
+    }
+
+    /**
+     * Active configuration snapshot, replaced on updateConfig. Edits made by other Hubs on a
+     * shared database are noticed by comparing the active row's updated_at with the snapshot's
+     * at most every refresh-seconds.
+     */
+    public ActiveNetwork getActiveNetwork() {
+        ActiveNetwork network = activeNetwork.get();
+        if (network == null) {
+            return reloadActiveNetwork();
+        }
+        return System.nanoTime() - nextStaleCheckNanos >= 0 ? refreshIfStale() : network;
+    }
+
+    /**
+     * Proxy for outbound connections under the active configuration (Proxy.NO_PROXY if none).
+     */
+    public Proxy getActiveProxy() {
+        return getActiveNetwork().proxy();
     }
 
+    /**
+     * Editable copy of the active configuration (no database round trip).
+     */
     public NetworkConfig getActiveConfig() {
-        return networkConfigRepository.findByIsActiveTrue()
-                .orElseGet(this::createDefaultConfig);
+        return getActiveNetwork().config().toBuilder().build();
+    }
+
+    public void addListener(NetworkConfigListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(NetworkConfigListener listener) {
+        listeners.remove(listener);
     }
 
     @Transactional
@@ -48,6 +113,7 @@ public class NetworkConfigService {
     public NetworkConfig updateConfig(NetworkConfig config, User updatedBy) {
         config.setUpdatedAt(LocalDateTime.now());
         NetworkConfig saved = networkConfigRepository.save(config);
+        reloadAfterCommit();
 
         auditLogService.logNetworkConfigChange(updatedBy,
                 String.format("Updated network config: serverType=%s, localPath=%s, cloudUrl=%s",
@@ -151,6 +217,86 @@ public class NetworkConfigService {
         }
     }
 
+    // ========================================================================
+    // ACTIVE CONFIG SNAPSHOT
+    // ========================================================================
+
+    private synchronized ActiveNetwork refreshIfStale() {
+        ActiveNetwork network = activeNetwork.get();
+        if (System.nanoTime() - nextStaleCheckNanos < 0) {
+            // Another thread checked while this one waited for the lock
+            return network;
+        }
+        try {
+            if (!Objects.equals(networkConfigRepository.findActiveUpdatedAt().orElse(null), loadedUpdatedAt)) {
+                log.info("Network config changed outside this Hub, reloading");
+                // The cached entity and active-config query result predate the change
+                entityCacheService.evictWithQueries(NetworkConfig.class);
+                return reloadActiveNetwork();
+            }
+        } catch (Exception e) {
+            // Keep serving the current snapshot while the database is unreachable
+            log.warn("Could not check network config for changes: {}", e.getMessage());
+        }
+        scheduleStaleCheck();
+        return network;
+    }
+
+    private void scheduleStaleCheck() {
+        nextStaleCheckNanos = System.nanoTime() + TimeUnit.SECONDS.toNanos(Math.max(1, refreshSeconds));
+    }
+
+    private synchronized ActiveNetwork reloadActiveNetwork() {
+        // Stamp first: a change committed during the load makes the next check reload again
+        loadedUpdatedAt = networkConfigRepository.findActiveUpdatedAt().orElse(null);
+        scheduleStaleCheck();
+        NetworkConfig config = networkConfigRepository.findByIsActiveTrue()
+                .orElseGet(this::createDefaultConfig);
+        ActiveNetwork current = new ActiveNetwork(config.toBuilder().build(), buildProxy(config));
+        ActiveNetwork previous = activeNetwork.getAndSet(current);
+
+        if (previous != null) {
+            for (NetworkConfigListener listener : listeners) {
+                try {
+                    listener.onNetworkConfigChanged(previous, current);
+                } catch (Exception e) {
+                    log.warn("Network config listener failed: {}", e.getMessage());
+                }
+            }
+        }
+        return current;
+    }
+
+    private void reloadAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reloadActiveNetwork();
+                }
+            });
+        } else {
+            reloadActiveNetwork();
+        }
+    }
+
+    /**
+     * Build the proxy once per config change (InetSocketAddress resolves the host name).
+     */
+    private Proxy buildProxy(NetworkConfig config) {
+        if (!Boolean.TRUE.equals(config.getProxyEnabled())
+                || config.getProxyHost() == null || config.getProxyHost().isEmpty()) {
+            return Proxy.NO_PROXY;
+        }
+        try {
+            return getConfiguredProxy(config);
+        } catch (Exception e) {
+            log.warn("Invalid proxy configuration {}:{}, connecting directly: {}",
+                    config.getProxyHost(), config.getProxyPort(), e.getMessage());
+            return Proxy.NO_PROXY;
+        }
+    }
+
     public Proxy getConfiguredProxy(NetworkConfig config) {
         if (!config.getProxyEnabled() || config.getProxyHost() == null) {
             return Proxy.NO_PROXY;
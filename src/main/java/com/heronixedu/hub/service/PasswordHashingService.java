@@ -0,0 +1,339 @@
+package com.heronixedu.hub.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Central password hashing for local accounts.
+ *
+ * - Benchmarks BCrypt at startup and picks the highest cost whose verify time stays
+ *   under the configured target (never below the configured minimum).
+ * - Runs verification on a bounded pool sized to the CPU so a burst of logins queues
+ *   instead of pinning every core.
+ * - Backs off failed attempts per (username, client): after a few free failures each one
+ *   doubles the wait before that pair may try again, so guessing is slowed without locking
+ *   the account for everyone else. Remote clients also share a per-address token bucket.
+ *   Throttled attempts are rejected before any hashing work is done.
+ * - Reports when a stored hash uses a lower cost so callers can rehash on successful login.
+ */
+@Service
+@Slf4j
+public class PasswordHashingService {
+
+    @Value("${heronix.security.password.target-verify-ms:250}")
+    private long targetVerifyMs;
+
+    @Value("${heronix.security.password.min-cost:10}")
+    private int minCost;
+
+    @Value("${heronix.security.password.max-cost:14}")
+    private int maxCost;
+
+    @Value("${heronix.security.password.verify-timeout-seconds:15}")
+    private long verifyTimeoutSeconds;
+
+    /**
+     * Client id of logins typed on this machine. Every user of the machine shares it, so it
+     * gets no address-wide budget.
+     */
+    public static final String LOCAL_CLIENT = "local";
+
+    @Value("${heronix.security.login-rate-limit.free-attempts:3}")
+    private int freeAttempts;
+
+    @Value("${heronix.security.login-rate-limit.initial-backoff-seconds:2}")
+    private long initialBackoffSeconds;
+
+    @Value("${heronix.security.login-rate-limit.max-backoff-seconds:300}")
+    private long maxBackoffSeconds;
+
+    // Remote clients only: a lab machine is one address shared by a whole class
+    @Value("${heronix.security.login-rate-limit.address-capacity:30}")
+    private int addressBucketCapacity;
+
+    @Value("${heronix.security.login-rate-limit.refill-seconds:30}")
+    private long refillSeconds;
+
+    private volatile BCryptPasswordEncoder encoder;
+    private volatile int currentCost;
+    private ThreadPoolExecutor verifyPool;
+
+    private final Map<String, FailureBackoff> failureBackoffs = new ConcurrentHashMap<>();
+    private final Map<String, TokenBucket> addressBuckets = new ConcurrentHashMap<>();
+
+    /**
+     * Outcome of a password check. newHash is set when the stored hash should be replaced.
+     */
+    public record VerificationResult(boolean matches, String newHash) {
+        public boolean needsRehash() {
+            return newHash != null;
+        }
+    }
+
+    @PostConstruct
+    public void init() {
+        currentCost = minCost;
+        encoder = new BCryptPasswordEncoder(minCost);
+
+        int cores = Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadCount = new AtomicInteger();
+        verifyPool = new ThreadPoolExecutor(cores, cores, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(cores * 16),
+                r -> {
+                    Thread t = new Thread(r, "PasswordVerify-" + threadCount.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        verifyPool.allowCoreThreadTimeOut(true);
+
+        // Benchmark off the startup path; the minimum cost is used until it finishes
+        verifyPool.execute(this::calibrateCost);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (verifyPool != null) {
+            verifyPool.shutdownNow();
+        }
+    }
+
+    /**
+     * Hash a password at the current calibrated cost.
+     */
+    public String encode(String rawPassword) {
+        return encoder.encode(rawPassword);
+    }
+
+    /**
+     * Verify a password on the bounded verification pool.
+     *
+     * @throws RuntimeException if the user and client are backing off, or the server is too busy
+     */
+    public VerificationResult verify(String username, String clientAddress, String rawPassword, String storedHash) {
+        checkNotRateLimited(username, clientAddress);
+
+        Future<VerificationResult> future;
+        try {
+            future = verifyPool.submit(() -> {
+                BCryptPasswordEncoder current = encoder;
+                if (!current.matches(rawPassword, storedHash)) {
+                    return new VerificationResult(false, null);
+                }
+                String newHash = current.upgradeEncoding(storedHash) ? current.encode(rawPassword) : null;
+                return new VerificationResult(true, newHash);
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("Password verification queue full, rejecting login for: {}", username);
+            throw new RuntimeException("Server is busy. Please try again in a moment.");
+        }
+
+        try {
+            VerificationResult result = future.get(verifyTimeoutSeconds, TimeUnit.SECONDS);
+            if (!result.matches()) {
+                recordFailure(username, clientAddress);
+            }
+            return result;
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            throw new RuntimeException("Server is busy. Please try again in a moment.");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Login interrupted");
+        } catch (ExecutionException e) {
+            log.error("Password verification failed for: {}", username, e.getCause());
+            throw new RuntimeException("Invalid username or password");
+        }
+    }
+
+    /**
+     * Reject the attempt up front if this user and client are still backing off, or a remote
+     * client address has used up its failure budget.
+     */
+    public void checkNotRateLimited(String username, String clientAddress) {
+        FailureBackoff backoff = failureBackoffs.get(backoffKey(username, clientAddress));
+        long waitNanos = backoff != null ? backoff.remainingNanos(System.nanoTime()) : 0;
+        if (waitNanos > 0) {
+            long waitSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999));
+            log.warn("Login for user {} from {} rejected, backing off for {} s", username, clientAddress, waitSeconds);
+            throw new RuntimeException("Too many failed login attempts. Please wait " + waitSeconds
+                    + " seconds and try again.");
+        }
+        TokenBucket bucket = isRemote(clientAddress) ? addressBuckets.get(clientAddress) : null;
+        if (bucket != null && !bucket.hasTokens()) {
+            log.warn("Login rate limit exceeded for client {}", clientAddress);
+            throw new RuntimeException("Too many failed login attempts. Please wait and try again.");
+        }
+    }
+
+    /**
+     * Count a failed login (password mismatch or remote rejection) against the user and client.
+     */
+    public void recordFailure(String username, String clientAddress) {
+        long now = System.nanoTime();
+        failureBackoffs.computeIfAbsent(backoffKey(username, clientAddress), k -> new FailureBackoff())
+                .recordFailure(now, freeAttempts, TimeUnit.SECONDS.toNanos(initialBackoffSeconds),
+                        TimeUnit.SECONDS.toNanos(maxBackoffSeconds));
+        if (isRemote(clientAddress)) {
+            addressBuckets.computeIfAbsent(clientAddress,
+                    k -> new TokenBucket(addressBucketCapacity, TimeUnit.SECONDS.toNanos(refillSeconds))).tryConsume();
+        }
+        prune(now);
+    }
+
+    /**
+     * Forget the failures of this user and client after a successful login.
+     */
+    public void recordSuccess(String username, String clientAddress) {
+        failureBackoffs.remove(backoffKey(username, clientAddress));
+    }
+
+    public int getCurrentCost() {
+        return currentCost;
+    }
+
+    private void prune(long now) {
+        if (failureBackoffs.size() > 1000) {
+            long idleNanos = TimeUnit.SECONDS.toNanos(maxBackoffSeconds) * 2;
+            failureBackoffs.values().removeIf(backoff -> backoff.isIdle(now, idleNanos));
+        }
+        if (addressBuckets.size() > 1000) {
+            addressBuckets.values().removeIf(TokenBucket::isFull);
+        }
+    }
+
+    private static boolean isRemote(String clientAddress) {
+        return clientAddress != null && !LOCAL_CLIENT.equals(clientAddress);
+    }
+
+    private static String backoffKey(String username, String clientAddress) {
+        return (username != null ? username.toLowerCase() : "") + "|" + (clientAddress != null ? clientAddress : LOCAL_CLIENT);
+    }
+
+    /**
+     * Time BCrypt at the minimum cost and step up while the projected verify time
+     * (each cost step doubles the work) stays under the target.
+     */
+    private void calibrateCost() {
+        try {
+            String salt = BCrypt.gensalt(minCost);
+            BCrypt.hashpw("calibration", salt); // warm-up
+            long best = Long.MAX_VALUE;
+            for (int i = 0; i < 3; i++) {
+                long start = System.nanoTime();
+                BCrypt.hashpw("calibration", salt);
+                best = Math.min(best, System.nanoTime() - start);
+            }
+
+            long millisAtMin = Math.max(1, TimeUnit.NANOSECONDS.toMillis(best));
+            int cost = minCost;
+            long projected = millisAtMin;
+            while (cost < maxCost && projected * 2 <= targetVerifyMs) {
+                cost++;
+                projected *= 2;
+            }
+
+            if (cost != currentCost) {
+                currentCost = cost;
+                encoder = new BCryptPasswordEncoder(cost);
+            }
+            log.info("BCrypt calibrated: cost {} (~{} ms per verify, target {} ms)", cost, projected, targetVerifyMs);
+        } catch (Exception e) {
+            log.warn("BCrypt calibration failed, keeping cost {}: {}", minCost, e.getMessage());
+        }
+    }
+
+    /**
+     * Consecutive failures of one user from one client. Once the free attempts are used up,
+     * each failure doubles the wait before the next attempt (initial, 2x, 4x ... up to max).
+     */
+    static final class FailureBackoff {
+        private int failures;
+        private long lastFailureNanos;
+        private long retryAtNanos;
+        // nanoTime values can be any long, so "no retry time yet" needs its own flag
+        private boolean retryAtSet;
+
+        synchronized void recordFailure(long now, int freeAttempts, long initialNanos, long maxNanos) {
+            failures++;
+            lastFailureNanos = now;
+            int excess = failures - freeAttempts;
+            if (excess > 0) {
+                long delay = initialNanos << Math.min(excess - 1, 20);
+                retryAtNanos = now + Math.min(delay, maxNanos);
+                retryAtSet = true;
+            }
+        }
+
+        /**
+         * Time until the next attempt is allowed; 0 while failures are within the free attempts
+         * (no retry time set yet) or once the retry time has passed.
+         */
+        synchronized long remainingNanos(long now) {
+            return retryAtSet ? Math.max(0, retryAtNanos - now) : 0;
+        }
+
+        synchronized boolean isIdle(long now, long idleNanos) {
+            return now - lastFailureNanos > idleNanos;
+        }
+    }
+
+    /**
+     * Simple token bucket: each failure takes a token, tokens trickle back over time.
+     */
+    static final class TokenBucket {
+        private final int capacity;
+        private final long refillNanos;
+        private double tokens;
+        private long lastRefill;
+
+        TokenBucket(int capacity, long refillNanos) {
+            this.capacity = capacity;
+            this.refillNanos = refillNanos;
+            this.tokens = capacity;
+            this.lastRefill = System.nanoTime();
+        }
+
+        synchronized boolean hasTokens() {
+            refill();
+            return tokens >= 1;
+        }
+
+        synchronized boolean isFull() {
+            refill();
+            return tokens >= capacity;
+        }
+
+        synchronized void tryConsume() {
+            refill();
+            if (tokens >= 1) {
+                tokens -= 1;
+            }
+        }
+
+        private void refill() {
+            long now = System.nanoTime();
+            long elapsed = now - lastRefill;
+            if (elapsed > 0) {
+                tokens = Math.min(capacity, tokens + (double) elapsed / refillNanos);
+                lastRefill = now;
+            }
+        }
+    }
+}
@@ -1,61 +1,156 @@
 package com.heronixedu.hub.service;
 
+import com.heronixedu.hub.model.Permission;
+import com.heronixedu.hub.model.Role;
 import com.heronixedu.hub.model.User;
 import com.heronixedu.hub.model.enums.PermissionType;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Permission checks against compiled role bitsets.
+ *
+ * Each Role's permission set is compiled once into a long (one bit per PermissionType)
+ * and cached by role id, so a check is a map lookup plus a bit test. An entry is
+ * recompiled when the role is seen with a different version (Role is versioned, and a
+ * permission edit bumps the version, also when another Hub made it) or when it is
+ * invalidated after an edit (see RoleChangeListener). Edits made with plain SQL that
+ * leave the version alone need invalidateAll().
+ */
 @Service
+@Slf4j
 public class PermissionService {
 
+    // Legacy role-string fallbacks for users without a role entity
+    private static final long LEGACY_SUPERADMIN_MASK = -1L;
+    private static final long LEGACY_IT_ADMIN_MASK = PermissionType.maskOf(
+            PermissionType.CAN_INSTALL,
+            PermissionType.CAN_CONFIGURE_NETWORK,
+            PermissionType.CAN_VIEW_STATUS,
+            PermissionType.CAN_LAUNCH_APPS,
+            PermissionType.CAN_MANAGE_SOFTWARE_CATALOG,
+            PermissionType.CAN_APPROVE_SOFTWARE,
+            PermissionType.CAN_INSTALL_THIRD_PARTY,
+            PermissionType.CAN_VIEW_SOFTWARE_CATALOG,
+            PermissionType.CAN_MANAGE_DEVICES);
+    private static final long LEGACY_TEACHER_MASK = PermissionType.maskOf(
+            PermissionType.CAN_LAUNCH_APPS,
+            PermissionType.CAN_VIEW_SOFTWARE_CATALOG,
+            PermissionType.CAN_INSTALL_THIRD_PARTY);
+    private static final long LEGACY_STUDENT_MASK = PermissionType.maskOf(
+            PermissionType.CAN_LAUNCH_APPS,
+            PermissionType.CAN_VIEW_SOFTWARE_CATALOG);
+
+    private static final long ADMIN_PANEL_MASK = PermissionType.maskOf(
+            PermissionType.CAN_MANAGE_USERS,
+            PermissionType.CAN_MANAGE_PRODUCTS,
+            PermissionType.CAN_CONFIGURE_NETWORK,
+            PermissionType.CAN_VIEW_LOGS);
+
+    private static final Map<String, PermissionType> PERMISSIONS_BY_NAME = new HashMap<>();
+
+    static {
+        for (PermissionType type : PermissionType.values()) {
+            PERMISSIONS_BY_NAME.put(type.name(), type);
+        }
+    }
+
+    /**
+     * Compiled permission mask for a role, tagged with the role version it was built from.
+     */
+    private record CompiledRole(Long version, long mask) {
+    }
+
+    private final Map<Long, CompiledRole> compiledRoles = new ConcurrentHashMap<>();
+
     public boolean hasPermission(User user, PermissionType permission) {
+        return (permissionMask(user) & permission.bit()) != 0;
+    }
+
+    /**
+     * Full permission bitset for a user (bit {@code PermissionType.ordinal()} set when granted).
+     */
+    public long permissionMask(User user) {
         if (user == null) {
-            return false;
+            return 0L;
         }
 
         // Check via roleEntity if available
-        if (user.getRoleEntity() != null) {
-            return user.getRoleEntity().hasPermission(permission.name());
+        Role role = user.getRoleEntity();
+        if (role != null) {
+            return roleMask(role);
         }
 
-        // Fallback to legacy role check - SUPERADMIN has all permissions
-        if ("SUPERADMIN".equals(user.getRole())) {
-            return true;
+        // Fallback to legacy role check
+        String legacyRole = user.getRole();
+        if ("SUPERADMIN".equals(legacyRole)) {
+            return LEGACY_SUPERADMIN_MASK;
+        }
+        if ("IT_ADMIN".equals(legacyRole)) {
+            return LEGACY_IT_ADMIN_MASK;
+        }
+        if ("TEACHER".equals(legacyRole)) {
+            return LEGACY_TEACHER_MASK;
         }
+        if ("STUDENT".equals(legacyRole)) {
+            return LEGACY_STUDENT_MASK;
+        }
+        return 0L;
+    }
 
-        // IT_ADMIN has specific permissions
-        if ("IT_ADMIN".equals(user.getRole())) {
-            return permission == PermissionType.CAN_INSTALL ||
-                    permission == PermissionType.CAN_CONFIGURE_NETWORK ||
-                    permission == PermissionType.CAN_VIEW_STATUS ||
-                    permission == PermissionType.CAN_LAUNCH_APPS ||
-                    permission == PermissionType.CAN_MANAGE_SOFTWARE_CATALOG ||
-                    permission == PermissionType.CAN_APPROVE_SOFTWARE ||
-                    permission == PermissionType.CAN_INSTALL_THIRD_PARTY ||
-                    permission == PermissionType.CAN_VIEW_SOFTWARE_CATALOG ||
-                    permission == PermissionType.CAN_MANAGE_DEVICES;
+    /**
+     * Drop the compiled bitset for a role after its permissions change.
+     */
+    public void invalidateRole(Long roleId) {
+        if (roleId != null && compiledRoles.remove(roleId) != null) {
+            log.debug("Invalidated compiled permissions for role id {}", roleId);
         }
+    }
+
+    public void invalidateAll() {
+        compiledRoles.clear();
+    }
 
-        // TEACHER can launch apps and install approved third-party software
-        if ("TEACHER".equals(user.getRole())) {
-            return permission == PermissionType.CAN_LAUNCH_APPS ||
-                    permission == PermissionType.CAN_VIEW_SOFTWARE_CATALOG ||
-                    permission == PermissionType.CAN_INSTALL_THIRD_PARTY;
+    private long roleMask(Role role) {
+        Set<Permission> permissions = role.getPermissions();
+        Long roleId = role.getId();
+        if (roleId == null) {
+            // Unsaved role - nothing to key the cache on
+            return compile(permissions);
         }
 
-        // STUDENT can launch apps and view software catalog
-        if ("STUDENT".equals(user.getRole())) {
-            return permission == PermissionType.CAN_LAUNCH_APPS ||
-                    permission == PermissionType.CAN_VIEW_SOFTWARE_CATALOG;
+        CompiledRole compiled = compiledRoles.get(roleId);
+        if (compiled != null && Objects.equals(compiled.version(), role.getVersion())) {
+            return compiled.mask();
         }
 
-        return false;
+        long mask = compile(permissions);
+        compiledRoles.put(roleId, new CompiledRole(role.getVersion(), mask));
+        return mask;
+    }
+
+    private static long compile(Set<Permission> permissions) {
+        long mask = 0L;
+        if (permissions == null) {
+            return mask;
+        }
+        for (Permission permission : permissions) {
+            PermissionType type = PERMISSIONS_BY_NAME.get(permission.getPermissionName());
+            if (type != null) {
+                mask |= type.bit();
+            }
+        }
+        return mask;
     }
 
     public boolean canAccessAdminPanel(User user) {
-        return hasPermission(user, PermissionType.CAN_MANAGE_USERS) ||
-                hasPermission(user, PermissionType.CAN_MANAGE_PRODUCTS) ||
-                hasPermission(user, PermissionType.CAN_CONFIGURE_NETWORK) ||
-                hasPermission(user, PermissionType.CAN_VIEW_LOGS);
+        return (permissionMask(user) & ADMIN_PANEL_MASK) != 0;
     }
 
     public boolean canInstall(User user) {
@@ -0,0 +1,109 @@
+package com.heronixedu.hub.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Portable process event source that diffs the PID list between scans.
+ *
+ * Only PIDs are listed each scan (from /proc on Linux, otherwise ProcessHandle); process
+ * details are read only for PIDs not seen in the previous scan. The interval backs off
+ * from the minimum to the maximum while nothing new starts and snaps back when it does.
+ */
+@Slf4j
+class PollingProcessEventSource implements ProcessEventSource {
+
+    private static final File PROC = new File("/proc");
+
+    private final long minIntervalMillis;
+    private final long maxIntervalMillis;
+
+    private ScheduledExecutorService scheduler;
+    private ProcessStartListener listener;
+    private Set<Long> knownPids = new HashSet<>();
+    private long intervalMillis;
+
+    PollingProcessEventSource(long minIntervalMillis, long maxIntervalMillis) {
+        this.minIntervalMillis = minIntervalMillis;
+        this.maxIntervalMillis = Math.max(minIntervalMillis, maxIntervalMillis);
+    }
+
+    @Override
+    public synchronized void start(ProcessStartListener listener, Runnable onFailure) {
+        this.listener = listener;
+        this.knownPids = new HashSet<>();
+        this.intervalMillis = minIntervalMillis;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "ProcessGuard-Poll");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.execute(this::scan);
+    }
+
+    @Override
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    @Override
+    public String getName() {
+        return PROC.isDirectory() ? "/proc polling" : "PID polling";
+    }
+
+    private void scan() {
+        try {
+            Set<Long> current = listPids();
+            int newProcesses = 0;
+            for (Long pid : current) {
+                if (!knownPids.contains(pid)) {
+                    newProcesses++;
+                    listener.onProcessStarted(pid, null);
+                }
+            }
+            knownPids = current;
+
+            // Busy: scan again soon. Quiet: back off towards the maximum.
+            intervalMillis = newProcesses > 0
+                    ? minIntervalMillis
+                    : Math.min(maxIntervalMillis, intervalMillis * 2);
+        } catch (Exception e) {
+            log.debug("Process scan error: {}", e.getMessage());
+        }
+        reschedule();
+    }
+
+    private synchronized void reschedule() {
+        if (scheduler != null && !scheduler.isShutdown()) {
+            scheduler.schedule(this::scan, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static Set<Long> listPids() {
+        Set<Long> pids = new HashSet<>();
+        String[] entries = PROC.isDirectory() ? PROC.list() : null;
+        if (entries != null) {
+            for (String entry : entries) {
+                if (!entry.isEmpty() && Character.isDigit(entry.charAt(0))) {
+                    try {
+                        pids.add(Long.parseLong(entry));
+                    } catch (NumberFormatException ignored) {
+                        // not a PID directory
+                    }
+                }
+            }
+            return pids;
+        }
+        ProcessHandle.allProcesses().forEach(ph -> pids.add(ph.pid()));
+        return pids;
+    }
+}
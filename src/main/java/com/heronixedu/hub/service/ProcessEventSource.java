@@ -0,0 +1,32 @@
+package com.heronixedu.hub.service;
+
+/**
+ * Source of "process started" notifications for ProcessGuardService.
+ *
+ * Implementations either receive native start events (WMI on Windows) or discover new
+ * PIDs by diffing against the previous scan, so the guard only ever inspects processes
+ * it has not seen before.
+ */
+public interface ProcessEventSource {
+
+    /**
+     * Called for every newly seen process. executableName may be null if the source
+     * does not know it (the guard then looks it up).
+     */
+    @FunctionalInterface
+    interface ProcessStartListener {
+        void onProcessStarted(long pid, String executableName);
+    }
+
+    /**
+     * Start delivering events. Processes already running when the source starts must be
+     * reported once as well, so blocked programs opened earlier are caught.
+     *
+     * @param onFailure called (once) if the source stops working and the guard should fall back
+     */
+    void start(ProcessStartListener listener, Runnable onFailure) throws Exception;
+
+    void stop();
+
+    String getName();
+}
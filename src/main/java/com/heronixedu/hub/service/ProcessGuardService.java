@@ -1,68 +1,240 @@
 package com.heronixedu.hub.service;
 
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.Executors;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.TimeUnit;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Monitors and terminates Task Manager when kiosk mode is active.
- * Prevents students from killing the Hub process via Ctrl+Alt+Delete.
+ * Terminates blocked programs (by default Task Manager) while kiosk mode or a classroom
+ * restriction is active. Prevents students from killing the Hub process via Ctrl+Alt+Delete.
+ *
+ * Each restriction source (kiosk, classroom) contributes a ProcessPolicy; a name is blocked if
+ * any source blocks it and no source allows it. New processes are reported by a pluggable
+ * ProcessEventSource: WMI process-start events on Windows, otherwise PID-diff polling with an
+ * adaptive interval. Either way only processes not seen before are inspected, and the guard
+ * runs only while the effective blocklist is non-empty. When names are added to the blocklist
+ * while the guard runs, the processes already running are checked once against it.
  */
 @Service
 @Slf4j
 public class ProcessGuardService {
 
+    public static final String SOURCE_KIOSK = "kiosk";
+    public static final String SOURCE_CLASSROOM = "classroom";
+
+    @Value("${heronix.process-guard.event-source:auto}")
+    private String eventSourceSetting;
+
+    @Value("${heronix.process-guard.min-scan-interval-millis:500}")
+    private long minScanIntervalMillis;
+
+    @Value("${heronix.process-guard.max-scan-interval-millis:1000}")
+    private long maxScanIntervalMillis;
+
+    private final Map<String, ProcessPolicy> policies = new ConcurrentHashMap<>();
+    private volatile Set<String> effectiveBlocked = Set.of();
     private volatile boolean active = false;
-    private ScheduledExecutorService scheduler;
+    private ProcessEventSource eventSource;
 
-    public synchronized void start() {
-        if (active) return;
-        active = true;
+    /**
+     * Executable names (lower case, without path or .exe) a restriction blocks or explicitly allows.
+     */
+    public record ProcessPolicy(Set<String> blocked, Set<String> allowed) {
 
-        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
-            Thread t = new Thread(r, "ProcessGuard");
-            t.setDaemon(true);
-            return t;
-        });
+        public static final ProcessPolicy NONE = new ProcessPolicy(Set.of(), Set.of());
 
-        scheduler.scheduleAtFixedRate(this::killBlockedProcesses, 0, 1, TimeUnit.SECONDS);
-        log.info("Process guard started");
-    }
+        /**
+         * Parse comma/semicolon/whitespace separated executable names.
+         */
+        public static ProcessPolicy of(String blockedNames, String allowedNames) {
+            return new ProcessPolicy(parseNames(blockedNames), parseNames(allowedNames));
+        }
 
-    public synchronized void stop() {
-        if (!active) return;
-        active = false;
+        private static Set<String> parseNames(String names) {
+            Set<String> result = new HashSet<>();
+            if (names != null) {
+                for (String name : names.split("[,;\\s]+")) {
+                    String normalized = normalize(name);
+                    if (!normalized.isEmpty()) {
+                        result.add(normalized);
+                    }
+                }
+            }
+            return Set.copyOf(result);
+        }
+    }
 
-        if (scheduler != null) {
-            scheduler.shutdownNow();
-            scheduler = null;
+    /**
+     * Set (or replace) the policy contributed by a restriction source and start or stop
+     * the guard as needed.
+     */
+    public synchronized void applyPolicy(String source, ProcessPolicy policy) {
+        if (policy == null || (policy.blocked().isEmpty() && policy.allowed().isEmpty())) {
+            policies.remove(source);
+        } else {
+            policies.put(source, policy);
         }
-        log.info("Process guard stopped");
+        recompile();
+    }
+
+    public synchronized void clearPolicy(String source) {
+        applyPolicy(source, null);
+    }
+
+    /**
+     * Stop guarding entirely and forget all policies.
+     */
+    @PreDestroy
+    public synchronized void stop() {
+        policies.clear();
+        recompile();
     }
 
     public boolean isActive() {
         return active;
     }
 
-    private void killBlockedProcesses() {
-        if (!active) return;
+    public Set<String> getEffectiveBlocklist() {
+        return effectiveBlocked;
+    }
+
+    private void recompile() {
+        Set<String> blocked = new HashSet<>();
+        Set<String> allowed = new HashSet<>();
+        for (ProcessPolicy policy : policies.values()) {
+            blocked.addAll(policy.blocked());
+            allowed.addAll(policy.allowed());
+        }
+        blocked.removeAll(allowed);
+        Set<String> previous = effectiveBlocked;
+        effectiveBlocked = Set.copyOf(blocked);
+
+        if (!effectiveBlocked.isEmpty() && !active) {
+            startEventSource();
+        } else if (effectiveBlocked.isEmpty() && active) {
+            stopEventSource();
+        } else if (active) {
+            log.info("Process guard blocklist updated: {}", effectiveBlocked);
+            if (!previous.containsAll(effectiveBlocked)) {
+                // Event sources report each process once, so newly blocked programs that are
+                // already running would otherwise be missed
+                sweepRunningProcesses();
+            }
+        }
+    }
+
+    private void sweepRunningProcesses() {
+        Thread sweep = new Thread(() -> ProcessHandle.allProcesses()
+                .forEach(ph -> onProcessStarted(ph.pid(), null)), "ProcessGuardSweep");
+        sweep.setDaemon(true);
+        sweep.start();
+    }
+
+    private void startEventSource() {
+        active = true;
+        boolean useWmi = "wmi".equalsIgnoreCase(eventSourceSetting)
+                || ("auto".equalsIgnoreCase(eventSourceSetting) && WmiProcessEventSource.isSupported());
+
+        if (useWmi) {
+            WmiProcessEventSource wmi = new WmiProcessEventSource();
+            try {
+                wmi.start(this::onProcessStarted, this::fallBackToPolling);
+                eventSource = wmi;
+                log.info("Process guard started ({}), blocking: {}", wmi.getName(), effectiveBlocked);
+                return;
+            } catch (Exception e) {
+                log.warn("WMI process events unavailable ({}), falling back to polling", e.getMessage());
+            }
+        }
+        startPolling();
+    }
+
+    private void startPolling() {
+        PollingProcessEventSource polling = new PollingProcessEventSource(minScanIntervalMillis, maxScanIntervalMillis);
+        polling.start(this::onProcessStarted, () -> { });
+        eventSource = polling;
+        log.info("Process guard started ({}), blocking: {}", polling.getName(), effectiveBlocked);
+    }
+
+    private synchronized void fallBackToPolling() {
+        if (!active) {
+            return;
+        }
+        if (eventSource != null) {
+            eventSource.stop();
+        }
+        startPolling();
+    }
+
+    private void stopEventSource() {
+        active = false;
+        if (eventSource != null) {
+            eventSource.stop();
+            eventSource = null;
+        }
+        log.info("Process guard stopped");
+    }
+
+    /**
+     * Check one newly seen process against the blocklist. Called from the event source thread.
+     */
+    private void onProcessStarted(long pid, String executableName) {
+        Set<String> blocked = effectiveBlocked;
+        if (!active || blocked.isEmpty()) {
+            return;
+        }
 
         try {
-            ProcessHandle.allProcesses()
-                    .filter(ProcessHandle::isAlive)
-                    .filter(ph -> {
-                        String cmd = ph.info().command().orElse("").toLowerCase();
-                        return cmd.endsWith("taskmgr.exe") || cmd.endsWith("taskmgr");
-                    })
-                    .forEach(ph -> {
-                        ph.destroy();
-                        log.debug("Terminated Task Manager process (PID: {})", ph.pid());
-                    });
+            ProcessHandle handle = null;
+            String name = executableName;
+            if (name == null) {
+                handle = ProcessHandle.of(pid).orElse(null);
+                if (handle == null) {
+                    return;
+                }
+                name = handle.info().command().orElse(null);
+                if (name == null) {
+                    return;
+                }
+            }
+
+            if (blocked.contains(normalize(name))) {
+                if (handle == null) {
+                    handle = ProcessHandle.of(pid).orElse(null);
+                }
+                if (handle != null && handle.isAlive()) {
+                    handle.destroy();
+                    log.debug("Terminated blocked process {} (PID: {})", name, pid);
+                }
+            }
         } catch (Exception e) {
-            log.debug("Process guard scan error: {}", e.getMessage());
+            log.debug("Process guard check error for PID {}: {}", pid, e.getMessage());
+        }
+    }
+
+    /**
+     * "C:\Windows\System32\Taskmgr.exe" -> "taskmgr"
+     */
+    static String normalize(String executable) {
+        if (executable == null) {
+            return "";
+        }
+        String name = executable.trim();
+        int slash = Math.max(name.lastIndexOf('/'), name.lastIndexOf('\\'));
+        if (slash >= 0) {
+            name = name.substring(slash + 1);
+        }
+        name = name.toLowerCase(Locale.ROOT);
+        if (name.endsWith(".exe")) {
+            name = name.substring(0, name.length() - 4);
         }
+        return name;
     }
 }
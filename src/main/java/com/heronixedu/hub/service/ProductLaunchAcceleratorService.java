@@ -0,0 +1,376 @@
+package com.heronixedu.hub.service;
+
+import com.sun.jna.platform.win32.User32;
+import com.sun.jna.ptr.IntByReference;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Optional launch accelerator for Heronix products started with java -jar.
+ *
+ * When enabled, each product JAR gets its own dynamic CDS archive under ~/.heronix/cds, keyed by
+ * the JAR's SHA-256, so classes loaded by the first launch are mapped from the archive on later
+ * launches. The JVM maintains the archive itself (-XX:+AutoCreateSharedArchive, JDK 19+); archives
+ * of older builds are deleted when the JAR changes. Configured JVM flags are added to the command.
+ *
+ * Independently of that (timing-enabled), launches can be timed from spawn to the first visible
+ * window of the product (or any of its child processes) and kept as per-product launch metrics.
+ * Windows are found with EnumWindows on Windows and wmctrl on X11; polling starts at 250 ms and
+ * backs off to 1 s.
+ */
+@Service
+@Slf4j
+public class ProductLaunchAcceleratorService {
+
+    private static final Path CDS_DIR = Paths.get(System.getProperty("user.home"), ".heronix", "cds");
+    private static final Pattern JAVA_VERSION = Pattern.compile("version \"(\\d+)");
+    private static final int AUTO_ARCHIVE_MIN_JAVA = 19;
+    private static final long WINDOW_POLL_MIN_MILLIS = 250;
+    private static final long WINDOW_POLL_MAX_MILLIS = 1000;
+    private static final long WINDOW_TIMEOUT_MILLIS = 120_000;
+
+    @Value("${heronix.products.launch-accelerator.enabled:false}")
+    private boolean enabled;
+
+    @Value("${heronix.products.launch-accelerator.timing-enabled:false}")
+    private boolean timingEnabled;
+
+    // Empty by default: flags like -XX:TieredStopAtLevel=1 also cap steady-state performance
+    @Value("${heronix.products.launch-accelerator.jvm-flags:}")
+    private String jvmFlags;
+
+    // Jar path -> hash, reused while size and mtime are unchanged
+    private final Map<String, JarHash> jarHashes = new ConcurrentHashMap<>();
+    private final Map<String, LaunchMetrics> metrics = new ConcurrentHashMap<>();
+    private volatile Integer javaMajorVersion;
+    private volatile boolean windowTimingAvailable = true;
+
+    private final ScheduledExecutorService windowWatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "LaunchTimer");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private record JarHash(long size, long modified, String sha256) {
+    }
+
+    /**
+     * Spawn-to-first-window timings for one product.
+     */
+    public record LaunchMetrics(String productCode, int launches, int timedOut,
+                                long lastMillis, long bestMillis, long worstMillis, long totalMillis,
+                                boolean lastUsedCds) {
+
+        public long averageMillis() {
+            int timed = launches - timedOut;
+            return timed > 0 ? totalMillis / timed : 0;
+        }
+
+        LaunchMetrics record(long millis, boolean cds) {
+            return new LaunchMetrics(productCode, launches + 1, timedOut, millis,
+                    bestMillis == 0 ? millis : Math.min(bestMillis, millis),
+                    Math.max(worstMillis, millis), totalMillis + millis, cds);
+        }
+
+        LaunchMetrics recordTimeout(boolean cds) {
+            return new LaunchMetrics(productCode, launches + 1, timedOut + 1, lastMillis,
+                    bestMillis, worstMillis, totalMillis, cds);
+        }
+    }
+
+    /**
+     * The launch that was prepared for a product: JVM arguments to put before -jar, and whether
+     * a CDS archive is in use.
+     */
+    public record LaunchOptions(List<String> jvmArgs, boolean cds) {
+        static final LaunchOptions NONE = new LaunchOptions(List.of(), false);
+    }
+
+    /**
+     * JVM arguments for launching the given product JAR. Empty when the accelerator is disabled.
+     */
+    public LaunchOptions prepareJarLaunch(String productCode, File jarFile) {
+        if (!enabled) {
+            return LaunchOptions.NONE;
+        }
+
+        List<String> args = new ArrayList<>();
+        if (jvmFlags != null && !jvmFlags.isBlank()) {
+            args.addAll(Arrays.asList(jvmFlags.trim().split("\\s+")));
+        }
+
+        boolean cds = false;
+        if (javaMajorVersion() >= AUTO_ARCHIVE_MIN_JAVA) {
+            try {
+                Path archive = archiveFor(productCode, jarFile);
+                args.add("-XX:+AutoCreateSharedArchive");
+                args.add("-XX:SharedArchiveFile=" + archive);
+                cds = true;
+            } catch (Exception e) {
+                log.warn("CDS archive unavailable for {}: {}", productCode, e.getMessage());
+            }
+        }
+        return new LaunchOptions(List.copyOf(args), cds);
+    }
+
+    /**
+     * Start timing a launched product until its first window appears. No-op unless launch
+     * timing is enabled.
+     */
+    public void trackLaunch(String productCode, Process process, boolean cds) {
+        if (!timingEnabled || !windowTimingAvailable) {
+            return;
+        }
+        long spawnedAt = System.nanoTime();
+        windowWatcher.execute(() -> pollForWindow(productCode, process, cds, spawnedAt, WINDOW_POLL_MIN_MILLIS));
+    }
+
+    /**
+     * Launch metrics of all products, slowest average first.
+     */
+    public List<LaunchMetrics> getLaunchMetrics() {
+        List<LaunchMetrics> list = new ArrayList<>(metrics.values());
+        list.sort(Comparator.comparingLong(LaunchMetrics::averageMillis).reversed());
+        return list;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isTimingEnabled() {
+        return timingEnabled;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        windowWatcher.shutdownNow();
+    }
+
+    // ========================================================================
+    // CDS ARCHIVES
+    // ========================================================================
+
+    /**
+     * Archive path for the current build of a product JAR; removes archives of previous builds.
+     */
+    private Path archiveFor(String productCode, File jarFile) throws Exception {
+        String hash = jarHash(jarFile);
+        String prefix = productCode.toLowerCase(Locale.ROOT) + "-";
+        Path archive = CDS_DIR.resolve(prefix + hash.substring(0, 16) + ".jsa");
+
+        Files.createDirectories(CDS_DIR);
+        try (DirectoryStream<Path> stale = Files.newDirectoryStream(CDS_DIR,
+                prefix + "?".repeat(16) + ".jsa")) {
+            for (Path old : stale) {
+                if (!old.equals(archive)) {
+                    Files.deleteIfExists(old);
+                    log.info("Removed CDS archive of previous {} build: {}", productCode, old.getFileName());
+                }
+            }
+        }
+        return archive;
+    }
+
+    private String jarHash(File jarFile) throws Exception {
+        long size = jarFile.length();
+        long modified = jarFile.lastModified();
+        JarHash cached = jarHashes.get(jarFile.getAbsolutePath());
+        if (cached != null && cached.size() == size && cached.modified() == modified) {
+            return cached.sha256();
+        }
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        try (InputStream in = Files.newInputStream(jarFile.toPath())) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        String sha256 = HexFormat.of().formatHex(digest.digest());
+        jarHashes.put(jarFile.getAbsolutePath(), new JarHash(size, modified, sha256));
+        return sha256;
+    }
+
+    /**
+     * Major version of the "java" on the PATH (the one products are launched with).
+     */
+    private int javaMajorVersion() {
+        Integer version = javaMajorVersion;
+        if (version != null) {
+            return version;
+        }
+        int detected = 0;
+        try {
+            Process process = new ProcessBuilder("java", "-version").redirectErrorStream(true).start();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null && detected == 0) {
+                    Matcher matcher = JAVA_VERSION.matcher(line);
+                    if (matcher.find()) {
+                        detected = Integer.parseInt(matcher.group(1));
+                        // "1.8.0" style versions
+                        if (detected == 1) {
+                            detected = 8;
+                        }
+                    }
+                }
+            }
+            process.waitFor(5, TimeUnit.SECONDS);
+        } catch (Exception e) {
+            log.debug("Could not determine java version: {}", e.getMessage());
+        }
+        if (detected < AUTO_ARCHIVE_MIN_JAVA) {
+            log.info("Launch accelerator: java {} on PATH has no auto CDS archives (needs {}+), using JVM flags only",
+                    detected == 0 ? "?" : detected, AUTO_ARCHIVE_MIN_JAVA);
+        }
+        javaMajorVersion = detected;
+        return detected;
+    }
+
+    // ========================================================================
+    // SPAWN-TO-FIRST-WINDOW TIMING
+    // ========================================================================
+
+    private void pollForWindow(String productCode, Process process, boolean cds, long spawnedAt, long delayMillis) {
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - spawnedAt);
+        if (!windowTimingAvailable) {
+            return;
+        }
+        boolean windowShown;
+        try {
+            windowShown = hasVisibleWindow(process);
+        } catch (IOException | LinkageError e) {
+            // wmctrl / user32 not available on this machine
+            windowTimingAvailable = false;
+            log.info("Launch timing disabled, cannot list windows: {}", e.getMessage());
+            return;
+        } catch (Exception e) {
+            log.debug("Window check failed for {}: {}", productCode, e.getMessage());
+            windowShown = false;
+        }
+
+        if (windowShown) {
+            LaunchMetrics updated = metrics.compute(productCode, (code, current) ->
+                    (current != null ? current : empty(code)).record(elapsedMillis, cds));
+            log.info("{} showed its first window {} ms after launch (CDS: {}, average {} ms over {} launches)",
+                    productCode, elapsedMillis, cds ? "on" : "off", updated.averageMillis(), updated.launches());
+            return;
+        }
+        if (!process.isAlive() && process.descendants().findAny().isEmpty()) {
+            log.info("{} exited {} ms after launch without showing a window", productCode, elapsedMillis);
+            return;
+        }
+        if (elapsedMillis >= WINDOW_TIMEOUT_MILLIS) {
+            metrics.compute(productCode, (code, current) ->
+                    (current != null ? current : empty(code)).recordTimeout(cds));
+            log.warn("{} showed no window within {} s of launch", productCode, WINDOW_TIMEOUT_MILLIS / 1000);
+            return;
+        }
+        try {
+            long nextDelay = Math.min(delayMillis * 2, WINDOW_POLL_MAX_MILLIS);
+            windowWatcher.schedule(() -> pollForWindow(productCode, process, cds, spawnedAt, nextDelay),
+                    delayMillis, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // shutting down
+        }
+    }
+
+    private static LaunchMetrics empty(String productCode) {
+        return new LaunchMetrics(productCode, 0, 0, 0, 0, 0, 0, false);
+    }
+
+    /**
+     * True once the launched process (or one of its descendants, e.g. java under cmd /c)
+     * owns a visible top-level window.
+     */
+    private boolean hasVisibleWindow(Process process) throws IOException, InterruptedException {
+        Set<Long> pids = new HashSet<>();
+        pids.add(process.pid());
+        process.descendants().forEach(ph -> pids.add(ph.pid()));
+
+        String os = System.getProperty("os.name").toLowerCase();
+        if (os.contains("win")) {
+            return hasVisibleTopLevelWindow(pids);
+        }
+
+        // X11: wmctrl lists windows with their owning PID; without it there is nothing to time
+        for (String line : run("wmctrl", "-lp")) {
+            String[] fields = line.trim().split("\\s+");
+            if (fields.length >= 3) {
+                try {
+                    if (pids.contains(Long.parseLong(fields[2]))) {
+                        return true;
+                    }
+                } catch (NumberFormatException ignored) {
+                    // unexpected line
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Windows: in-process walk of the top-level windows, so a poll spawns no process. Only
+     * visible windows with a title count.
+     */
+    private static boolean hasVisibleTopLevelWindow(Set<Long> pids) {
+        IntByReference ownerPid = new IntByReference();
+        boolean[] found = {false};
+        User32.INSTANCE.EnumWindows((hwnd, data) -> {
+            User32.INSTANCE.GetWindowThreadProcessId(hwnd, ownerPid);
+            if (pids.contains((long) ownerPid.getValue()) && User32.INSTANCE.IsWindowVisible(hwnd)
+                    && User32.INSTANCE.GetWindowTextLength(hwnd) > 0) {
+                found[0] = true;
+                return false;
+            }
+            return true;
+        }, null);
+        return found[0];
+    }
+
+    private static List<String> run(String... command) throws IOException, InterruptedException {
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+        process.waitFor(5, TimeUnit.SECONDS);
+        return lines;
+    }
+}
@@ -2,7 +2,7 @@ package com.heronixedu.hub.service;
 
 import com.heronixedu.hub.model.Product;
 import com.heronixedu.hub.repository.ProductRepository;
-import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -15,12 +15,29 @@ import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
 import java.io.File;
 import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Stream;
 
+/**
+ * Discovers Heronix projects on disk, registers them as products and launches them.
+ *
+ * A full discovery runs once at startup. After that a WatchService on the base path, each
+ * project directory and each project's target/ directory reports changes, and only the
+ * affected projects are re-evaluated (after a short debounce), so new builds show up within
+ * seconds and the steady state costs nothing. pom.xml versions are cached by file mtime.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -28,11 +45,26 @@ public class ProductLauncherService {
 
     private final ProductRepository productRepository;
     private final AppAccessPolicyService appAccessPolicyService;
+    private final ProductLaunchAcceleratorService launchAcceleratorService;
 
     // Base directory where Heronix projects are located
     @Value("${heronix.products.base-path:#{null}}")
     private String configuredBasePath;
 
+    private static final long WATCH_DEBOUNCE_MILLIS = 2_000;
+
+    // Discovery index: watch keys -> the project directory (or base dir) they cover
+    private final Map<WatchKey, Path> watchedDirs = new ConcurrentHashMap<>();
+    private final Map<Path, PomVersion> pomVersionCache = new ConcurrentHashMap<>();
+    private volatile WatchService watchService;
+    private volatile Path watchedBasePath;
+    private Thread watchThread;
+
+    private final List<Runnable> productChangeListeners = new CopyOnWriteArrayList<>();
+
+    private record PomVersion(FileTime modified, String version) {
+    }
+
     // Known Heronix project prefixes to look for
     private static final List<String> HERONIX_PROJECT_PREFIXES = List.of(
             "Heronix-", "heronix-"
@@ -121,6 +153,7 @@ public class ProductLauncherService {
             // SSO is handled via the shared token file at ~/.heronix/auth/token.jwt
             // Child products check for this file on startup to enable auto-login
             ProcessBuilder processBuilder;
+            ProductLaunchAcceleratorService.LaunchOptions launchOptions = null;
             String os = System.getProperty("os.name").toLowerCase();
 
             // Try production mode first: look for executable JAR in target/
@@ -130,15 +163,15 @@ public class ProductLauncherService {
                 // Production mode: launch via java -jar
                 log.info("Launching {} in production mode (JAR: {})", productCode, jarFile.getName());
 
+                launchOptions = launchAcceleratorService.prepareJarLaunch(productCode, jarFile);
+                List<String> command = new ArrayList<>();
                 if (os.contains("win")) {
-                    processBuilder = new ProcessBuilder(
-                            "cmd", "/c", "java", "-jar", jarFile.getAbsolutePath()
-                    );
-                } else {
-                    processBuilder = new ProcessBuilder(
-                            "java", "-jar", jarFile.getAbsolutePath()
-                    );
+                    command.addAll(List.of("cmd", "/c"));
                 }
+                command.add("java");
+                command.addAll(launchOptions.jvmArgs());
+                command.addAll(List.of("-jar", jarFile.getAbsolutePath()));
+                processBuilder = new ProcessBuilder(command);
             } else {
                 // Development mode: fall back to mvn javafx:run
                 File pomFile = new File(projectDir, "pom.xml");
@@ -168,6 +201,7 @@ public class ProductLauncherService {
 
             // Launch the process
             Process process = processBuilder.start();
+            launchAcceleratorService.trackLaunch(productCode, process, launchOptions != null && launchOptions.cds());
 
             // Update last_launched timestamp
             product.setLastLaunched(LocalDateTime.now());
@@ -293,24 +327,32 @@ public class ProductLauncherService {
     public void updateProductInstallationStatus() {
         List<Product> products = productRepository.findAll();
         for (Product product : products) {
-            File projectDir = new File(product.getExecutablePath());
-            boolean exists = projectDir.exists() && projectDir.isDirectory()
-                    && (new File(projectDir, "pom.xml").exists() || findExecutableJar(projectDir) != null);
+            refreshInstallationStatus(product);
+        }
+    }
 
-            if (product.getIsInstalled() != exists) {
-                product.setIsInstalled(exists);
-                productRepository.save(product);
-                log.info("Updated installation status for {}: {}",
-                        product.getProductCode(), exists);
+    /**
+     * Run (on a background thread) after products were discovered or their installation state
+     * was re-evaluated, so views can reload.
+     */
+    public void addProductChangeListener(Runnable listener) {
+        productChangeListeners.add(listener);
+    }
+
+    private void notifyProductsChanged() {
+        for (Runnable listener : productChangeListeners) {
+            try {
+                listener.run();
+            } catch (Exception e) {
+                log.debug("Product change listener error: {}", e.getMessage());
             }
         }
     }
 
     /**
-     * Auto-discover Heronix products on startup.
+     * Auto-discover Heronix products. Runs as a background startup task (StartupPipeline).
      */
-    @PostConstruct
-    public void discoverProducts() {
+    public synchronized void discoverProducts() {
         log.info("Starting Heronix product auto-discovery...");
 
         // First, clean up legacy/duplicate products
@@ -335,10 +377,11 @@ public class ProductLauncherService {
             return;
         }
 
+        Map<String, Product> productsByCode = loadProductsByCode();
         int discovered = 0;
         for (File subdir : subdirs) {
             if (isHeronixProject(subdir)) {
-                if (registerProduct(subdir)) {
+                if (registerProduct(subdir, productsByCode)) {
                     discovered++;
                 }
             }
@@ -348,6 +391,214 @@ public class ProductLauncherService {
 
         // Update installation status for all products
         updateProductInstallationStatus();
+
+        startWatching(baseDir.toPath());
+        notifyProductsChanged();
+    }
+
+    // ========================================================================
+    // INCREMENTAL DISCOVERY (WatchService)
+    // ========================================================================
+
+    /**
+     * Watch the base path and every Heronix project (plus its target/ directory) for changes.
+     * Re-registers everything if the base path changed since the last call; otherwise (a rescan,
+     * e.g. after an OVERFLOW) adds watches for projects and target/ directories created meanwhile.
+     */
+    private void startWatching(Path basePath) {
+        if (basePath.equals(watchedBasePath) && watchService != null) {
+            registerAllProjectWatches(basePath);
+            return;
+        }
+        stopWatching();
+
+        try {
+            WatchService service = FileSystems.getDefault().newWatchService();
+            watchService = service;
+            watchedBasePath = basePath;
+            register(basePath, basePath);
+            registerAllProjectWatches(basePath);
+
+            watchThread = new Thread(() -> runWatchLoop(service), "ProductWatch");
+            watchThread.setDaemon(true);
+            watchThread.start();
+            log.info("Watching {} for Heronix product changes ({} directories)", basePath, watchedDirs.size());
+        } catch (IOException e) {
+            log.warn("Could not watch {} for product changes, relying on manual discovery: {}",
+                    basePath, e.getMessage());
+            stopWatching();
+        }
+    }
+
+    private void registerAllProjectWatches(Path basePath) {
+        File[] subdirs = basePath.toFile().listFiles(File::isDirectory);
+        if (subdirs != null) {
+            for (File subdir : subdirs) {
+                if (hasHeronixPrefix(subdir.getName())) {
+                    registerProjectWatches(subdir.toPath());
+                }
+            }
+        }
+    }
+
+    /**
+     * Idempotent: registering an already-watched directory returns its existing key.
+     */
+    private void registerProjectWatches(Path projectDir) {
+        register(projectDir, projectDir);
+        Path targetDir = projectDir.resolve("target");
+        if (Files.isDirectory(targetDir)) {
+            register(targetDir, projectDir);
+        }
+    }
+
+    private void register(Path dir, Path owner) {
+        WatchService service = watchService;
+        if (service == null) {
+            return;
+        }
+        try {
+            WatchKey key = dir.register(service,
+                    StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_DELETE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+            watchedDirs.put(key, owner);
+        } catch (IOException e) {
+            log.debug("Could not watch {}: {}", dir, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public synchronized void stopWatching() {
+        WatchService service = watchService;
+        watchService = null;
+        watchedBasePath = null;
+        watchedDirs.clear();
+        if (service != null) {
+            try {
+                service.close();
+            } catch (IOException e) {
+                log.debug("Error closing product watch service: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Collect changed project directories, wait for the burst to settle (a Maven build writes
+     * many files), then re-evaluate just those projects.
+     */
+    private void runWatchLoop(WatchService service) {
+        Set<Path> pending = new HashSet<>();
+        boolean fullRescan = false;
+
+        while (true) {
+            try {
+                WatchKey key = pending.isEmpty() && !fullRescan
+                        ? service.take()
+                        : service.poll(WATCH_DEBOUNCE_MILLIS, java.util.concurrent.TimeUnit.MILLISECONDS);
+
+                if (key == null) {
+                    // Quiet for the debounce period: apply what we collected
+                    if (fullRescan) {
+                        discoverProducts();
+                    } else {
+                        reevaluateProjects(pending);
+                    }
+                    pending.clear();
+                    fullRescan = false;
+                    continue;
+                }
+
+                Path owner = watchedDirs.get(key);
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                        fullRescan = true;
+                        continue;
+                    }
+                    if (owner == null) {
+                        continue;
+                    }
+                    Path changed = owner.resolve((Path) event.context());
+                    if (owner.equals(watchedBasePath)) {
+                        // Project created/removed/renamed under the base path
+                        if (hasHeronixPrefix(changed.getFileName().toString())) {
+                            pending.add(changed);
+                        }
+                    } else {
+                        pending.add(owner);
+                    }
+                }
+                if (!key.reset()) {
+                    watchedDirs.remove(key);
+                }
+            } catch (ClosedWatchServiceException e) {
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.debug("Product watch error: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Re-check only the given project directories: register new ones, refresh install state
+     * of known ones, and start watching any new project or target/ directory.
+     */
+    private synchronized void reevaluateProjects(Set<Path> projectDirs) {
+        // One load per pass; registerProduct and the status refresh keep the map current
+        Map<String, Product> productsByCode = loadProductsByCode();
+        for (Path projectDir : projectDirs) {
+            try {
+                File dir = projectDir.toFile();
+                if (dir.isDirectory()) {
+                    registerProjectWatches(projectDir);
+                    if (isHeronixProject(dir) && registerProduct(dir, productsByCode)) {
+                        log.info("Discovered new product at {}", projectDir);
+                    }
+                }
+                String path = dir.getAbsolutePath();
+                for (Product product : List.copyOf(productsByCode.values())) {
+                    if (path.equals(product.getExecutablePath())) {
+                        productsByCode.put(product.getProductCode(), refreshInstallationStatus(product));
+                    }
+                }
+            } catch (Exception e) {
+                log.warn("Failed to re-evaluate product at {}: {}", projectDir, e.getMessage());
+            }
+        }
+        notifyProductsChanged();
+    }
+
+    private Product refreshInstallationStatus(Product product) {
+        File projectDir = new File(product.getExecutablePath());
+        boolean exists = projectDir.exists() && projectDir.isDirectory()
+                && (new File(projectDir, "pom.xml").exists() || findExecutableJar(projectDir) != null);
+
+        if (!Objects.equals(product.getIsInstalled(), exists)) {
+            product.setIsInstalled(exists);
+            log.info("Updated installation status for {}: {}", product.getProductCode(), exists);
+            return productRepository.save(product);
+        }
+        return product;
+    }
+
+    private Map<String, Product> loadProductsByCode() {
+        Map<String, Product> productsByCode = new HashMap<>();
+        for (Product product : productRepository.findAll()) {
+            productsByCode.put(product.getProductCode(), product);
+        }
+        return productsByCode;
+    }
+
+    private static boolean hasHeronixPrefix(String name) {
+        for (String prefix : HERONIX_PROJECT_PREFIXES) {
+            if (name.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
     }
 
     /**
@@ -451,10 +702,13 @@ public class ProductLauncherService {
 
     /**
      * Scheduled periodic scan for new products (every 5 minutes).
+     * Only needed when the file watch could not be set up; otherwise changes arrive as events.
      */
     @Scheduled(fixedRate = 300000)
     public void periodicProductScan() {
-        discoverProducts();
+        if (watchService == null) {
+            discoverProducts();
+        }
     }
 
     /**
@@ -507,17 +761,8 @@ public class ProductLauncherService {
      * Accepts directories with pom.xml (source) or target/*.jar (built).
      */
     private boolean isHeronixProject(File dir) {
-        String name = dir.getName();
-
         // Must start with Heronix- prefix
-        boolean hasPrefix = false;
-        for (String prefix : HERONIX_PROJECT_PREFIXES) {
-            if (name.startsWith(prefix)) {
-                hasPrefix = true;
-                break;
-            }
-        }
-        if (!hasPrefix) {
+        if (!hasHeronixPrefix(dir.getName())) {
             return false;
         }
 
@@ -532,18 +777,24 @@ public class ProductLauncherService {
     }
 
     /**
-     * Register a discovered product in the database.
+     * Register a discovered product in the database, or bring a registered one up to date.
+     * productsByCode holds the products loaded for this pass and receives every saved product.
+     * Returns true only for a newly registered product.
      */
-    private boolean registerProduct(File projectDir) {
+    private boolean registerProduct(File projectDir, Map<String, Product> productsByCode) {
         String dirName = projectDir.getName();
 
         // Extract product code from directory name (e.g., "Heronix-SIS" -> "SIS")
         String productCode = dirName.replaceFirst("(?i)heronix-", "").toUpperCase();
 
-        // Skip if already registered
-        if (productRepository.findByProductCode(productCode).isPresent()) {
-            // Update role restrictions if needed
-            updateProductRoleRestrictions(productCode);
+        Product existing = productsByCode.get(productCode);
+        if (existing != null) {
+            // Already registered: pick up a new pom version and missing role restrictions
+            boolean updated = updateProductVersion(existing, projectDir);
+            updated |= updateProductRoleRestrictions(existing);
+            if (updated) {
+                productsByCode.put(productCode, productRepository.save(existing));
+            }
             return false;
         }
 
@@ -578,7 +829,7 @@ public class ProductLauncherService {
         }
         product.setIsSystemApp(SYSTEM_APPS.contains(productCode));
 
-        productRepository.save(product);
+        productsByCode.put(productCode, productRepository.save(product));
         log.info("Registered new Heronix product: {} at {} (roles: {})",
                 productName, projectDir.getAbsolutePath(), allowedRoles != null ? allowedRoles : "ALL");
 
@@ -586,35 +837,48 @@ public class ProductLauncherService {
     }
 
     /**
-     * Update role restrictions for an existing product if needed.
+     * Take the version from the project's pom.xml if it changed. Returns true if the product changed.
      */
-    private void updateProductRoleRestrictions(String productCode) {
-        productRepository.findByProductCode(productCode).ifPresent(product -> {
-            boolean updated = false;
-
-            // Set allowed roles if not already set
-            if (product.getAllowedRoles() == null) {
-                String allowedRoles = PRODUCT_ALLOWED_ROLES.get(productCode);
-                if (allowedRoles != null) {
-                    product.setAllowedRoles(allowedRoles);
-                    updated = true;
-                }
-            }
+    private boolean updateProductVersion(Product product, File projectDir) {
+        String version = readVersionFromPom(projectDir);
+        if (version == null || version.equals(product.getCurrentVersion())) {
+            return false;
+        }
+        log.info("Updated version for product {}: {} -> {}",
+                product.getProductCode(), product.getCurrentVersion(), version);
+        product.setCurrentVersion(version);
+        return true;
+    }
 
-            // Set system app flag if not already set
-            if (product.getIsSystemApp() == null || !product.getIsSystemApp()) {
-                if (SYSTEM_APPS.contains(productCode)) {
-                    product.setIsSystemApp(true);
-                    product.setRequiresAdmin(true);
-                    updated = true;
-                }
+    /**
+     * Update role restrictions for an existing product if needed. Returns true if the product changed.
+     */
+    private boolean updateProductRoleRestrictions(Product product) {
+        String productCode = product.getProductCode();
+        boolean updated = false;
+
+        // Set allowed roles if not already set
+        if (product.getAllowedRoles() == null) {
+            String allowedRoles = PRODUCT_ALLOWED_ROLES.get(productCode);
+            if (allowedRoles != null) {
+                product.setAllowedRoles(allowedRoles);
+                updated = true;
             }
+        }
 
-            if (updated) {
-                productRepository.save(product);
-                log.info("Updated role restrictions for product: {}", productCode);
+        // Set system app flag if not already set
+        if (product.getIsSystemApp() == null || !product.getIsSystemApp()) {
+            if (SYSTEM_APPS.contains(productCode)) {
+                product.setIsSystemApp(true);
+                product.setRequiresAdmin(true);
+                updated = true;
             }
-        });
+        }
+
+        if (updated) {
+            log.info("Updated role restrictions for product: {}", productCode);
+        }
+        return updated;
     }
 
     /**
@@ -648,14 +912,28 @@ public class ProductLauncherService {
     }
 
     /**
-     * Read version from pom.xml file.
+     * Read version from pom.xml file. Cached per file until its modification time changes.
      */
     private String readVersionFromPom(File projectDir) {
-        File pomFile = new File(projectDir, "pom.xml");
-        if (!pomFile.exists()) {
+        Path pomPath = projectDir.toPath().resolve("pom.xml");
+        FileTime modified;
+        try {
+            modified = Files.getLastModifiedTime(pomPath);
+        } catch (IOException e) {
+            pomVersionCache.remove(pomPath);
             return null;
         }
 
+        PomVersion cached = pomVersionCache.get(pomPath);
+        if (cached != null && cached.modified().equals(modified)) {
+            return cached.version();
+        }
+        String version = parseVersionFromPom(pomPath.toFile());
+        pomVersionCache.put(pomPath, new PomVersion(modified, version));
+        return version;
+    }
+
+    private String parseVersionFromPom(File pomFile) {
         try {
             DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
             DocumentBuilder builder = factory.newDocumentBuilder();
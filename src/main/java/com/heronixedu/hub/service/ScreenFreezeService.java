@@ -1,6 +1,10 @@
 package com.heronixedu.hub.service;
 
 import javafx.application.Platform;
+import javafx.beans.binding.Bindings;
+import javafx.beans.property.SimpleStringProperty;
+import javafx.beans.property.StringProperty;
+import javafx.collections.ListChangeListener;
 import javafx.event.Event;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -18,51 +22,48 @@ import javafx.stage.StageStyle;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Service for displaying screen freeze overlay on student computers.
  * Creates a full-screen, always-on-top overlay that blocks user interaction.
+ *
+ * Overlays are pooled: one stage per Screen is built the first time it is needed (or by
+ * prewarm), then shown and hidden rather than recreated. Message and teacher changes only
+ * update bound label properties, and monitors added or removed while running are picked up
+ * from the Screen.getScreens() list. Requests from any thread are coalesced into a single
+ * FX-thread update, so rapid freeze/unfreeze toggles never rebuild scene graphs.
  */
 @Service
 @Slf4j
 public class ScreenFreezeService {
 
-    private final List<Stage> overlayStages = new ArrayList<>();
-    private boolean isFrozen = false;
-    private String currentMessage = "Please pay attention to the teacher.";
-    private String teacherName = "";
+    private static final String DEFAULT_MESSAGE = "Please pay attention to the teacher.";
+
+    // Requested state, written from any thread and applied on the FX thread
+    private volatile boolean isFrozen = false;
+    private volatile String currentMessage = DEFAULT_MESSAGE;
+    private volatile String teacherName = "";
+    private final AtomicBoolean applyScheduled = new AtomicBoolean(false);
+
+    // FX thread only
+    private final Map<Screen, Stage> overlayStages = new HashMap<>();
+    private final StringProperty messageText = new SimpleStringProperty(DEFAULT_MESSAGE);
+    private final StringProperty teacherText = new SimpleStringProperty("");
+    private boolean overlaysShown = false;
+    private boolean screenListenerInstalled = false;
 
     /**
      * Freeze the screen with a message overlay.
      */
     public void freezeScreen(String message, String teacher) {
-        if (isFrozen) {
-            // Update message if already frozen
-            updateMessage(message, teacher);
-            return;
-        }
-
-        this.currentMessage = message != null ? message : "Please pay attention to the teacher.";
+        this.currentMessage = message != null ? message : DEFAULT_MESSAGE;
         this.teacherName = teacher != null ? teacher : "";
-
-        Platform.runLater(() -> {
-            try {
-                // Create overlay for each screen/monitor
-                for (Screen screen : Screen.getScreens()) {
-                    Stage overlayStage = createOverlayStage(screen);
-                    overlayStages.add(overlayStage);
-                    overlayStage.show();
-                }
-
-                isFrozen = true;
-                log.info("Screen frozen with message: {}", currentMessage);
-
-            } catch (Exception e) {
-                log.error("Failed to freeze screen: {}", e.getMessage());
-            }
-        });
+        this.isFrozen = true;
+        scheduleApply();
     }
 
     /**
@@ -72,19 +73,8 @@ public class ScreenFreezeService {
         if (!isFrozen) {
             return;
         }
-
-        Platform.runLater(() -> {
-            for (Stage stage : overlayStages) {
-                try {
-                    stage.close();
-                } catch (Exception e) {
-                    log.debug("Error closing overlay stage: {}", e.getMessage());
-                }
-            }
-            overlayStages.clear();
-            isFrozen = false;
-            log.info("Screen unfrozen");
-        });
+        isFrozen = false;
+        scheduleApply();
     }
 
     /**
@@ -93,25 +83,113 @@ public class ScreenFreezeService {
     public void updateMessage(String message, String teacher) {
         this.currentMessage = message != null ? message : this.currentMessage;
         this.teacherName = teacher != null ? teacher : this.teacherName;
+        scheduleApply();
+    }
+
+    /**
+     * Check if screen is currently frozen.
+     */
+    public boolean isFrozen() {
+        return isFrozen;
+    }
 
-        if (isFrozen) {
+    /**
+     * Build the (hidden) overlays ahead of time, e.g. when a student joins a session,
+     * so the first freeze only has to show them.
+     */
+    public void prewarm() {
+        Platform.runLater(() -> {
+            try {
+                installScreenListener();
+                for (Screen screen : Screen.getScreens()) {
+                    overlayFor(screen);
+                }
+            } catch (Exception e) {
+                log.debug("Failed to prepare freeze overlays: {}", e.getMessage());
+            }
+        });
+    }
+
+    private void scheduleApply() {
+        if (applyScheduled.compareAndSet(false, true)) {
             Platform.runLater(() -> {
-                // Recreate overlays with new message
-                unfreezeScreen();
-                freezeScreen(currentMessage, teacherName);
+                applyScheduled.set(false);
+                applyState();
             });
         }
     }
 
     /**
-     * Check if screen is currently frozen.
+     * Bring the overlays in line with the requested state. FX thread only.
      */
-    public boolean isFrozen() {
-        return isFrozen;
+    private void applyState() {
+        try {
+            messageText.set(currentMessage);
+            teacherText.set(teacherName);
+
+            if (isFrozen) {
+                installScreenListener();
+                for (Screen screen : Screen.getScreens()) {
+                    Stage stage = overlayFor(screen);
+                    if (!stage.isShowing()) {
+                        positionOn(stage, screen);
+                        stage.setFullScreen(true);
+                        stage.show();
+                    }
+                }
+                if (!overlaysShown) {
+                    overlaysShown = true;
+                    log.info("Screen frozen with message: {}", currentMessage);
+                }
+            } else if (overlaysShown) {
+                for (Stage stage : overlayStages.values()) {
+                    stage.hide();
+                }
+                overlaysShown = false;
+                log.info("Screen unfrozen");
+            }
+        } catch (Exception e) {
+            log.error("Failed to apply screen freeze state: {}", e.getMessage());
+        }
+    }
+
+    private Stage overlayFor(Screen screen) {
+        return overlayStages.computeIfAbsent(screen, this::createOverlayStage);
+    }
+
+    /**
+     * Track monitor hot-plug: drop overlays for screens that went away, and cover new
+     * screens right away if currently frozen.
+     */
+    private void installScreenListener() {
+        if (screenListenerInstalled) {
+            return;
+        }
+        screenListenerInstalled = true;
+        Screen.getScreens().addListener((ListChangeListener<Screen>) change -> {
+            List<Screen> current = Screen.getScreens();
+            overlayStages.entrySet().removeIf(entry -> {
+                if (!current.contains(entry.getKey())) {
+                    entry.getValue().close();
+                    return true;
+                }
+                return false;
+            });
+            log.debug("Screen configuration changed ({} screens)", current.size());
+            applyState();
+        });
+    }
+
+    private static void positionOn(Stage stage, Screen screen) {
+        stage.setX(screen.getBounds().getMinX());
+        stage.setY(screen.getBounds().getMinY());
+        stage.setWidth(screen.getBounds().getWidth());
+        stage.setHeight(screen.getBounds().getHeight());
     }
 
     /**
-     * Create an overlay stage for a specific screen.
+     * Create an overlay stage for a specific screen. Labels are bound to the shared
+     * message/teacher properties so the stage never has to be rebuilt.
      */
     private Stage createOverlayStage(Screen screen) {
         Stage stage = new Stage();
@@ -119,10 +197,7 @@ public class ScreenFreezeService {
         stage.setAlwaysOnTop(true);
 
         // Position on the screen
-        stage.setX(screen.getBounds().getMinX());
-        stage.setY(screen.getBounds().getMinY());
-        stage.setWidth(screen.getBounds().getWidth());
-        stage.setHeight(screen.getBounds().getHeight());
+        positionOn(stage, screen);
 
         // Create overlay content
         VBox content = new VBox(20);
@@ -140,7 +215,8 @@ public class ScreenFreezeService {
         title.setTextFill(Color.web("#FF5722"));
 
         // Message
-        Label messageLabel = new Label(currentMessage);
+        Label messageLabel = new Label();
+        messageLabel.textProperty().bind(messageText);
         messageLabel.setFont(Font.font("System", FontWeight.NORMAL, 24));
         messageLabel.setTextFill(Color.WHITE);
         messageLabel.setWrapText(true);
@@ -148,12 +224,12 @@ public class ScreenFreezeService {
         messageLabel.setAlignment(Pos.CENTER);
 
         // Teacher name
-        Label teacherLabel = new Label("");
-        if (teacherName != null && !teacherName.isEmpty()) {
-            teacherLabel.setText("— " + teacherName);
-            teacherLabel.setFont(Font.font("System", FontWeight.NORMAL, 18));
-            teacherLabel.setTextFill(Color.web("#9E9E9E"));
-        }
+        Label teacherLabel = new Label();
+        teacherLabel.textProperty().bind(Bindings.when(teacherText.isEmpty())
+                .then("")
+                .otherwise(Bindings.concat("— ", teacherText)));
+        teacherLabel.setFont(Font.font("System", FontWeight.NORMAL, 18));
+        teacherLabel.setTextFill(Color.web("#9E9E9E"));
 
         // Info text
         Label infoLabel = new Label("Your teacher has temporarily locked your screen.");
@@ -181,7 +257,6 @@ public class ScreenFreezeService {
         });
 
         stage.setScene(scene);
-        stage.setFullScreen(true);
         stage.setFullScreenExitHint(""); // Hide the exit hint
 
         // Prevent closing
@@ -0,0 +1,312 @@
+package com.heronixedu.hub.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.heronixedu.hub.model.User;
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Holds the validated Hub session and the SIS access token for the signed-in user.
+ *
+ * The Hub JWT is verified once (at login or when restoring from the token file) and the
+ * resulting User is kept in memory until the token expires, so session checks are a
+ * volatile read instead of a file read plus HMAC verification. SIS access tokens are
+ * refreshed in the background shortly before they expire and the new token is pushed
+ * to registered listeners (e.g. AuditLogService server mirroring).
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SessionManagerService {
+
+    private static final long REFRESH_RETRY_SECONDS = 30;
+
+    private final TokenService tokenService;
+    private final SisApiClient sisApiClient;
+    private final AuditLogService auditLogService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("${heronix.session.sis-refresh-lead-seconds:120}")
+    private long refreshLeadSeconds;
+
+    @Value("${heronix.session.sis-default-token-minutes:15}")
+    private long defaultSisTokenMinutes;
+
+    private final List<SisTokenListener> sisTokenListeners = new CopyOnWriteArrayList<>();
+
+    private volatile HubSession hubSession;
+    private volatile SisSession sisSession;
+
+    private ScheduledExecutorService refreshScheduler;
+    private ScheduledFuture<?> pendingRefresh;
+
+    /**
+     * Notified whenever the SIS access token changes. A null server URL means the SIS session ended.
+     */
+    @FunctionalInterface
+    public interface SisTokenListener {
+        void onSisTokenChanged(String serverUrl, String accessToken);
+    }
+
+    /**
+     * Validated Hub session. Immutable; replaced as a whole.
+     */
+    public record HubSession(User user, String token, Instant expiresAt) {
+        public boolean isExpired() {
+            return !Instant.now().isBefore(expiresAt);
+        }
+    }
+
+    /**
+     * Current SIS credentials. Immutable; replaced as a whole on refresh.
+     */
+    public record SisSession(String serverUrl, String accessToken, String refreshToken, Instant expiresAt) {
+    }
+
+    @PostConstruct
+    public void init() {
+        refreshScheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "SessionRefresh");
+            t.setDaemon(true);
+            return t;
+        });
+        addSisTokenListener(auditLogService::setSisSession);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refreshScheduler != null) {
+            refreshScheduler.shutdownNow();
+        }
+    }
+
+    // ========================================================================
+    // HUB SESSION
+    // ========================================================================
+
+    /**
+     * Get the signed-in user, or null if there is no session or it has expired.
+     */
+    public User getCurrentUser() {
+        HubSession session = hubSession;
+        if (session == null) {
+            return null;
+        }
+        if (session.isExpired()) {
+            log.info("Hub session expired for user: {}", session.user().getUsername());
+            hubSession = null;
+            return null;
+        }
+        return session.user();
+    }
+
+    public boolean hasValidSession() {
+        return getCurrentUser() != null;
+    }
+
+    /**
+     * Cache the session for a freshly issued token. The token is verified once to learn its expiry.
+     */
+    public void establish(User user, String token) {
+        Claims claims = tokenService.parseClaims(token);
+        if (claims == null) {
+            log.warn("Refusing to establish session with invalid token for user: {}", user.getUsername());
+            hubSession = null;
+            return;
+        }
+        hubSession = new HubSession(user, token, claims.getExpiration().toInstant());
+        log.debug("Session established for user: {} (expires {})", user.getUsername(), hubSession.expiresAt());
+    }
+
+    /**
+     * Restore the session from the SSO token file. Only hits the disk and verifies the
+     * signature when there is no valid in-memory session.
+     */
+    public User restoreFromTokenFile() {
+        User cached = getCurrentUser();
+        if (cached != null) {
+            return cached;
+        }
+
+        String token = tokenService.readTokenFromFile();
+        Claims claims = tokenService.parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+
+        User user = tokenService.toUser(claims);
+        hubSession = new HubSession(user, token, claims.getExpiration().toInstant());
+        log.info("Token validated for user: {}", user.getUsername());
+        return user;
+    }
+
+    /**
+     * Drop the cached Hub and SIS sessions (logout).
+     */
+    public void clear() {
+        hubSession = null;
+        endSisSession();
+    }
+
+    // ========================================================================
+    // SIS SESSION
+    // ========================================================================
+
+    /**
+     * Start tracking the SIS credentials returned at login and schedule the first refresh.
+     */
+    public void startSisSession(SisApiClient.SisAuthResult authResult) {
+        applySisTokens(authResult.getServerUrl(), authResult);
+    }
+
+    public Optional<SisSession> getSisSession() {
+        return Optional.ofNullable(sisSession);
+    }
+
+    public String getSisServerUrl() {
+        SisSession session = sisSession;
+        return session != null ? session.serverUrl() : null;
+    }
+
+    public String getSisAccessToken() {
+        SisSession session = sisSession;
+        return session != null ? session.accessToken() : null;
+    }
+
+    public void addSisTokenListener(SisTokenListener listener) {
+        sisTokenListeners.add(listener);
+    }
+
+    public void removeSisTokenListener(SisTokenListener listener) {
+        sisTokenListeners.remove(listener);
+    }
+
+    private synchronized void endSisSession() {
+        cancelPendingRefresh();
+        if (sisSession != null) {
+            sisSession = null;
+            notifySisTokenListeners(null, null);
+        }
+    }
+
+    private synchronized void applySisTokens(String serverUrl, SisApiClient.SisAuthResult authResult) {
+        Instant expiresAt = determineExpiry(authResult);
+        sisSession = new SisSession(serverUrl, authResult.getAccessToken(),
+                authResult.getRefreshToken(), expiresAt);
+        notifySisTokenListeners(serverUrl, authResult.getAccessToken());
+
+        if (authResult.getRefreshToken() == null) {
+            log.debug("SIS server at {} issued no refresh token; background refresh disabled", serverUrl);
+            cancelPendingRefresh();
+            return;
+        }
+
+        long delay = Duration.between(Instant.now(), expiresAt).getSeconds() - refreshLeadSeconds;
+        scheduleRefresh(Math.max(delay, 0));
+    }
+
+    private synchronized void scheduleRefresh(long delaySeconds) {
+        cancelPendingRefresh();
+        if (refreshScheduler == null || refreshScheduler.isShutdown()) {
+            return;
+        }
+        pendingRefresh = refreshScheduler.schedule(this::refreshSisToken, delaySeconds, TimeUnit.SECONDS);
+        log.debug("SIS token refresh scheduled in {}s", delaySeconds);
+    }
+
+    private void cancelPendingRefresh() {
+        if (pendingRefresh != null) {
+            pendingRefresh.cancel(false);
+            pendingRefresh = null;
+        }
+    }
+
+    private void refreshSisToken() {
+        SisSession session = sisSession;
+        if (session == null || session.refreshToken() == null) {
+            return;
+        }
+
+        try {
+            Optional<SisApiClient.SisAuthResult> refreshed =
+                    sisApiClient.refreshAccessToken(session.serverUrl(), session.refreshToken());
+
+            synchronized (this) {
+                // Session may have ended or been replaced while the request was in flight
+                if (sisSession != session) {
+                    return;
+                }
+                if (refreshed.isPresent()) {
+                    applySisTokens(session.serverUrl(), refreshed.get());
+                    log.info("SIS access token refreshed for {}", session.serverUrl());
+                    return;
+                }
+                if (session.expiresAt().isAfter(Instant.now())) {
+                    log.warn("SIS token refresh failed, retrying in {}s", REFRESH_RETRY_SECONDS);
+                    scheduleRefresh(REFRESH_RETRY_SECONDS);
+                } else {
+                    log.warn("SIS access token expired and could not be refreshed");
+                }
+            }
+        } catch (Exception e) {
+            log.error("Error refreshing SIS token", e);
+        }
+    }
+
+    private void notifySisTokenListeners(String serverUrl, String accessToken) {
+        for (SisTokenListener listener : sisTokenListeners) {
+            try {
+                listener.onSisTokenChanged(serverUrl, accessToken);
+            } catch (Exception e) {
+                log.warn("SIS token listener failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Work out when the SIS access token expires: the server's expiresIn if given, otherwise
+     * the JWT exp claim (read without verification - we don't hold the SIS signing key),
+     * otherwise the configured default lifetime.
+     */
+    private Instant determineExpiry(SisApiClient.SisAuthResult authResult) {
+        if (authResult.getExpiresInSeconds() != null && authResult.getExpiresInSeconds() > 0) {
+            return Instant.now().plusSeconds(authResult.getExpiresInSeconds());
+        }
+
+        String token = authResult.getAccessToken();
+        if (token != null) {
+            String[] parts = token.split("\\.");
+            if (parts.length >= 2) {
+                try {
+                    byte[] payload = Base64.getUrlDecoder().decode(parts[1]);
+                    JsonNode claims = objectMapper.readTree(new String(payload, StandardCharsets.UTF_8));
+                    if (claims.has("exp")) {
+                        return Instant.ofEpochSecond(claims.get("exp").asLong());
+                    }
+                } catch (Exception e) {
+                    log.debug("SIS access token is not a readable JWT: {}", e.getMessage());
+                }
+            }
+        }
+
+        return Instant.now().plus(Duration.ofMinutes(defaultSisTokenMinutes));
+    }
+}
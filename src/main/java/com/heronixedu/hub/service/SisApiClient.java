@@ -65,8 +65,7 @@ public class SisApiClient {
         String authUrl = baseUrl + "/api/auth/login";
 
         try {
-            NetworkConfig config = networkConfigService.getActiveConfig();
-            HttpURLConnection connection = createConnection(authUrl, config);
+            HttpURLConnection connection = createConnection(authUrl);
 
             connection.setRequestMethod("POST");
             connection.setRequestProperty("Content-Type", "application/json");
@@ -91,24 +90,7 @@ public class SisApiClient {
                 JsonNode root = objectMapper.readTree(response);
 
                 if (root.has("success") && root.get("success").asBoolean()) {
-                    JsonNode data = root.get("data");
-
-                    SisAuthResult result = new SisAuthResult();
-                    result.setAccessToken(data.has("accessToken") ? data.get("accessToken").asText() : null);
-                    result.setRefreshToken(data.has("refreshToken") ? data.get("refreshToken").asText() : null);
-                    result.setUserId(data.has("userId") ? data.get("userId").asText() : username);
-
-                    // Parse roles
-                    if (data.has("roles") && data.get("roles").isArray()) {
-                        List<String> roles = new ArrayList<>();
-                        for (JsonNode roleNode : data.get("roles")) {
-                            roles.add(roleNode.asText());
-                        }
-                        result.setRoles(roles);
-                    }
-
-                    result.setServerUrl(baseUrl);
-                    return Optional.of(result);
+                    return Optional.of(parseAuthResult(root.get("data"), username, baseUrl));
                 }
             } else if (responseCode == 401) {
                 // Invalid credentials - don't try other servers
@@ -126,6 +108,75 @@ public class SisApiClient {
         return Optional.empty();
     }
 
+    /**
+     * Exchange a refresh token for a new access token at the server that issued it.
+     * @return new auth result (refresh token may be rotated), empty if the refresh was rejected
+     */
+    public Optional<SisAuthResult> refreshAccessToken(String serverUrl, String refreshToken) {
+        String refreshUrl = serverUrl + "/api/auth/refresh";
+
+        try {
+            HttpURLConnection connection = createConnection(refreshUrl);
+
+            connection.setRequestMethod("POST");
+            connection.setRequestProperty("Content-Type", "application/json");
+            connection.setDoOutput(true);
+            connection.setConnectTimeout(5000);
+            connection.setReadTimeout(10000);
+
+            String jsonBody = objectMapper.writeValueAsString(java.util.Map.of("refreshToken", refreshToken));
+
+            try (OutputStream os = connection.getOutputStream()) {
+                os.write(jsonBody.getBytes(StandardCharsets.UTF_8));
+            }
+
+            int responseCode = connection.getResponseCode();
+
+            if (responseCode == 200) {
+                String response = new String(connection.getInputStream().readAllBytes(), StandardCharsets.UTF_8);
+                JsonNode root = objectMapper.readTree(response);
+                connection.disconnect();
+
+                if (root.has("success") && root.get("success").asBoolean()) {
+                    SisAuthResult result = parseAuthResult(root.get("data"), null, serverUrl);
+                    if (result.getRefreshToken() == null) {
+                        // Server did not rotate the refresh token - keep using the old one
+                        result.setRefreshToken(refreshToken);
+                    }
+                    return Optional.ofNullable(result.getAccessToken() != null ? result : null);
+                }
+            } else {
+                log.debug("SIS token refresh rejected at {}: HTTP {}", serverUrl, responseCode);
+                connection.disconnect();
+            }
+
+        } catch (Exception e) {
+            log.debug("Error refreshing SIS token at {}: {}", serverUrl, e.getMessage());
+        }
+
+        return Optional.empty();
+    }
+
+    private SisAuthResult parseAuthResult(JsonNode data, String username, String baseUrl) {
+        SisAuthResult result = new SisAuthResult();
+        result.setAccessToken(data.has("accessToken") ? data.get("accessToken").asText() : null);
+        result.setRefreshToken(data.has("refreshToken") ? data.get("refreshToken").asText() : null);
+        result.setUserId(data.has("userId") ? data.get("userId").asText() : username);
+        result.setExpiresInSeconds(data.has("expiresIn") ? data.get("expiresIn").asLong() : null);
+
+        // Parse roles
+        if (data.has("roles") && data.get("roles").isArray()) {
+            List<String> roles = new ArrayList<>();
+            for (JsonNode roleNode : data.get("roles")) {
+                roles.add(roleNode.asText());
+            }
+            result.setRoles(roles);
+        }
+
+        result.setServerUrl(baseUrl);
+        return result;
+    }
+
     /**
      * Get user details from SIS server using access token
      */
@@ -133,8 +184,7 @@ public class SisApiClient {
         String userUrl = serverUrl + "/api/auth/me";
 
         try {
-            NetworkConfig config = networkConfigService.getActiveConfig();
-            HttpURLConnection connection = createConnection(userUrl, config);
+            HttpURLConnection connection = createConnection(userUrl);
 
             connection.setRequestMethod("GET");
             connection.setRequestProperty("Authorization", "Bearer " + accessToken);
@@ -195,8 +245,7 @@ public class SisApiClient {
     public boolean testSisConnection(String baseUrl) {
         try {
             String healthUrl = baseUrl + "/actuator/health";
-            NetworkConfig config = networkConfigService.getActiveConfig();
-            HttpURLConnection connection = createConnection(healthUrl, config);
+            HttpURLConnection connection = createConnection(healthUrl);
 
             connection.setRequestMethod("GET");
             connection.setConnectTimeout(3000);
@@ -213,13 +262,12 @@ public class SisApiClient {
         }
     }
 
-    private HttpURLConnection createConnection(String urlString, NetworkConfig config) throws Exception {
+    private HttpURLConnection createConnection(String urlString) throws Exception {
         URL url = new URL(urlString);
         HttpURLConnection connection;
 
-        if (config.getProxyEnabled() != null && config.getProxyEnabled()
-                && config.getProxyHost() != null && !config.getProxyHost().isEmpty()) {
-            Proxy proxy = networkConfigService.getConfiguredProxy(config);
+        Proxy proxy = networkConfigService.getActiveProxy();
+        if (proxy != Proxy.NO_PROXY) {
             connection = (HttpURLConnection) url.openConnection(proxy);
         } else {
             connection = (HttpURLConnection) url.openConnection();
@@ -232,7 +280,7 @@ public class SisApiClient {
         List<String> urls = new ArrayList<>();
 
         // First try from network config
-        NetworkConfig config = networkConfigService.getActiveConfig();
+        NetworkConfig config = networkConfigService.getActiveNetwork().config();
 
         if (config.getCloudServerUrl() != null && !config.getCloudServerUrl().isEmpty()) {
             urls.add(config.getCloudServerUrl());
@@ -274,8 +322,7 @@ public class SisApiClient {
         String url = serverUrl + "/api/secure-sync/devices/register";
 
         try {
-            NetworkConfig config = networkConfigService.getActiveConfig();
-            HttpURLConnection connection = createConnection(url, config);
+            HttpURLConnection connection = createConnection(url);
 
             connection.setRequestMethod("POST");
             connection.setRequestProperty("Content-Type", "application/json");
@@ -323,8 +370,7 @@ public class SisApiClient {
         String url = serverUrl + "/api/secure-sync/devices/" + deviceId + "/status";
 
         try {
-            NetworkConfig config = networkConfigService.getActiveConfig();
-            HttpURLConnection connection = createConnection(url, config);
+            HttpURLConnection connection = createConnection(url);
 
             connection.setRequestMethod("GET");
             connection.setRequestProperty("Authorization", "Bearer " + accessToken);
@@ -362,8 +408,7 @@ public class SisApiClient {
         List<DeviceSummary> devices = new ArrayList<>();
 
         try {
-            NetworkConfig config = networkConfigService.getActiveConfig();
-            HttpURLConnection connection = createConnection(url, config);
+            HttpURLConnection connection = createConnection(url);
 
             connection.setRequestMethod("GET");
             connection.setRequestProperty("Authorization", "Bearer " + accessToken);
@@ -411,8 +456,7 @@ public class SisApiClient {
         String url = serverUrl + "/api/secure-sync/devices/" + deviceId + "/approve";
 
         try {
-            NetworkConfig config = networkConfigService.getActiveConfig();
-            HttpURLConnection connection = createConnection(url, config);
+            HttpURLConnection connection = createConnection(url);
 
             connection.setRequestMethod("POST");
             connection.setRequestProperty("Content-Type", "application/json");
@@ -451,8 +495,7 @@ public class SisApiClient {
         String url = serverUrl + "/api/secure-sync/devices/" + deviceId + "/reject";
 
         try {
-            NetworkConfig config = networkConfigService.getActiveConfig();
-            HttpURLConnection connection = createConnection(url, config);
+            HttpURLConnection connection = createConnection(url);
 
             connection.setRequestMethod("POST");
             connection.setRequestProperty("Content-Type", "application/json");
@@ -516,6 +559,7 @@ public class SisApiClient {
         private String userId;
         private List<String> roles;
         private String serverUrl;
+        private Long expiresInSeconds;
 
         public String getAccessToken() { return accessToken; }
         public void setAccessToken(String accessToken) { this.accessToken = accessToken; }
@@ -527,6 +571,8 @@ public class SisApiClient {
         public void setRoles(List<String> roles) { this.roles = roles; }
         public String getServerUrl() { return serverUrl; }
         public void setServerUrl(String serverUrl) { this.serverUrl = serverUrl; }
+        public Long getExpiresInSeconds() { return expiresInSeconds; }
+        public void setExpiresInSeconds(Long expiresInSeconds) { this.expiresInSeconds = expiresInSeconds; }
     }
 
     public static class SisUserInfo {
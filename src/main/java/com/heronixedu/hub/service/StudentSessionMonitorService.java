@@ -1,17 +1,25 @@
 package com.heronixedu.hub.service;
 
+import com.heronixedu.hub.model.AppAllowlist;
 import com.heronixedu.hub.model.User;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.util.Map;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 
 /**
  * Background service that monitors classroom session status for students.
  * Handles screen freezing, app restrictions, and attention alerts.
+ *
+ * Teacher actions arrive over the session's push channel (ClassroomPushService) when
+ * the teacher's Hub is reachable; the database is then only polled as a slow fallback.
+ * Without a push channel the status is polled every tick as before.
  */
 @Service
 @RequiredArgsConstructor
@@ -20,8 +28,24 @@ public class StudentSessionMonitorService {
 
     private final ClassroomControlService classroomControlService;
     private final ScreenFreezeService screenFreezeService;
+    private final ClassroomPushService pushService;
+    private final ClassroomThumbnailService thumbnailService;
+    private final ProcessGuardService processGuardService;
 
-    private ScheduledExecutorService scheduler;
+    // Programs the process guard terminates while a session restricts apps
+    @Value("${heronix.process-guard.classroom-blocked-processes:}")
+    private String classroomBlockedProcesses;
+
+    private static final long TICK_SECONDS = 2;
+    private static final long FALLBACK_POLL_MILLIS = 30_000;
+    private static final long HEARTBEAT_MILLIS = 10_000;
+
+    private volatile ScheduledExecutorService scheduler;
+    private volatile ClassroomPushService.Subscription subscription;
+    // Rebuilt only when the session's restriction changes; read lock-free by isAppAllowed
+    private volatile AppAllowlist allowlist = AppAllowlist.UNRESTRICTED;
+    private long lastDbCheckMillis = 0;
+    private long lastHeartbeatMillis = 0;
     private User currentStudent;
     private boolean isMonitoring = false;
     private String lastFreezeState = "unfrozen";
@@ -38,9 +62,14 @@ public class StudentSessionMonitorService {
 
         this.currentStudent = student;
         this.isMonitoring = true;
+        this.lastDbCheckMillis = 0;
+        this.lastHeartbeatMillis = 0;
+
+        // Build the freeze overlays now so a freeze only has to show them
+        screenFreezeService.prewarm();
 
         scheduler = Executors.newSingleThreadScheduledExecutor();
-        scheduler.scheduleAtFixedRate(this::checkSessionStatus, 0, 2, TimeUnit.SECONDS);
+        scheduler.scheduleAtFixedRate(this::checkSessionStatus, 0, TICK_SECONDS, TimeUnit.SECONDS);
 
         log.info("Started session monitoring for student: {}", student.getUsername());
     }
@@ -50,6 +79,8 @@ public class StudentSessionMonitorService {
      */
     public void stopMonitoring() {
         isMonitoring = false;
+        closeSubscription();
+        updateAllowlist(false, null);
 
         if (scheduler != null && !scheduler.isShutdown()) {
             scheduler.shutdown();
@@ -71,18 +102,29 @@ public class StudentSessionMonitorService {
 
     /**
      * Check session status and apply restrictions.
+     * While the push channel is live this only sends heartbeats, with a DB check every FALLBACK_POLL_MILLIS.
      */
     private void checkSessionStatus() {
         if (!isMonitoring || currentStudent == null) {
             return;
         }
 
+        long now = System.currentTimeMillis();
+        ClassroomPushService.Subscription sub = subscription;
+        if (sub != null && sub.isConnected() && now - lastDbCheckMillis < FALLBACK_POLL_MILLIS) {
+            sendHeartbeatIfDue(now);
+            return;
+        }
+        lastDbCheckMillis = now;
+
         try {
             // Send heartbeat and get current status
             var statusOpt = classroomControlService.getStudentSessionStatus(currentStudent);
 
             if (statusOpt.isEmpty()) {
                 // Not in a session - ensure unfrozen
+                closeSubscription();
+                updateAllowlist(false, null);
                 if (screenFreezeService.isFrozen()) {
                     screenFreezeService.unfreezeScreen();
                     lastFreezeState = "unfrozen";
@@ -91,40 +133,25 @@ public class StudentSessionMonitorService {
             }
 
             var status = statusOpt.get();
+            updateSubscription(status);
+            updateAllowlist(status.appsRestricted(), status.allowedApps());
 
             // Send heartbeat
-            try {
-                String currentApp = getCurrentActiveApp();
-                classroomControlService.heartbeat(currentStudent, currentApp);
-            } catch (Exception e) {
-                log.debug("Heartbeat failed: {}", e.getMessage());
-            }
+            sendHeartbeatIfDue(now);
 
             // Handle screen freeze
-            if (status.screenFrozen() && !"frozen".equals(lastFreezeState)) {
-                screenFreezeService.freezeScreen(status.freezeMessage(), status.teacherName());
-                lastFreezeState = "frozen";
-                log.info("Screen frozen by teacher: {}", status.teacherName());
-            } else if (!status.screenFrozen() && "frozen".equals(lastFreezeState)) {
-                screenFreezeService.unfreezeScreen();
-                lastFreezeState = "unfrozen";
-                log.info("Screen unfrozen by teacher");
-            }
+            applyFreezeState(status.screenFrozen(), status.freezeMessage(), status.teacherName());
 
             // Handle attention request
             if (status.attentionRequested() && !lastAttentionState) {
-                screenFreezeService.showAttentionAlert();
-                classroomControlService.clearAttentionRequest(currentStudent);
-                lastAttentionState = true;
+                showAttention();
             } else if (!status.attentionRequested()) {
                 lastAttentionState = false;
             }
 
             // Handle private message
             if (status.privateMessage() != null && !status.privateMessage().equals(lastPrivateMessage)) {
-                screenFreezeService.showPrivateMessage(status.privateMessage(), status.teacherName());
-                classroomControlService.clearPrivateMessage(currentStudent);
-                lastPrivateMessage = status.privateMessage();
+                showPrivateMessage(status.privateMessage(), status.teacherName());
             } else if (status.privateMessage() == null) {
                 lastPrivateMessage = null;
             }
@@ -134,6 +161,147 @@ public class StudentSessionMonitorService {
         }
     }
 
+    private void sendHeartbeatIfDue(long now) {
+        if (now - lastHeartbeatMillis < HEARTBEAT_MILLIS) {
+            return;
+        }
+        try {
+            String currentApp = getCurrentActiveApp();
+            // Prefer the teacher Hub's in-memory presence table; write the DB directly only without it
+            ClassroomPushService.Subscription sub = subscription;
+            if (sub == null || !sub.isConnected() || !sub.sendHeartbeat(currentApp)) {
+                classroomControlService.heartbeat(currentStudent, currentApp);
+            }
+            lastHeartbeatMillis = now;
+        } catch (Exception e) {
+            log.debug("Heartbeat failed: {}", e.getMessage());
+        }
+    }
+
+    private void updateAllowlist(boolean restricted, String allowedApps) {
+        if (!allowlist.isSameAs(restricted, allowedApps)) {
+            boolean wasRestricted = allowlist.isRestricted();
+            allowlist = AppAllowlist.of(restricted, allowedApps);
+            if (restricted != wasRestricted) {
+                processGuardService.applyPolicy(ProcessGuardService.SOURCE_CLASSROOM, restricted
+                        ? ProcessGuardService.ProcessPolicy.of(classroomBlockedProcesses, null)
+                        : null);
+            }
+            log.debug("App restriction updated: restricted={}, allowed={}", restricted, allowlist.getAllowedCodes());
+        }
+    }
+
+    private void applyFreezeState(boolean frozen, String message, String teacherName) {
+        if (frozen && !"frozen".equals(lastFreezeState)) {
+            screenFreezeService.freezeScreen(message, teacherName);
+            lastFreezeState = "frozen";
+            log.info("Screen frozen by teacher: {}", teacherName);
+        } else if (!frozen && "frozen".equals(lastFreezeState)) {
+            screenFreezeService.unfreezeScreen();
+            lastFreezeState = "unfrozen";
+            log.info("Screen unfrozen by teacher");
+        }
+    }
+
+    private void showAttention() {
+        screenFreezeService.showAttentionAlert();
+        classroomControlService.clearAttentionRequest(currentStudent);
+        lastAttentionState = true;
+    }
+
+    private void showPrivateMessage(String message, String teacherName) {
+        screenFreezeService.showPrivateMessage(message, teacherName);
+        classroomControlService.clearPrivateMessage(currentStudent);
+        lastPrivateMessage = message;
+    }
+
+    // ============== PUSH CHANNEL ==============
+
+    /**
+     * Subscribe to the session's push channel, or switch endpoints if the teacher's Hub moved.
+     */
+    private void updateSubscription(ClassroomControlService.StudentSessionStatus status) {
+        String endpoint = status.controlEndpoint();
+        ClassroomPushService.Subscription current = subscription;
+
+        if (current != null && current.getEndpoint().equals(endpoint)) {
+            return;
+        }
+        closeSubscription();
+        if (endpoint == null || endpoint.isEmpty()) {
+            return;
+        }
+
+        subscription = pushService.subscribe(endpoint, status.sessionCode(), currentStudent.getUsername(),
+                status.pushToken(), new ClassroomPushService.EventListener() {
+                    @Override
+                    public void onEvent(ClassroomPushService.ClassroomEvent event) {
+                        runOnMonitorThread(() -> handlePushEvent(event));
+                    }
+
+                    @Override
+                    public void onResync() {
+                        runOnMonitorThread(() -> {
+                            lastDbCheckMillis = 0;
+                            checkSessionStatus();
+                        });
+                    }
+                });
+        thumbnailService.startStreaming(subscription);
+        log.info("Subscribed to classroom push channel at {}", endpoint);
+    }
+
+    /**
+     * Apply a teacher action pushed from the teacher's Hub. Runs on the monitor thread.
+     */
+    private void handlePushEvent(ClassroomPushService.ClassroomEvent event) {
+        if (!isMonitoring || currentStudent == null || !event.isFor(currentStudent.getUsername())) {
+            return;
+        }
+
+        Map<String, String> data = event.data();
+        switch (event.type()) {
+            case ClassroomPushService.EVENT_FREEZE_STATE ->
+                    applyFreezeState(Boolean.parseBoolean(data.get("frozen")),
+                            data.get("message"), data.get("teacherName"));
+            case ClassroomPushService.EVENT_ATTENTION -> showAttention();
+            case ClassroomPushService.EVENT_MESSAGE -> {
+                String message = data.get("message");
+                if (message != null && !message.equals(lastPrivateMessage)) {
+                    showPrivateMessage(message, data.get("teacherName"));
+                }
+            }
+            case ClassroomPushService.EVENT_RESTRICTIONS ->
+                    updateAllowlist(Boolean.parseBoolean(data.get("restricted")), data.get("allowedApps"));
+            default -> {
+                // Blocking and session end: re-read the authoritative state now
+                lastDbCheckMillis = 0;
+                checkSessionStatus();
+            }
+        }
+    }
+
+    private void runOnMonitorThread(Runnable action) {
+        ScheduledExecutorService executor = scheduler;
+        if (executor == null || executor.isShutdown()) {
+            return;
+        }
+        try {
+            executor.execute(action);
+        } catch (RejectedExecutionException e) {
+            log.debug("Monitor stopped, dropping push event");
+        }
+    }
+
+    private void closeSubscription() {
+        ClassroomPushService.Subscription current = subscription;
+        subscription = null;
+        if (current != null) {
+            thumbnailService.stopStreaming();
+            current.close();
+        }
+    }
+
     /**
      * Get the currently active application name (simplified implementation).
      */
@@ -165,27 +333,13 @@ public class StudentSessionMonitorService {
 
     /**
      * Check if an app is allowed to launch.
+     * Answered from the last known session restriction without touching the database;
+     * a restricted session with no allowed apps allows nothing.
      */
     public boolean isAppAllowed(String appCode) {
         if (currentStudent == null) {
             return true;
         }
-
-        var status = classroomControlService.getStudentSessionStatus(currentStudent);
-        if (status.isEmpty()) {
-            return true;
-        }
-
-        var sessionStatus = status.get();
-        if (!sessionStatus.appsRestricted()) {
-            return true;
-        }
-
-        String allowedApps = sessionStatus.allowedApps();
-        if (allowedApps == null || allowedApps.isEmpty()) {
-            return false; // Restricted but no apps allowed
-        }
-
-        return allowedApps.toLowerCase().contains(appCode.toLowerCase());
+        return allowlist.allows(appCode);
     }
 }
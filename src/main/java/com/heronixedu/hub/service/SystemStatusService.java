@@ -1,6 +1,5 @@
 package com.heronixedu.hub.service;
 
-import com.heronixedu.hub.model.NetworkConfig;
 import com.heronixedu.hub.repository.ProductRepository;
 import com.heronixedu.hub.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
@@ -9,13 +8,14 @@ import org.springframework.stereotype.Service;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
+import java.util.concurrent.TimeUnit;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class SystemStatusService {
 
-    private final NetworkConfigService networkConfigService;
+    private final ConnectivityMonitorService connectivityMonitorService;
     private final ProductRepository productRepository;
     private final UserRepository userRepository;
     private final DataSource dataSource;
@@ -26,12 +26,12 @@ public class SystemStatusService {
         // Database status
         status.setDatabaseOnline(checkDatabaseConnection());
 
-        // Server connectivity
-        NetworkConfig config = networkConfigService.getActiveConfig();
-        NetworkConfigService.ServerConnectionResult serverStatus = networkConfigService.testConnection(config);
-        status.setLocalServerAvailable(serverStatus.isLocalAvailable());
-        status.setCloudServerAvailable(serverStatus.isCloudAvailable());
-        status.setServerType(config.getServerType().getDisplayName());
+        // Server connectivity (latest result of the shared monitor, no probe of our own)
+        ConnectivityMonitorService.ConnectivityStatus serverStatus =
+                connectivityMonitorService.awaitStatus(10, TimeUnit.SECONDS);
+        status.setLocalServerAvailable(serverStatus.localAvailable());
+        status.setCloudServerAvailable(serverStatus.cloudAvailable());
+        status.setServerType(serverStatus.serverType().getDisplayName());
 
         // Statistics
         status.setTotalUsers(userRepository.count());
@@ -5,14 +5,24 @@ import com.heronixedu.hub.model.User;
 import com.heronixedu.hub.model.enums.InstallerType;
 import com.heronixedu.hub.model.enums.ThirdPartyAppCategory;
 import com.heronixedu.hub.repository.ThirdPartyAppRepository;
+import com.heronixedu.hub.repository.ThirdPartyAppSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service for managing the third-party software catalog.
@@ -25,6 +35,7 @@ public class ThirdPartyAppService {
 
     private final ThirdPartyAppRepository appRepository;
     private final AuditLogService auditLogService;
+    private final CatalogSearchService catalogSearchService;
 
     /**
      * Get all applications in the catalog.
@@ -62,13 +73,48 @@ public class ThirdPartyAppService {
     }
 
     /**
-     * Search for applications by name, publisher, or tags.
+     * Search for applications by name, publisher, tags or description, best match first.
      */
     public List<ThirdPartyApp> searchApps(String searchTerm, boolean approvedOnly) {
-        if (approvedOnly) {
-            return appRepository.searchApprovedApps(searchTerm);
+        return catalogSearchService.searchApps(searchTerm, approvedOnly);
+    }
+
+    /**
+     * One page of the admin software table. Without a search term the page is sorted by name;
+     * with one, the search index ranks the matches and only the page's rows are loaded.
+     */
+    public Page<ThirdPartyAppSummary> getAppSummaries(String searchTerm, ThirdPartyAppCategory category,
+                                                      boolean approvedOnly, Pageable pageable) {
+        if (searchTerm == null || searchTerm.isBlank()) {
+            Pageable byName = pageable.getSort().isSorted() ? pageable
+                    : PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("appName"));
+            return appRepository.findSummaries(category, approvedOnly, byName);
+        }
+
+        // Category and approval are filtered on the current rows, not on the index
+        List<Long> ranked = catalogSearchService.searchAppIds(searchTerm);
+        if (ranked.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, 0);
         }
-        return appRepository.searchAllApps(searchTerm);
+        Map<Long, ThirdPartyAppSummary> byId = appRepository.findSummariesByIds(ranked, category, approvedOnly).stream()
+                .collect(Collectors.toMap(ThirdPartyAppSummary::getId, Function.identity()));
+        List<ThirdPartyAppSummary> matches = new ArrayList<>(byId.size());
+        for (Long id : ranked) {
+            ThirdPartyAppSummary row = byId.get(id);
+            if (row != null) {
+                matches.add(row);
+            }
+        }
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        List<ThirdPartyAppSummary> rows = matches.subList(from, Math.min(from + pageable.getPageSize(), matches.size()));
+        return new PageImpl<>(List.copyOf(rows), pageable, matches.size());
+    }
+
+    /**
+     * Pending (unapproved) applications, displayed columns only.
+     */
+    public List<ThirdPartyAppSummary> getPendingAppSummaries() {
+        return appRepository.findSummariesByIsApprovedFalseOrderByCreatedAtDesc();
     }
 
     /**
@@ -106,6 +152,7 @@ public class ThirdPartyAppService {
         app.setIsInstalled(false);
 
         ThirdPartyApp saved = appRepository.save(app);
+        catalogSearchService.onAppSaved(saved);
         auditLogService.logThirdPartyAppAdd(addedBy, saved,
                 "Added " + app.getAppName() + " to software catalog");
 
@@ -120,6 +167,7 @@ public class ThirdPartyAppService {
     public ThirdPartyApp updateApp(ThirdPartyApp app, User updatedBy) {
         app.setLastUpdated(LocalDateTime.now());
         ThirdPartyApp saved = appRepository.save(app);
+        catalogSearchService.onAppSaved(saved);
 
         auditLogService.log(
                 com.heronixedu.hub.model.enums.AuditAction.THIRD_PARTY_APP_UPDATE,
@@ -143,6 +191,7 @@ public class ThirdPartyAppService {
         app.setApprovedAt(LocalDateTime.now());
 
         ThirdPartyApp saved = appRepository.save(app);
+        catalogSearchService.onAppSaved(saved);
         auditLogService.logThirdPartyAppApprove(approvedBy, saved, true,
                 "Approved " + app.getAppName() + " for deployment");
 
@@ -163,6 +212,7 @@ public class ThirdPartyAppService {
         app.setApprovedAt(null);
 
         ThirdPartyApp saved = appRepository.save(app);
+        catalogSearchService.onAppSaved(saved);
         auditLogService.logThirdPartyAppApprove(revokedBy, saved, false,
                 "Revoked approval for " + app.getAppName());
 
@@ -188,6 +238,7 @@ public class ThirdPartyAppService {
                 "Removed " + app.getAppName() + " from catalog");
 
         appRepository.delete(app);
+        catalogSearchService.onAppRemoved(appId);
         log.info("Removed third-party app from catalog: {} by {}", app.getAppName(), removedBy.getUsername());
     }
 
@@ -31,6 +31,7 @@ public class ThirdPartyInstallerService {
     private final DigitalSignatureService signatureService;
     private final DownloadSecurityService downloadSecurityService;
     private final VirusScanService virusScanService;
+    private final ExecutableIndexService executableIndexService;
 
     private static final String INSTALL_BASE_PATH = System.getProperty("user.home") +
             File.separator + ".heronix" + File.separator + "third-party";
@@ -190,6 +191,7 @@ public class ThirdPartyInstallerService {
                     app.setInstalledAt(LocalDateTime.now());
                     app.setCurrentVersion(app.getLatestVersion());
                     appRepository.save(app);
+                    executableIndexService.onInstalled(app);
 
                     // Cleanup downloaded installer
                     Files.deleteIfExists(installerPath);
@@ -252,6 +254,7 @@ public class ThirdPartyInstallerService {
                     app.setIsInstalled(false);
                     app.setInstalledAt(null);
                     appRepository.save(app);
+                    executableIndexService.onUninstalled(app);
 
                     updateProgress(100, 100);
                     progressCallback.accept(1.0);
@@ -306,13 +309,12 @@ public class ThirdPartyInstallerService {
     }
 
     private void downloadFromHttp(String url, Path destination, ProgressCallback progressCallback) throws Exception {
-        var config = networkConfigService.getActiveConfig();
+        var proxy = networkConfigService.getActiveProxy();
         var uri = java.net.URI.create(url);
         java.net.HttpURLConnection connection;
 
-        if (config.getProxyEnabled() && config.getProxyHost() != null) {
-            connection = (java.net.HttpURLConnection) uri.toURL().openConnection(
-                    networkConfigService.getConfiguredProxy(config));
+        if (proxy != java.net.Proxy.NO_PROXY) {
+            connection = (java.net.HttpURLConnection) uri.toURL().openConnection(proxy);
         } else {
             connection = (java.net.HttpURLConnection) uri.toURL().openConnection();
         }
@@ -2,6 +2,7 @@ package com.heronixedu.hub.service;
 
 import com.heronixedu.hub.model.User;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import lombok.extern.slf4j.Slf4j;
@@ -35,6 +36,9 @@ public class TokenService {
 
     private SecretKey secretKey;
 
+    // Built once per key; JwtParser is immutable and thread-safe
+    private volatile JwtParser parser;
+
     /**
      * Generate JWT token for authenticated user
      */
@@ -113,11 +117,26 @@ public class TokenService {
      * Validate token and extract user information
      */
     public User validateToken(String token) {
+        Claims claims = parseClaims(token);
+        if (claims == null) {
+            return null;
+        }
+        User user = toUser(claims);
+        log.info("Token validated for user: {}", user.getUsername());
+        return user;
+    }
+
+    /**
+     * Verify the token signature and return its claims, or null if invalid or expired.
+     * Callers that need to keep the session around should cache the result rather than
+     * re-verifying on every check (see SessionManagerService).
+     */
+    public Claims parseClaims(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
         try {
-            SecretKey key = getOrCreateSecretKey();
-            Claims claims = Jwts.parser()
-                    .verifyWith(key)
-                    .build()
+            Claims claims = getParser()
                     .parseSignedClaims(token)
                     .getPayload();
 
@@ -126,21 +145,25 @@ public class TokenService {
                 log.warn("Token has expired");
                 return null;
             }
-
-            User user = new User();
-            user.setId(claims.get("userId", Long.class));
-            user.setUsername(claims.getSubject());
-            user.setFullName(claims.get("fullName", String.class));
-            user.setRole(claims.get("role", String.class));
-
-            log.info("Token validated for user: {}", user.getUsername());
-            return user;
+            return claims;
         } catch (Exception e) {
             log.error("Error validating token", e);
             return null;
         }
     }
 
+    /**
+     * Build a detached User from validated token claims
+     */
+    public User toUser(Claims claims) {
+        User user = new User();
+        user.setId(claims.get("userId", Long.class));
+        user.setUsername(claims.getSubject());
+        user.setFullName(claims.get("fullName", String.class));
+        user.setRole(claims.get("role", String.class));
+        return user;
+    }
+
     /**
      * Delete token file (logout)
      */
@@ -157,6 +180,15 @@ public class TokenService {
         }
     }
 
+    private JwtParser getParser() {
+        JwtParser p = parser;
+        if (p == null) {
+            p = Jwts.parser().verifyWith(getOrCreateSecretKey()).build();
+            parser = p;
+        }
+        return p;
+    }
+
     /**
      * Get or create secret key for JWT signing
      */
@@ -5,9 +5,11 @@ import com.heronixedu.hub.model.User;
 import com.heronixedu.hub.model.enums.AuditAction;
 import com.heronixedu.hub.repository.RoleRepository;
 import com.heronixedu.hub.repository.UserRepository;
+import com.heronixedu.hub.repository.UserSummary;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,12 +25,24 @@ public class UserManagementService {
     private final UserRepository userRepository;
     private final RoleRepository roleRepository;
     private final AuditLogService auditLogService;
-    private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder(10);
+    private final PasswordHashingService passwordHashingService;
 
     public List<User> getAllUsers() {
         return userRepository.findAll();
     }
 
+    /**
+     * One page of the users table, optionally filtered by username or full name.
+     */
+    public Page<UserSummary> getUserSummaries(String search, Pageable pageable) {
+        if (search == null || search.isBlank()) {
+            return userRepository.findSummariesByOrderByUsernameAsc(pageable);
+        }
+        String term = search.trim();
+        return userRepository.findSummariesByUsernameContainingIgnoreCaseOrFullNameContainingIgnoreCaseOrderByUsernameAsc(
+                term, term, pageable);
+    }
+
     public Optional<User> getUserById(Long id) {
         return userRepository.findById(id);
     }
@@ -49,7 +63,7 @@ public class UserManagementService {
 
         User user = new User();
         user.setUsername(username);
-        user.setPasswordHash(passwordEncoder.encode(password));
+        user.setPasswordHash(passwordHashingService.encode(password));
         user.setFullName(fullName);
         user.setEmail(email);
         user.setRole(role.getRoleName());
@@ -139,7 +153,7 @@ public class UserManagementService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found: " + userId));
 
-        user.setPasswordHash(passwordEncoder.encode(newPassword));
+        user.setPasswordHash(passwordHashingService.encode(newPassword));
         userRepository.save(user);
 
         auditLogService.logUserChange(changedBy, user, AuditAction.USER_UPDATE, "Password changed");
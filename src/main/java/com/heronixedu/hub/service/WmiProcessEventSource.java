@@ -0,0 +1,103 @@
+package com.heronixedu.hub.service;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Windows process event source backed by WMI process-creation events.
+ *
+ * Runs a long-lived PowerShell subscriber that prints "pid|name" for each new process,
+ * so the guard does no work at all while nothing starts. Processes already running are
+ * reported once, on the reader thread, before the first event; start() itself only launches
+ * the subscriber (it can be called from the FX thread).
+ */
+@Slf4j
+class WmiProcessEventSource implements ProcessEventSource {
+
+    private static final String SCRIPT = String.join("\n",
+            "$q = \"SELECT * FROM __InstanceCreationEvent WITHIN 1 WHERE TargetInstance ISA 'Win32_Process'\"",
+            "Register-CimIndicationEvent -Query $q -SourceIdentifier HeronixProcessGuard | Out-Null",
+            "[Console]::Out.WriteLine('READY')",
+            "while ($true) {",
+            "  $e = Wait-Event -SourceIdentifier HeronixProcessGuard",
+            "  $p = $e.SourceEventArgs.NewEvent.TargetInstance",
+            "  [Console]::Out.WriteLine(\"$($p.ProcessId)|$($p.Name)\")",
+            "  [Console]::Out.Flush()",
+            "  Remove-Event -EventIdentifier $e.EventIdentifier",
+            "}");
+
+    private Process subscriber;
+    private Thread readerThread;
+    private volatile boolean stopping;
+
+    static boolean isSupported() {
+        return System.getProperty("os.name", "").toLowerCase().contains("win");
+    }
+
+    @Override
+    public synchronized void start(ProcessStartListener listener, Runnable onFailure) throws IOException {
+        stopping = false;
+        String encoded = Base64.getEncoder().encodeToString(SCRIPT.getBytes(StandardCharsets.UTF_16LE));
+        subscriber = new ProcessBuilder("powershell.exe", "-NoProfile", "-NonInteractive",
+                "-ExecutionPolicy", "Bypass", "-EncodedCommand", encoded)
+                .redirectErrorStream(true)
+                .start();
+
+        Process process = subscriber;
+        readerThread = new Thread(() -> readEvents(process, listener, onFailure), "ProcessGuard-WMI");
+        readerThread.setDaemon(true);
+        readerThread.start();
+    }
+
+    private void readEvents(Process process, ProcessStartListener listener, Runnable onFailure) {
+        // Catch anything that was already running before the subscription existed;
+        // events raised meanwhile wait in the subscriber's output
+        ProcessHandle.allProcesses().forEach(ph -> listener.onProcessStarted(ph.pid(), null));
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int sep = line.indexOf('|');
+                if (sep <= 0) {
+                    if ("READY".equals(line)) {
+                        log.debug("WMI process subscription ready");
+                    }
+                    continue;
+                }
+                try {
+                    listener.onProcessStarted(Long.parseLong(line.substring(0, sep).trim()), line.substring(sep + 1).trim());
+                } catch (NumberFormatException e) {
+                    log.debug("Unexpected WMI output: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            log.debug("WMI reader error: {}", e.getMessage());
+        }
+        if (!stopping) {
+            log.warn("WMI process subscription ended unexpectedly");
+            onFailure.run();
+        }
+    }
+
+    @Override
+    public synchronized void stop() {
+        stopping = true;
+        if (subscriber != null) {
+            subscriber.descendants().forEach(ProcessHandle::destroyForcibly);
+            subscriber.destroyForcibly();
+            subscriber = null;
+        }
+        readerThread = null;
+    }
+
+    @Override
+    public String getName() {
+        return "WMI events";
+    }
+}
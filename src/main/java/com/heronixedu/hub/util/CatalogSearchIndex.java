@@ -0,0 +1,306 @@
+package com.heronixedu.hub.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * In-memory full-text index over catalog items (apps, products).
+ *
+ * Field values are split into lowercase word tokens. Every query word must match a token of
+ * the item, either exactly, as a prefix ("chr" finds "chrome") or inside it ("fox" finds
+ * "firefox", looked up through trigrams of the token vocabulary). Results are ranked by field
+ * weight and match quality, then by the tie-break order. Items are added, replaced and removed
+ * one at a time, so the index follows catalog edits without being rebuilt.
+ *
+ * Thread-safe; queries run concurrently, updates are exclusive.
+ *
+ * @param <K> item key (e.g. database id)
+ * @param <T> item type
+ */
+public class CatalogSearchIndex<K, T> {
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final int GRAM = 3;
+
+    private static final float EXACT_MATCH = 3f;
+    private static final float PREFIX_MATCH = 2f;
+    private static final float INFIX_MATCH = 1f;
+
+    /**
+     * A searchable field and its ranking weight.
+     */
+    public record Field<T>(Function<T, String> value, float weight) {
+    }
+
+    private record Document<T>(T item, String[] values, Set<String> tokens) {
+    }
+
+    private final List<Field<T>> fields;
+    private final Comparator<T> tieBreak;
+
+    private final Map<K, Document<T>> documents = new HashMap<>();
+    // token -> item key -> best field weight of the token in that item
+    private final NavigableMap<String, Map<K, Float>> postings = new TreeMap<>();
+    // trigram -> tokens containing it (for matches inside a word)
+    private final Map<String, Set<String>> grams = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public CatalogSearchIndex(List<Field<T>> fields, Comparator<T> tieBreak) {
+        this.fields = List.copyOf(fields);
+        this.tieBreak = tieBreak;
+    }
+
+    /**
+     * Add or replace an item. Cheap when the indexed field values did not change.
+     */
+    public void put(K key, T item) {
+        String[] values = new String[fields.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = fields.get(i).value().apply(item);
+        }
+
+        lock.writeLock().lock();
+        try {
+            Document<T> previous = documents.get(key);
+            if (previous != null && Arrays.equals(previous.values(), values)) {
+                documents.put(key, new Document<>(item, values, previous.tokens()));
+                return;
+            }
+            if (previous != null) {
+                unindex(key, previous);
+            }
+
+            Set<String> tokens = new HashSet<>();
+            for (int i = 0; i < values.length; i++) {
+                float weight = fields.get(i).weight();
+                for (String token : tokenize(values[i])) {
+                    tokens.add(token);
+                    if (!postings.containsKey(token)) {
+                        addGrams(token);
+                    }
+                    postings.computeIfAbsent(token, t -> new HashMap<>()).merge(key, weight, Math::max);
+                }
+            }
+            documents.put(key, new Document<>(item, values, tokens));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(K key) {
+        lock.writeLock().lock();
+        try {
+            Document<T> previous = documents.remove(key);
+            if (previous != null) {
+                unindex(key, previous);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove every item whose key is not in the given set.
+     */
+    public void retainAll(Set<K> keys) {
+        lock.writeLock().lock();
+        try {
+            for (K key : List.copyOf(documents.keySet())) {
+                if (!keys.contains(key)) {
+                    unindex(key, documents.remove(key));
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            documents.clear();
+            postings.clear();
+            grams.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(K key) {
+        lock.readLock().lock();
+        try {
+            return documents.containsKey(key);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The indexed instance of an item, or null.
+     */
+    public T get(K key) {
+        lock.readLock().lock();
+        try {
+            Document<T> document = documents.get(key);
+            return document != null ? document.item() : null;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Keys of the items matching every word of the query, best match first. Only keys accepted
+     * by the filter are returned. A blank query matches nothing.
+     */
+    public List<K> search(String query, Predicate<? super K> filter) {
+        List<String> words = tokenize(query);
+        if (words.isEmpty()) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            Map<K, Float> scores = null;
+            for (String word : words) {
+                Map<K, Float> wordScores = match(word, scores == null ? filter : scores::containsKey);
+                if (scores == null) {
+                    scores = wordScores;
+                } else {
+                    scores.keySet().retainAll(wordScores.keySet());
+                    scores.replaceAll((key, score) -> score + wordScores.get(key));
+                }
+                if (scores.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            Map<K, Float> ranked = scores;
+            List<K> keys = new ArrayList<>(ranked.keySet());
+            keys.sort(Comparator.<K, Float>comparing(ranked::get).reversed()
+                    .thenComparing(key -> documents.get(key).item(), tieBreak));
+            return keys;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Best score per item for one query word (exact, prefix or infix token match).
+     */
+    private Map<K, Float> match(String word, Predicate<? super K> filter) {
+        Map<K, Float> scores = new HashMap<>();
+
+        // Exact and prefix matches: the vocabulary range starting with the word
+        for (Map.Entry<String, Map<K, Float>> entry
+                : postings.subMap(word, true, word + Character.MAX_VALUE, false).entrySet()) {
+            float quality = entry.getKey().length() == word.length() ? EXACT_MATCH : PREFIX_MATCH;
+            collect(entry.getValue(), quality, filter, scores);
+        }
+
+        // Matches inside a word: tokens sharing all trigrams of the word
+        if (word.length() >= GRAM) {
+            for (String token : tokensContaining(word)) {
+                if (!token.startsWith(word)) {
+                    collect(postings.get(token), INFIX_MATCH, filter, scores);
+                }
+            }
+        }
+        return scores;
+    }
+
+    private void collect(Map<K, Float> weights, float quality, Predicate<? super K> filter, Map<K, Float> scores) {
+        for (Map.Entry<K, Float> entry : weights.entrySet()) {
+            if (filter.test(entry.getKey())) {
+                scores.merge(entry.getKey(), entry.getValue() * quality, Math::max);
+            }
+        }
+    }
+
+    private Set<String> tokensContaining(String word) {
+        Set<String> candidates = null;
+        for (int i = 0; i + GRAM <= word.length(); i++) {
+            Set<String> tokens = grams.get(word.substring(i, i + GRAM));
+            if (tokens == null) {
+                return Set.of();
+            }
+            if (candidates == null) {
+                candidates = new HashSet<>(tokens);
+            } else {
+                candidates.retainAll(tokens);
+            }
+        }
+        if (candidates == null) {
+            return Set.of();
+        }
+        candidates.removeIf(token -> !token.contains(word));
+        return candidates;
+    }
+
+    private void unindex(K key, Document<T> document) {
+        for (String token : document.tokens()) {
+            Map<K, Float> keys = postings.get(token);
+            if (keys != null) {
+                keys.remove(key);
+                if (keys.isEmpty()) {
+                    postings.remove(token);
+                    removeGrams(token);
+                }
+            }
+        }
+    }
+
+    private void addGrams(String token) {
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            grams.computeIfAbsent(token.substring(i, i + GRAM), g -> new HashSet<>()).add(token);
+        }
+    }
+
+    private void removeGrams(String token) {
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            String gram = token.substring(i, i + GRAM);
+            Set<String> tokens = grams.get(gram);
+            if (tokens != null) {
+                tokens.remove(token);
+                if (tokens.isEmpty()) {
+                    grams.remove(gram);
+                }
+            }
+        }
+    }
+
+    private static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+}
@@ -11,6 +11,7 @@ import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.attribute.FileTime;
 import java.util.Date;
 
 /**
@@ -31,6 +32,9 @@ import java.util.Date;
  * }
  *
  * CRITICAL: All products must use the same SECRET_KEY file location for JWT validation.
+ *
+ * Validated tokens are cached until they expire or the token file changes, so repeated
+ * checks only cost a file timestamp lookup instead of a read plus signature verification.
  */
 @Slf4j
 public class TokenReader {
@@ -38,19 +42,21 @@ public class TokenReader {
     private static final String TOKEN_FILE = System.getProperty("user.home") + "/.heronix/auth/token.jwt";
     private static final String SECRET_KEY_FILE = System.getProperty("user.home") + "/.heronix/config/secret.key";
 
+    private static volatile CachedToken cachedToken;
+
+    private record CachedToken(FileTime modified, User user, Date expiration) {
+        boolean isValidFor(FileTime currentModified) {
+            return modified.equals(currentModified) && expiration.after(new Date());
+        }
+    }
+
     /**
      * Check if a valid token exists
      * @return true if a valid token exists, false otherwise
      */
     public static boolean hasValidToken() {
         try {
-            String token = readTokenFromFile();
-            if (token == null || token.isEmpty()) {
-                return false;
-            }
-
-            User user = validateToken(token);
-            return user != null;
+            return getValidatedUser() != null;
 
         } catch (Exception e) {
             log.error("Error checking token validity", e);
@@ -64,12 +70,7 @@ public class TokenReader {
      */
     public static User getUserFromToken() {
         try {
-            String token = readTokenFromFile();
-            if (token == null || token.isEmpty()) {
-                return null;
-            }
-
-            return validateToken(token);
+            return getValidatedUser();
 
         } catch (Exception e) {
             log.error("Error getting user from token", e);
@@ -77,6 +78,40 @@ public class TokenReader {
         }
     }
 
+    /**
+     * Return the user for the current token file, re-validating only when the file changed
+     */
+    private static User getValidatedUser() throws IOException {
+        Path path = Paths.get(TOKEN_FILE);
+        if (!Files.exists(path)) {
+            cachedToken = null;
+            return null;
+        }
+
+        FileTime modified = Files.getLastModifiedTime(path);
+        CachedToken cached = cachedToken;
+        if (cached != null && cached.isValidFor(modified)) {
+            return cached.user();
+        }
+
+        String token = readTokenFromFile();
+        if (token == null || token.isEmpty()) {
+            cachedToken = null;
+            return null;
+        }
+
+        Claims claims = validateClaims(token);
+        if (claims == null) {
+            cachedToken = null;
+            return null;
+        }
+
+        User user = toUser(claims);
+        cachedToken = new CachedToken(modified, user, claims.getExpiration());
+        log.info("Token validated for user: {}", user.getUsername());
+        return user;
+    }
+
     /**
      * Read token from file
      */
@@ -95,9 +130,9 @@ public class TokenReader {
     }
 
     /**
-     * Validate token and extract user information
+     * Validate token and return its claims
      */
-    private static User validateToken(String token) {
+    private static Claims validateClaims(String token) {
         try {
             SecretKey key = loadSecretKey();
             if (key == null) {
@@ -117,15 +152,7 @@ public class TokenReader {
                 return null;
             }
 
-            // Extract user information
-            User user = new User();
-            user.setId(claims.get("userId", Long.class));
-            user.setUsername(claims.getSubject());
-            user.setFullName(claims.get("fullName", String.class));
-            user.setRole(claims.get("role", String.class));
-
-            log.info("Token validated for user: {}", user.getUsername());
-            return user;
+            return claims;
 
         } catch (Exception e) {
             log.error("Error validating token", e);
@@ -133,6 +160,18 @@ public class TokenReader {
         }
     }
 
+    /**
+     * Extract user information from validated claims
+     */
+    private static User toUser(Claims claims) {
+        User user = new User();
+        user.setId(claims.get("userId", Long.class));
+        user.setUsername(claims.getSubject());
+        user.setFullName(claims.get("fullName", String.class));
+        user.setRole(claims.get("role", String.class));
+        return user;
+    }
+
     /**
      * Load secret key from file
      */
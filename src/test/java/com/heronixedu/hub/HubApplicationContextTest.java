@@ -0,0 +1,25 @@
+package com.heronixedu.hub;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Starts the Spring context without the UI against an in-memory database, so a configuration
+ * error that blocks startup (datasource, JPA, cache regions, bean wiring) fails the build
+ * instead of a kiosk.
+ */
+@SpringBootTest(properties = "spring.datasource.url=jdbc:h2:mem:context-test")
+class HubApplicationContextTest {
+
+    @Autowired
+    private ApplicationContext context;
+
+    @Test
+    void contextStarts() {
+        assertTrue(context.getBeanDefinitionCount() > 0);
+    }
+}